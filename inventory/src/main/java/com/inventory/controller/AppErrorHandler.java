@@ -1,7 +1,11 @@
 package com.inventory.controller;
 
 import com.inventory.dto.ErrorDetails;
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.HoldConflictException;
+import com.inventory.exceptions.HoldNotFoundException;
 import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.exceptions.LeaseNotFoundException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +29,46 @@ public class AppErrorHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
     }
 
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleHoldNotFound(HoldNotFoundException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(404)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
+    }
+
+    @ExceptionHandler(LeaseNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleLeaseNotFound(LeaseNotFoundException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(404)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
+    }
+
+    @ExceptionHandler(HoldConflictException.class)
+    public ResponseEntity<ErrorDetails> handleHoldConflict(HoldConflictException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(409)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetails> handleBadRequest(BadRequestException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(400)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> handle500(Exception ex){
         ErrorDetails errorDetails=  ErrorDetails.builder()
@@ -7,6 +7,8 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("api/inventory")
 @AllArgsConstructor
@@ -24,6 +26,15 @@ public class InventoryController {
         return inventoryUpdateDto;
     }
 
+    @PostMapping("/reserve-batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<InventoryUpdateDto> reserveInventoryBatch(@RequestBody List<InventoryUpdateDto> inventoryUpdateDtos) {
+        log.info("Received request to reserve inventory for {} lines", inventoryUpdateDtos.size());
+        List<InventoryUpdateDto> remaining = inventoryService.reserveBatch(inventoryUpdateDtos);
+        log.info("Successfully reserved inventory for {} SKUs", remaining.size());
+        return remaining;
+    }
+
     @PutMapping("/update")
     @ResponseStatus(HttpStatus.OK)
     public InventoryUpdateDto updateInventory(@RequestBody InventoryUpdateDto inventoryUpdateDto) {
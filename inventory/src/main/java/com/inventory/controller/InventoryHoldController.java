@@ -0,0 +1,49 @@
+package com.inventory.controller;
+
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.service.InventoryHoldService;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/inventory/holds")
+@AllArgsConstructor
+@CrossOrigin("*")
+@Log4j2
+public class InventoryHoldController {
+    private InventoryHoldService inventoryHoldService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public InventoryHoldDto holdInventory(@RequestBody InventoryUpdateDto inventoryUpdateDto,
+                                          @RequestParam(required = false) Long ttlSeconds) {
+        log.info("Received request to hold inventory: {}", inventoryUpdateDto);
+        InventoryHoldDto hold = inventoryHoldService.hold(inventoryUpdateDto, ttlSeconds);
+        log.info("Successfully held inventory for product ID: {} as hold: {}", hold.getSkuCode(), hold.getId());
+        return hold;
+    }
+
+    @GetMapping("/{holdId}")
+    @ResponseStatus(HttpStatus.OK)
+    public InventoryHoldDto getHold(@PathVariable Long holdId) {
+        log.info("Received request to get inventory hold: {}", holdId);
+        return inventoryHoldService.getHold(holdId);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    @ResponseStatus(HttpStatus.OK)
+    public InventoryHoldDto confirmHold(@PathVariable Long holdId) {
+        log.info("Received request to confirm inventory hold: {}", holdId);
+        return inventoryHoldService.confirm(holdId);
+    }
+
+    @PostMapping("/{holdId}/release")
+    @ResponseStatus(HttpStatus.OK)
+    public InventoryHoldDto releaseHold(@PathVariable Long holdId) {
+        log.info("Received request to release inventory hold: {}", holdId);
+        return inventoryHoldService.release(holdId);
+    }
+}
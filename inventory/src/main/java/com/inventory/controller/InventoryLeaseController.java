@@ -0,0 +1,35 @@
+package com.inventory.controller;
+
+import com.inventory.dto.InventoryLeaseDto;
+import com.inventory.service.InventoryLeaseService;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/inventory/leases")
+@AllArgsConstructor
+@CrossOrigin("*")
+@Log4j2
+public class InventoryLeaseController {
+    private InventoryLeaseService inventoryLeaseService;
+
+    @GetMapping("/stranded")
+    @ResponseStatus(HttpStatus.OK)
+    public List<InventoryLeaseDto> getStrandedLeases() {
+        log.info("Received request to list stranded inventory leases");
+        return inventoryLeaseService.getStrandedLeases();
+    }
+
+    @PostMapping("/{skuCode}/{holder}/reconcile")
+    @ResponseStatus(HttpStatus.OK)
+    public InventoryLeaseDto reconcileLease(@PathVariable String skuCode, @PathVariable String holder,
+                                            @RequestParam int unsold) {
+        log.info("Received request to reconcile inventory lease of SKU: {} by {} with {} unsold units",
+                skuCode, holder, unsold);
+        return inventoryLeaseService.reconcile(skuCode, holder, unsold);
+    }
+}
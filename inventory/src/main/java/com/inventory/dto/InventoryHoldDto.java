@@ -0,0 +1,18 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryHoldDto {
+    private Long id;
+    private String skuCode;
+    private int quantity;
+    private InventoryHoldStatus status;
+    private Instant expiresAt;
+}
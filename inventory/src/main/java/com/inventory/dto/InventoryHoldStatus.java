@@ -0,0 +1,8 @@
+package com.inventory.dto;
+
+public enum InventoryHoldStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryLeaseDto {
+    private String skuCode;
+    private String holder;
+    private int quantity;
+    private int stranded;
+}
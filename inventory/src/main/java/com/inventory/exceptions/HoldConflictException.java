@@ -0,0 +1,7 @@
+package com.inventory.exceptions;
+
+public class HoldConflictException extends RuntimeException {
+    public HoldConflictException(String message) {
+        super(message);
+    }
+}
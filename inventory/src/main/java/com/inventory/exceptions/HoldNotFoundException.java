@@ -0,0 +1,7 @@
+package com.inventory.exceptions;
+
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.inventory.exceptions;
+
+public class LeaseNotFoundException extends RuntimeException {
+    public LeaseNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -22,6 +22,6 @@ public class Inventory {
     private String skuCode;
 
     @NotNull(message = "product quantity has to be specified.")
-    @Min(value = 1, message = "specify quantity > 0.")
+    @Min(value = 0, message = "specify quantity >= 0.")
     private int quantity;
 }
@@ -0,0 +1,35 @@
+package com.inventory.model;
+
+import com.inventory.dto.InventoryHoldStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "inventory_hold")
+public class InventoryHold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String skuCode;
+
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    private InventoryHoldStatus status;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,29 @@
+package com.inventory.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "inventory_lease")
+@IdClass(InventoryLeaseId.class)
+public class InventoryLease {
+    @Id
+    private String skuCode;
+
+    @Id
+    private String holder;
+
+    // units taken out of inventory.quantity into the holder's memory and not yet flushed as reserved
+    private int quantity;
+
+    // units a crashed holder still had leased, kept out of stock until reconciled instead of being resold
+    private int stranded;
+}
@@ -0,0 +1,15 @@
+package com.inventory.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryLeaseId implements Serializable {
+    private String skuCode;
+    private String holder;
+}
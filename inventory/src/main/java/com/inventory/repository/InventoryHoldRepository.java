@@ -0,0 +1,33 @@
+package com.inventory.repository;
+
+import com.inventory.dto.InventoryHoldStatus;
+import com.inventory.model.InventoryHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM InventoryHold h WHERE h.id = :id")
+    Optional<InventoryHold> findForUpdateById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM InventoryHold h WHERE h.id IN :ids AND h.status = :status")
+    List<InventoryHold> findForUpdateByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                                     @Param("status") InventoryHoldStatus status);
+
+    List<InventoryHold> findTop1000ByStatusAndIdGreaterThanOrderById(InventoryHoldStatus status, Long id);
+
+    List<InventoryHold> findTop500ByStatusAndExpiresAtBeforeOrderByExpiresAt(InventoryHoldStatus status,
+                                                                            Instant expiresAt);
+}
@@ -0,0 +1,38 @@
+package com.inventory.repository;
+
+import com.inventory.model.InventoryLease;
+import com.inventory.model.InventoryLeaseId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryLeaseRepository extends JpaRepository<InventoryLease, InventoryLeaseId> {
+
+    List<InventoryLease> findByHolderAndQuantityGreaterThan(String holder, int quantity);
+
+    List<InventoryLease> findByStrandedGreaterThan(int stranded);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM InventoryLease l WHERE l.skuCode = :skuCode AND l.holder = :holder")
+    Optional<InventoryLease> findForUpdateBySkuCodeAndHolder(@Param("skuCode") String skuCode, @Param("holder") String holder);
+
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.quantity = l.quantity + :quantity WHERE l.skuCode = :skuCode AND l.holder = :holder")
+    int addQuantity(@Param("skuCode") String skuCode, @Param("holder") String holder, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.quantity = 0 WHERE l.skuCode = :skuCode AND l.holder = :holder")
+    int clearQuantity(@Param("skuCode") String skuCode, @Param("holder") String holder);
+
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.stranded = l.stranded + l.quantity, l.quantity = 0 WHERE l.holder = :holder AND l.quantity > 0")
+    int strandQuantities(@Param("holder") String holder);
+}
@@ -1,11 +1,18 @@
 package com.inventory.repository;
 
 import com.inventory.model.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, String> {
 
@@ -16,4 +23,22 @@ public interface InventoryRepository extends JpaRepository<Inventory, String> {
     boolean existsBySkuCode(@Param("skuCode") String skuCode);
 
     Inventory findBySkuCode(String skuCode);
+
+    // check and decrement in one statement, the row lock taken by the update keeps concurrent reservations apart
+    @Modifying
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity WHERE i.skuCode = :skuCode AND i.quantity >= :quantity")
+    int reserve(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
+
+    @Query("SELECT i.quantity FROM Inventory i WHERE i.skuCode = :skuCode")
+    int findQuantityBySkuCode(@Param("skuCode") String skuCode);
+
+    List<Inventory> findBySkuCodeInOrderBySkuCode(Collection<String> skuCodes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.skuCode = :skuCode")
+    Optional<Inventory> findForUpdateBySkuCode(@Param("skuCode") String skuCode);
+
+    @Modifying
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity WHERE i.skuCode = :skuCode")
+    int restock(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
 }
@@ -0,0 +1,11 @@
+package com.inventory.service;
+
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryUpdateDto;
+
+public interface InventoryHoldService {
+    public InventoryHoldDto hold(InventoryUpdateDto inventoryUpdateDto, Long ttlSeconds);
+    public InventoryHoldDto getHold(Long holdId);
+    public InventoryHoldDto confirm(Long holdId);
+    public InventoryHoldDto release(Long holdId);
+}
@@ -0,0 +1,240 @@
+package com.inventory.service;
+
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryHoldStatus;
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.HoldConflictException;
+import com.inventory.exceptions.HoldNotFoundException;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.InventoryHold;
+import com.inventory.repository.InventoryHoldRepository;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.stock.HoldExpiryWheel;
+import com.inventory.utils.InventoryTypeConversion;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Log4j2
+public class InventoryHoldServiceImplementation implements InventoryHoldService {
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final long tickMillis;
+    private final HoldExpiryWheel holdExpiryWheel;
+
+    @Autowired
+    public InventoryHoldServiceImplementation(InventoryRepository inventoryRepository,
+                                              InventoryHoldRepository inventoryHoldRepository,
+                                              PlatformTransactionManager transactionManager,
+                                              @Value("${inventory.holds.ttl}") Duration defaultTtl,
+                                              @Value("${inventory.holds.max-ttl}") Duration maxTtl,
+                                              @Value("${inventory.holds.tick}") long tickMillis,
+                                              @Value("${inventory.holds.wheel-size}") int wheelSize) {
+        this(inventoryRepository, inventoryHoldRepository, transactionManager, Clock.systemUTC(), defaultTtl, maxTtl,
+                tickMillis, wheelSize);
+    }
+
+    InventoryHoldServiceImplementation(InventoryRepository inventoryRepository,
+                                       InventoryHoldRepository inventoryHoldRepository,
+                                       PlatformTransactionManager transactionManager, Clock clock,
+                                       Duration defaultTtl, Duration maxTtl, long tickMillis, int wheelSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.tickMillis = tickMillis;
+        this.holdExpiryWheel = new HoldExpiryWheel(tickMillis, wheelSize, clock.millis());
+    }
+
+    // the wheel lives in memory, so holds still outstanding from before a restart are filed again once, by id
+    // ranges over the (status, id) index
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOutstandingHolds() {
+        long afterId = 0;
+        int scheduled = 0;
+        List<InventoryHold> holds;
+        do {
+            holds = inventoryHoldRepository.findTop1000ByStatusAndIdGreaterThanOrderById(InventoryHoldStatus.HELD,
+                    afterId);
+            for (InventoryHold hold : holds) {
+                holdExpiryWheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+                afterId = hold.getId();
+            }
+            scheduled += holds.size();
+        } while (!holds.isEmpty());
+        log.info("Scheduled expiry of {} outstanding inventory holds", scheduled);
+    }
+
+    @Override
+    public InventoryHoldDto hold(InventoryUpdateDto inventoryUpdateDto, Long ttlSeconds) {
+        log.info("Attempting to hold inventory with SKU: {}, quantity: {}, ttl: {}s",
+                inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity(), ttlSeconds);
+
+        if (inventoryUpdateDto.getQuantity() <= 0) {
+            throw new BadRequestException("held product quantity should be > 0.");
+        }
+        Duration ttl = ttlSeconds == null ? defaultTtl : Duration.ofSeconds(ttlSeconds);
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+            throw new BadRequestException("hold ttl should be between 1 and " + maxTtl.toSeconds() + " seconds.");
+        }
+
+        InventoryHold hold = transactionTemplate.execute(status -> {
+            if (inventoryRepository.reserve(inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity()) != 1) {
+                throw new InsufficientInventoryException("Product inventory not sufficient");
+            }
+            return inventoryHoldRepository.save(new InventoryHold(null, inventoryUpdateDto.getSkuCode(),
+                    inventoryUpdateDto.getQuantity(), InventoryHoldStatus.HELD, clock.instant().plus(ttl)));
+        });
+        holdExpiryWheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+
+        log.info("Successfully held inventory for SKU: {} as hold: {} until {}",
+                hold.getSkuCode(), hold.getId(), hold.getExpiresAt());
+        return InventoryTypeConversion.convertToDto(hold);
+    }
+
+    @Override
+    public InventoryHoldDto getHold(Long holdId) {
+        return inventoryHoldRepository.findById(holdId)
+                .map(InventoryTypeConversion::convertToDto)
+                .orElseThrow(() -> new HoldNotFoundException("Inventory hold not found"));
+    }
+
+    @Override
+    public InventoryHoldDto confirm(Long holdId) {
+        log.info("Attempting to confirm inventory hold: {}", holdId);
+        InventoryHold hold = transactionTemplate.execute(status -> {
+            InventoryHold locked = lockHold(holdId);
+            if (locked.getStatus() == InventoryHoldStatus.HELD && !clock.instant().isBefore(locked.getExpiresAt())) {
+                // past its deadline but not yet reached by the wheel: the stock is about to go back
+                throw new HoldConflictException("Inventory hold " + holdId + " has expired");
+            }
+            if (locked.getStatus() == InventoryHoldStatus.HELD) {
+                locked.setStatus(InventoryHoldStatus.CONFIRMED);
+            } else if (locked.getStatus() != InventoryHoldStatus.CONFIRMED) {
+                throw new HoldConflictException("Inventory hold " + holdId + " is " + locked.getStatus());
+            }
+            return locked;
+        });
+        log.info("Inventory hold: {} confirmed for SKU: {}", holdId, hold.getSkuCode());
+        return InventoryTypeConversion.convertToDto(hold);
+    }
+
+    @Override
+    public InventoryHoldDto release(Long holdId) {
+        log.info("Attempting to release inventory hold: {}", holdId);
+        InventoryHold hold = transactionTemplate.execute(status -> {
+            InventoryHold locked = lockHold(holdId);
+            if (locked.getStatus() == InventoryHoldStatus.HELD) {
+                locked.setStatus(InventoryHoldStatus.RELEASED);
+                inventoryRepository.restock(locked.getSkuCode(), locked.getQuantity());
+            } else if (locked.getStatus() == InventoryHoldStatus.CONFIRMED) {
+                throw new HoldConflictException("Inventory hold " + holdId + " is " + locked.getStatus());
+            }
+            // released or expired: the stock is already back
+            return locked;
+        });
+        log.info("Inventory hold: {} released for SKU: {}", holdId, hold.getSkuCode());
+        return InventoryTypeConversion.convertToDto(hold);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.holds.tick}")
+    public void expireDueHolds() {
+        long[] due = holdExpiryWheel.advance(clock.millis());
+        for (int from = 0; from < due.length; from += EXPIRY_BATCH_SIZE) {
+            long[] ids = Arrays.copyOfRange(due, from, Math.min(from + EXPIRY_BATCH_SIZE, due.length));
+            try {
+                int expired = expire(ids);
+                log.debug("Expired {} of {} due inventory holds", expired, ids.length);
+            } catch (RuntimeException ex) {
+                log.warn("Could not expire {} inventory holds, retrying next tick: {}", ids.length, ex.getMessage());
+                long retryAt = clock.millis() + tickMillis;
+                for (long id : ids) {
+                    holdExpiryWheel.schedule(id, retryAt);
+                }
+            }
+        }
+    }
+
+    // the wheel only knows holds filed by this instance since it started, so a periodic pass over the
+    // (status, expires_at) index expires the ones it never saw, whoever created them
+    @Scheduled(fixedDelayString = "${inventory.holds.sweep-interval}")
+    public void sweepExpiredHolds() {
+        int swept = 0;
+        List<InventoryHold> due;
+        do {
+            due = inventoryHoldRepository.findTop500ByStatusAndExpiresAtBeforeOrderByExpiresAt(
+                    InventoryHoldStatus.HELD, clock.instant());
+            if (due.isEmpty()) {
+                break;
+            }
+            int expired;
+            try {
+                expired = expire(due.stream().mapToLong(InventoryHold::getId).toArray());
+            } catch (RuntimeException ex) {
+                log.warn("Could not sweep {} expired inventory holds, retrying next sweep: {}", due.size(),
+                        ex.getMessage());
+                break;
+            }
+            swept += expired;
+            // nothing expired means other writers took this batch; the next sweep picks up whatever is left
+            if (expired == 0) {
+                break;
+            }
+        } while (due.size() == EXPIRY_BATCH_SIZE);
+        if (swept > 0) {
+            log.info("Swept {} expired inventory holds missed by the timing wheel", swept);
+        }
+    }
+
+    // holds confirmed or released since they were filed are no longer HELD and drop out of the locking read
+    private int expire(long[] ids) {
+        return transactionTemplate.execute(status -> {
+            Instant now = clock.instant();
+            Map<String, Integer> restocked = new TreeMap<>();
+            int expired = 0;
+            for (InventoryHold hold : inventoryHoldRepository.findForUpdateByIdInAndStatus(
+                    Arrays.stream(ids).boxed().toList(), InventoryHoldStatus.HELD)) {
+                if (now.isBefore(hold.getExpiresAt())) {
+                    holdExpiryWheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+                    continue;
+                }
+                hold.setStatus(InventoryHoldStatus.EXPIRED);
+                restocked.merge(hold.getSkuCode(), hold.getQuantity(), Integer::sum);
+                expired++;
+            }
+            // one update per SKU, in SKU order like batch reservations
+            restocked.forEach(inventoryRepository::restock);
+            return expired;
+        });
+    }
+
+    private InventoryHold lockHold(Long holdId) {
+        return inventoryHoldRepository.findForUpdateById(holdId)
+                .orElseThrow(() -> new HoldNotFoundException("Inventory hold not found"));
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.service;
+
+import com.inventory.dto.InventoryLeaseDto;
+
+import java.util.List;
+
+public interface InventoryLeaseService {
+    public List<InventoryLeaseDto> getStrandedLeases();
+    public InventoryLeaseDto reconcile(String skuCode, String holder, int unsold);
+}
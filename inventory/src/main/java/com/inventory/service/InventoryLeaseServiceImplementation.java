@@ -0,0 +1,54 @@
+package com.inventory.service;
+
+import com.inventory.dto.InventoryLeaseDto;
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.LeaseNotFoundException;
+import com.inventory.model.InventoryLease;
+import com.inventory.repository.InventoryLeaseRepository;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.utils.InventoryTypeConversion;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@AllArgsConstructor
+@Log4j2
+public class InventoryLeaseServiceImplementation implements InventoryLeaseService {
+
+    private InventoryRepository inventoryRepository;
+    private InventoryLeaseRepository inventoryLeaseRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryLeaseDto> getStrandedLeases() {
+        return inventoryLeaseRepository.findByStrandedGreaterThan(0).stream()
+                .map(InventoryTypeConversion::convertToDto)
+                .toList();
+    }
+
+    // only the orders placed against the crashed holder tell how much of a stranded lease was really sold, so the
+    // caller brings that count; the rest of the stranded units count as sold and the lease is settled either way
+    @Override
+    public InventoryLeaseDto reconcile(String skuCode, String holder, int unsold) {
+        if (unsold < 0) {
+            throw new BadRequestException("unsold quantity should be >= 0.");
+        }
+        // locked so two reconciliations of the same lease cannot both restock it
+        InventoryLease lease = inventoryLeaseRepository.findForUpdateBySkuCodeAndHolder(skuCode, holder)
+                .orElseThrow(() -> new LeaseNotFoundException(
+                        "Inventory lease of SKU " + skuCode + " by " + holder + " not found"));
+        int restocked = Math.min(unsold, lease.getStranded());
+        if (restocked > 0) {
+            inventoryRepository.restock(skuCode, restocked);
+        }
+        log.info("Reconciled {} stranded units of SKU: {} leased by {}, restocked {}",
+                lease.getStranded(), skuCode, holder, restocked);
+        lease.setStranded(0);
+        return InventoryTypeConversion.convertToDto(inventoryLeaseRepository.save(lease));
+    }
+}
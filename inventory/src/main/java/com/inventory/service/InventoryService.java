@@ -3,7 +3,10 @@ package com.inventory.service;
 import com.inventory.dto.InventoryUpdateDto;
 import com.inventory.model.Inventory;
 
+import java.util.List;
+
 public interface InventoryService {
     public boolean reserve(InventoryUpdateDto inventoryUpdateDto);
+    public List<InventoryUpdateDto> reserveBatch(List<InventoryUpdateDto> inventoryUpdateDtos);
     public boolean updateProductInventory(InventoryUpdateDto inventoryUpdateDto);
 }
@@ -1,13 +1,23 @@
 package com.inventory.service;
 
 import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.BadRequestException;
 import com.inventory.exceptions.InsufficientInventoryException;
 import com.inventory.model.Inventory;
 import com.inventory.repository.InventoryRepository;
+import com.inventory.stock.HotSkuInventory;
+import com.inventory.utils.InventoryTypeConversion;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
 
 @Service
 @Transactional
@@ -16,27 +26,54 @@ import org.springframework.transaction.annotation.Transactional;
 public class InventoryServiceImplementation implements InventoryService {
 
     private InventoryRepository inventoryRepository;
+    private HotSkuInventory hotSkuInventory;
+    private ReservationCoalescer reservationCoalescer;
+    private TransactionTemplate transactionTemplate;
 
+    // hot SKUs are decided in memory without a connection, so only the row path opens a transaction (or joins the
+    // caller's)
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean reserve(InventoryUpdateDto inventoryUpdateDto) {
         log.info("Attempting to reserve inventory with SKU: {}, quantity: {}",
                 inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity());
 
-        boolean productInventoryExists = inventoryRepository.existsBySkuCodeAndAvailableQuantity(
-                inventoryUpdateDto.getSkuCode(),
-                inventoryUpdateDto.getQuantity()
-        );
+        // a negative quantity would pass the stock check and add to the row instead
+        if (inventoryUpdateDto.getQuantity() <= 0) {
+            log.error("Invalid reservation request for SKU: {}, requested quantity: {}",
+                    inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity());
+            throw new BadRequestException("reserved product quantity should be > 0.");
+        }
 
-        if (productInventoryExists) {
-            Inventory productInventory = inventoryRepository.findBySkuCode(inventoryUpdateDto.getSkuCode());
-            int previousQuantity = productInventory.getQuantity();
-            productInventory.setQuantity(previousQuantity - inventoryUpdateDto.getQuantity());
-            inventoryRepository.save(productInventory);
+        OptionalInt hotRemainingQuantity = hotSkuInventory.reserve(inventoryUpdateDto.getSkuCode(),
+                inventoryUpdateDto.getQuantity());
+        if (hotRemainingQuantity.isPresent()) {
+            log.info("Successfully reserved hot SKU: {} from memory. Reserved quantity: {}, New quantity: {}",
+                    inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity(), hotRemainingQuantity.getAsInt());
+            inventoryUpdateDto.setQuantity(hotRemainingQuantity.getAsInt());
+            return true;
+        }
 
-            log.info("Successfully reserved inventory for SKU: {}. Previous quantity: {}, New quantity: {}",
-                    inventoryUpdateDto.getSkuCode(), previousQuantity, productInventory.getQuantity());
+        if (reservationCoalescer.isEnabled()) {
+            int remainingQuantity = reservationCoalescer.reserve(inventoryUpdateDto.getSkuCode(),
+                    inventoryUpdateDto.getQuantity());
+            log.info("Successfully reserved inventory for SKU: {} in a coalesced batch. Reserved quantity: {}, "
+                    + "New quantity: {}", inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity(),
+                    remainingQuantity);
+            inventoryUpdateDto.setQuantity(remainingQuantity);
+            return true;
+        }
+
+        // the row stays locked until commit, so the read sees our own decrement
+        Integer remainingQuantity = transactionTemplate.execute(status ->
+                inventoryRepository.reserve(inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity()) == 1
+                        ? inventoryRepository.findQuantityBySkuCode(inventoryUpdateDto.getSkuCode())
+                        : null);
+        if (remainingQuantity != null) {
+            log.info("Successfully reserved inventory for SKU: {}. Reserved quantity: {}, New quantity: {}",
+                    inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity(), remainingQuantity);
 
-            inventoryUpdateDto.setQuantity(productInventory.getQuantity());
+            inventoryUpdateDto.setQuantity(remainingQuantity);
             return true;
         }
 
@@ -45,6 +82,48 @@ public class InventoryServiceImplementation implements InventoryService {
         throw new InsufficientInventoryException("Product inventory not sufficient");
     }
 
+    @Override
+    public List<InventoryUpdateDto> reserveBatch(List<InventoryUpdateDto> inventoryUpdateDtos) {
+        log.info("Attempting to reserve inventory for {} lines", inventoryUpdateDtos.size());
+
+        // every line is checked before any is sorted or reserved; the sorted map cannot hold a null SKU
+        for (InventoryUpdateDto inventoryUpdateDto : inventoryUpdateDtos) {
+            if (inventoryUpdateDto == null || inventoryUpdateDto.getSkuCode() == null
+                    || inventoryUpdateDto.getSkuCode().isBlank()) {
+                log.error("Invalid reservation request without SKU: {}", inventoryUpdateDto);
+                throw new BadRequestException("reserved product sku code should not be blank.");
+            }
+            if (inventoryUpdateDto.getQuantity() <= 0) {
+                log.error("Invalid reservation request for SKU: {}, requested quantity: {}",
+                        inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity());
+                throw new BadRequestException("reserved product quantity should be > 0.");
+            }
+        }
+
+        // merging repeated SKUs and walking them in sorted order makes every batch lock rows in the same order,
+        // so two overlapping carts queue behind each other instead of deadlocking
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (InventoryUpdateDto inventoryUpdateDto : inventoryUpdateDtos) {
+            quantities.merge(inventoryUpdateDto.getSkuCode(), inventoryUpdateDto.getQuantity(), Integer::sum);
+        }
+
+        // a short line throws, which rolls back the lines already decremented in this transaction
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            if (inventoryRepository.reserve(line.getKey(), line.getValue()) != 1) {
+                log.error("Insufficient inventory for SKU: {}, requested quantity: {}, rolling back batch of {} SKUs",
+                        line.getKey(), line.getValue(), quantities.size());
+                throw new InsufficientInventoryException("Product inventory not sufficient for SKU: " + line.getKey());
+            }
+        }
+
+        List<InventoryUpdateDto> remaining = inventoryRepository.findBySkuCodeInOrderBySkuCode(quantities.keySet())
+                .stream()
+                .map(InventoryTypeConversion::convertToDto)
+                .toList();
+        log.info("Successfully reserved inventory for {} SKUs", remaining.size());
+        return remaining;
+    }
+
     @Override
     public boolean updateProductInventory(InventoryUpdateDto inventoryUpdateDto) {
         log.info("Attempting to update inventory for SKU: {} to quantity: {}",
@@ -0,0 +1,204 @@
+package com.inventory.service;
+
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reservations for the same SKU queue up for a few milliseconds and are decided together by that SKU's single
+// writer: one locking read, one UPDATE and one commit per batch instead of one transaction per caller queueing on
+// the row lock. Different SKUs drain in parallel on the writer pool
+@Component
+@Log4j2
+public class ReservationCoalescer {
+
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService writers;
+    private final Map<String, SkuQueue> queues = new ConcurrentHashMap<>();
+
+    public ReservationCoalescer(InventoryRepository inventoryRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.coalescing.enabled}") boolean enabled,
+                                @Value("${inventory.coalescing.window}") long windowMillis,
+                                @Value("${inventory.coalescing.writers}") int writers,
+                                @Value("${inventory.coalescing.timeout}") long timeoutMillis) {
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.writers = Executors.newScheduledThreadPool(writers);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // blocks until the caller's batch commits and returns the quantity left after its reservation. A caller that
+    // times out is skipped by a batch that has not started yet; one already in a committing batch may still have
+    // reserved, which can undersell but never oversell
+    public int reserve(String skuCode, int quantity) {
+        try {
+            return submit(skuCode, quantity).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("Reservation for SKU: " + skuCode + " was not decided within "
+                        + timeoutMillis + " ms", ex.getCause());
+            }
+            throw ex;
+        }
+    }
+
+    CompletableFuture<Integer> submit(String skuCode, int quantity) {
+        // a negative quantity would add to the batch's total and let the others reserve more than the row holds
+        if (quantity <= 0) {
+            throw new BadRequestException("reserved product quantity should be > 0.");
+        }
+        Reservation reservation = new Reservation(quantity);
+        // enqueued inside compute, so a drain removing the emptied queue cannot strand the reservation in it
+        SkuQueue queue = queues.compute(skuCode, (key, current) -> {
+            SkuQueue target = current != null ? current : new SkuQueue();
+            target.pending.add(reservation);
+            return target;
+        });
+        schedule(skuCode, queue);
+        return reservation.result;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // delayed drains still run after shutdown, so callers already queued get their answer
+        writers.shutdown();
+        writers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    int queuedSkuCount() {
+        return queues.size();
+    }
+
+    private void schedule(String skuCode, SkuQueue queue) {
+        if (queue.draining.compareAndSet(false, true)) {
+            try {
+                writers.schedule(() -> drain(skuCode, queue), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // shutting down, so no writer will drain the queue again; callers queued behind get the same answer
+                // from their own schedule
+                queue.draining.set(false);
+                log.warn("Could not schedule reservations for SKU: {}: {}", skuCode, ex.getMessage());
+                Reservation reservation;
+                while ((reservation = queue.pending.poll()) != null) {
+                    reservation.result.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void drain(String skuCode, SkuQueue queue) {
+        List<Reservation> batch = new ArrayList<>();
+        try {
+            Reservation reservation;
+            while ((reservation = queue.pending.poll()) != null) {
+                batch.add(reservation);
+            }
+            if (!batch.isEmpty()) {
+                apply(skuCode, batch);
+            }
+        } catch (Throwable ex) {
+            // apply only answers runtime failures; anything else must not leave its callers waiting
+            log.error("Could not apply {} reservations for SKU: {}: {}", batch.size(), skuCode, ex.toString());
+            batch.forEach(pending -> pending.result.completeExceptionally(ex));
+        } finally {
+            queue.draining.set(false);
+            // drop the queue once it is empty so SKUs that are no longer reserved do not stay in the map
+            queues.computeIfPresent(skuCode, (key, current) -> current == queue && current.pending.isEmpty()
+                    ? null : current);
+            // a caller may have queued after the poll but before the flag was cleared
+            if (!queue.pending.isEmpty()) {
+                schedule(skuCode, queue);
+            }
+        }
+    }
+
+    private void apply(String skuCode, List<Reservation> batch) {
+        int[] remaining = new int[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int available = inventoryRepository.findForUpdateBySkuCode(skuCode)
+                        .map(Inventory::getQuantity)
+                        .orElse(-1);
+                int reserved = 0;
+                // in arrival order; one that does not fit is turned down without holding back the ones behind it
+                for (int i = 0; i < batch.size(); i++) {
+                    int quantity = batch.get(i).quantity;
+                    // the caller timed out and was told so, so the stock stays for the others
+                    if (batch.get(i).result.isDone()) {
+                        remaining[i] = -1;
+                    } else if (available >= 0 && quantity <= available - reserved) {
+                        reserved += quantity;
+                        remaining[i] = available - reserved;
+                    } else {
+                        remaining[i] = -1;
+                    }
+                }
+                if (reserved != 0) {
+                    inventoryRepository.reserve(skuCode, reserved);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("Could not apply {} reservations for SKU: {}: {}", batch.size(), skuCode, ex.getMessage());
+            batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            return;
+        }
+        log.debug("Applied {} reservations for SKU: {} in one update", batch.size(), skuCode);
+        for (int i = 0; i < batch.size(); i++) {
+            if (remaining[i] >= 0) {
+                batch.get(i).result.complete(remaining[i]);
+            } else {
+                batch.get(i).result.completeExceptionally(
+                        new InsufficientInventoryException("Product inventory not sufficient"));
+            }
+        }
+    }
+
+    private static class Reservation {
+        private final int quantity;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        Reservation(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    private static class SkuQueue {
+        private final Queue<Reservation> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
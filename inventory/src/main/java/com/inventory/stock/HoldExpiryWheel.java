@@ -0,0 +1,92 @@
+package com.inventory.stock;
+
+import java.util.Arrays;
+
+// Hashed timing wheel: a hold is filed under the bucket of the tick it expires in, so scheduling is O(1) and each
+// tick only looks at the holds due around it instead of scanning every outstanding one. A bucket keeps ids and
+// deadlines in two primitive arrays, about 16 bytes per hold. Finalized holds are not removed; expiring them later
+// is a no-op the caller filters out
+public class HoldExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket[] buckets;
+    private long currentTick;
+
+    public HoldExpiryWheel(long tickMillis, int size, long nowMillis) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("timing wheel size should be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public synchronized void schedule(long holdId, long expiresAtMillis) {
+        // a deadline inside a partial tick fires at the end of that tick, never before it
+        long deadlineTick = Math.max(Math.ceilDiv(expiresAtMillis, tickMillis), currentTick + 1);
+        buckets[(int) (deadlineTick & mask)].add(holdId, deadlineTick);
+    }
+
+    // returns the holds due by now; a bucket also holds later rounds of the wheel, which stay in it
+    public synchronized long[] advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= currentTick) {
+            return new long[0];
+        }
+        Bucket due = new Bucket();
+        long ticks = Math.min(nowTick - currentTick, buckets.length);
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            buckets[(int) (tick & mask)].drainDue(nowTick, due);
+        }
+        currentTick = nowTick;
+        return Arrays.copyOf(due.ids, due.size);
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Bucket bucket : buckets) {
+            size += bucket.size;
+        }
+        return size;
+    }
+
+    private static class Bucket {
+        private long[] ids = new long[4];
+        private long[] deadlines = new long[4];
+        private int size;
+
+        private void add(long id, long deadline) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            ids[size] = id;
+            deadlines[size] = deadline;
+            size++;
+        }
+
+        private void drainDue(long nowTick, Bucket due) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (deadlines[i] <= nowTick) {
+                    due.add(ids[i], deadlines[i]);
+                } else {
+                    ids[kept] = ids[i];
+                    deadlines[kept] = deadlines[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            // a burst of holds should not pin its arrays for good once it has expired
+            if (size == 0 && ids.length > 64) {
+                ids = new long[4];
+                deadlines = new long[4];
+            }
+        }
+    }
+}
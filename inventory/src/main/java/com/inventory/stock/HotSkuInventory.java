@@ -0,0 +1,213 @@
+package com.inventory.stock;
+
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.model.InventoryLease;
+import com.inventory.model.InventoryLeaseId;
+import com.inventory.repository.InventoryLeaseRepository;
+import com.inventory.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Flagged SKUs are sold from memory. Stock is leased out of the inventory row in chunks, in the same transaction
+// that records the lease, so the row only locks once per chunk instead of once per reservation and every other
+// path keeps reserving from what is left in the row. Reserved units are flushed to the lease write-behind; a clean
+// shutdown gives unsold units back. After a crash the holder's lease is stranded instead: it may hold units that
+// were sold but not flushed, so giving it back could oversell. At most one lease per SKU waits for reconciliation,
+// which restocks the part of it the orders show unsold. A restarted instance only finds its own lease under a holder
+// that survives restarts, so one has to be configured
+@Component
+@Log4j2
+public class HotSkuInventory {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLeaseRepository inventoryLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Set<String> skuCodes;
+    private final int stripes;
+    private final int leaseSize;
+    private final String holder;
+    private final Map<String, HotSku> hotSkus = new ConcurrentHashMap<>();
+
+    public HotSkuInventory(InventoryRepository inventoryRepository,
+                           InventoryLeaseRepository inventoryLeaseRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.hot-skus.enabled}") boolean enabled,
+                           @Value("${inventory.hot-skus.sku-codes}") Set<String> skuCodes,
+                           @Value("${inventory.hot-skus.stripes}") int stripes,
+                           @Value("${inventory.hot-skus.lease-size}") int leaseSize,
+                           @Value("${inventory.hot-skus.holder}") String holder) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryLeaseRepository = inventoryLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.skuCodes = skuCodes;
+        this.stripes = stripes;
+        this.leaseSize = leaseSize;
+        this.holder = holder;
+        if (enabled && !StringUtils.hasText(holder)) {
+            throw new IllegalStateException("inventory.hot-skus.holder must name this instance when hot SKUs are enabled");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        List<InventoryLease> crashed = inventoryLeaseRepository.findByHolderAndQuantityGreaterThan(holder, 0);
+        if (!crashed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> inventoryLeaseRepository.strandQuantities(holder));
+            crashed.forEach(lease -> log.warn("Stranded {} units of SKU: {} leased before an unclean shutdown of {}",
+                    lease.getQuantity(), lease.getSkuCode(), holder));
+        }
+        for (String skuCode : skuCodes) {
+            if (!inventoryRepository.existsBySkuCode(skuCode)) {
+                log.warn("Hot SKU: {} has no inventory, reserving it from the row", skuCode);
+                continue;
+            }
+            if (!inventoryLeaseRepository.existsById(new InventoryLeaseId(skuCode, holder))) {
+                inventoryLeaseRepository.save(new InventoryLease(skuCode, holder, 0, 0));
+            }
+            HotSku hotSku = new HotSku(new StripedStock(stripes));
+            lease(skuCode, hotSku);
+            hotSkus.put(skuCode, hotSku);
+        }
+        log.info("Reserving {} hot SKUs from memory as {}", hotSkus.size(), holder);
+    }
+
+    // empty when the SKU is not hot here and the caller should reserve it from the row
+    public OptionalInt reserve(String skuCode, int quantity) {
+        HotSku hotSku = hotSkus.get(skuCode);
+        if (hotSku == null || quantity <= 0) {
+            return OptionalInt.empty();
+        }
+        if (!hotSku.stock.take(quantity)) {
+            synchronized (hotSku) {
+                // another caller may have leased more while this one waited
+                while (!hotSku.stock.take(quantity)) {
+                    if (hotSku.closed) {
+                        return OptionalInt.empty();
+                    }
+                    // a row found empty is only looked at again by the flush, so a sold-out SKU fails fast
+                    if (hotSku.unleased == 0 || lease(skuCode, hotSku) == 0) {
+                        throw new InsufficientInventoryException("Product inventory not sufficient");
+                    }
+                }
+            }
+        }
+        hotSku.reserved.addAndGet(quantity);
+        return OptionalInt.of(hotSku.stock.available() + hotSku.unleased);
+    }
+
+    // reserved units reach the lease rows in one transaction per interval; SKUs running low lease their next
+    // chunk here rather than on a caller's request, which also notices stock added to a sold-out row
+    @Scheduled(fixedDelayString = "${inventory.hot-skus.flush-interval}")
+    public void flush() {
+        Map<String, Integer> reserved = new HashMap<>();
+        hotSkus.forEach((skuCode, hotSku) -> {
+            int units = hotSku.reserved.getAndSet(0);
+            if (units > 0) {
+                reserved.put(skuCode, units);
+            }
+        });
+        if (!reserved.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reserved.forEach((skuCode, units) ->
+                        inventoryLeaseRepository.addQuantity(skuCode, holder, -units)));
+                log.debug("Flushed reservations of {} hot SKUs", reserved.size());
+            } catch (RuntimeException ex) {
+                log.warn("Could not flush reservations of {} hot SKUs, keeping them for the next flush: {}",
+                        reserved.size(), ex.getMessage());
+                reserved.forEach((skuCode, units) -> {
+                    HotSku hotSku = hotSkus.get(skuCode);
+                    // a SKU stopped meanwhile settled its lease with these units counted as reserved
+                    if (hotSku != null) {
+                        hotSku.reserved.addAndGet(units);
+                    }
+                });
+            }
+        }
+        hotSkus.forEach((skuCode, hotSku) -> {
+            if (hotSku.stock.available() < leaseSize / 2) {
+                synchronized (hotSku) {
+                    try {
+                        if (!hotSku.closed && hotSku.stock.available() < leaseSize / 2) {
+                            lease(skuCode, hotSku);
+                        }
+                    } catch (RuntimeException ex) {
+                        log.warn("Could not lease more of hot SKU: {}: {}", skuCode, ex.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (String skuCode : List.copyOf(hotSkus.keySet())) {
+            HotSku hotSku = hotSkus.remove(skuCode);
+            synchronized (hotSku) {
+                hotSku.closed = true;
+                int unsold = hotSku.stock.drain();
+                // everything leased is now either reserved or given back, so the lease is settled whatever was
+                // still waiting to be flushed
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        inventoryRepository.restock(skuCode, unsold);
+                        inventoryLeaseRepository.clearQuantity(skuCode, holder);
+                    });
+                    log.info("Returned {} unsold units of hot SKU: {}", unsold, skuCode);
+                } catch (RuntimeException ex) {
+                    log.error("Could not return {} unsold units of hot SKU: {}, they stay leased: {}",
+                            unsold, skuCode, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    // moves up to one lease of stock from the row into memory; callers hold the SKU's monitor
+    private int lease(String skuCode, HotSku hotSku) {
+        int leased = transactionTemplate.execute(status -> {
+            int quantity = inventoryRepository.findForUpdateBySkuCode(skuCode).map(Inventory::getQuantity).orElse(0);
+            int taking = Math.min(quantity, leaseSize);
+            if (taking > 0) {
+                inventoryRepository.reserve(skuCode, taking);
+                inventoryLeaseRepository.addQuantity(skuCode, holder, taking);
+            }
+            hotSku.unleased = quantity - taking;
+            return taking;
+        });
+        hotSku.stock.add(leased);
+        return leased;
+    }
+
+    private static class HotSku {
+        private final StripedStock stock;
+        private final AtomicInteger reserved = new AtomicInteger();
+        // row stock left after the last lease, only used to report what remains
+        private volatile int unleased;
+        private volatile boolean closed;
+
+        HotSku(StripedStock stock) {
+            this.stock = stock;
+        }
+    }
+}
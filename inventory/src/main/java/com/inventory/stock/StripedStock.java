@@ -0,0 +1,89 @@
+package com.inventory.stock;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// one SKU's in-memory stock split over several counters, so concurrent reservations mostly update different cache
+// lines instead of all retrying on one
+class StripedStock {
+
+    // 16 ints = 64 bytes between used slots keeps each stripe on its own cache line
+    private static final int PADDING = 16;
+
+    private final int count;
+    private final AtomicIntegerArray stripes;
+
+    StripedStock(int count) {
+        this.count = count;
+        this.stripes = new AtomicIntegerArray(count * PADDING);
+    }
+
+    boolean take(int quantity) {
+        int home = home();
+        // fast path: the caller's own stripe covers the whole quantity
+        if (takeUpTo(home, quantity, true) == quantity) {
+            return true;
+        }
+        // slow path: gather from every stripe, giving back what was gathered when the total falls short
+        int[] taken = new int[count];
+        int gathered = 0;
+        for (int i = 0; i < count && gathered < quantity; i++) {
+            int stripe = (home + i) % count;
+            taken[stripe] = takeUpTo(stripe, quantity - gathered, false);
+            gathered += taken[stripe];
+        }
+        if (gathered == quantity) {
+            return true;
+        }
+        for (int stripe = 0; stripe < count; stripe++) {
+            if (taken[stripe] > 0) {
+                stripes.addAndGet(stripe * PADDING, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    void add(int quantity) {
+        int share = quantity / count;
+        int remainder = quantity % count;
+        for (int stripe = 0; stripe < count; stripe++) {
+            int amount = share + (stripe < remainder ? 1 : 0);
+            if (amount > 0) {
+                stripes.addAndGet(stripe * PADDING, amount);
+            }
+        }
+    }
+
+    int available() {
+        int available = 0;
+        for (int stripe = 0; stripe < count; stripe++) {
+            available += stripes.get(stripe * PADDING);
+        }
+        return available;
+    }
+
+    int drain() {
+        int drained = 0;
+        for (int stripe = 0; stripe < count; stripe++) {
+            drained += stripes.getAndSet(stripe * PADDING, 0);
+        }
+        return drained;
+    }
+
+    private int takeUpTo(int stripe, int quantity, boolean all) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = stripes.get(index);
+            int taking = Math.min(current, quantity);
+            if (taking == 0 || (all && taking < quantity)) {
+                return 0;
+            }
+            if (stripes.compareAndSet(index, current, current - taking)) {
+                return taking;
+            }
+        }
+    }
+
+    private int home() {
+        return Math.floorMod(Long.hashCode(Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L), count);
+    }
+}
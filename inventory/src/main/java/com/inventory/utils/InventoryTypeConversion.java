@@ -1,7 +1,11 @@
 package com.inventory.utils;
 
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryLeaseDto;
 import com.inventory.dto.InventoryUpdateDto;
 import com.inventory.model.Inventory;
+import com.inventory.model.InventoryHold;
+import com.inventory.model.InventoryLease;
 
 public class InventoryTypeConversion {
     public static InventoryUpdateDto convertToDto(Inventory inventory) {
@@ -17,4 +21,13 @@ public class InventoryTypeConversion {
         inventory.setQuantity(inventoryDto.getQuantity());
         return inventory;
     }
+
+    public static InventoryHoldDto convertToDto(InventoryHold hold) {
+        return new InventoryHoldDto(hold.getId(), hold.getSkuCode(), hold.getQuantity(), hold.getStatus(),
+                hold.getExpiresAt());
+    }
+
+    public static InventoryLeaseDto convertToDto(InventoryLease lease) {
+        return new InventoryLeaseDto(lease.getSkuCode(), lease.getHolder(), lease.getQuantity(), lease.getStranded());
+    }
 }
@@ -0,0 +1,2 @@
+ALTER TABLE `inventory` DROP CHECK `inventory_chk_1`;
+ALTER TABLE `inventory` ADD CONSTRAINT `inventory_quantity_non_negative` CHECK (quantity >= 0);
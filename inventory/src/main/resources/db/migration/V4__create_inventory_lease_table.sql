@@ -0,0 +1,7 @@
+CREATE TABLE `inventory_lease` (
+    `sku_code` VARCHAR(255) NOT NULL,
+    `holder` VARCHAR(255) NOT NULL,
+    `quantity` INT NOT NULL,
+    `stranded` INT NOT NULL,
+    PRIMARY KEY (`sku_code`, `holder`)
+);
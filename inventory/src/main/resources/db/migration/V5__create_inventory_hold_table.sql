@@ -0,0 +1,8 @@
+CREATE TABLE `inventory_hold` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    `sku_code` VARCHAR(255) NOT NULL,
+    `quantity` INT NOT NULL CHECK (quantity > 0),
+    `status` VARCHAR(16) NOT NULL,
+    `expires_at` DATETIME(6) NOT NULL,
+    INDEX `idx_inventory_hold_status_id` (`status`, `id`)
+);
@@ -0,0 +1 @@
+CREATE INDEX `idx_inventory_hold_status_expires_at` ON `inventory_hold` (`status`, `expires_at`);
@@ -0,0 +1,115 @@
+package com.inventory.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for comparing the reservation paths of a running inventory service.
+ * <p>
+ * Sends {@code reservations} one-unit reservations of {@code skuCode} from {@code threads} concurrent callers and
+ * reports throughput, latency percentiles and how many were reserved, sold out or failed. Throughput depends on the
+ * machine and the database, so the paths are compared by running it with the same arguments against a SKU of each
+ * path, stocked alike: a hot SKU against a plain one, or the same SKU with and without
+ * {@code INVENTORY_COALESCING_ENABLED}. Run it once against a throwaway SKU first to warm the service up:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.inventory.benchmark.InventoryReservationBenchmark \
+ *     -Dexec.args="http://localhost:8092 HOT-001 4000 32"
+ * </pre>
+ */
+public class InventoryReservationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8092";
+        String skuCode = args.length > 1 ? args[1] : "HOT-001";
+        int reservations = args.length > 2 ? Integer.parseInt(args[2]) : 4000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/inventory/reserve"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"skuCode\":\"" + skuCode + "\",\"quantity\":1}"))
+                .build();
+
+        AtomicInteger remaining = new AtomicInteger(reservations);
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong soldOut = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(threads);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> run(client, request, remaining, reserved, soldOut, errors)));
+            }
+            long[] latencies = workers.stream().map(InventoryReservationBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("reservations    %d of %s over %d threads in %.2fs%n", latencies.length, skuCode,
+                    threads, seconds);
+            System.out.printf("outcome         %d reserved, %d sold out, %d errors%n", reserved.get(), soldOut.get(),
+                    errors.get());
+            System.out.printf("throughput      %.0f req/s%n", latencies.length / seconds);
+            System.out.printf("latency p50/p99 %.2f / %.2f ms%n", percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private static long[] run(HttpClient client, HttpRequest request, AtomicInteger remaining, AtomicLong reserved,
+                              AtomicLong soldOut, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (remaining.getAndDecrement() > 0) {
+            long start = System.nanoTime();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    reserved.incrementAndGet();
+                } else if (status == 404) {
+                    soldOut.incrementAndGet();
+                } else {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException ex) {
+                errors.incrementAndGet();
+                continue;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -21,6 +21,8 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 @ContextConfiguration(classes = {InventoryController.class, AppErrorHandler.class})
 @ExtendWith(SpringExtension.class)
 @DisabledInAotMode
@@ -91,4 +93,36 @@ class InventoryControllerTest {
                 .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
                 .andExpect(MockMvcResultMatchers.content().string("{\"skuCode\":\"Sku Code\",\"quantity\":1}"));
     }
+
+    /**
+     * Test {@link InventoryController#reserveInventoryBatch(List)}.
+     * <ul>
+     *   <li>Then return the remaining quantity of every reserved SKU.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryController#reserveInventoryBatch(List)}
+     */
+    @Test
+    @DisplayName("Test reserveInventoryBatch(List); then return remaining quantities")
+    void testReserveInventoryBatch_thenReturnRemainingQuantities() throws Exception {
+        // Arrange
+        when(inventoryService.reserveBatch(Mockito.<List<InventoryUpdateDto>>any())).thenReturn(
+                List.of(new InventoryUpdateDto("SKU-1", 9), new InventoryUpdateDto("SKU-2", 3)));
+
+        String content = (new ObjectMapper()).writeValueAsString(
+                List.of(new InventoryUpdateDto("SKU-2", 2), new InventoryUpdateDto("SKU-1", 1)));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/inventory/reserve-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content);
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content()
+                        .string("[{\"skuCode\":\"SKU-1\",\"quantity\":9},{\"skuCode\":\"SKU-2\",\"quantity\":3}]"));
+    }
 }
@@ -0,0 +1,118 @@
+package com.inventory.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryHoldStatus;
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.HoldConflictException;
+import com.inventory.service.InventoryHoldService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ContextConfiguration(classes = {InventoryHoldController.class, AppErrorHandler.class})
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class InventoryHoldControllerTest {
+    @Autowired
+    private AppErrorHandler appErrorHandler;
+
+    @Autowired
+    private InventoryHoldController inventoryHoldController;
+
+    @MockBean
+    private InventoryHoldService inventoryHoldService;
+
+    /**
+     * Test {@link InventoryHoldController#holdInventory(InventoryUpdateDto, Long)}.
+     * <ul>
+     *   <li>Then return the created hold with status {@code 201}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldController#holdInventory(InventoryUpdateDto, Long)}
+     */
+    @Test
+    @DisplayName("Test holdInventory(InventoryUpdateDto, Long); then return created hold")
+    void testHoldInventory_thenReturnCreatedHold() throws Exception {
+        // Arrange
+        when(inventoryHoldService.hold(Mockito.<InventoryUpdateDto>any(), Mockito.eq(120L))).thenReturn(
+                new InventoryHoldDto(7L, "Sku Code", 1, InventoryHoldStatus.HELD, null));
+
+        String content = (new ObjectMapper()).writeValueAsString(new InventoryUpdateDto("Sku Code", 1));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/inventory/holds")
+                .param("ttlSeconds", "120")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content);
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryHoldController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"id\":7,\"skuCode\":\"Sku Code\",\"quantity\":1,\"status\":\"HELD\",\"expiresAt\":null}"));
+    }
+
+    /**
+     * Test {@link InventoryHoldController#confirmHold(Long)}.
+     * <ul>
+     *   <li>Given the hold is no longer held.</li>
+     *   <li>Then return status {@code 409}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldController#confirmHold(Long)}
+     */
+    @Test
+    @DisplayName("Test confirmHold(Long); given hold no longer held; then return 409")
+    void testConfirmHold_givenHoldNoLongerHeld_thenReturn409() throws Exception {
+        // Arrange
+        when(inventoryHoldService.confirm(7L)).thenThrow(new HoldConflictException("Inventory hold 7 is EXPIRED"));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryHoldController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(MockMvcRequestBuilders.post("/api/inventory/holds/7/confirm"))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorMessage").value("Inventory hold 7 is EXPIRED"));
+    }
+
+    /**
+     * Test {@link InventoryHoldController#releaseHold(Long)}.
+     * <ul>
+     *   <li>Then return the released hold.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldController#releaseHold(Long)}
+     */
+    @Test
+    @DisplayName("Test releaseHold(Long); then return released hold")
+    void testReleaseHold_thenReturnReleasedHold() throws Exception {
+        // Arrange
+        when(inventoryHoldService.release(7L)).thenReturn(
+                new InventoryHoldDto(7L, "Sku Code", 1, InventoryHoldStatus.RELEASED, null));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryHoldController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(MockMvcRequestBuilders.post("/api/inventory/holds/7/release"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("RELEASED"));
+    }
+}
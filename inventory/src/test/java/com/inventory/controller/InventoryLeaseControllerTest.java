@@ -0,0 +1,84 @@
+package com.inventory.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.inventory.dto.InventoryLeaseDto;
+import com.inventory.exceptions.LeaseNotFoundException;
+import com.inventory.service.InventoryLeaseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ContextConfiguration(classes = {InventoryLeaseController.class, AppErrorHandler.class})
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class InventoryLeaseControllerTest {
+    @Autowired
+    private AppErrorHandler appErrorHandler;
+
+    @Autowired
+    private InventoryLeaseController inventoryLeaseController;
+
+    @MockBean
+    private InventoryLeaseService inventoryLeaseService;
+
+    /**
+     * Test {@link InventoryLeaseController#reconcileLease(String, String, int)}.
+     * <ul>
+     *   <li>Then return the settled lease with status {@code 200}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryLeaseController#reconcileLease(String, String, int)}
+     */
+    @Test
+    @DisplayName("Test reconcileLease(String, String, int); then return settled lease")
+    void testReconcileLease_thenReturnSettledLease() throws Exception {
+        // Arrange
+        when(inventoryLeaseService.reconcile("HOT", "inventory-1", 12))
+                .thenReturn(new InventoryLeaseDto("HOT", "inventory-1", 50, 0));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryLeaseController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(MockMvcRequestBuilders.post("/api/inventory/leases/HOT/inventory-1/reconcile")
+                        .param("unsold", "12"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"skuCode\":\"HOT\",\"holder\":\"inventory-1\",\"quantity\":50,\"stranded\":0}"));
+    }
+
+    /**
+     * Test {@link InventoryLeaseController#reconcileLease(String, String, int)}.
+     * <ul>
+     *   <li>Given no lease of the SKU by the holder.</li>
+     *   <li>Then return status {@code 404}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryLeaseController#reconcileLease(String, String, int)}
+     */
+    @Test
+    @DisplayName("Test reconcileLease(String, String, int); given unknown lease; then return 404")
+    void testReconcileLease_givenUnknownLease_thenReturn404() throws Exception {
+        // Arrange
+        when(inventoryLeaseService.reconcile("HOT", "inventory-2", 12))
+                .thenThrow(new LeaseNotFoundException("Inventory lease of SKU HOT by inventory-2 not found"));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(inventoryLeaseController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(MockMvcRequestBuilders.post("/api/inventory/leases/HOT/inventory-2/reconcile")
+                        .param("unsold", "12"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,170 @@
+package com.inventory.integration;
+
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.model.InventoryLease;
+import com.inventory.model.InventoryLeaseId;
+import com.inventory.repository.InventoryLeaseRepository;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.service.InventoryLeaseService;
+import com.inventory.service.InventoryService;
+import com.inventory.stock.HotSkuInventory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// sells a hot SKU from memory under a flash-sale load and settles its lease on shutdown, crash and reconciliation
+@SpringBootTest(properties = {
+        "inventory.hot-skus.enabled=true",
+        "inventory.hot-skus.sku-codes=HOT-001",
+        "inventory.hot-skus.lease-size=50",
+        "inventory.hot-skus.holder=inventory-test"})
+@Testcontainers
+public class HotSkuReservationIntegrationTest {
+
+    private static final String HOLDER = "inventory-test";
+    private static final int STOCK = 1000;
+    private static final int RESERVATIONS = 4000;
+    private static final int THREADS = 32;
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("inventory")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryLeaseService inventoryLeaseService;
+
+    @Autowired
+    private HotSkuInventory hotSkuInventory;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryLeaseRepository inventoryLeaseRepository;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mySQLContainer.getJdbcUrl());
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // the application started before the SKU existed, so start hot mode again once it does
+        hotSkuInventory.stop();
+        inventoryLeaseRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory("HOT-001", STOCK));
+        hotSkuInventory.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotSkuInventory.stop();
+    }
+
+    // how much faster memory is than the row is measured with InventoryReservationBenchmark against a running service
+    @Test
+    public void shouldReserveHotSkuFromMemoryWithoutOverselling() throws Exception {
+        AtomicInteger hotReserved = new AtomicInteger();
+        reserveConcurrently("HOT-001", hotReserved);
+
+        assertEquals(STOCK, hotReserved.get());
+
+        hotSkuInventory.stop();
+        assertEquals(0, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+        assertEquals(0, lease().getQuantity());
+    }
+
+    @Test
+    public void shouldGiveUnsoldLeaseBackOnShutdown() {
+        inventoryService.reserve(new InventoryUpdateDto("HOT-001", 10));
+        assertEquals(STOCK - 50, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+
+        hotSkuInventory.stop();
+
+        assertEquals(STOCK - 10, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+        assertEquals(0, lease().getQuantity());
+    }
+
+    @Test
+    public void shouldStrandLeaseLeftByCrash() {
+        // a crash leaves the lease as last flushed: 30 units out of the row, some possibly sold
+        hotSkuInventory.stop();
+        inventoryRepository.save(new Inventory("HOT-001", STOCK - 30));
+        inventoryLeaseRepository.save(new InventoryLease("HOT-001", HOLDER, 30, 0));
+
+        hotSkuInventory.start();
+
+        InventoryLease lease = lease();
+        assertEquals(30, lease.getStranded());
+        assertEquals(50, lease.getQuantity());
+        assertEquals(STOCK - 30 - 50, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+    }
+
+    @Test
+    public void shouldRestockUnsoldPartOfStrandedLeaseOnReconcile() {
+        hotSkuInventory.stop();
+        inventoryRepository.save(new Inventory("HOT-001", STOCK - 30));
+        inventoryLeaseRepository.save(new InventoryLease("HOT-001", HOLDER, 0, 30));
+
+        // orders show 18 of the 30 stranded units were sold before the crash
+        inventoryLeaseService.reconcile("HOT-001", HOLDER, 12);
+        inventoryLeaseService.reconcile("HOT-001", HOLDER, 12);
+
+        assertEquals(0, lease().getStranded());
+        assertEquals(STOCK - 18, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+    }
+
+    private InventoryLease lease() {
+        return inventoryLeaseRepository.findById(new InventoryLeaseId("HOT-001", HOLDER)).orElseThrow();
+    }
+
+    private void reserveConcurrently(String skuCode, AtomicInteger reserved) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(RESERVATIONS);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    inventoryService.reserve(new InventoryUpdateDto(skuCode, 1));
+                    reserved.incrementAndGet();
+                } catch (InsufficientInventoryException e) {
+                    // sold out
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+}
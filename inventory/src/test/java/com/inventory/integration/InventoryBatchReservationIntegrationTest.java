@@ -0,0 +1,96 @@
+package com.inventory.integration;
+
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// not @Transactional: every batch has to commit on its own connection to contend for the rows
+@SpringBootTest
+@Testcontainers
+public class InventoryBatchReservationIntegrationTest {
+
+    private static final int STOCK = 500;
+    private static final int THREADS = 32;
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("inventory")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mySQLContainer.getJdbcUrl());
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory("HOT-001", STOCK));
+        inventoryRepository.save(new Inventory("HOT-002", STOCK));
+    }
+
+    @Test
+    public void shouldReserveOverlappingBatchesWithoutDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<InventoryUpdateDto>>> futures = new ArrayList<>();
+        for (int i = 0; i < STOCK / 2; i++) {
+            // half the carts list the SKUs the other way round
+            List<InventoryUpdateDto> cart = i % 2 == 0
+                    ? List.of(new InventoryUpdateDto("HOT-001", 1), new InventoryUpdateDto("HOT-002", 1))
+                    : List.of(new InventoryUpdateDto("HOT-002", 1), new InventoryUpdateDto("HOT-001", 1));
+            futures.add(executor.submit(() -> inventoryService.reserveBatch(cart)));
+        }
+        for (Future<List<InventoryUpdateDto>> future : futures) {
+            assertEquals(2, future.get().size());
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK / 2, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+        assertEquals(STOCK / 2, inventoryRepository.findBySkuCode("HOT-002").getQuantity());
+    }
+
+    @Test
+    public void shouldRollBackWholeBatchWhenOneLineIsShort() {
+        List<InventoryUpdateDto> cart = List.of(new InventoryUpdateDto("HOT-001", 10),
+                new InventoryUpdateDto("HOT-002", STOCK + 1));
+
+        assertThrows(InsufficientInventoryException.class, () -> inventoryService.reserveBatch(cart));
+
+        assertEquals(STOCK, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+        assertEquals(STOCK, inventoryRepository.findBySkuCode("HOT-002").getQuantity());
+    }
+}
@@ -103,6 +103,22 @@ public class InventoryControllerIntegrationTest {
         assertEquals(5, updatedInventory.getQuantity());
     }
 
+    @Test
+    public void testReserveInventoryWithNegativeQuantity() throws Exception {
+        InventoryUpdateDto request = new InventoryUpdateDto();
+        request.setSkuCode("PROD-001");
+        request.setQuantity(-10); // would add stock if it reached the conditional update
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/inventory/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        // Verify inventory remained unchanged
+        Inventory updatedInventory = inventoryRepository.findBySkuCode("PROD-001");
+        assertEquals(100, updatedInventory.getQuantity());
+    }
+
     @Test
     public void testReserveNonExistentProduct() throws Exception {
         InventoryUpdateDto request = new InventoryUpdateDto();
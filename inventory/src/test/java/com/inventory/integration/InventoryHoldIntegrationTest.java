@@ -0,0 +1,126 @@
+package com.inventory.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryHoldStatus;
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.model.Inventory;
+import com.inventory.model.InventoryHold;
+import com.inventory.repository.InventoryHoldRepository;
+import com.inventory.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// not @Transactional: holds expire on the scheduler thread, which has to see committed rows
+@SpringBootTest(properties = {"inventory.holds.tick=100", "inventory.holds.sweep-interval=200"})
+@Testcontainers
+@AutoConfigureMockMvc
+public class InventoryHoldIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("inventory")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryHoldRepository inventoryHoldRepository;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mySQLContainer.getJdbcUrl());
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryHoldRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory("PROD-001", 100));
+    }
+
+    @Test
+    public void shouldGiveStockBackWhenHoldExpires() throws Exception {
+        InventoryHoldDto hold = hold(10, 1);
+        assertEquals(90, inventoryRepository.findBySkuCode("PROD-001").getQuantity());
+
+        Thread.sleep(1500);
+
+        assertEquals(100, inventoryRepository.findBySkuCode("PROD-001").getQuantity());
+        assertEquals(InventoryHoldStatus.EXPIRED, inventoryHoldRepository.findById(hold.getId()).orElseThrow().getStatus());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/inventory/holds/" + hold.getId() + "/confirm"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void shouldKeepStockOfConfirmedHoldAndReturnReleasedOne() throws Exception {
+        InventoryHoldDto confirmed = hold(10, 1);
+        InventoryHoldDto released = hold(5, 60);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/inventory/holds/" + confirmed.getId() + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", equalTo("CONFIRMED")));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/inventory/holds/" + released.getId() + "/release"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", equalTo("RELEASED")));
+        Thread.sleep(1500);
+
+        // the confirmed hold's deadline passed without giving its stock back
+        assertEquals(90, inventoryRepository.findBySkuCode("PROD-001").getQuantity());
+    }
+
+    @Test
+    public void shouldSweepExpiredHoldTheWheelNeverSaw() throws Exception {
+        // a hold written by another instance: this one never filed it in its wheel
+        inventoryRepository.save(new Inventory("PROD-001", 90));
+        InventoryHold hold = inventoryHoldRepository.save(new InventoryHold(null, "PROD-001", 10,
+                InventoryHoldStatus.HELD, Instant.now().minusSeconds(60)));
+
+        Thread.sleep(1000);
+
+        assertEquals(100, inventoryRepository.findBySkuCode("PROD-001").getQuantity());
+        assertEquals(InventoryHoldStatus.EXPIRED, inventoryHoldRepository.findById(hold.getId()).orElseThrow().getStatus());
+    }
+
+    private InventoryHoldDto hold(int quantity, long ttlSeconds) throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/api/inventory/holds")
+                        .param("ttlSeconds", String.valueOf(ttlSeconds))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new InventoryUpdateDto("PROD-001", quantity))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", equalTo("HELD")))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, InventoryHoldDto.class);
+    }
+}
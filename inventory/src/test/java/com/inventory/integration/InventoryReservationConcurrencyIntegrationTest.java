@@ -0,0 +1,139 @@
+package com.inventory.integration;
+
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.service.InventoryService;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// not @Transactional: every reservation has to commit on its own connection to contend for the row
+@SpringBootTest
+@Testcontainers
+@Log4j2
+public class InventoryReservationConcurrencyIntegrationTest {
+
+    private static final int STOCK = 500;
+    private static final int RESERVATIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("inventory")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mySQLContainer.getJdbcUrl());
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory("HOT-001", STOCK));
+        inventoryRepository.save(new Inventory("HOT-002", STOCK));
+        inventoryRepository.save(new Inventory("WARM-001", STOCK));
+        inventoryRepository.save(new Inventory("WARM-002", STOCK));
+    }
+
+    // throughput depends on the machine, so both paths are warmed up on their own rows first and the numbers are
+    // only reported; what the test holds the conditional update to is selling exactly the stock
+    @Test
+    public void shouldNotOversellUnderConcurrentReservations() throws Exception {
+        reserveConcurrently("WARM-002", this::checkThenSave, new AtomicInteger());
+        reserveConcurrently("WARM-001", this::conditionalUpdate, new AtomicInteger());
+
+        double legacyPerSecond = reserveConcurrently("HOT-002", this::checkThenSave, new AtomicInteger());
+        AtomicInteger reserved = new AtomicInteger();
+        double perSecond = reserveConcurrently("HOT-001", this::conditionalUpdate, reserved);
+
+        log.info("{} reservations of one unit over {} threads after warm-up: {} per second conditional update, {} "
+                + "per second check then save", RESERVATIONS, THREADS, Math.round(perSecond),
+                Math.round(legacyPerSecond));
+        assertEquals(STOCK, reserved.get());
+        assertEquals(0, inventoryRepository.findBySkuCode("HOT-001").getQuantity());
+    }
+
+    private void conditionalUpdate(String skuCode) {
+        inventoryService.reserve(new InventoryUpdateDto(skuCode, 1));
+    }
+
+    // the previous check, load and save sequence, kept here as the baseline
+    private void checkThenSave(String skuCode) {
+        transactionTemplate.execute(status -> {
+            if (!inventoryRepository.existsBySkuCodeAndAvailableQuantity(skuCode, 1)) {
+                throw new InsufficientInventoryException("Product inventory not sufficient");
+            }
+            Inventory inventory = inventoryRepository.findBySkuCode(skuCode);
+            inventory.setQuantity(inventory.getQuantity() - 1);
+            return inventoryRepository.save(inventory);
+        });
+    }
+
+    private double reserveConcurrently(String skuCode, Reservation reservation, AtomicInteger reserved)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(RESERVATIONS);
+        long started = System.nanoTime();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    reservation.reserve(skuCode);
+                    reserved.incrementAndGet();
+                } catch (InsufficientInventoryException e) {
+                    // sold out
+                } catch (RuntimeException e) {
+                    // lock timeouts and lost updates of the baseline do not count as reservations
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return RESERVATIONS / seconds;
+    }
+
+    private interface Reservation {
+        void reserve(String skuCode);
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.integration;
+
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.repository.InventoryRepository;
+import com.inventory.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "inventory.coalescing.enabled=true")
+@Testcontainers
+public class ReservationCoalescingIntegrationTest {
+
+    private static final int STOCK = 1000;
+    private static final int RESERVATIONS = 4000;
+    private static final int THREADS = 32;
+
+    @Container
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("inventory")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mySQLContainer.getJdbcUrl());
+        registry.add("spring.datasource.username", mySQLContainer::getUsername);
+        registry.add("spring.datasource.password", mySQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(new Inventory("BATCHED-001", STOCK));
+    }
+
+    // how coalescing compares with one transaction per caller is measured with InventoryReservationBenchmark against
+    // a running service
+    @Test
+    public void shouldCoalesceContendedReservationsWithoutOverselling() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        reserveConcurrently(reserved, () -> inventoryService.reserve(new InventoryUpdateDto("BATCHED-001", 1)));
+
+        assertEquals(STOCK, reserved.get());
+        assertEquals(0, inventoryRepository.findBySkuCode("BATCHED-001").getQuantity());
+    }
+
+    private void reserveConcurrently(AtomicInteger reserved, Runnable reservation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(RESERVATIONS);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    reservation.run();
+                    reserved.incrementAndGet();
+                } catch (InsufficientInventoryException e) {
+                    // sold out
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+}
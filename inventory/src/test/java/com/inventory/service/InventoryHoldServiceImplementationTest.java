@@ -0,0 +1,250 @@
+package com.inventory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventory.dto.InventoryHoldDto;
+import com.inventory.dto.InventoryHoldStatus;
+import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.HoldConflictException;
+import com.inventory.exceptions.HoldNotFoundException;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.InventoryHold;
+import com.inventory.repository.InventoryHoldRepository;
+import com.inventory.repository.InventoryRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class InventoryHoldServiceImplementationTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private InventoryRepository inventoryRepository;
+    private InventoryHoldRepository inventoryHoldRepository;
+    private Clock clock;
+    private InventoryHoldServiceImplementation inventoryHoldService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        inventoryHoldRepository = mock(InventoryHoldRepository.class);
+        clock = mock(Clock.class);
+        at(NOW);
+        inventoryHoldService = new InventoryHoldServiceImplementation(inventoryRepository, inventoryHoldRepository,
+                mock(PlatformTransactionManager.class), clock, Duration.ofMinutes(15), Duration.ofHours(1), 1000, 64);
+        when(inventoryHoldRepository.save(any(InventoryHold.class))).thenAnswer(invocation -> {
+            InventoryHold hold = invocation.getArgument(0);
+            hold.setId(7L);
+            return hold;
+        });
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#hold(InventoryUpdateDto, Long)}.
+     * <ul>
+     *   <li>Given enough stock and no TTL.</li>
+     *   <li>Then take the stock and create a hold expiring after the default TTL.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#hold(InventoryUpdateDto, Long)}
+     */
+    @Test
+    @DisplayName("Test hold(InventoryUpdateDto, Long); given enough stock; then hold it for the default TTL")
+    void testHold_givenEnoughStock_thenHoldItForDefaultTtl() {
+        // Arrange
+        when(inventoryRepository.reserve("SKU-1", 3)).thenReturn(1);
+
+        // Act
+        InventoryHoldDto actualHold = inventoryHoldService.hold(new InventoryUpdateDto("SKU-1", 3), null);
+
+        // Assert
+        assertEquals(new InventoryHoldDto(7L, "SKU-1", 3, InventoryHoldStatus.HELD, NOW.plus(Duration.ofMinutes(15))),
+                actualHold);
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#hold(InventoryUpdateDto, Long)}.
+     * <ul>
+     *   <li>Given too little stock, a TTL over the maximum or a non-positive quantity.</li>
+     *   <li>Then create no hold.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#hold(InventoryUpdateDto, Long)}
+     */
+    @Test
+    @DisplayName("Test hold(InventoryUpdateDto, Long); given short stock or invalid request; then create no hold")
+    void testHold_givenShortStockOrInvalidRequest_thenCreateNoHold() {
+        // Arrange
+        when(inventoryRepository.reserve("SKU-1", 3)).thenReturn(0);
+
+        // Act and Assert
+        assertThrows(InsufficientInventoryException.class,
+                () -> inventoryHoldService.hold(new InventoryUpdateDto("SKU-1", 3), 60L));
+        assertThrows(BadRequestException.class,
+                () -> inventoryHoldService.hold(new InventoryUpdateDto("SKU-1", 3), 3601L));
+        assertThrows(BadRequestException.class,
+                () -> inventoryHoldService.hold(new InventoryUpdateDto("SKU-1", 0), 60L));
+        verify(inventoryHoldRepository, never()).save(any());
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#confirm(Long)}.
+     * <ul>
+     *   <li>Given a live hold, then the same hold again, then one past its deadline.</li>
+     *   <li>Then confirm it idempotently and refuse the expired one.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#confirm(Long)}
+     */
+    @Test
+    @DisplayName("Test confirm(Long); given live, confirmed and expired holds; then confirm idempotently")
+    void testConfirm_givenLiveConfirmedAndExpiredHolds_thenConfirmIdempotently() {
+        // Arrange
+        InventoryHold hold = hold(1L, InventoryHoldStatus.HELD, NOW.plusSeconds(60));
+        when(inventoryHoldRepository.findForUpdateById(1L)).thenReturn(Optional.of(hold));
+        when(inventoryHoldRepository.findForUpdateById(2L))
+                .thenReturn(Optional.of(hold(2L, InventoryHoldStatus.HELD, NOW)));
+
+        // Act and Assert
+        assertEquals(InventoryHoldStatus.CONFIRMED, inventoryHoldService.confirm(1L).getStatus());
+        assertEquals(InventoryHoldStatus.CONFIRMED, inventoryHoldService.confirm(1L).getStatus());
+        assertThrows(HoldConflictException.class, () -> inventoryHoldService.confirm(2L));
+        assertThrows(HoldNotFoundException.class, () -> inventoryHoldService.confirm(3L));
+        verify(inventoryRepository, never()).restock(anyString(), anyInt());
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#release(Long)}.
+     * <ul>
+     *   <li>Given a live hold released twice, and a confirmed hold.</li>
+     *   <li>Then give the stock back once and refuse to release the confirmed hold.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#release(Long)}
+     */
+    @Test
+    @DisplayName("Test release(Long); given live and confirmed holds; then give stock back once")
+    void testRelease_givenLiveAndConfirmedHolds_thenGiveStockBackOnce() {
+        // Arrange
+        when(inventoryHoldRepository.findForUpdateById(1L))
+                .thenReturn(Optional.of(hold(1L, InventoryHoldStatus.HELD, NOW.plusSeconds(60))));
+        when(inventoryHoldRepository.findForUpdateById(2L))
+                .thenReturn(Optional.of(hold(2L, InventoryHoldStatus.CONFIRMED, NOW.plusSeconds(60))));
+
+        // Act and Assert
+        assertEquals(InventoryHoldStatus.RELEASED, inventoryHoldService.release(1L).getStatus());
+        assertEquals(InventoryHoldStatus.RELEASED, inventoryHoldService.release(1L).getStatus());
+        assertThrows(HoldConflictException.class, () -> inventoryHoldService.release(2L));
+        verify(inventoryRepository).restock("SKU-1", 2);
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#expireDueHolds()}.
+     * <ul>
+     *   <li>Given two holds reaching their deadline, one of them already confirmed.</li>
+     *   <li>Then expire only the one still held and give its stock back.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#expireDueHolds()}
+     */
+    @Test
+    @DisplayName("Test expireDueHolds(); given due holds; then expire those still held")
+    void testExpireDueHolds_givenDueHolds_thenExpireThoseStillHeld() {
+        // Arrange
+        when(inventoryRepository.reserve(anyString(), anyInt())).thenReturn(1);
+        inventoryHoldService.hold(new InventoryUpdateDto("SKU-1", 2), 5L);
+        InventoryHold held = hold(7L, InventoryHoldStatus.HELD, NOW.plusSeconds(5));
+        when(inventoryHoldRepository.findForUpdateByIdInAndStatus(eq(List.of(7L)), eq(InventoryHoldStatus.HELD)))
+                .thenReturn(List.of(held));
+
+        // Act
+        inventoryHoldService.expireDueHolds();
+        at(NOW.plusSeconds(6));
+        inventoryHoldService.expireDueHolds();
+
+        // Assert
+        assertEquals(InventoryHoldStatus.EXPIRED, held.getStatus());
+        verify(inventoryRepository).restock("SKU-1", 2);
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#sweepExpiredHolds()}.
+     * <ul>
+     *   <li>Given an overdue hold this instance never filed in its wheel.</li>
+     *   <li>Then the indexed sweep expires it and gives its stock back.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#sweepExpiredHolds()}
+     */
+    @Test
+    @DisplayName("Test sweepExpiredHolds(); given an overdue hold missing from the wheel; then expire it")
+    void testSweepExpiredHolds_givenOverdueHoldMissingFromWheel_thenExpireIt() {
+        // Arrange
+        InventoryHold overdue = hold(9L, InventoryHoldStatus.HELD, NOW.minusSeconds(30));
+        when(inventoryHoldRepository.findTop500ByStatusAndExpiresAtBeforeOrderByExpiresAt(InventoryHoldStatus.HELD,
+                NOW)).thenReturn(List.of(overdue));
+        when(inventoryHoldRepository.findForUpdateByIdInAndStatus(eq(List.of(9L)), eq(InventoryHoldStatus.HELD)))
+                .thenReturn(List.of(overdue));
+
+        // Act
+        inventoryHoldService.sweepExpiredHolds();
+
+        // Assert
+        assertEquals(InventoryHoldStatus.EXPIRED, overdue.getStatus());
+        verify(inventoryRepository).restock("SKU-1", 2);
+    }
+
+    /**
+     * Test {@link InventoryHoldServiceImplementation#sweepExpiredHolds()}.
+     * <ul>
+     *   <li>Given the database fails while expiring the batch.</li>
+     *   <li>Then the sweep gives up without throwing and leaves the holds for the next sweep.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryHoldServiceImplementation#sweepExpiredHolds()}
+     */
+    @Test
+    @DisplayName("Test sweepExpiredHolds(); given the expiry fails; then leave the holds for the next sweep")
+    void testSweepExpiredHolds_givenExpiryFails_thenLeaveHoldsForNextSweep() {
+        // Arrange
+        InventoryHold overdue = hold(9L, InventoryHoldStatus.HELD, NOW.minusSeconds(30));
+        when(inventoryHoldRepository.findTop500ByStatusAndExpiresAtBeforeOrderByExpiresAt(InventoryHoldStatus.HELD,
+                NOW)).thenReturn(List.of(overdue));
+        when(inventoryHoldRepository.findForUpdateByIdInAndStatus(eq(List.of(9L)), eq(InventoryHoldStatus.HELD)))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        // Act
+        inventoryHoldService.sweepExpiredHolds();
+
+        // Assert
+        assertEquals(InventoryHoldStatus.HELD, overdue.getStatus());
+        verify(inventoryRepository, never()).restock(anyString(), anyInt());
+    }
+
+    private void at(Instant instant) {
+        when(clock.instant()).thenReturn(instant);
+        when(clock.millis()).thenReturn(instant.toEpochMilli());
+    }
+
+    private static InventoryHold hold(Long id, InventoryHoldStatus status, Instant expiresAt) {
+        return new InventoryHold(id, "SKU-1", 2, status, expiresAt);
+    }
+}
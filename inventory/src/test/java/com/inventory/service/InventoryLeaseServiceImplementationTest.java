@@ -0,0 +1,93 @@
+package com.inventory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventory.dto.InventoryLeaseDto;
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.LeaseNotFoundException;
+import com.inventory.model.InventoryLease;
+import com.inventory.repository.InventoryLeaseRepository;
+import com.inventory.repository.InventoryRepository;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InventoryLeaseServiceImplementationTest {
+
+    private InventoryRepository inventoryRepository;
+    private InventoryLeaseRepository inventoryLeaseRepository;
+    private InventoryLeaseServiceImplementation inventoryLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        inventoryLeaseRepository = mock(InventoryLeaseRepository.class);
+        inventoryLeaseService = new InventoryLeaseServiceImplementation(inventoryRepository, inventoryLeaseRepository);
+        when(inventoryLeaseRepository.save(any(InventoryLease.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Test {@link InventoryLeaseServiceImplementation#reconcile(String, String, int)}.
+     * <ul>
+     *   <li>Given a stranded lease, and an unsold count below or above what is stranded.</li>
+     *   <li>Then restock the unsold units up to the stranded ones and settle the lease.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryLeaseServiceImplementation#reconcile(String, String, int)}
+     */
+    @Test
+    @DisplayName("Test reconcile(String, String, int); given stranded lease; then restock up to the stranded units")
+    void testReconcile_givenStrandedLease_thenRestockUpToStrandedUnits() {
+        // Arrange
+        when(inventoryLeaseRepository.findForUpdateBySkuCodeAndHolder("HOT", "inventory-1"))
+                .thenReturn(Optional.of(new InventoryLease("HOT", "inventory-1", 10, 30)))
+                .thenReturn(Optional.of(new InventoryLease("HOT", "inventory-1", 10, 30)));
+
+        // Act
+        InventoryLeaseDto partlySold = inventoryLeaseService.reconcile("HOT", "inventory-1", 12);
+        InventoryLeaseDto overstated = inventoryLeaseService.reconcile("HOT", "inventory-1", 45);
+
+        // Assert
+        assertEquals(new InventoryLeaseDto("HOT", "inventory-1", 10, 0), partlySold);
+        assertEquals(new InventoryLeaseDto("HOT", "inventory-1", 10, 0), overstated);
+        verify(inventoryRepository).restock("HOT", 12);
+        verify(inventoryRepository).restock("HOT", 30);
+    }
+
+    /**
+     * Test {@link InventoryLeaseServiceImplementation#reconcile(String, String, int)}.
+     * <ul>
+     *   <li>Given a negative unsold count, an unknown lease, or a lease already reconciled.</li>
+     *   <li>Then restock nothing.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryLeaseServiceImplementation#reconcile(String, String, int)}
+     */
+    @Test
+    @DisplayName("Test reconcile(String, String, int); given invalid, unknown or settled lease; then restock nothing")
+    void testReconcile_givenInvalidUnknownOrSettledLease_thenRestockNothing() {
+        // Arrange
+        when(inventoryLeaseRepository.findForUpdateBySkuCodeAndHolder("HOT", "inventory-1"))
+                .thenReturn(Optional.of(new InventoryLease("HOT", "inventory-1", 10, 0)));
+        when(inventoryLeaseRepository.findForUpdateBySkuCodeAndHolder("HOT", "inventory-2"))
+                .thenReturn(Optional.empty());
+
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> inventoryLeaseService.reconcile("HOT", "inventory-1", -1));
+        assertThrows(LeaseNotFoundException.class, () -> inventoryLeaseService.reconcile("HOT", "inventory-2", 5));
+        assertEquals(new InventoryLeaseDto("HOT", "inventory-1", 10, 0),
+                inventoryLeaseService.reconcile("HOT", "inventory-1", 5));
+        verify(inventoryRepository, never()).restock(anyString(), anyInt());
+    }
+}
@@ -1,27 +1,39 @@
 package com.inventory.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.diffblue.cover.annotations.MethodsUnderTest;
 import com.inventory.dto.InventoryUpdateDto;
+import com.inventory.exceptions.BadRequestException;
 import com.inventory.exceptions.InsufficientInventoryException;
 import com.inventory.model.Inventory;
 import com.inventory.repository.InventoryRepository;
+import com.inventory.stock.HotSkuInventory;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ContextConfiguration(classes = {InventoryServiceImplementation.class})
 @ExtendWith(SpringExtension.class)
@@ -30,9 +42,24 @@ class InventoryServiceImplementationTest {
     @MockBean
     private InventoryRepository inventoryRepository;
 
+    @MockBean
+    private HotSkuInventory hotSkuInventory;
+
+    @MockBean
+    private ReservationCoalescer reservationCoalescer;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
     @Autowired
     private InventoryServiceImplementation inventoryServiceImplementation;
 
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     /**
      * Test {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}.
      * <p>
@@ -43,12 +70,216 @@ class InventoryServiceImplementationTest {
     @MethodsUnderTest({"boolean InventoryServiceImplementation.reserve(InventoryUpdateDto)"})
     void testReserve() {
         // Arrange
-        when(inventoryRepository.existsBySkuCodeAndAvailableQuantity(Mockito.<String>any(), anyInt())).thenReturn(false);
+        when(inventoryRepository.reserve(Mockito.<String>any(), anyInt())).thenReturn(0);
 
         // Act and Assert
         assertThrows(InsufficientInventoryException.class,
                 () -> inventoryServiceImplementation.reserve(new InventoryUpdateDto("Sku Code", 1)));
-        verify(inventoryRepository).existsBySkuCodeAndAvailableQuantity(eq("Sku Code"), eq(1));
+        verify(inventoryRepository).reserve(eq("Sku Code"), eq(1));
+        verify(inventoryRepository, never()).findQuantityBySkuCode(Mockito.<String>any());
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}.
+     * <ul>
+     *   <li>Given the conditional decrement updates the row.</li>
+     *   <li>Then return {@code true} with the remaining quantity, without loading the entity.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}
+     */
+    @Test
+    @DisplayName("Test reserve(InventoryUpdateDto); given row updated; then return 'true' with remaining quantity")
+    @MethodsUnderTest({"boolean InventoryServiceImplementation.reserve(InventoryUpdateDto)"})
+    void testReserve_givenRowUpdated_thenReturnTrueWithRemainingQuantity() {
+        // Arrange
+        when(inventoryRepository.reserve(Mockito.<String>any(), anyInt())).thenReturn(1);
+        when(inventoryRepository.findQuantityBySkuCode(Mockito.<String>any())).thenReturn(7);
+        InventoryUpdateDto inventoryUpdateDto = new InventoryUpdateDto("Sku Code", 3);
+
+        // Act
+        boolean actualReserveResult = inventoryServiceImplementation.reserve(inventoryUpdateDto);
+
+        // Assert
+        verify(inventoryRepository).reserve(eq("Sku Code"), eq(3));
+        verify(inventoryRepository, never()).findBySkuCode(Mockito.<String>any());
+        verify(inventoryRepository, never()).save(Mockito.<Inventory>any());
+        assertEquals(7, inventoryUpdateDto.getQuantity());
+        assertTrue(actualReserveResult);
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}.
+     * <ul>
+     *   <li>Given a hot SKU reserved from memory.</li>
+     *   <li>Then return {@code true} with the remaining quantity, without touching the row.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}
+     */
+    @Test
+    @DisplayName("Test reserve(InventoryUpdateDto); given hot SKU; then reserve from memory")
+    @MethodsUnderTest({"boolean InventoryServiceImplementation.reserve(InventoryUpdateDto)"})
+    void testReserve_givenHotSku_thenReserveFromMemory() {
+        // Arrange
+        when(hotSkuInventory.reserve(Mockito.<String>any(), anyInt())).thenReturn(OptionalInt.of(41));
+        InventoryUpdateDto inventoryUpdateDto = new InventoryUpdateDto("Sku Code", 2);
+
+        // Act
+        boolean actualReserveResult = inventoryServiceImplementation.reserve(inventoryUpdateDto);
+
+        // Assert
+        verify(hotSkuInventory).reserve(eq("Sku Code"), eq(2));
+        verify(inventoryRepository, never()).reserve(Mockito.<String>any(), anyInt());
+        assertEquals(41, inventoryUpdateDto.getQuantity());
+        assertTrue(actualReserveResult);
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}.
+     * <ul>
+     *   <li>Given coalescing is enabled.</li>
+     *   <li>Then hand the reservation to the SKU's batch instead of opening a transaction.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}
+     */
+    @Test
+    @DisplayName("Test reserve(InventoryUpdateDto); given coalescing enabled; then reserve in the SKU's batch")
+    @MethodsUnderTest({"boolean InventoryServiceImplementation.reserve(InventoryUpdateDto)"})
+    void testReserve_givenCoalescingEnabled_thenReserveInSkuBatch() {
+        // Arrange
+        when(reservationCoalescer.isEnabled()).thenReturn(true);
+        when(reservationCoalescer.reserve(Mockito.<String>any(), anyInt())).thenReturn(12);
+        InventoryUpdateDto inventoryUpdateDto = new InventoryUpdateDto("Sku Code", 3);
+
+        // Act
+        boolean actualReserveResult = inventoryServiceImplementation.reserve(inventoryUpdateDto);
+
+        // Assert
+        verify(reservationCoalescer).reserve(eq("Sku Code"), eq(3));
+        verify(inventoryRepository, never()).reserve(Mockito.<String>any(), anyInt());
+        assertEquals(12, inventoryUpdateDto.getQuantity());
+        assertTrue(actualReserveResult);
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}.
+     * <ul>
+     *   <li>Given a zero or negative quantity.</li>
+     *   <li>Then throw {@link BadRequestException} before touching memory, the coalescer or the row.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserve(InventoryUpdateDto)}
+     */
+    @Test
+    @DisplayName("Test reserve(InventoryUpdateDto); given non-positive quantity; then throw BadRequestException")
+    @MethodsUnderTest({"boolean InventoryServiceImplementation.reserve(InventoryUpdateDto)"})
+    void testReserve_givenNonPositiveQuantity_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class,
+                () -> inventoryServiceImplementation.reserve(new InventoryUpdateDto("Sku Code", 0)));
+        assertThrows(BadRequestException.class,
+                () -> inventoryServiceImplementation.reserve(new InventoryUpdateDto("Sku Code", -5)));
+        verify(hotSkuInventory, never()).reserve(Mockito.<String>any(), anyInt());
+        verify(reservationCoalescer, never()).reserve(Mockito.<String>any(), anyInt());
+        verify(inventoryRepository, never()).reserve(Mockito.<String>any(), anyInt());
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserveBatch(List)}.
+     * <ul>
+     *   <li>Given unsorted lines repeating a SKU.</li>
+     *   <li>Then reserve each SKU once, in sorted order, and return the remaining quantities.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserveBatch(List)}
+     */
+    @Test
+    @DisplayName("Test reserveBatch(List); given unsorted lines; then reserve merged SKUs in sorted order")
+    @MethodsUnderTest({"List InventoryServiceImplementation.reserveBatch(List)"})
+    void testReserveBatch_givenUnsortedLines_thenReserveMergedSkusInSortedOrder() {
+        // Arrange
+        when(inventoryRepository.reserve(Mockito.<String>any(), anyInt())).thenReturn(1);
+        when(inventoryRepository.findBySkuCodeInOrderBySkuCode(Mockito.any()))
+                .thenReturn(List.of(new Inventory("SKU-A", 7), new Inventory("SKU-B", 4)));
+
+        // Act
+        List<InventoryUpdateDto> actualReserveBatchResult = inventoryServiceImplementation.reserveBatch(List.of(
+                new InventoryUpdateDto("SKU-B", 1), new InventoryUpdateDto("SKU-A", 2),
+                new InventoryUpdateDto("SKU-B", 3)));
+
+        // Assert
+        InOrder lockOrder = inOrder(inventoryRepository);
+        lockOrder.verify(inventoryRepository).reserve(eq("SKU-A"), eq(2));
+        lockOrder.verify(inventoryRepository).reserve(eq("SKU-B"), eq(4));
+        assertEquals(List.of(new InventoryUpdateDto("SKU-A", 7), new InventoryUpdateDto("SKU-B", 4)),
+                actualReserveBatchResult);
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserveBatch(List)}.
+     * <ul>
+     *   <li>Given a line that is short.</li>
+     *   <li>Then throw {@link InsufficientInventoryException} without reserving the lines after it.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserveBatch(List)}
+     */
+    @Test
+    @DisplayName("Test reserveBatch(List); given short line; then throw InsufficientInventoryException")
+    @MethodsUnderTest({"List InventoryServiceImplementation.reserveBatch(List)"})
+    void testReserveBatch_givenShortLine_thenThrowInsufficientInventoryException() {
+        // Arrange
+        when(inventoryRepository.reserve(eq("SKU-A"), anyInt())).thenReturn(1);
+        when(inventoryRepository.reserve(eq("SKU-B"), anyInt())).thenReturn(0);
+
+        // Act and Assert
+        assertThrows(InsufficientInventoryException.class, () -> inventoryServiceImplementation.reserveBatch(List.of(
+                new InventoryUpdateDto("SKU-C", 1), new InventoryUpdateDto("SKU-B", 1),
+                new InventoryUpdateDto("SKU-A", 1))));
+        verify(inventoryRepository, never()).reserve(eq("SKU-C"), anyInt());
+        verify(inventoryRepository, never()).findBySkuCodeInOrderBySkuCode(Mockito.any());
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserveBatch(List)}.
+     * <ul>
+     *   <li>Given a line with a non-positive quantity.</li>
+     *   <li>Then throw {@link BadRequestException} before touching any row.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserveBatch(List)}
+     */
+    @Test
+    @DisplayName("Test reserveBatch(List); given non-positive quantity; then throw BadRequestException")
+    @MethodsUnderTest({"List InventoryServiceImplementation.reserveBatch(List)"})
+    void testReserveBatch_givenNonPositiveQuantity_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> inventoryServiceImplementation.reserveBatch(List.of(
+                new InventoryUpdateDto("SKU-A", 1), new InventoryUpdateDto("SKU-B", 0))));
+        verify(inventoryRepository, never()).reserve(Mockito.<String>any(), anyInt());
+    }
+
+    /**
+     * Test {@link InventoryServiceImplementation#reserveBatch(List)}.
+     * <ul>
+     *   <li>Given a line without a SKU code, or with a blank one.</li>
+     *   <li>Then throw {@link BadRequestException} before touching any row.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link InventoryServiceImplementation#reserveBatch(List)}
+     */
+    @Test
+    @DisplayName("Test reserveBatch(List); given missing SKU code; then throw BadRequestException")
+    @MethodsUnderTest({"List InventoryServiceImplementation.reserveBatch(List)"})
+    void testReserveBatch_givenMissingSkuCode_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> inventoryServiceImplementation.reserveBatch(List.of(
+                new InventoryUpdateDto("SKU-A", 1), new InventoryUpdateDto(null, 2))));
+        assertThrows(BadRequestException.class, () -> inventoryServiceImplementation.reserveBatch(List.of(
+                new InventoryUpdateDto(" ", 2))));
+        verify(inventoryRepository, never()).reserve(Mockito.<String>any(), anyInt());
     }
 
     /**
@@ -0,0 +1,241 @@
+package com.inventory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventory.exceptions.BadRequestException;
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.repository.InventoryRepository;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ReservationCoalescerTest {
+
+    private InventoryRepository inventoryRepository;
+    private ReservationCoalescer reservationCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        // a window long enough for the test thread to queue every reservation before the batch drains
+        reservationCoalescer = new ReservationCoalescer(inventoryRepository, mock(PlatformTransactionManager.class),
+                true, 200, 2, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reservationCoalescer.stop();
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#submit(String, int)}.
+     * <ul>
+     *   <li>Given reservations for one SKU queued within the window, one of them too large.</li>
+     *   <li>Then decide them against one read, apply one update and answer each caller.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#submit(String, int)}
+     */
+    @Test
+    @DisplayName("Test submit(String, int); given reservations within the window; then one read and one update")
+    void testSubmit_givenReservationsWithinWindow_thenOneReadAndOneUpdate() {
+        // Arrange
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-1")).thenReturn(Optional.of(new Inventory("SKU-1", 10)));
+
+        // Act
+        CompletableFuture<Integer> first = reservationCoalescer.submit("SKU-1", 4);
+        CompletableFuture<Integer> tooLarge = reservationCoalescer.submit("SKU-1", 7);
+        CompletableFuture<Integer> third = reservationCoalescer.submit("SKU-1", 5);
+
+        // Assert
+        assertEquals(6, first.join());
+        assertEquals(1, third.join());
+        CompletionException thrown = assertThrows(CompletionException.class, tooLarge::join);
+        assertInstanceOf(InsufficientInventoryException.class, thrown.getCause());
+        verify(inventoryRepository, times(1)).findForUpdateBySkuCode("SKU-1");
+        verify(inventoryRepository).reserve("SKU-1", 9);
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#reserve(String, int)}.
+     * <ul>
+     *   <li>Given an unknown SKU.</li>
+     *   <li>Then throw {@link InsufficientInventoryException} without updating anything.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given unknown SKU; then throw InsufficientInventoryException")
+    void testReserve_givenUnknownSku_thenThrowInsufficientInventoryException() {
+        // Arrange
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-9")).thenReturn(Optional.empty());
+
+        // Act and Assert
+        assertThrows(InsufficientInventoryException.class, () -> reservationCoalescer.reserve("SKU-9", 1));
+        verify(inventoryRepository, never()).reserve(anyString(), anyInt());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#reserve(String, int)}.
+     * <ul>
+     *   <li>Given the batch's transaction fails.</li>
+     *   <li>Then every caller in the batch gets the failure.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given failing transaction; then rethrow its failure")
+    void testReserve_givenFailingTransaction_thenRethrowItsFailure() {
+        // Arrange
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-1")).thenThrow(new IllegalStateException("lock timeout"));
+
+        // Act and Assert
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> reservationCoalescer.reserve("SKU-1", 1));
+        assertEquals("lock timeout", thrown.getMessage());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#submit(String, int)}.
+     * <ul>
+     *   <li>When the quantity is zero or negative.</li>
+     *   <li>Then throw {@link BadRequestException} without queueing it.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#submit(String, int)}
+     */
+    @Test
+    @DisplayName("Test submit(String, int); when non-positive quantity; then throw BadRequestException")
+    void testSubmit_whenNonPositiveQuantity_thenThrowBadRequestException() throws InterruptedException {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> reservationCoalescer.submit("SKU-1", 0));
+        assertThrows(BadRequestException.class, () -> reservationCoalescer.submit("SKU-1", -3));
+        reservationCoalescer.stop();
+        verify(inventoryRepository, never()).findForUpdateBySkuCode(anyString());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#submit(String, int)}.
+     * <ul>
+     *   <li>Given the batch fails with an {@link Error} rather than a runtime exception.</li>
+     *   <li>Then answer its callers with the error and keep draining the SKU's next batch.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#submit(String, int)}
+     */
+    @Test
+    @DisplayName("Test submit(String, int); given batch fails with Error; then answer callers and keep draining")
+    void testSubmit_givenBatchFailsWithError_thenAnswerCallersAndKeepDraining() {
+        // Arrange
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-1"))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(Optional.of(new Inventory("SKU-1", 10)));
+
+        // Act
+        CompletableFuture<Integer> failed = reservationCoalescer.submit("SKU-1", 1);
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        CompletableFuture<Integer> next = reservationCoalescer.submit("SKU-1", 1);
+
+        // Assert
+        assertInstanceOf(StackOverflowError.class, thrown.getCause());
+        assertEquals(9, next.join());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#reserve(String, int)}.
+     * <ul>
+     *   <li>Given the coalescer is stopped.</li>
+     *   <li>Then reject the reservation instead of leaving the caller waiting.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given stopped; then throw RejectedExecutionException")
+    void testReserve_givenStopped_thenThrowRejectedExecutionException() throws InterruptedException {
+        // Arrange
+        reservationCoalescer.stop();
+
+        // Act and Assert
+        assertThrows(RejectedExecutionException.class, () -> reservationCoalescer.reserve("SKU-1", 1));
+        assertThrows(RejectedExecutionException.class, () -> reservationCoalescer.reserve("SKU-1", 1));
+        verify(inventoryRepository, never()).findForUpdateBySkuCode(anyString());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#reserve(String, int)}.
+     * <ul>
+     *   <li>Given the batch is not decided within the timeout.</li>
+     *   <li>Then throw {@link IllegalStateException} and leave the stock to the batch's other callers.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given batch not decided in time; then throw and reserve nothing for it")
+    void testReserve_givenBatchNotDecidedInTime_thenThrowAndReserveNothingForIt() throws InterruptedException {
+        // Arrange
+        ReservationCoalescer slowCoalescer = new ReservationCoalescer(inventoryRepository,
+                mock(PlatformTransactionManager.class), true, 200, 2, 20);
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-1")).thenReturn(Optional.of(new Inventory("SKU-1", 10)));
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> slowCoalescer.reserve("SKU-1", 1));
+        slowCoalescer.stop();
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, thrown.getCause());
+        assertTrue(thrown.getMessage().contains("SKU-1"));
+        verify(inventoryRepository).findForUpdateBySkuCode("SKU-1");
+        verify(inventoryRepository, never()).reserve(anyString(), anyInt());
+    }
+
+    /**
+     * Test {@link ReservationCoalescer#reserve(String, int)}.
+     * <ul>
+     *   <li>Given reservations for two SKUs that have all been decided.</li>
+     *   <li>Then no queue is left behind for either SKU.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReservationCoalescer#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given decided reservations; then drop the emptied queues")
+    void testReserve_givenDecidedReservations_thenDropEmptiedQueues() throws InterruptedException {
+        // Arrange
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-1")).thenReturn(Optional.of(new Inventory("SKU-1", 10)));
+        when(inventoryRepository.findForUpdateBySkuCode("SKU-2")).thenReturn(Optional.of(new Inventory("SKU-2", 10)));
+
+        // Act
+        assertEquals(9, reservationCoalescer.reserve("SKU-1", 1));
+        assertEquals(8, reservationCoalescer.reserve("SKU-2", 2));
+        // waits for the drains to finish, including the clean-up after the callers were answered
+        reservationCoalescer.stop();
+
+        // Assert
+        assertEquals(0, reservationCoalescer.queuedSkuCount());
+    }
+}
@@ -0,0 +1,88 @@
+package com.inventory.stock;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HoldExpiryWheelTest {
+
+    /**
+     * Test {@link HoldExpiryWheel#advance(long)}.
+     * <ul>
+     *   <li>Given holds due in this round of the wheel and in a later one, sharing a bucket.</li>
+     *   <li>Then return each hold at the end of its deadline's tick and keep later rounds in the bucket.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HoldExpiryWheel#advance(long)}
+     */
+    @Test
+    @DisplayName("Test advance(long); given holds in this and a later round; then return each when due")
+    void testAdvance_givenHoldsInThisAndLaterRound_thenReturnEachWhenDue() {
+        // Arrange: 100 ms ticks, 8 buckets, so 250 ms and 1050 ms share bucket 3 a round apart
+        HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(100, 8, 0);
+        holdExpiryWheel.schedule(1, 250);
+        holdExpiryWheel.schedule(2, 1050);
+        holdExpiryWheel.schedule(3, 300);
+
+        // Act and Assert
+        assertArrayEquals(new long[0], holdExpiryWheel.advance(250));
+        assertArrayEquals(new long[]{1, 3}, sorted(holdExpiryWheel.advance(300)));
+        assertEquals(1, holdExpiryWheel.size());
+        assertArrayEquals(new long[0], holdExpiryWheel.advance(1000));
+        assertArrayEquals(new long[]{2}, holdExpiryWheel.advance(1100));
+        assertEquals(0, holdExpiryWheel.size());
+    }
+
+    /**
+     * Test {@link HoldExpiryWheel#advance(long)}.
+     * <ul>
+     *   <li>Given the wheel was not advanced for more than a full turn, and a hold scheduled in the past.</li>
+     *   <li>Then return everything due without walking every missed tick.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HoldExpiryWheel#advance(long)}
+     */
+    @Test
+    @DisplayName("Test advance(long); given a gap over a full turn; then return everything due")
+    void testAdvance_givenGapOverFullTurn_thenReturnEverythingDue() {
+        // Arrange
+        HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(100, 8, 1000);
+        holdExpiryWheel.schedule(1, 500);
+        for (long id = 2; id <= 1000; id++) {
+            holdExpiryWheel.schedule(id, 1000 + id * 7);
+        }
+
+        // Act
+        long[] due = holdExpiryWheel.advance(1_000_000);
+
+        // Assert
+        assertEquals(1000, due.length);
+        assertEquals(0, holdExpiryWheel.size());
+    }
+
+    /**
+     * Test {@link HoldExpiryWheel#HoldExpiryWheel(long, int, long)}.
+     * <ul>
+     *   <li>When the size is not a power of two.</li>
+     *   <li>Then throw {@link IllegalArgumentException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HoldExpiryWheel#HoldExpiryWheel(long, int, long)}
+     */
+    @Test
+    @DisplayName("Test new HoldExpiryWheel(long, int, long); when size is not a power of two; then throw")
+    void testNewHoldExpiryWheel_whenSizeNotPowerOfTwo_thenThrowIllegalArgumentException() {
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> new HoldExpiryWheel(100, 100, 0));
+    }
+
+    private static long[] sorted(long[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,225 @@
+package com.inventory.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.inventory.exceptions.InsufficientInventoryException;
+import com.inventory.model.Inventory;
+import com.inventory.model.InventoryLease;
+import com.inventory.repository.InventoryLeaseRepository;
+import com.inventory.repository.InventoryRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class HotSkuInventoryTest {
+
+    private InventoryRepository inventoryRepository;
+    private InventoryLeaseRepository inventoryLeaseRepository;
+    private HotSkuInventory hotSkuInventory;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        inventoryLeaseRepository = mock(InventoryLeaseRepository.class);
+        hotSkuInventory = new HotSkuInventory(inventoryRepository, inventoryLeaseRepository,
+                mock(PlatformTransactionManager.class), true, Set.of("HOT"), 4, 10, "inventory-1");
+        when(inventoryRepository.existsBySkuCode("HOT")).thenReturn(true);
+        when(inventoryRepository.findForUpdateBySkuCode("HOT")).thenReturn(Optional.of(new Inventory("HOT", 25)));
+    }
+
+    /**
+     * Test {@link HotSkuInventory#reserve(String, int)}.
+     * <ul>
+     *   <li>Given a hot SKU leased from its row.</li>
+     *   <li>Then reserve from memory, leasing the next chunk only when memory runs out.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given hot SKU; then reserve from memory and lease by chunk")
+    void testReserve_givenHotSku_thenReserveFromMemoryAndLeaseByChunk() {
+        // Arrange
+        hotSkuInventory.start();
+        when(inventoryRepository.findForUpdateBySkuCode("HOT")).thenReturn(Optional.of(new Inventory("HOT", 15)));
+
+        // Act
+        OptionalInt first = hotSkuInventory.reserve("HOT", 4);
+        OptionalInt second = hotSkuInventory.reserve("HOT", 8);
+
+        // Assert
+        assertEquals(OptionalInt.of(6 + 15), first);
+        assertEquals(OptionalInt.of(8 + 5), second);
+        verify(inventoryRepository, times(2)).reserve("HOT", 10);
+        verify(inventoryRepository, times(2)).findForUpdateBySkuCode("HOT");
+        verify(inventoryLeaseRepository).save(new InventoryLease("HOT", "inventory-1", 0, 0));
+        verify(inventoryLeaseRepository, times(2)).addQuantity("HOT", "inventory-1", 10);
+    }
+
+    /**
+     * Test {@link HotSkuInventory#reserve(String, int)}.
+     * <ul>
+     *   <li>Given a SKU that is not hot, or a hot SKU with memory and row both short.</li>
+     *   <li>Then leave the SKU to the row path, or throw {@link InsufficientInventoryException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#reserve(String, int)}
+     */
+    @Test
+    @DisplayName("Test reserve(String, int); given cold SKU or sold out; then row path or InsufficientInventoryException")
+    void testReserve_givenColdSkuOrSoldOut_thenRowPathOrInsufficientInventoryException() {
+        // Arrange
+        hotSkuInventory.start();
+        when(inventoryRepository.findForUpdateBySkuCode("HOT")).thenReturn(Optional.of(new Inventory("HOT", 0)));
+
+        // Act and Assert
+        assertEquals(OptionalInt.empty(), hotSkuInventory.reserve("COLD", 1));
+        assertThrows(InsufficientInventoryException.class, () -> hotSkuInventory.reserve("HOT", 11));
+        assertEquals(OptionalInt.of(0), hotSkuInventory.reserve("HOT", 10));
+    }
+
+    /**
+     * Test {@link HotSkuInventory#flush()}.
+     * <ul>
+     *   <li>Given reservations since the last flush, and a flush that fails.</li>
+     *   <li>Then write them to the lease once, keeping them for the next flush when it fails.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#flush()}
+     */
+    @Test
+    @DisplayName("Test flush(); given reservations; then write them to the lease, retrying after a failure")
+    void testFlush_givenReservations_thenWriteThemToLeaseRetryingAfterFailure() {
+        // Arrange
+        hotSkuInventory.start();
+        hotSkuInventory.reserve("HOT", 2);
+        hotSkuInventory.reserve("HOT", 1);
+        when(inventoryLeaseRepository.addQuantity("HOT", "inventory-1", -3))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(1);
+
+        // Act
+        hotSkuInventory.flush();
+        hotSkuInventory.flush();
+        hotSkuInventory.flush();
+
+        // Assert
+        verify(inventoryLeaseRepository, times(2)).addQuantity("HOT", "inventory-1", -3);
+    }
+
+    /**
+     * Test {@link HotSkuInventory#flush()}.
+     * <ul>
+     *   <li>Given the SKU is stopped while a failing flush is writing its reservations.</li>
+     *   <li>Then drop them, since stopping settled the lease with them counted as reserved.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#flush()}
+     */
+    @Test
+    @DisplayName("Test flush(); given SKU stopped during a failing flush; then drop its reservations")
+    void testFlush_givenSkuStoppedDuringFailingFlush_thenDropItsReservations() {
+        // Arrange
+        hotSkuInventory.start();
+        hotSkuInventory.reserve("HOT", 3);
+        when(inventoryLeaseRepository.addQuantity("HOT", "inventory-1", -3)).thenAnswer(invocation -> {
+            hotSkuInventory.stop();
+            throw new IllegalStateException("database down");
+        });
+
+        // Act
+        hotSkuInventory.flush();
+        hotSkuInventory.flush();
+
+        // Assert
+        verify(inventoryLeaseRepository, times(1)).addQuantity("HOT", "inventory-1", -3);
+        verify(inventoryLeaseRepository).clearQuantity("HOT", "inventory-1");
+    }
+
+    /**
+     * Test {@link HotSkuInventory#stop()}.
+     * <ul>
+     *   <li>Then give unsold units back to the row, settle the lease and hand the SKU to the row path.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#stop()}
+     */
+    @Test
+    @DisplayName("Test stop(); then give unsold units back and settle the lease")
+    void testStop_thenGiveUnsoldUnitsBackAndSettleLease() {
+        // Arrange
+        hotSkuInventory.start();
+        hotSkuInventory.reserve("HOT", 3);
+
+        // Act
+        hotSkuInventory.stop();
+
+        // Assert
+        verify(inventoryRepository).restock("HOT", 7);
+        verify(inventoryLeaseRepository).clearQuantity("HOT", "inventory-1");
+        assertEquals(OptionalInt.empty(), hotSkuInventory.reserve("HOT", 1));
+    }
+
+    /**
+     * Test {@link HotSkuInventory#start()}.
+     * <ul>
+     *   <li>Given a lease left by an unclean shutdown.</li>
+     *   <li>Then strand it instead of giving it back, and lease afresh.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#start()}
+     */
+    @Test
+    @DisplayName("Test start(); given lease left by a crash; then strand it and lease afresh")
+    void testStart_givenLeaseLeftByCrash_thenStrandItAndLeaseAfresh() {
+        // Arrange
+        when(inventoryLeaseRepository.findByHolderAndQuantityGreaterThan("inventory-1", 0))
+                .thenReturn(List.of(new InventoryLease("HOT", "inventory-1", 6, 0)));
+        when(inventoryLeaseRepository.existsById(any())).thenReturn(true);
+
+        // Act
+        hotSkuInventory.start();
+
+        // Assert
+        verify(inventoryLeaseRepository).strandQuantities("inventory-1");
+        verify(inventoryRepository, never()).restock(anyString(), anyInt());
+        verify(inventoryLeaseRepository, never()).save(any());
+        verify(inventoryLeaseRepository).addQuantity(eq("HOT"), eq("inventory-1"), eq(10));
+    }
+
+    /**
+     * Test {@link HotSkuInventory#HotSkuInventory(InventoryRepository, InventoryLeaseRepository, PlatformTransactionManager, boolean, Set, int, int, String)}.
+     * <ul>
+     *   <li>Given hot SKUs enabled without a holder.</li>
+     *   <li>Then throw {@link IllegalStateException}, since a restart could not find its own lease.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link HotSkuInventory#HotSkuInventory(InventoryRepository, InventoryLeaseRepository, PlatformTransactionManager, boolean, Set, int, int, String)}
+     */
+    @Test
+    @DisplayName("Test new HotSkuInventory(...); given enabled without holder; then throw IllegalStateException")
+    void testNewHotSkuInventory_givenEnabledWithoutHolder_thenThrowIllegalStateException() {
+        // Act and Assert
+        assertThrows(IllegalStateException.class, () -> new HotSkuInventory(inventoryRepository,
+                inventoryLeaseRepository, mock(PlatformTransactionManager.class), true, Set.of("HOT"), 4, 10, ""));
+        new HotSkuInventory(inventoryRepository, inventoryLeaseRepository, mock(PlatformTransactionManager.class),
+                false, Set.of(), 4, 10, "");
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventory.stock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StripedStockTest {
+
+    /**
+     * Test {@link StripedStock#take(int)}.
+     * <ul>
+     *   <li>Given a quantity larger than any single stripe holds.</li>
+     *   <li>Then gather it across stripes, and take nothing when the total falls short.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link StripedStock#take(int)}
+     */
+    @Test
+    @DisplayName("Test take(int); given quantity spanning stripes; then gather it or take nothing")
+    void testTake_givenQuantitySpanningStripes_thenGatherItOrTakeNothing() {
+        // Arrange
+        StripedStock stripedStock = new StripedStock(4);
+        stripedStock.add(10);
+
+        // Act and Assert
+        assertTrue(stripedStock.take(7));
+        assertEquals(3, stripedStock.available());
+        assertFalse(stripedStock.take(4));
+        assertEquals(3, stripedStock.available());
+        assertTrue(stripedStock.take(3));
+        assertEquals(0, stripedStock.drain());
+    }
+
+    /**
+     * Test {@link StripedStock#take(int)}.
+     * <ul>
+     *   <li>Given more concurrent single-unit takes than there is stock.</li>
+     *   <li>Then exactly the stock is taken.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link StripedStock#take(int)}
+     */
+    @Test
+    @DisplayName("Test take(int); given concurrent takes; then never take more than the stock")
+    void testTake_givenConcurrentTakes_thenNeverTakeMoreThanStock() throws Exception {
+        // Arrange
+        StripedStock stripedStock = new StripedStock(8);
+        stripedStock.add(1000);
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            futures.add(executor.submit(() -> {
+                if (stripedStock.take(1)) {
+                    taken.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1000, taken.get());
+        assertEquals(0, stripedStock.available());
+    }
+}
@@ -1,5 +1,6 @@
 package com.order.proxy;
 
+import com.order.config.SmileConfig;
 import com.order.decoder.ProductServiceErrorDecoder;
 import com.order.dto.ProductDto;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -9,7 +10,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 @FeignClient(name = "products", url = "http://products:8090/api/products", configuration = ProductServiceErrorDecoder.class)
 public interface ProductProxy {
 
-    @GetMapping("/{skuCode}")
+    // Smile pages are about a third smaller than JSON and decode faster; the product service negotiates them from Accept
+    @GetMapping(value = "/{skuCode}", produces = SmileConfig.APPLICATION_SMILE_VALUE)
     ProductDto getProductBySkuCode(@PathVariable String skuCode);
 
     @GetMapping("/exists/{skuCode}")
@@ -0,0 +1,58 @@
+package com.order.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.order.dto.ProductDto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ContextConfiguration(classes = {SmileConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ExtendWith(SpringExtension.class)
+class SmileConfigTest {
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    /**
+     * Test {@link SmileConfig#smileHttpMessageConverter(org.springframework.http.converter.json.Jackson2ObjectMapperBuilder)}.
+     * <ul>
+     *   <li>Given a Smile encoded product with a field the orders DTO does not have.</li>
+     *   <li>Then read the product and ignore the unknown field.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link SmileConfig#smileHttpMessageConverter(org.springframework.http.converter.json.Jackson2ObjectMapperBuilder)}
+     */
+    @Test
+    @DisplayName("Test smileHttpMessageConverter(Jackson2ObjectMapperBuilder); given unknown field; then read product")
+    void testSmileHttpMessageConverter_givenUnknownField_thenReadProduct() throws IOException {
+        // Arrange
+        Map<String, Object> product = Map.of("skuCode", "SKU-1", "productName", "Product Name", "category", "Category",
+                "price", new BigDecimal("2.30"), "vendor", "Vendor", "rating", 5);
+        MockHttpInputMessage message = new MockHttpInputMessage(new SmileMapper().writeValueAsBytes(product));
+        message.getHeaders().setContentType(MediaType.valueOf(SmileConfig.APPLICATION_SMILE_VALUE));
+
+        // Act
+        assertTrue(smileHttpMessageConverter.canRead(ProductDto.class, message.getHeaders().getContentType()));
+        Object actualProduct = smileHttpMessageConverter.read(ProductDto.class, message);
+
+        // Assert
+        assertEquals(new ProductDto("SKU-1", "Product Name", "Category", new BigDecimal("2.30"), "Vendor"),
+                actualProduct);
+    }
+}
@@ -0,0 +1,11 @@
+package com.products.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EncodedProduct {
+    private byte[] json;
+    private String eTag;
+}
@@ -0,0 +1,52 @@
+package com.products.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductDto;
+import com.products.service.ProductService;
+import com.products.utils.ProductETags;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@Log4j2
+public class ProductJsonCache {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Cache jsonCache;
+
+    public ProductJsonCache(ProductService productService, ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.jsonCache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+    }
+
+    // entries are evicted together with the products cache, so a hit skips both DTO conversion and Jackson;
+    // the load runs inside the cache's compute, so an evict that lands during it waits and then removes the result
+    public EncodedProduct getBySkuCode(String skuCode) {
+        try {
+            return jsonCache.get(skuCode, () -> {
+                EncodedProduct encoded = encode(productService.getBySkuName(skuCode));
+                log.debug("Cached encoded product with SKU: {} ({} bytes)", skuCode, encoded.getJson().length);
+                return encoded;
+            });
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public EncodedProduct encode(ProductDto product) {
+        try {
+            return new EncodedProduct(objectMapper.writeValueAsBytes(product), ProductETags.of(product));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode product with SKU: " + product.getSkuCode(), ex);
+        }
+    }
+}
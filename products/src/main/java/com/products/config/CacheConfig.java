@@ -0,0 +1,11 @@
+package com.products.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_JSON_CACHE = "product-json";
+}
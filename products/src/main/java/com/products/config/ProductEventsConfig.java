@@ -0,0 +1,24 @@
+package com.products.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@ConditionalOnProperty(name = "products.events.enabled", havingValue = "true")
+public class ProductEventsConfig {
+
+    // compacted so a new consumer can rebuild a full catalog replica from the latest event per SKU
+    @Bean
+    public NewTopic productChangedTopic(@Value("${products.events.topic}") String topic,
+                                        @Value("${products.events.partitions}") int partitions) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+}
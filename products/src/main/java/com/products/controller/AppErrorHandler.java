@@ -1,7 +1,10 @@
 package com.products.controller;
 
 import com.products.dto.ErrorDetails;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.PreconditionFailedException;
 import com.products.exceptions.ProductNotFoundException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,7 @@ import java.time.LocalTime;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class AppErrorHandler {
 
     @ExceptionHandler(ProductNotFoundException.class)
@@ -26,6 +30,26 @@ public class AppErrorHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetails> handleBadRequest(BadRequestException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(400)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionFailed(PreconditionFailedException ex) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(ex.getMessage())
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(412)
+                                    .build();
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorDetails);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> handle500(Exception ex){
         ErrorDetails errorDetails=  ErrorDetails.builder()
@@ -1,15 +1,39 @@
 package com.products.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.cache.EncodedProduct;
+import com.products.cache.ProductJsonCache;
+import com.products.config.BinaryCodecConfig;
+import com.products.dto.ProductBatchRequestDto;
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangesDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
 import com.products.service.ProductService;
+import com.products.utils.ProductETags;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/products")
 @AllArgsConstructor
 @CrossOrigin("*")
@@ -17,6 +41,8 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductJsonCache productJsonCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("")
     @ResponseStatus(HttpStatus.OK)
@@ -25,11 +51,76 @@ public class ProductController {
         return productService.getAllProducts();
     }
 
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        log.info("Request received to stream all products");
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<ProductDto> products = productService.streamAllProducts()) {
+                Iterator<ProductDto> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ProductPageDto> getProductsPage(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "100") int size) {
+        log.info("Request received to get products page after cursor: {}, size: {}", cursor, size);
+        ProductPageDto page = productService.getProductsPage(cursor, size);
+        return ResponseEntity.ok().eTag(ProductETags.of(page)).body(page);
+    }
+
+    @GetMapping("/changes")
+    public ProductChangesDto getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") int size) {
+        log.info("Request received to get product changes since: {}, size: {}", since, size);
+        return productService.getChanges(since, size);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ProductPageDto> filterProducts(ProductFilterDto filter) {
+        log.info("Request received to filter products: {}", filter);
+        ProductPageDto page = productService.filterProducts(filter);
+        return ResponseEntity.ok().eTag(ProductETags.of(page)).body(page);
+    }
+
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
+    public List<ProductDto> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        log.info("Request received to search products for: {}", q);
+        return productService.searchProducts(q, limit);
+    }
+
+    @GetMapping("/facets")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductFacetsDto getFacets() {
+        log.info("Request received to get product facets");
+        return productService.getFacets();
+    }
+
     @GetMapping("/{skuCode}")
-    public ProductDto getBySkuCode(@PathVariable String skuCode) {
+    public ResponseEntity<byte[]> getBySkuCode(@PathVariable String skuCode) {
         log.info("Request received to get product with SKU: {}", skuCode);
-        return productService.getBySkuName(skuCode);
+        EncodedProduct product = productJsonCache.getBySkuCode(skuCode);
+        return ResponseEntity.ok().eTag(product.getETag()).contentType(MediaType.APPLICATION_JSON).body(product.getJson());
+    }
+
+    @GetMapping(value = "/{skuCode}", produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryCodecConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ProductDto> getBySkuCodeBinary(@PathVariable String skuCode) {
+        log.info("Request received to get binary encoded product with SKU: {}", skuCode);
+        ProductDto product = productService.getBySkuName(skuCode);
+        return ResponseEntity.ok().eTag(ProductETags.of(product)).body(product);
+    }
+
+    @PostMapping("/batch-get")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductBatchResponseDto getBySkuCodes(@RequestBody ProductBatchRequestDto productBatchRequestDto) {
+        log.info("Request received to get products for SKUs: {}", productBatchRequestDto.getSkuCodes());
+        return productService.getBySkuCodes(productBatchRequestDto.getSkuCodes());
     }
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -39,11 +130,36 @@ public class ProductController {
         return productService.createProduct(productDto);
     }
 
-    @PutMapping("/{skuCode}")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public ProductDto updateProduct(@PathVariable String skuCode, @RequestBody ProductDto productDto) {
+    public ProductBulkResultDto bulkUpsertProducts(@RequestBody List<ProductDto> productDtos) {
+        log.info("Request received to bulk upsert {} products", productDtos.size());
+        return productService.bulkUpsertProducts(productDtos.iterator());
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ProductBulkResultDto bulkUpsertProductsStream(InputStream requestBody) throws IOException {
+        log.info("Request received to bulk upsert products from NDJSON stream");
+        try (MappingIterator<ProductDto> productDtos = objectMapper.readerFor(ProductDto.class).readValues(requestBody)) {
+            return productService.bulkUpsertProducts(productDtos);
+        }
+    }
+
+    @PutMapping("/{skuCode}")
+    public ResponseEntity<ProductDto> updateProduct(@PathVariable String skuCode, @RequestBody ProductDto productDto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Request received to update product with SKU: {}", skuCode);
-        return productService.updateProduct(skuCode, productDto);
+        ProductDto product = productService.updateProduct(skuCode, productDto, ifMatch);
+        return ResponseEntity.ok().eTag(ProductETags.of(product)).body(product);
+    }
+
+    @PatchMapping("/{skuCode}")
+    public ResponseEntity<ProductDto> patchProduct(@PathVariable String skuCode, @RequestBody ProductDto productDto,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Request received to patch product with SKU: {}", skuCode);
+        ProductDto product = productService.patchProduct(skuCode, productDto, ifMatch);
+        return ResponseEntity.ok().eTag(ProductETags.of(product)).body(product);
     }
 
     @DeleteMapping("/{skuCode}")
@@ -53,6 +169,14 @@ public class ProductController {
         productService.deleteProduct(skuCode);
     }
 
+    @GetMapping("/{skuCode}/related")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ProductRelatedDto> getRelatedProducts(@PathVariable String skuCode,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        log.info("Request received to get products bought together with SKU: {}", skuCode);
+        return productService.getRelatedProducts(skuCode, limit);
+    }
+
     @GetMapping("/{skuCode}/exists")
     @ResponseStatus(HttpStatus.OK)
     public boolean productExists(@PathVariable String skuCode) {
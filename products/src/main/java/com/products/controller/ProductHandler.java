@@ -0,0 +1,180 @@
+package com.products.controller;
+
+import com.products.config.BinaryCodecConfig;
+import com.products.dto.ProductBatchRequestDto;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductFilterDto;
+import com.products.exceptions.BadRequestException;
+import com.products.service.ReactiveProductService;
+import com.products.utils.ProductETags;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("reactive")
+@AllArgsConstructor
+@Log4j2
+public class ProductHandler {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        log.info("Request received to get all products");
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(reactiveProductService.getAllProducts(), ProductDto.class);
+    }
+
+    public Mono<ServerResponse> streamAllProducts(ServerRequest request) {
+        log.info("Request received to stream all products");
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveProductService.getAllProducts(), ProductDto.class);
+    }
+
+    public Mono<ServerResponse> getProductsPage(ServerRequest request) {
+        return Mono.defer(() -> {
+            String cursor = request.queryParam("cursor").orElse(null);
+            int size = intParam(request, "size", 100);
+            log.info("Request received to get products page after cursor: {}, size: {}", cursor, size);
+            return reactiveProductService.getProductsPage(cursor, size);
+        }).flatMap(page -> conditionalOk(request, ProductETags.of(page), page));
+    }
+
+    public Mono<ServerResponse> getChanges(ServerRequest request) {
+        return Mono.defer(() -> {
+            String since = request.queryParam("since").orElse(null);
+            int size = intParam(request, "size", 500);
+            log.info("Request received to get product changes since: {}, size: {}", since, size);
+            return reactiveProductService.getChanges(since, size);
+        }).flatMap(changes -> ServerResponse.ok().bodyValue(changes));
+    }
+
+    public Mono<ServerResponse> filterProducts(ServerRequest request) {
+        return request.bind(ProductFilterDto.class)
+                .doOnNext(filter -> log.info("Request received to filter products: {}", filter))
+                .flatMap(reactiveProductService::filterProducts)
+                .flatMap(page -> conditionalOk(request, ProductETags.of(page), page));
+    }
+
+    public Mono<ServerResponse> searchProducts(ServerRequest request) {
+        return Mono.defer(() -> {
+            String query = request.queryParam("q").orElseThrow(() -> new BadRequestException("q is required"));
+            int limit = intParam(request, "limit", 20);
+            log.info("Request received to search products for: {}", query);
+            return reactiveProductService.searchProducts(query, limit);
+        }).flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+
+    public Mono<ServerResponse> getFacets(ServerRequest request) {
+        log.info("Request received to get product facets");
+        return reactiveProductService.getFacets().flatMap(facets -> ServerResponse.ok().bodyValue(facets));
+    }
+
+    public Mono<ServerResponse> getBySkuCode(ServerRequest request) {
+        String skuCode = request.pathVariable("skuCode");
+        log.info("Request received to get product with SKU: {}", skuCode);
+        return reactiveProductService.getBySkuName(skuCode)
+                .flatMap(product -> conditionalOk(request, ProductETags.of(product), product));
+    }
+
+    public Mono<ServerResponse> getBySkuCodes(ServerRequest request) {
+        return request.bodyToMono(ProductBatchRequestDto.class)
+                .doOnNext(batch -> log.info("Request received to get products for SKUs: {}", batch.getSkuCodes()))
+                .flatMap(batch -> reactiveProductService.getBySkuCodes(batch.getSkuCodes()))
+                .flatMap(response -> ServerResponse.ok().contentType(bodyType(request)).bodyValue(response));
+    }
+
+    public Mono<ServerResponse> createProduct(ServerRequest request) {
+        return request.bodyToMono(ProductDto.class)
+                .doOnNext(productDto -> log.info("Request received to create product: {}", productDto.getProductName()))
+                .flatMap(reactiveProductService::createProduct)
+                .flatMap(product -> ServerResponse.status(HttpStatus.CREATED).bodyValue(product));
+    }
+
+    public Mono<ServerResponse> bulkUpsertProducts(ServerRequest request) {
+        log.info("Request received to bulk upsert products");
+        return reactiveProductService.bulkUpsertProducts(request.bodyToFlux(ProductDto.class))
+                .flatMap(result -> ServerResponse.ok().bodyValue(result));
+    }
+
+    public Mono<ServerResponse> updateProduct(ServerRequest request) {
+        String skuCode = request.pathVariable("skuCode");
+        log.info("Request received to update product with SKU: {}", skuCode);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return request.bodyToMono(ProductDto.class)
+                .flatMap(productDto -> reactiveProductService.updateProduct(skuCode, productDto, ifMatch))
+                .flatMap(product -> ServerResponse.ok().eTag(ProductETags.of(product)).bodyValue(product));
+    }
+
+    public Mono<ServerResponse> patchProduct(ServerRequest request) {
+        String skuCode = request.pathVariable("skuCode");
+        log.info("Request received to patch product with SKU: {}", skuCode);
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return request.bodyToMono(ProductDto.class)
+                .flatMap(productDto -> reactiveProductService.patchProduct(skuCode, productDto, ifMatch))
+                .flatMap(product -> ServerResponse.ok().eTag(ProductETags.of(product)).bodyValue(product));
+    }
+
+    public Mono<ServerResponse> deleteProduct(ServerRequest request) {
+        String skuCode = request.pathVariable("skuCode");
+        log.info("Request received to delete product with SKU: {}", skuCode);
+        return reactiveProductService.deleteProduct(skuCode)
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> getRelatedProducts(ServerRequest request) {
+        return Mono.defer(() -> {
+            String skuCode = request.pathVariable("skuCode");
+            int limit = intParam(request, "limit", 10);
+            log.info("Request received to get products bought together with SKU: {}", skuCode);
+            return reactiveProductService.getRelatedProducts(skuCode, limit);
+        }).flatMap(related -> ServerResponse.ok().bodyValue(related));
+    }
+
+    public Mono<ServerResponse> productExists(ServerRequest request) {
+        String skuCode = request.pathVariable("skuCode");
+        log.info("Checking if product with SKU: {} exists", skuCode);
+        return reactiveProductService.productExists(skuCode)
+                .flatMap(exists -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(exists));
+    }
+
+    private static Mono<ServerResponse> conditionalOk(ServerRequest request, String eTag, Object body) {
+        return request.checkNotModified(eTag)
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag).contentType(bodyType(request)).bodyValue(body)));
+    }
+
+    // functional routes pick the writer from the response content type, so binary encodings are negotiated here
+    private static MediaType bodyType(ServerRequest request) {
+        for (MediaType accepted : request.headers().accept()) {
+            if (accepted.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (accepted.equalsTypeAndSubtype(BinaryCodecConfig.APPLICATION_SMILE)) {
+                return BinaryCodecConfig.APPLICATION_SMILE;
+            }
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                break;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException(name + " must be a number");
+        }
+    }
+}
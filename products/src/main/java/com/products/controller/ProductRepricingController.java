@@ -0,0 +1,42 @@
+package com.products.controller;
+
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.service.ProductRepricingService;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("api/products/repricing-jobs")
+@AllArgsConstructor
+@CrossOrigin("*")
+@Log4j2
+public class ProductRepricingController {
+
+    private final ProductRepricingService productRepricingService;
+
+    @PostMapping("")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ProductRepricingJobDto startJob(@RequestBody ProductRepricingRequestDto request) {
+        log.info("Request received to start repricing job: {}", request);
+        return productRepricingService.startJob(request);
+    }
+
+    @GetMapping("/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductRepricingJobDto getJob(@PathVariable String jobId) {
+        log.info("Request received to get repricing job: {}", jobId);
+        return productRepricingService.getJob(jobId);
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ProductRepricingJobDto resumeJob(@PathVariable String jobId) {
+        log.info("Request received to resume repricing job: {}", jobId);
+        return productRepricingService.resumeJob(jobId);
+    }
+}
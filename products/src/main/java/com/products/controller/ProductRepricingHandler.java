@@ -0,0 +1,47 @@
+package com.products.controller;
+
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.service.ProductRepricingService;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+@Profile("reactive")
+@AllArgsConstructor
+@Log4j2
+public class ProductRepricingHandler {
+
+    // jobs run on their own thread; only the blocking job bookkeeping is moved off the event loop here
+    private final ProductRepricingService productRepricingService;
+
+    public Mono<ServerResponse> startJob(ServerRequest request) {
+        return request.bodyToMono(ProductRepricingRequestDto.class)
+                .doOnNext(repricing -> log.info("Request received to start repricing job: {}", repricing))
+                .flatMap(repricing -> Mono.fromCallable(() -> productRepricingService.startJob(repricing))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(job -> ServerResponse.status(HttpStatus.ACCEPTED).bodyValue(job));
+    }
+
+    public Mono<ServerResponse> getJob(ServerRequest request) {
+        String jobId = request.pathVariable("jobId");
+        log.info("Request received to get repricing job: {}", jobId);
+        return Mono.fromCallable(() -> productRepricingService.getJob(jobId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(job -> ServerResponse.ok().bodyValue(job));
+    }
+
+    public Mono<ServerResponse> resumeJob(ServerRequest request) {
+        String jobId = request.pathVariable("jobId");
+        log.info("Request received to resume repricing job: {}", jobId);
+        return Mono.fromCallable(() -> productRepricingService.resumeJob(jobId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(job -> ServerResponse.status(HttpStatus.ACCEPTED).bodyValue(job));
+    }
+}
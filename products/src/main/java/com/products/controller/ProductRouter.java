@@ -0,0 +1,87 @@
+package com.products.controller;
+
+import com.products.dto.ErrorDetails;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.PreconditionFailedException;
+import com.products.exceptions.ProductNotFoundException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalTime;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+@Configuration
+@Profile("reactive")
+public class ProductRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> productRoutes(ProductHandler productHandler) {
+        return RouterFunctions.route()
+                .path("/api/products", builder -> builder
+                        .GET("", accept(MediaType.APPLICATION_JSON), productHandler::getAllProducts)
+                        .GET("", accept(MediaType.APPLICATION_NDJSON), productHandler::streamAllProducts)
+                        .GET("/page", productHandler::getProductsPage)
+                        .GET("/changes", productHandler::getChanges)
+                        .GET("/filter", productHandler::filterProducts)
+                        .GET("/search", productHandler::searchProducts)
+                        .GET("/facets", productHandler::getFacets)
+                        .GET("/{skuCode}", productHandler::getBySkuCode)
+                        .GET("/{skuCode}/exists", productHandler::productExists)
+                        .GET("/{skuCode}/related", productHandler::getRelatedProducts)
+                        .POST("/batch-get", productHandler::getBySkuCodes)
+                        .POST("/bulk", contentType(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON),
+                                productHandler::bulkUpsertProducts)
+                        .POST("", productHandler::createProduct)
+                        .PUT("/{skuCode}", productHandler::updateProduct)
+                        .PATCH("/{skuCode}", productHandler::patchProduct)
+                        .DELETE("/{skuCode}", productHandler::deleteProduct))
+                .onError(ProductNotFoundException.class, (ex, request) -> error(HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onError(BadRequestException.class, (ex, request) -> error(HttpStatus.BAD_REQUEST, ex.getMessage()))
+                .onError(PreconditionFailedException.class, (ex, request) -> error(HttpStatus.PRECONDITION_FAILED, ex.getMessage()))
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> productRepricingRoutes(ProductRepricingHandler productRepricingHandler) {
+        return RouterFunctions.route()
+                .path("/api/products/repricing-jobs", builder -> builder
+                        .POST("", productRepricingHandler::startJob)
+                        .GET("/{jobId}", productRepricingHandler::getJob)
+                        .POST("/{jobId}/resume", productRepricingHandler::resumeJob))
+                .onError(ProductNotFoundException.class, (ex, request) -> error(HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onError(BadRequestException.class, (ex, request) -> error(HttpStatus.BAD_REQUEST, ex.getMessage()))
+                .build();
+    }
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration corsConfiguration = new CorsConfiguration();
+        corsConfiguration.addAllowedOrigin("*");
+        corsConfiguration.addAllowedMethod("*");
+        corsConfiguration.addAllowedHeader("*");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/products/**", corsConfiguration);
+        return new CorsWebFilter(source);
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String errorMessage) {
+        ErrorDetails errorDetails = ErrorDetails.builder()
+                                    .errorMessage(errorMessage)
+                                    .timestamp(LocalTime.now())
+                                    .errorCode(status.value())
+                                    .build();
+        return ServerResponse.status(status).bodyValue(errorDetails);
+    }
+}
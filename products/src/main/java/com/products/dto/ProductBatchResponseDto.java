@@ -0,0 +1,15 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchResponseDto {
+    private List<ProductDto> found;
+    private List<String> missing;
+}
@@ -0,0 +1,15 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBulkItemResultDto {
+    private int index;
+    private String skuCode;
+    private ProductBulkItemStatus status;
+    private String message;
+}
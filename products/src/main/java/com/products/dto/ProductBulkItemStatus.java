@@ -0,0 +1,8 @@
+package com.products.dto;
+
+public enum ProductBulkItemStatus {
+    CREATED,
+    UPDATED,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBulkResultDto {
+    private int created;
+    private int updated;
+    private int failed;
+    private List<ProductBulkItemResultDto> items;
+}
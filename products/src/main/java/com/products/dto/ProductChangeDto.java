@@ -0,0 +1,15 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeDto {
+    private String skuCode;
+    private ProductChangeType type;
+    private ProductDto product;
+    private Long changeSeq;
+}
@@ -0,0 +1,6 @@
+package com.products.dto;
+
+public enum ProductChangeType {
+    UPSERTED,
+    DELETED
+}
@@ -0,0 +1,16 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangesDto {
+    private List<ProductChangeDto> changes;
+    private String nextToken;
+    private boolean hasMore;
+}
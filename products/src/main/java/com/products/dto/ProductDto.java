@@ -1,5 +1,6 @@
 package com.products.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,5 +16,14 @@ public class ProductDto {
     private String category;
     private BigDecimal price;
     private String vendor;
+    @JsonIgnore
+    private Long version;
 
+    public ProductDto(String skuCode, String productName, String category, BigDecimal price, String vendor) {
+        this.skuCode = skuCode;
+        this.productName = productName;
+        this.category = category;
+        this.price = price;
+        this.vendor = vendor;
+    }
 }
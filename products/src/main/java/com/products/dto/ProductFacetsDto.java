@@ -0,0 +1,15 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacetsDto {
+    private Map<String, Integer> categories;
+    private Map<String, Integer> vendors;
+}
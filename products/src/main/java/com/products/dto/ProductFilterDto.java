@@ -0,0 +1,23 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDto {
+    private String category;
+    private String vendor;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String sort = "skuCode";
+    private String direction = "asc";
+    private String cursor;
+    private int size = 100;
+    private List<String> fields;
+}
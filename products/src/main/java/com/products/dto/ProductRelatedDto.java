@@ -0,0 +1,13 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRelatedDto {
+    private String skuCode;
+    private int boughtTogether;
+}
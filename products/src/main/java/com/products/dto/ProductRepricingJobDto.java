@@ -0,0 +1,24 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRepricingJobDto {
+    private String id;
+    private ProductRepricingStatus status;
+    private ProductRepricingRequestDto request;
+    private long matched;
+    private long processed;
+    private long repriced;
+    private long failed;
+    private String lastSkuCode;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRepricingRequestDto {
+    private String category;
+    private String vendor;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ProductRepricingRuleDto rule;
+}
@@ -0,0 +1,18 @@
+package com.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRepricingRuleDto {
+    private ProductRepricingRuleType type;
+    private BigDecimal amount;
+    private int scale = 2;
+    private RoundingMode roundingMode = RoundingMode.HALF_UP;
+}
@@ -0,0 +1,6 @@
+package com.products.dto;
+
+public enum ProductRepricingRuleType {
+    PERCENTAGE,
+    ABSOLUTE
+}
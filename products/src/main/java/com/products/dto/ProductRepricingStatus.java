@@ -0,0 +1,7 @@
+package com.products.dto;
+
+public enum ProductRepricingStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
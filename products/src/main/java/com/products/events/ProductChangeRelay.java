@@ -0,0 +1,70 @@
+package com.products.events;
+
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.model.ProductRelayOffset;
+import com.products.repository.ProductRelayOffsetRepository;
+import com.products.service.ProductService;
+import com.products.utils.ProductChangeToken;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "products.events.enabled", havingValue = "true")
+@Log4j2
+public class ProductChangeRelay {
+
+    private final ProductService productService;
+    private final ProductRelayOffsetRepository offsetRepository;
+    private final KafkaTemplate<String, ProductChangeDto> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+
+    public ProductChangeRelay(ProductService productService,
+                              ProductRelayOffsetRepository offsetRepository,
+                              KafkaTemplate<String, ProductChangeDto> kafkaTemplate,
+                              @Value("${products.events.topic}") String topic,
+                              @Value("${products.events.batch-size}") int batchSize) {
+        this.productService = productService;
+        this.offsetRepository = offsetRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${products.events.relay-interval}")
+    public synchronized void relay() {
+        // the feed only reaches the committed watermark, so every change it returns is final and can be relayed
+        String token = offsetRepository.findById(topic).map(ProductRelayOffset::getChangeToken).orElse(null);
+        boolean more = true;
+        while (more) {
+            ProductChangesDto changes = productService.getChanges(token, batchSize);
+            List<CompletableFuture<?>> sends = new ArrayList<>(changes.getChanges().size());
+            String relayedToken = token;
+            more = changes.isHasMore();
+            for (ProductChangeDto change : changes.getChanges()) {
+                // a null value is the Kafka tombstone that lets compaction drop a deleted SKU
+                sends.add(kafkaTemplate.send(topic, change.getSkuCode(),
+                        change.getType() == ProductChangeType.DELETED ? null : change));
+                relayedToken = ProductChangeToken.encode(change.getChangeSeq(), change.getSkuCode());
+            }
+            if (sends.isEmpty()) {
+                return;
+            }
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            offsetRepository.save(new ProductRelayOffset(topic, relayedToken, Instant.now()));
+            log.debug("Relayed {} product changes to {}", sends.size(), topic);
+            token = relayedToken;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.products.events;
+
+import com.common.OrderDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.snapshot.ProductCooccurrenceSnapshot;
+import com.products.snapshot.ProductCooccurrenceSnapshotCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "products.related.enabled", havingValue = "true")
+@Log4j2
+public class ProductCooccurrenceListener implements ConsumerSeekAware {
+
+    private final ProductCooccurrenceIndex productCooccurrenceIndex;
+    private final String topic;
+    private final Path snapshotPath;
+    private final long basketWindowMillis;
+    private final int basketSize;
+    private final Cache<String, Basket> baskets;
+
+    public ProductCooccurrenceListener(ProductCooccurrenceIndex productCooccurrenceIndex,
+                                       @Value("${products.related.topic}") String topic,
+                                       @Value("${products.related.snapshot-path}") Path snapshotPath,
+                                       @Value("${products.related.basket-window}") Duration basketWindow,
+                                       @Value("${products.related.basket-size}") int basketSize,
+                                       @Value("${products.related.baskets}") long maximumBaskets) {
+        this.productCooccurrenceIndex = productCooccurrenceIndex;
+        this.topic = topic;
+        this.snapshotPath = snapshotPath;
+        this.basketWindowMillis = basketWindow.toMillis();
+        this.basketSize = basketSize;
+        this.baskets = Caffeine.newBuilder().maximumSize(maximumBaskets).build();
+    }
+
+    // runs before the listener container starts, so the first assignment already knows where the counters stop
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(snapshotPath)) {
+            log.info("No co-occurrence snapshot at {}, rebuilding from the start of {}", snapshotPath, topic);
+            return;
+        }
+        try {
+            ProductCooccurrenceSnapshot snapshot = ProductCooccurrenceSnapshotCodec.read(snapshotPath);
+            if (!topic.equals(snapshot.getTopic())) {
+                log.warn("Ignoring co-occurrence snapshot {} taken from topic {}", snapshotPath, snapshot.getTopic());
+                return;
+            }
+            productCooccurrenceIndex.restore(snapshot);
+            log.info("Restored co-occurrence index from snapshot taken at {}: {} SKUs, offsets {}",
+                    snapshot.getCreatedAt(), snapshot.getSkuCodes().size(), snapshot.getOffsets());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read co-occurrence snapshot {}, rebuilding from the start of {}: {}", snapshotPath,
+                    topic, ex.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${products.related.snapshot-interval}",
+            fixedDelayString = "${products.related.snapshot-interval}")
+    @PreDestroy
+    public void export() {
+        try {
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            ProductCooccurrenceSnapshotCodec.write(snapshotPath, productCooccurrenceIndex.snapshot(topic));
+            log.debug("Exported co-occurrence snapshot to {}", snapshotPath);
+        } catch (IOException ex) {
+            log.warn("Could not export co-occurrence snapshot to {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    // an order event carries a single SKU, so a customer's orders placed close together count as one basket; an
+    // offset the retention already dropped falls back to the earliest record rather than skipping to the latest
+    @KafkaListener(topics = "${products.related.topic}", groupId = "${products.related.group-id}",
+            properties = "auto.offset.reset=earliest")
+    public void onOrderCreated(OrderDto order, @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp,
+                               @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                               @Header(KafkaHeaders.OFFSET) long offset) {
+        if (order.getSkuCode() == null || order.getCustomerEmail() == null) {
+            log.debug("Ignoring order event without SKU or customer: {}", order.getSkuCode());
+            productCooccurrenceIndex.addPairs(null, List.of(), partition, offset);
+            return;
+        }
+        Basket basket = baskets.get(order.getCustomerEmail(), customer -> new Basket());
+        List<String> boughtWith = basket.add(order.getSkuCode(), timestamp, basketWindowMillis, basketSize);
+        productCooccurrenceIndex.addPairs(order.getSkuCode(), boughtWith, partition, offset);
+    }
+
+    // the counters live in memory on every replica, so each one reads the topic in its own consumer group and
+    // resumes from the offsets its snapshot was taken at; only a partition it has never counted starts over
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition partition : assignments.keySet()) {
+            long position = productCooccurrenceIndex.position(partition.partition());
+            if (position < 0) {
+                log.info("Rebuilding co-occurrence counters from the start of {}", partition);
+                callback.seekToBeginning(List.of(partition));
+            } else {
+                log.info("Resuming co-occurrence counters of {} at offset {}", partition, position);
+                callback.seek(partition.topic(), partition.partition(), position);
+            }
+        }
+    }
+
+    private static class Basket {
+        private final List<String> skuCodes = new ArrayList<>();
+        private long lastOrderAt;
+
+        // record timestamps rather than the clock decide what belongs together, so a replay rebuilds the same baskets
+        synchronized List<String> add(String skuCode, long orderedAt, long windowMillis, int maximumSize) {
+            if (orderedAt - lastOrderAt > windowMillis) {
+                skuCodes.clear();
+            }
+            lastOrderAt = orderedAt;
+            if (skuCodes.contains(skuCode)) {
+                return List.of();
+            }
+            List<String> boughtWith = List.copyOf(skuCodes);
+            skuCodes.add(skuCode);
+            if (skuCodes.size() > maximumSize) {
+                skuCodes.remove(0);
+            }
+            return boughtWith;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.products.events;
+
+import com.common.OrderDto;
+import com.products.repository.ProductRepository;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "products.popularity.enabled", havingValue = "true")
+@Log4j2
+public class ProductPopularityTracker {
+
+    // forward decay: a window's units are weighted by 2^(time since this epoch / half-life) instead of decaying every
+    // stored score as time passes. Ordering by the weighted sums equals ordering by scores decayed to now, but a score
+    // only changes when the product sells. Changing the epoch or half-life invalidates stored scores; the weights stay
+    // within a double for roughly 1000 half-lives
+    static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final ProductRepository productRepository;
+    private final Clock clock;
+    private final double halfLifeMillis;
+    private Object2IntOpenHashMap<String> window = new Object2IntOpenHashMap<>();
+
+    public ProductPopularityTracker(ProductRepository productRepository,
+                                    @Value("${products.popularity.half-life}") Duration halfLife) {
+        this(productRepository, Clock.systemUTC(), halfLife);
+    }
+
+    ProductPopularityTracker(ProductRepository productRepository, Clock clock, Duration halfLife) {
+        this.productRepository = productRepository;
+        this.clock = clock;
+        this.halfLifeMillis = halfLife.toMillis();
+    }
+
+    @KafkaListener(topics = "${products.popularity.topic}", groupId = "${products.popularity.group-id}")
+    public void onOrderCreated(OrderDto order) {
+        if (order.getSkuCode() == null || order.getQuantity() == null || order.getQuantity() <= 0) {
+            log.warn("Ignoring order event without SKU or quantity: {}", order.getSkuCode());
+            return;
+        }
+        record(order.getSkuCode(), order.getQuantity());
+    }
+
+    public synchronized void record(String skuCode, int quantity) {
+        window.addTo(skuCode, quantity);
+    }
+
+    // orders are counted in memory and written once per window, one $inc per product sold in it
+    @Scheduled(fixedDelayString = "${products.popularity.flush-interval}")
+    public void flush() {
+        Object2IntOpenHashMap<String> closed;
+        synchronized (this) {
+            if (window.isEmpty()) {
+                return;
+            }
+            closed = window;
+            window = new Object2IntOpenHashMap<>();
+        }
+        double weight = weight(clock.instant());
+        Object2DoubleOpenHashMap<String> increments = new Object2DoubleOpenHashMap<>(closed.size());
+        for (Object2IntMap.Entry<String> entry : Object2IntMaps.fastIterable(closed)) {
+            increments.put(entry.getKey(), entry.getIntValue() * weight);
+        }
+        try {
+            productRepository.incrementPopularity(increments);
+            log.debug("Flushed popularity of {} products", increments.size());
+        } catch (RuntimeException ex) {
+            log.warn("Could not flush popularity of {} products, keeping them for the next window: {}",
+                    closed.size(), ex.getMessage());
+            restore(closed);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    double weight(Instant now) {
+        return Math.pow(2, (now.toEpochMilli() - EPOCH.toEpochMilli()) / halfLifeMillis);
+    }
+
+    private synchronized void restore(Object2IntOpenHashMap<String> closed) {
+        for (Object2IntMap.Entry<String> entry : Object2IntMaps.fastIterable(closed)) {
+            window.addTo(entry.getKey(), entry.getIntValue());
+        }
+    }
+}
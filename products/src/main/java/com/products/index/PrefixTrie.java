@@ -0,0 +1,106 @@
+package com.products.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PrefixTrie {
+
+    private final Node root = new Node();
+
+    public void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+        }
+        node.terminal = true;
+    }
+
+    public void remove(String term) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[term.length()].terminal = false;
+        for (int i = term.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(term.charAt(i - 1));
+        }
+    }
+
+    public List<String> termsWithPrefix(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        List<String> terms = new ArrayList<>();
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), terms, limit);
+        }
+        return terms;
+    }
+
+    private static void collect(Node node, StringBuilder term, List<String> terms, int limit) {
+        if (node.terminal) {
+            terms.add(term.toString());
+        }
+        for (int i = 0; i < node.keys.length && terms.size() < limit; i++) {
+            term.append(node.keys[i]);
+            collect(node.children[i], term, terms, limit);
+            term.setLength(term.length() - 1);
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return !terminal && keys.length == 0;
+        }
+    }
+}
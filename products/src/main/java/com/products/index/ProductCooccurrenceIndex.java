@@ -0,0 +1,155 @@
+package com.products.index;
+
+import com.products.dto.ProductRelatedDto;
+import com.products.snapshot.ProductCooccurrenceSnapshot;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMaps;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Log4j2
+public class ProductCooccurrenceIndex {
+
+    private final int neighbours;
+    // SKU codes are interned to ints once so every counter is a primitive int -> int entry
+    private final Object2IntOpenHashMap<String> skuIds = new Object2IntOpenHashMap<>();
+    private final ObjectArrayList<String> skuCodes = new ObjectArrayList<>();
+    private final Int2ObjectOpenHashMap<Int2IntOpenHashMap> counters = new Int2ObjectOpenHashMap<>();
+    private final Int2LongOpenHashMap offsets = new Int2LongOpenHashMap();
+
+    public ProductCooccurrenceIndex(@Value("${products.related.neighbours}") int neighbours) {
+        this.neighbours = neighbours;
+        this.skuIds.defaultReturnValue(-1);
+        this.offsets.defaultReturnValue(-1);
+    }
+
+    // the offset moves under the same lock as the counters, so a snapshot never holds a record's pairs without it
+    public synchronized void addPairs(String skuCode, Collection<String> boughtWith, int partition, long offset) {
+        if (!boughtWith.isEmpty()) {
+            addPairs(skuCode, boughtWith);
+        }
+        offsets.put(partition, offset + 1);
+    }
+
+    public synchronized void addPairs(String skuCode, Collection<String> boughtWith) {
+        int sku = id(skuCode);
+        for (String other : boughtWith) {
+            if (!other.equals(skuCode)) {
+                int neighbour = id(other);
+                increment(sku, neighbour);
+                increment(neighbour, sku);
+            }
+        }
+    }
+
+    public synchronized List<ProductRelatedDto> related(String skuCode, int limit) {
+        Int2IntOpenHashMap skuCounters = counters.get(skuIds.getInt(skuCode));
+        if (skuCounters == null) {
+            return List.of();
+        }
+        List<ProductRelatedDto> related = new ArrayList<>(skuCounters.size());
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(skuCounters)) {
+            related.add(new ProductRelatedDto(skuCodes.get(entry.getIntKey()), entry.getIntValue()));
+        }
+        related.sort(Comparator.comparingInt(ProductRelatedDto::getBoughtTogether).reversed()
+                .thenComparing(ProductRelatedDto::getSkuCode));
+        return related.size() > limit ? List.copyOf(related.subList(0, limit)) : related;
+    }
+
+    // next offset to read from a partition, or -1 when none of its records is counted yet
+    public synchronized long position(int partition) {
+        return offsets.get(partition);
+    }
+
+    public synchronized ProductCooccurrenceSnapshot snapshot(String topic) {
+        int[][] neighbourIds = new int[skuCodes.size()][];
+        int[][] neighbourCounts = new int[skuCodes.size()][];
+        for (int sku = 0; sku < skuCodes.size(); sku++) {
+            Int2IntOpenHashMap skuCounters = counters.get(sku);
+            int size = skuCounters == null ? 0 : skuCounters.size();
+            neighbourIds[sku] = new int[size];
+            neighbourCounts[sku] = new int[size];
+            if (skuCounters != null) {
+                int i = 0;
+                for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(skuCounters)) {
+                    neighbourIds[sku][i] = entry.getIntKey();
+                    neighbourCounts[sku][i++] = entry.getIntValue();
+                }
+            }
+        }
+        Map<Integer, Long> positions = new HashMap<>();
+        for (Int2LongMap.Entry entry : Int2LongMaps.fastIterable(offsets)) {
+            positions.put(entry.getIntKey(), entry.getLongValue());
+        }
+        return new ProductCooccurrenceSnapshot(Instant.now(), topic, positions, List.copyOf(skuCodes), neighbourIds,
+                neighbourCounts);
+    }
+
+    public synchronized void restore(ProductCooccurrenceSnapshot snapshot) {
+        skuIds.clear();
+        skuCodes.clear();
+        counters.clear();
+        offsets.clear();
+        for (String skuCode : snapshot.getSkuCodes()) {
+            id(skuCode);
+        }
+        for (int sku = 0; sku < snapshot.getNeighbours().length; sku++) {
+            if (snapshot.getNeighbours()[sku].length > 0) {
+                Int2IntOpenHashMap skuCounters = new Int2IntOpenHashMap(snapshot.getNeighbours()[sku],
+                        snapshot.getCounts()[sku]);
+                counters.put(sku, skuCounters);
+            }
+        }
+        for (Map.Entry<Integer, Long> offset : snapshot.getOffsets().entrySet()) {
+            offsets.put(offset.getKey().intValue(), offset.getValue().longValue());
+        }
+    }
+
+    private int id(String skuCode) {
+        int id = skuIds.getInt(skuCode);
+        if (id < 0) {
+            id = skuCodes.size();
+            skuIds.put(skuCode, id);
+            skuCodes.add(skuCode);
+        }
+        return id;
+    }
+
+    // Space-Saving: each SKU keeps at most `neighbours` counters and a newcomer takes over the smallest one, count
+    // included. Memory stays bounded however many orders arrive, and a neighbour bought together often enough to
+    // rank is never the one evicted
+    private void increment(int sku, int neighbour) {
+        Int2IntOpenHashMap skuCounters = counters.computeIfAbsent(sku, key -> new Int2IntOpenHashMap(4));
+        if (skuCounters.containsKey(neighbour) || skuCounters.size() < neighbours) {
+            skuCounters.addTo(neighbour, 1);
+            return;
+        }
+        int smallest = -1;
+        int smallestCount = Integer.MAX_VALUE;
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(skuCounters)) {
+            if (entry.getIntValue() < smallestCount) {
+                smallest = entry.getIntKey();
+                smallestCount = entry.getIntValue();
+            }
+        }
+        skuCounters.remove(smallest);
+        skuCounters.put(neighbour, smallestCount + 1);
+    }
+}
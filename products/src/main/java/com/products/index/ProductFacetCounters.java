@@ -0,0 +1,128 @@
+package com.products.index;
+
+import com.products.dto.ProductFacetsDto;
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+import it.unimi.dsi.fastutil.objects.AbstractObject2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Component
+@Log4j2
+public class ProductFacetCounters {
+
+    private final ProductRepository productRepository;
+    private final Object2ObjectOpenHashMap<String, String[]> skuFacets = new Object2ObjectOpenHashMap<>();
+    private final Object2IntOpenHashMap<String> categoryCounts = new Object2IntOpenHashMap<>();
+    private final Object2IntOpenHashMap<String> vendorCounts = new Object2IntOpenHashMap<>();
+    private volatile ProductFacetsDto facets;
+
+    public ProductFacetCounters(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Seeding product facet counters");
+        try (Stream<Product> products = productRepository.streamAllFacets()) {
+            products.forEach(this::put);
+        }
+        ProductFacetsDto seeded = facets();
+        log.info("Product facet counters seeded with {} categories and {} vendors",
+                seeded.getCategories().size(), seeded.getVendors().size());
+    }
+
+    public synchronized void put(Product product) {
+        String[] previous = skuFacets.put(product.getSkuCode(), new String[]{product.getCategory(), product.getVendor()});
+        if (previous != null) {
+            decrement(categoryCounts, previous[0]);
+            decrement(vendorCounts, previous[1]);
+        }
+        increment(categoryCounts, product.getCategory());
+        increment(vendorCounts, product.getVendor());
+        facets = null;
+    }
+
+    public synchronized void remove(String skuCode) {
+        String[] previous = skuFacets.remove(skuCode);
+        if (previous != null) {
+            decrement(categoryCounts, previous[0]);
+            decrement(vendorCounts, previous[1]);
+            facets = null;
+        }
+    }
+
+    public void removeMissing() {
+        // same reconciliation as ProductSearchIndex.removeMissing
+        Set<String> missing;
+        synchronized (this) {
+            missing = new HashSet<>(skuFacets.keySet());
+        }
+        try (Stream<String> skuCodes = productRepository.streamAllSkuCodes()) {
+            skuCodes.forEach(missing::remove);
+        }
+        for (String skuCode : missing) {
+            synchronized (this) {
+                if (!productRepository.skuCodeExists(skuCode)) {
+                    remove(skuCode);
+                }
+            }
+        }
+    }
+
+    public ProductFacetsDto facets() {
+        // reads share one immutable view until the next write invalidates it
+        ProductFacetsDto current = facets;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (facets == null) {
+                facets = new ProductFacetsDto(sorted(categoryCounts), sorted(vendorCounts));
+            }
+            return facets;
+        }
+    }
+
+    private static void increment(Object2IntOpenHashMap<String> counts, String value) {
+        if (value != null) {
+            counts.addTo(value, 1);
+        }
+    }
+
+    private static void decrement(Object2IntOpenHashMap<String> counts, String value) {
+        if (value != null && counts.addTo(value, -1) == 1) {
+            counts.removeInt(value);
+        }
+    }
+
+    private static Map<String, Integer> sorted(Object2IntOpenHashMap<String> counts) {
+        List<Object2IntMap.Entry<String>> entries = new ArrayList<>(counts.size());
+        for (Object2IntMap.Entry<String> entry : Object2IntMaps.fastIterable(counts)) {
+            entries.add(new AbstractObject2IntMap.BasicEntry<>(entry.getKey(), entry.getIntValue()));
+        }
+        entries.sort(Comparator.comparingInt(Object2IntMap.Entry<String>::getIntValue).reversed()
+                .thenComparing(Object2IntMap.Entry::getKey));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        for (Object2IntMap.Entry<String> entry : entries) {
+            sorted.put(entry.getKey(), entry.getIntValue());
+        }
+        return Collections.unmodifiableMap(sorted);
+    }
+}
@@ -0,0 +1,352 @@
+package com.products.index;
+
+import com.products.dto.ProductDto;
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+import com.products.utils.ProductTypeConversion;
+import it.unimi.dsi.fastutil.ints.Int2FloatMap;
+import it.unimi.dsi.fastutil.ints.Int2FloatMaps;
+import it.unimi.dsi.fastutil.ints.Int2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+@Log4j2
+public class ProductSearchIndex {
+
+    private static final int NAME = 1;
+    private static final int CATEGORY = 2;
+    private static final int VENDOR = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_PREFIX_POSTINGS = 50_000;
+    private static final float PREFIX_MATCH_WEIGHT = 0.5f;
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object2IntOpenHashMap<String> docIds = new Object2IntOpenHashMap<>();
+    private final List<ProductDto> documents = new ArrayList<>();
+    private final IntArrayList freeDocIds = new IntArrayList();
+    private final Map<String, Int2IntOpenHashMap> postings = new HashMap<>();
+    private final Object2IntOpenHashMap<String> termFields = new Object2IntOpenHashMap<>();
+    private final PrefixTrie terms = new PrefixTrie();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        docIds.defaultReturnValue(-1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building product search index");
+        try (Stream<Product> products = productRepository.streamAllBy()) {
+            products.forEach(this::index);
+        }
+        log.info("Product search index built with {} products", size());
+    }
+
+    public void index(Product product) {
+        ProductDto document = ProductTypeConversion.convertToDto(product);
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getSkuCode());
+            int docId = freeDocIds.isEmpty() ? documents.size() : freeDocIds.popInt();
+            if (docId == documents.size()) {
+                documents.add(document);
+            } else {
+                documents.set(docId, document);
+            }
+            docIds.put(document.getSkuCode(), docId);
+            addTerms(docId, document.getProductName(), NAME);
+            addTerms(docId, document.getCategory(), CATEGORY);
+            addTerms(docId, document.getVendor(), VENDOR);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String skuCode) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(skuCode);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMissing() {
+        // the scan only narrows the candidates; each one is re-checked under the write lock, so an insert whose
+        // event is indexed concurrently cannot be dropped
+        Set<String> missing;
+        lock.readLock().lock();
+        try {
+            missing = new HashSet<>(docIds.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        try (Stream<String> skuCodes = productRepository.streamAllSkuCodes()) {
+            skuCodes.forEach(missing::remove);
+        }
+        int removed = 0;
+        for (String skuCode : missing) {
+            lock.writeLock().lock();
+            try {
+                if (!productRepository.skuCodeExists(skuCode)) {
+                    removeDocument(skuCode);
+                    removed++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Removed {} deleted products from the search index", removed);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductDto> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        String prefix = lastIsPrefix ? tokens.remove(tokens.size() - 1) : null;
+
+        lock.readLock().lock();
+        try {
+            List<Int2IntOpenHashMap> termPostings = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Int2IntOpenHashMap termPosting = postings.get(token);
+                if (termPosting == null) {
+                    return List.of();
+                }
+                termPostings.add(termPosting);
+            }
+            if (termPostings.isEmpty()) {
+                return topPrefixDocuments(prefix, limit);
+            }
+            termPostings.sort(Comparator.comparingInt(Int2IntOpenHashMap::size));
+
+            Int2FloatOpenHashMap candidates = null;
+            for (Int2IntOpenHashMap termPosting : termPostings) {
+                Int2FloatOpenHashMap matches = new Int2FloatOpenHashMap();
+                accumulate(termPosting, idf(termPosting.size()), candidates, matches);
+                candidates = combine(candidates, matches);
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (prefix != null) {
+                Int2FloatOpenHashMap matches = new Int2FloatOpenHashMap();
+                for (String term : expandPrefix(prefix)) {
+                    accumulate(postings.get(term), prefixWeight(term, prefix), candidates, matches);
+                }
+                candidates = combine(candidates, matches);
+            }
+            return topDocuments(candidates, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void addTerms(int docId, String text, int field) {
+        for (String term : tokenize(text)) {
+            Int2IntOpenHashMap termPosting = postings.get(term);
+            if (termPosting == null) {
+                termPosting = new Int2IntOpenHashMap();
+                postings.put(term, termPosting);
+                terms.add(term);
+            }
+            termPosting.put(docId, termPosting.get(docId) | field);
+            termFields.put(term, termFields.getInt(term) | field);
+        }
+    }
+
+    private void removeDocument(String skuCode) {
+        int docId = docIds.removeInt(skuCode);
+        if (docId < 0) {
+            return;
+        }
+        ProductDto document = documents.get(docId);
+        Set<String> documentTerms = tokenize(document.getProductName());
+        documentTerms.addAll(tokenize(document.getCategory()));
+        documentTerms.addAll(tokenize(document.getVendor()));
+        for (String term : documentTerms) {
+            Int2IntOpenHashMap termPosting = postings.get(term);
+            termPosting.remove(docId);
+            if (termPosting.isEmpty()) {
+                postings.remove(term);
+                termFields.removeInt(term);
+                terms.remove(term);
+            }
+        }
+        documents.set(docId, null);
+        freeDocIds.add(docId);
+    }
+
+    private List<String> expandPrefix(String prefix) {
+        List<String> expansions = terms.termsWithPrefix(prefix, MAX_PREFIX_EXPANSIONS);
+        expansions.sort(Comparator.comparingDouble((String term) -> maxScore(term, prefixWeight(term, prefix))).reversed());
+        return expansions;
+    }
+
+    private float prefixWeight(String term, String prefix) {
+        float weight = term.length() == prefix.length() ? 1f : PREFIX_MATCH_WEIGHT;
+        return weight * idf(postings.get(term).size());
+    }
+
+    private float maxScore(String term, float weight) {
+        return weight * fieldWeight(termFields.getInt(term));
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (double) docIds.size() / documentFrequency);
+    }
+
+    private static void accumulate(Int2IntOpenHashMap termPosting, float weight,
+                                   Int2FloatOpenHashMap candidates, Int2FloatOpenHashMap matches) {
+        if (candidates != null && candidates.size() < termPosting.size()) {
+            for (IntIterator iterator = candidates.keySet().iterator(); iterator.hasNext(); ) {
+                int docId = iterator.nextInt();
+                int fields = termPosting.get(docId);
+                if (fields != 0) {
+                    matches.put(docId, Math.max(matches.get(docId), weight * fieldWeight(fields)));
+                }
+            }
+            return;
+        }
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(termPosting)) {
+            int docId = entry.getIntKey();
+            if (candidates == null || candidates.containsKey(docId)) {
+                matches.put(docId, Math.max(matches.get(docId), weight * fieldWeight(entry.getIntValue())));
+            }
+        }
+    }
+
+    private static Int2FloatOpenHashMap combine(Int2FloatOpenHashMap candidates, Int2FloatOpenHashMap matches) {
+        if (candidates != null) {
+            for (Int2FloatMap.Entry entry : Int2FloatMaps.fastIterable(matches)) {
+                entry.setValue(entry.getFloatValue() + candidates.get(entry.getIntKey()));
+            }
+        }
+        return matches;
+    }
+
+    private static float fieldWeight(int fields) {
+        float weight = 0;
+        if ((fields & NAME) != 0) {
+            weight += 3;
+        }
+        if ((fields & CATEGORY) != 0) {
+            weight += 2;
+        }
+        if ((fields & VENDOR) != 0) {
+            weight += 1;
+        }
+        return weight;
+    }
+
+    private List<ProductDto> topDocuments(Int2FloatOpenHashMap scores, int limit) {
+        LongHeapPriorityQueue top = new LongHeapPriorityQueue(limit + 1);
+        for (Int2FloatMap.Entry entry : Int2FloatMaps.fastIterable(scores)) {
+            offer(top, rank(entry.getFloatValue(), entry.getIntKey()), limit);
+        }
+        return rankedDocuments(top);
+    }
+
+    private List<ProductDto> topPrefixDocuments(String prefix, int limit) {
+        // expansions come best-first, so a document keeps the score of the first term it was ranked by
+        LongHeapPriorityQueue top = new LongHeapPriorityQueue(limit + 1);
+        IntOpenHashSet ranked = new IntOpenHashSet();
+        int budget = MAX_PREFIX_POSTINGS;
+        for (String term : expandPrefix(prefix)) {
+            float weight = prefixWeight(term, prefix);
+            if (budget <= 0 || (top.size() == limit && score(top.firstLong()) >= maxScore(term, weight))) {
+                break;
+            }
+            Int2IntOpenHashMap termPosting = postings.get(term);
+            for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(termPosting)) {
+                long rank = rank(weight * fieldWeight(entry.getIntValue()), entry.getIntKey());
+                if ((top.size() < limit || rank > top.firstLong()) && ranked.add(entry.getIntKey())) {
+                    offer(top, rank, limit);
+                }
+            }
+            budget -= termPosting.size();
+        }
+        return rankedDocuments(top);
+    }
+
+    private static void offer(LongHeapPriorityQueue top, long rank, int limit) {
+        if (top.size() < limit) {
+            top.enqueue(rank);
+        } else if (rank > top.firstLong()) {
+            top.dequeueLong();
+            top.enqueue(rank);
+        }
+    }
+
+    // scores are positive, so their float bits order like the floats; lower doc ids win ties
+    private static long rank(float score, int docId) {
+        return ((long) Float.floatToIntBits(score) << 32) | (Integer.MAX_VALUE - docId);
+    }
+
+    private static float score(long rank) {
+        return Float.intBitsToFloat((int) (rank >>> 32));
+    }
+
+    private List<ProductDto> rankedDocuments(LongHeapPriorityQueue top) {
+        ProductDto[] results = new ProductDto[top.size()];
+        for (int i = results.length - 1; i >= 0; i--) {
+            results[i] = documents.get(Integer.MAX_VALUE - (int) top.dequeueLong());
+        }
+        return List.of(results);
+    }
+}
@@ -0,0 +1,72 @@
+package com.products.index;
+
+import com.products.repository.ProductRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+@Component
+@Log4j2
+public class SkuBloomFilter {
+
+    private final ProductRepository productRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean changeStreamRunning;
+
+    public SkuBloomFilter(ProductRepository productRepository,
+                          @Value("${products.sku-filter.expected-insertions}") long expectedInsertions,
+                          @Value("${products.sku-filter.false-positive-rate}") double falsePositiveRate) {
+        this.productRepository = productRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding SKU bloom filter");
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, productRepository.count() * 2), falsePositiveRate);
+        synchronized (this) {
+            rebuilding = rebuilt;
+        }
+        long count = 0;
+        try (Stream<String> skuCodes = productRepository.streamAllSkuCodes()) {
+            for (String skuCode : (Iterable<String>) skuCodes::iterator) {
+                rebuilt.put(skuCode);
+                count++;
+            }
+        }
+        // puts take the same lock, so each one lands either in both filters before the swap or in the new one after
+        synchronized (this) {
+            filter = rebuilt;
+            rebuilding = null;
+        }
+        log.info("SKU bloom filter rebuilt with {} SKUs", count);
+    }
+
+    // SKUs created through other replicas only reach the filter through the change stream, so without it a no
+    // could be stale and every SKU is answered with maybe, leaving the decision to the skuCode index
+    public boolean mightContain(String skuCode) {
+        BloomFilter current = filter;
+        return current == null || !changeStreamRunning || current.mightContain(skuCode);
+    }
+
+    public void setChangeStreamRunning(boolean changeStreamRunning) {
+        this.changeStreamRunning = changeStreamRunning;
+    }
+
+    public synchronized void put(String skuCode) {
+        if (filter != null) {
+            filter.put(skuCode);
+        }
+        if (rebuilding != null) {
+            rebuilding.put(skuCode);
+        }
+    }
+}
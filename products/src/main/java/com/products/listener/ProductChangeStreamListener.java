@@ -0,0 +1,196 @@
+package com.products.listener;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.products.config.CacheConfig;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
+import com.products.model.CacheResumeToken;
+import com.products.model.Product;
+import com.products.repository.CacheResumeTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest.ChangeStreamRequestOptions;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@ConditionalOnProperty(name = "products.cache.change-stream.enabled", havingValue = "true")
+@Log4j2
+public class ProductChangeStreamListener implements MessageListener<ChangeStreamDocument<Document>, Product> {
+
+    private static final String PRODUCTS_COLLECTION = "products";
+    private static final Duration SUBSCRIBE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageListenerContainer container;
+    private final CacheResumeTokenRepository resumeTokenRepository;
+    private final Cache productsCache;
+    private final Cache productJsonCache;
+    private final SkuBloomFilter skuBloomFilter;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetCounters productFacetCounters;
+    private final String replicaId;
+    private final AtomicReference<BsonDocument> pendingResumeToken = new AtomicReference<>();
+    private volatile Subscription subscription;
+
+    public ProductChangeStreamListener(MongoTemplate mongoTemplate,
+                                       CacheResumeTokenRepository resumeTokenRepository,
+                                       CacheManager cacheManager,
+                                       SkuBloomFilter skuBloomFilter,
+                                       ProductSearchIndex productSearchIndex,
+                                       ProductFacetCounters productFacetCounters,
+                                       @Value("${products.cache.change-stream.replica-id}") String replicaId) {
+        this.mongoTemplate = mongoTemplate;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.resumeTokenRepository = resumeTokenRepository;
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.productJsonCache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+        this.skuBloomFilter = skuBloomFilter;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetCounters = productFacetCounters;
+        this.replicaId = replicaId;
+    }
+
+    // runs before the in-memory indexes load, so a write landing during their scan still reaches them as an event
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        enablePreImages();
+        container.start();
+        BsonDocument resumeToken = resumeTokenRepository.findById(replicaId)
+                .map(token -> BsonDocument.parse(token.getResumeToken()))
+                .orElse(null);
+        log.info("Starting product change stream for replica: {}, resuming: {}", replicaId, resumeToken != null);
+        subscribe(resumeToken);
+        awaitSubscription();
+        skuBloomFilter.setChangeStreamRunning(subscription.isActive());
+    }
+
+    @PreDestroy
+    public void stop() {
+        log.info("Stopping product change stream for replica: {}", replicaId);
+        skuBloomFilter.setChangeStreamRunning(false);
+        container.stop();
+        flushResumeToken();
+    }
+
+    @Override
+    public void onMessage(Message<ChangeStreamDocument<Document>, Product> message) {
+        ChangeStreamDocument<Document> event = message.getRaw();
+        Product product = message.getBody();
+        String skuCode = skuCodeOf(event, product);
+        if (skuCode != null) {
+            log.debug("Evicting cached product with SKU: {} after {}", skuCode, event.getOperationType());
+            productsCache.evict(skuCode);
+            productJsonCache.evict(skuCode);
+        } else {
+            log.warn("Change event {} without SKU code, clearing product cache", event.getOperationType());
+            productsCache.clear();
+            productJsonCache.clear();
+        }
+        // the in-memory indexes follow writes made through every replica, not only this one
+        if (product != null) {
+            // the filter may never answer no for an existing SKU
+            skuBloomFilter.put(product.getSkuCode());
+            productSearchIndex.index(product);
+            productFacetCounters.put(product);
+        } else if (skuCode != null) {
+            productSearchIndex.remove(skuCode);
+            productFacetCounters.remove(skuCode);
+        } else {
+            productSearchIndex.removeMissing();
+            productFacetCounters.removeMissing();
+        }
+        pendingResumeToken.set(event.getResumeToken());
+    }
+
+    @Scheduled(fixedDelayString = "${products.cache.change-stream.token-flush-interval}")
+    public void flushResumeToken() {
+        BsonDocument resumeToken = pendingResumeToken.getAndSet(null);
+        if (resumeToken != null) {
+            resumeTokenRepository.save(new CacheResumeToken(replicaId, resumeToken.toJson(), Instant.now()));
+        }
+    }
+
+    private void subscribe(BsonDocument resumeToken) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE);
+        if (resumeToken != null) {
+            options.resumeAfter(resumeToken);
+        }
+        ChangeStreamRequest<Product> request = new ChangeStreamRequest<>(this,
+                new ChangeStreamRequestOptions(null, PRODUCTS_COLLECTION, options.build()));
+        subscription = container.register(request, Product.class, this::handleError);
+    }
+
+    private void handleError(Throwable error) {
+        // invalidations may have been missed, so start over from an empty cache and the current position
+        log.error("Product change stream failed for replica: {}, clearing cache and restarting", replicaId, error);
+        skuBloomFilter.setChangeStreamRunning(false);
+        container.remove(subscription);
+        productsCache.clear();
+        productJsonCache.clear();
+        pendingResumeToken.set(null);
+        resumeTokenRepository.deleteById(replicaId);
+        subscribe(null);
+        awaitSubscription();
+        skuBloomFilter.rebuild();
+        skuBloomFilter.setChangeStreamRunning(subscription.isActive());
+        productSearchIndex.rebuild();
+        productSearchIndex.removeMissing();
+        productFacetCounters.rebuild();
+        productFacetCounters.removeMissing();
+    }
+
+    private void awaitSubscription() {
+        try {
+            subscription.await(SUBSCRIBE_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enablePreImages() {
+        try {
+            mongoTemplate.executeCommand(new Document("collMod", PRODUCTS_COLLECTION)
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+        } catch (RuntimeException ex) {
+            log.warn("Could not enable change stream pre-images on {}, deletes will clear the whole cache: {}",
+                    PRODUCTS_COLLECTION, ex.getMessage());
+        }
+    }
+
+    private static String skuCodeOf(ChangeStreamDocument<Document> event, Product product) {
+        if (product != null) {
+            return product.getSkuCode();
+        }
+        Document beforeChange = event.getFullDocumentBeforeChange();
+        return beforeChange != null ? beforeChange.getString("skuCode") : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.products.listener;
+
+import com.products.index.SkuBloomFilter;
+import com.products.model.Product;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class ProductSkuFilterListener extends AbstractMongoEventListener<Product> {
+
+    private final SkuBloomFilter skuBloomFilter;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Product> event) {
+        skuBloomFilter.put(event.getSource().getSkuCode());
+    }
+}
@@ -0,0 +1,24 @@
+package com.products.migration;
+
+import com.products.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+public class ProductPriceMigration {
+
+    private final ProductRepository productRepository;
+
+    // runs before the web server starts, so price range filters never meet a string price from a request
+    @PostConstruct
+    public void convertStringPrices() {
+        long converted = productRepository.convertStringPricesToDecimal();
+        if (converted > 0) {
+            log.info("Converted {} legacy string prices to Decimal128", converted);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.products.migration;
+
+import com.products.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+public class ProductVersionMigration {
+
+    private final ProductRepository productRepository;
+
+    // runs before the web server starts: saving a product without a version would be treated as an insert
+    @PostConstruct
+    public void initializeVersions() {
+        long initialized = productRepository.initializeMissingVersions();
+        if (initialized > 0) {
+            log.info("Initialized the version of {} legacy products", initialized);
+        }
+        // legacy products predate the change feed, so they all sort first for a consumer syncing from scratch
+        long sequenced = productRepository.initializeMissingChangeSeqs();
+        if (sequenced > 0) {
+            log.info("Initialized the change sequence of {} legacy products", sequenced);
+        }
+        // a missing popularity would drop out of popularity keyset pages instead of sorting as never ordered
+        long scored = productRepository.initializeMissingPopularity();
+        if (scored > 0) {
+            log.info("Initialized the popularity of {} legacy products", scored);
+        }
+    }
+}
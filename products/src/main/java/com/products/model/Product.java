@@ -9,8 +9,12 @@ import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.hibernate.validator.constraints.Range;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 
@@ -18,6 +22,14 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "products")
+@CompoundIndex(name = "category_price_sku", def = "{'category': 1, 'price': 1, 'skuCode': 1}")
+@CompoundIndex(name = "category_vendor_price_sku", def = "{'category': 1, 'vendor': 1, 'price': 1, 'skuCode': 1}")
+@CompoundIndex(name = "vendor_price_sku", def = "{'vendor': 1, 'price': 1, 'skuCode': 1}")
+@CompoundIndex(name = "price_sku", def = "{'price': 1, 'skuCode': 1}")
+@CompoundIndex(name = "category_sku", def = "{'category': 1, 'skuCode': 1}")
+@CompoundIndex(name = "changeSeq_sku", def = "{'changeSeq': 1, 'skuCode': 1}")
+@CompoundIndex(name = "popularity_sku", def = "{'popularity': 1, 'skuCode': 1}")
+@CompoundIndex(name = "category_popularity_sku", def = "{'category': 1, 'popularity': 1, 'skuCode': 1}")
 public class Product {
 
     @Id
@@ -33,9 +45,17 @@ public class Product {
     private String category;
     @NotNull(message = "product price should not be empty")
     @Range(min = 0, message = "Product price should be within range.")
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal price;
     @NotEmpty(message = "product vendor should not be empty")
     private String vendor;
+    @Version
+    private Long version;
+    private Long changeSeq;
+    // last repricing job that rewrote the price, so a resumed job never applies its rule twice
+    private String repricingJobId;
+    // forward-decayed order volume, see ProductPopularityTracker; only ever incremented in place
+    private double popularity;
 
     public Product(String skuCode, String productName, String category, BigDecimal price, String vendor) {
         this.skuCode = skuCode;
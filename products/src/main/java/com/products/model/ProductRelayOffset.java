@@ -0,0 +1,21 @@
+package com.products.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "product_relay_offsets")
+public class ProductRelayOffset {
+
+    @Id
+    private String topic;
+    private String changeToken;
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.products.model;
+
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "product_repricing_jobs")
+public class ProductRepricingJob {
+
+    @Id
+    private String id;
+    @Indexed
+    private ProductRepricingStatus status;
+    private ProductRepricingRequestDto request;
+    private long matched;
+    private long processed;
+    private long repriced;
+    private long failed;
+    // checkpoint: every product up to this SKU has been handled, a resumed run continues after it
+    private String lastSkuCode;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.products.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = ProductTombstone.COLLECTION)
+@CompoundIndex(name = "changeSeq_sku", def = "{'changeSeq': 1, 'skuCode': 1}")
+public class ProductTombstone {
+
+    public static final String COLLECTION = "product_tombstones";
+    // how long a delete stays in the change feed; a change token older than this has to start over
+    public static final String RETENTION = "30d";
+    public static final Duration RETENTION_PERIOD = Duration.ofDays(30);
+
+    @Id
+    private String skuCode;
+    private Long changeSeq;
+    @Indexed(expireAfter = RETENTION)
+    private Instant deletedAt;
+}
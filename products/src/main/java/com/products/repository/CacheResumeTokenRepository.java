@@ -0,0 +1,9 @@
+package com.products.repository;
+
+import com.products.model.CacheResumeToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CacheResumeTokenRepository extends MongoRepository<CacheResumeToken, String> {
+}
@@ -0,0 +1,259 @@
+package com.products.repository;
+
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+final class ProductQueries {
+
+    // change seqs are the server clock in milliseconds when the write ran, evaluated by the write itself
+    private static final Document NOW_MILLIS = new Document("$toLong", "$$NOW");
+
+    private ProductQueries() {
+    }
+
+    static Query bySkuCode(String skuCode) {
+        return Query.query(Criteria.where("skuCode").is(skuCode));
+    }
+
+    static Query newSkuCode(String skuCode) {
+        // never matches, so an upsert on it always inserts and the unique skuCode index rejects a taken SKU
+        return Query.query(Criteria.where("skuCode").is(skuCode).and("_id").exists(false));
+    }
+
+    static AggregationUpdate insertFields(Product product) {
+        return stamped(fields(product).append("popularity", 0.0).append("version", 0L));
+    }
+
+    static AggregationUpdate upsertFields(Product product) {
+        return stamped(fields(product)
+                .append("popularity", new Document("$ifNull", List.of("$popularity", 0.0)))
+                .append("version", incremented("$version")));
+    }
+
+    static Query bySkuCodeAndVersion(String skuCode, Long version) {
+        return bySkuCode(skuCode).addCriteria(Criteria.where("version").is(version));
+    }
+
+    static Query bySkuCodeAndRevision(String skuCode, Product expected) {
+        Query query = bySkuCode(skuCode);
+        if (expected != null) {
+            // the change seq tells a re-created SKU apart from the document the If-Match tag was checked against
+            query.addCriteria(Criteria.where("version").is(expected.getVersion()))
+                    .addCriteria(Criteria.where("changeSeq").is(expected.getChangeSeq()));
+        }
+        return query;
+    }
+
+    static AggregationUpdate patchFields(Product product) {
+        Document fields = new Document();
+        if (product.getProductName() != null) {
+            fields.append("productName", literal(product.getProductName()));
+        }
+        if (product.getCategory() != null) {
+            fields.append("category", literal(product.getCategory()));
+        }
+        if (product.getPrice() != null) {
+            fields.append("price", literal(new Decimal128(product.getPrice())));
+        }
+        if (product.getVendor() != null) {
+            fields.append("vendor", literal(product.getVendor()));
+        }
+        return stamped(fields.append("version", incremented("$version")));
+    }
+
+    static long committedChangeSeq(Date serverTime, Duration settle) {
+        // a write is stamped when it starts running; once the server clock is past its stamp by more than the
+        // longest a single write takes, it has either committed or failed, so nothing can land behind a reader
+        return serverTime.getTime() - settle.toMillis();
+    }
+
+    static Aggregation tombstoneIfLive(String skuCode) {
+        // reads the live product and writes its tombstone in one command, so an unknown SKU never gets one
+        return Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("skuCode").is(skuCode)),
+                        context -> new Document("$project", new Document("_id", "$skuCode")
+                                .append("changeSeq", NOW_MILLIS).append("deletedAt", "$$NOW")),
+                        Aggregation.merge().intoCollection(ProductTombstone.COLLECTION).on("_id")
+                                .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                                .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                                .build())
+                .withOptions(AggregationOptions.builder().skipOutput().build());
+    }
+
+    static Query changedAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq, int limit) {
+        return new Query(changedBetween(afterChangeSeq, afterSkuCode, throughChangeSeq))
+                .with(Sort.by("changeSeq", "skuCode")).limit(limit);
+    }
+
+    static TypedAggregation<ProductTombstone> tombstonesAfter(Long afterChangeSeq, String afterSkuCode,
+                                                              long throughChangeSeq, int limit) {
+        // deletes write their tombstone before removing the product; if the remove never happened the product is
+        // still there with an older changeSeq, and that tombstone is left out of the feed
+        Document stale = new Document("$filter", new Document("input", "$live")
+                .append("cond", new Document("$lt", List.of("$$this.changeSeq", "$changeSeq"))));
+        return Aggregation.newAggregation(ProductTombstone.class,
+                Aggregation.match(changedBetween(afterChangeSeq, afterSkuCode, throughChangeSeq)),
+                Aggregation.sort(Sort.by("changeSeq", "skuCode")),
+                context -> new Document("$lookup", new Document("from", "products")
+                        .append("localField", "_id").append("foreignField", "skuCode").append("as", "live")),
+                context -> new Document("$match", new Document("$expr",
+                        new Document("$eq", List.of(new Document("$size", stale), 0)))),
+                Aggregation.limit(limit));
+    }
+
+    private static Criteria changedBetween(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq) {
+        Criteria through = Criteria.where("changeSeq").lte(throughChangeSeq);
+        return afterChangeSeq == null
+                ? through
+                : new Criteria().andOperator(through, new Criteria().orOperator(
+                        Criteria.where("changeSeq").gt(afterChangeSeq),
+                        Criteria.where("changeSeq").is(afterChangeSeq).and("skuCode").gt(afterSkuCode)));
+    }
+
+    static FindAndModifyOptions upsertReturnNew() {
+        return FindAndModifyOptions.options().upsert(true).returnNew(true);
+    }
+
+    static FindAndModifyOptions returnNew() {
+        return FindAndModifyOptions.options().returnNew(true);
+    }
+
+    static Query skuCodeOnly(Query query) {
+        query.fields().include("skuCode").exclude("_id");
+        return query;
+    }
+
+    static Query facetsOnly() {
+        Query query = new Query();
+        query.fields().include("skuCode", "category", "vendor").exclude("_id");
+        return query;
+    }
+
+    static Query filter(ProductFilterDto filter, BigDecimal afterKey, String afterSkuCode, int limit) {
+        String sortField = filter.getSort();
+        boolean keyed = !"skuCode".equals(sortField);
+        Sort.Direction direction = Sort.Direction.fromString(filter.getDirection());
+
+        List<Criteria> criteria = matching(filter.getCategory(), filter.getVendor(), filter.getMinPrice(),
+                filter.getMaxPrice());
+        if (afterSkuCode != null) {
+            criteria.add(keyed
+                    ? afterSortKey(sortField, sortValue(sortField, afterKey), afterSkuCode, direction)
+                    : afterValue(Criteria.where("skuCode"), afterSkuCode, direction));
+        }
+
+        Query query = criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+        query.with(keyed ? Sort.by(direction, sortField, "skuCode") : Sort.by(direction, "skuCode")).limit(limit);
+        if (filter.getFields() != null && !filter.getFields().isEmpty()) {
+            filter.getFields().forEach(query.fields()::include);
+            query.fields().include("skuCode").exclude("_id");
+            if (keyed) {
+                query.fields().include(sortField);
+            }
+        }
+        return query;
+    }
+
+    static Update incrementPopularity(double increment) {
+        return new Update().inc("popularity", increment);
+    }
+
+    static Query repricing(ProductRepricingRequestDto request) {
+        List<Criteria> criteria = matching(request.getCategory(), request.getVendor(), request.getMinPrice(),
+                request.getMaxPrice());
+        return criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+    }
+
+    static Query repricing(ProductRepricingRequestDto request, String afterSkuCode, String jobId) {
+        List<Criteria> criteria = matching(request.getCategory(), request.getVendor(), request.getMinPrice(),
+                request.getMaxPrice());
+        if (afterSkuCode != null) {
+            criteria.add(Criteria.where("skuCode").gt(afterSkuCode));
+        }
+        criteria.add(Criteria.where("repricingJobId").ne(jobId));
+        return new Query(new Criteria().andOperator(criteria)).with(Sort.by("skuCode"));
+    }
+
+    static AggregationUpdate repriceFields(Product product, String jobId) {
+        return stamped(new Document("price", literal(new Decimal128(product.getPrice())))
+                .append("repricingJobId", literal(jobId))
+                .append("version", incremented("$version")));
+    }
+
+    private static Document fields(Product product) {
+        return new Document("productName", literal(product.getProductName()))
+                .append("category", literal(product.getCategory()))
+                .append("price", literal(product.getPrice() == null ? null : new Decimal128(product.getPrice())))
+                .append("vendor", literal(product.getVendor()));
+    }
+
+    // a pipeline would read a value starting with $ as a field path
+    private static Document literal(Object value) {
+        return new Document("$literal", value);
+    }
+
+    private static Document incremented(String field) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of(field, 0L)), 1L));
+    }
+
+    private static AggregationUpdate stamped(Document fields) {
+        return AggregationUpdate.from(List.of(
+                context -> new Document("$set", fields.append("changeSeq", NOW_MILLIS))));
+    }
+
+    private static List<Criteria> matching(String category, String vendor, BigDecimal minPrice, BigDecimal maxPrice) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (category != null) {
+            criteria.add(Criteria.where("category").is(category));
+        }
+        if (vendor != null) {
+            criteria.add(Criteria.where("vendor").is(vendor));
+        }
+        if (minPrice != null || maxPrice != null) {
+            Criteria price = Criteria.where("price");
+            if (minPrice != null) {
+                price.gte(new Decimal128(minPrice));
+            }
+            if (maxPrice != null) {
+                price.lte(new Decimal128(maxPrice));
+            }
+            criteria.add(price);
+        }
+        return criteria;
+    }
+
+    // cursors carry the key as a decimal; compare it with the stored type so Mongo can use the sort index
+    private static Object sortValue(String sortField, BigDecimal key) {
+        return "popularity".equals(sortField) ? (Object) key.doubleValue() : new Decimal128(key);
+    }
+
+    private static Criteria afterSortKey(String sortField, Object key, String skuCode, Sort.Direction direction) {
+        return new Criteria().orOperator(
+                afterValue(Criteria.where(sortField), key, direction),
+                afterValue(Criteria.where(sortField).is(key).and("skuCode"), skuCode, direction));
+    }
+
+    private static Criteria afterValue(Criteria criteria, Object value, Sort.Direction direction) {
+        return direction.isAscending() ? criteria.gt(value) : criteria.lt(value);
+    }
+}
@@ -0,0 +1,9 @@
+package com.products.repository;
+
+import com.products.model.ProductRelayOffset;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductRelayOffsetRepository extends MongoRepository<ProductRelayOffset, String> {
+}
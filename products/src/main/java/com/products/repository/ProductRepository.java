@@ -2,12 +2,28 @@ package com.products.repository;
 
 import com.products.model.Product;
 import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends MongoRepository<Product, ObjectId> {
+public interface ProductRepository extends MongoRepository<Product, ObjectId>, ProductRepositoryCustom {
     Optional<Product> findBySkuCode(String skuCode);
+
+    List<Product> findBySkuCodeIn(Collection<String> skuCodes);
+
+    List<Product> findAllBy(Pageable pageable);
+
+    List<Product> findBySkuCodeGreaterThan(String skuCode, Pageable pageable);
+
+    Stream<Product> streamAllBy();
+
+    // walks the popularity_sku index backwards
+    Stream<Product> streamAllByOrderByPopularityDescSkuCodeDesc(Limit limit);
 }
@@ -0,0 +1,58 @@
+package com.products.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+    Product insertProduct(Product product);
+
+    BulkWriteResult upsertAllBySkuCode(List<Product> products);
+
+    Product updateBySkuCode(String skuCode, Product product, Product expected);
+
+    Product patchBySkuCode(String skuCode, Product product, Product expected);
+
+    boolean deleteOneBySkuCode(String skuCode);
+
+    long committedChangeSeq();
+
+    List<Product> findChangedAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq, int limit);
+
+    List<ProductTombstone> findTombstonesAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq,
+                                               int limit);
+
+    boolean skuCodeExists(String skuCode);
+
+    Stream<String> streamAllSkuCodes();
+
+    Stream<Product> streamAllFacets();
+
+    List<Product> findByFilter(ProductFilterDto filter, BigDecimal afterPrice, String afterSkuCode, int limit);
+
+    long countForRepricing(ProductRepricingRequestDto request);
+
+    Stream<Product> streamForRepricing(ProductRepricingRequestDto request, String afterSkuCode, String jobId);
+
+    List<Product> findForRepricing(ProductRepricingRequestDto request, Collection<String> skuCodes, String jobId);
+
+    BulkWriteResult repriceAll(List<Product> products, String jobId);
+
+    BulkWriteResult incrementPopularity(Map<String, Double> increments);
+
+    long convertStringPricesToDecimal();
+
+    long initializeMissingVersions();
+
+    long initializeMissingChangeSeqs();
+
+    long initializeMissingPopularity();
+}
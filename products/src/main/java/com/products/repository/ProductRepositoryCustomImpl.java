@@ -0,0 +1,178 @@
+package com.products.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration changeSettle;
+
+    public ProductRepositoryCustomImpl(MongoTemplate mongoTemplate,
+                                       @Value("${products.changes.settle}") Duration changeSettle) {
+        this.mongoTemplate = mongoTemplate;
+        this.changeSettle = changeSettle;
+    }
+
+    // every write stamps its own changeSeq from the server clock, so none of them touches a shared counter
+    @Override
+    public Product insertProduct(Product product) {
+        return mongoTemplate.findAndModify(ProductQueries.newSkuCode(product.getSkuCode()),
+                ProductQueries.insertFields(product), ProductQueries.upsertReturnNew(), Product.class);
+    }
+
+    @Override
+    public BulkWriteResult upsertAllBySkuCode(List<Product> products) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (Product product : products) {
+            bulkOperations.upsert(ProductQueries.bySkuCode(product.getSkuCode()), ProductQueries.upsertFields(product));
+        }
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public Product updateBySkuCode(String skuCode, Product product, Product expected) {
+        return mongoTemplate.findAndModify(ProductQueries.bySkuCodeAndRevision(skuCode, expected),
+                ProductQueries.upsertFields(product), ProductQueries.returnNew(), Product.class);
+    }
+
+    @Override
+    public Product patchBySkuCode(String skuCode, Product product, Product expected) {
+        return mongoTemplate.findAndModify(ProductQueries.bySkuCodeAndRevision(skuCode, expected),
+                ProductQueries.patchFields(product), ProductQueries.returnNew(), Product.class);
+    }
+
+    @Override
+    public boolean deleteOneBySkuCode(String skuCode) {
+        // tombstone first: failing between the two writes leaves a tombstone the feed skips, never a lost delete
+        mongoTemplate.aggregate(ProductQueries.tombstoneIfLive(skuCode), mongoTemplate.getCollectionName(Product.class),
+                Document.class);
+        return mongoTemplate.remove(ProductQueries.bySkuCode(skuCode), Product.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public long committedChangeSeq() {
+        Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+        return ProductQueries.committedChangeSeq(hello.getDate("localTime"), changeSettle);
+    }
+
+    @Override
+    public List<Product> findChangedAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq, int limit) {
+        return mongoTemplate.find(ProductQueries.changedAfter(afterChangeSeq, afterSkuCode, throughChangeSeq, limit),
+                Product.class);
+    }
+
+    @Override
+    public List<ProductTombstone> findTombstonesAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq,
+                                                      int limit) {
+        return mongoTemplate.aggregate(
+                ProductQueries.tombstonesAfter(afterChangeSeq, afterSkuCode, throughChangeSeq, limit),
+                ProductTombstone.class).getMappedResults();
+    }
+
+    @Override
+    public boolean skuCodeExists(String skuCode) {
+        // projecting only the indexed field lets Mongo answer from the skuCode index without fetching the document
+        Query query = ProductQueries.skuCodeOnly(ProductQueries.bySkuCode(skuCode));
+        return mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Product.class)) != null;
+    }
+
+    @Override
+    public Stream<String> streamAllSkuCodes() {
+        Query query = ProductQueries.skuCodeOnly(new Query()).withHint(new Document("skuCode", 1));
+        return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Product.class))
+                .map(document -> document.getString("skuCode"));
+    }
+
+    @Override
+    public Stream<Product> streamAllFacets() {
+        return mongoTemplate.stream(ProductQueries.facetsOnly(), Product.class);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilterDto filter, BigDecimal afterPrice, String afterSkuCode, int limit) {
+        return mongoTemplate.find(ProductQueries.filter(filter, afterPrice, afterSkuCode, limit), Product.class);
+    }
+
+    @Override
+    public long countForRepricing(ProductRepricingRequestDto request) {
+        return mongoTemplate.count(ProductQueries.repricing(request), Product.class);
+    }
+
+    @Override
+    public Stream<Product> streamForRepricing(ProductRepricingRequestDto request, String afterSkuCode, String jobId) {
+        return mongoTemplate.stream(ProductQueries.repricing(request, afterSkuCode, jobId), Product.class);
+    }
+
+    @Override
+    public List<Product> findForRepricing(ProductRepricingRequestDto request, Collection<String> skuCodes, String jobId) {
+        Query query = ProductQueries.repricing(request, null, jobId).addCriteria(Criteria.where("skuCode").in(skuCodes));
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public BulkWriteResult repriceAll(List<Product> products, String jobId) {
+        // the version guard leaves products edited since they were read untouched instead of overwriting the edit
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (Product product : products) {
+            bulkOperations.updateOne(ProductQueries.bySkuCodeAndVersion(product.getSkuCode(), product.getVersion()),
+                    ProductQueries.repriceFields(product, jobId));
+        }
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public BulkWriteResult incrementPopularity(Map<String, Double> increments) {
+        // $inc keeps concurrent flushes from several replicas additive; popularity is not part of the change feed
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        increments.forEach((skuCode, increment) ->
+                bulkOperations.updateOne(ProductQueries.bySkuCode(skuCode), ProductQueries.incrementPopularity(increment)));
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public long convertStringPricesToDecimal() {
+        Query query = Query.query(Criteria.where("price").type(JsonSchemaObject.Type.stringType()));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("price").toValue(ConvertOperators.valueOf("price").convertToDecimal());
+        return mongoTemplate.updateMulti(query, update, Product.class).getModifiedCount();
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        Query query = Query.query(Criteria.where("version").exists(false));
+        return mongoTemplate.updateMulti(query, Update.update("version", 0L), Product.class).getModifiedCount();
+    }
+
+    @Override
+    public long initializeMissingChangeSeqs() {
+        Query query = Query.query(Criteria.where("changeSeq").exists(false));
+        return mongoTemplate.updateMulti(query, Update.update("changeSeq", 0L), Product.class).getModifiedCount();
+    }
+
+    @Override
+    public long initializeMissingPopularity() {
+        Query query = Query.query(Criteria.where("popularity").exists(false));
+        return mongoTemplate.updateMulti(query, Update.update("popularity", 0.0), Product.class).getModifiedCount();
+    }
+}
@@ -0,0 +1,13 @@
+package com.products.repository;
+
+import com.products.dto.ProductRepricingStatus;
+import com.products.model.ProductRepricingJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductRepricingJobRepository extends MongoRepository<ProductRepricingJob, String> {
+    List<ProductRepricingJob> findByStatus(ProductRepricingStatus status);
+}
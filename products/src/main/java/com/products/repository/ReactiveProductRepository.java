@@ -0,0 +1,22 @@
+package com.products.repository;
+
+import com.products.model.Product;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, ObjectId>, ReactiveProductRepositoryCustom {
+    Mono<Product> findBySkuCode(String skuCode);
+
+    Flux<Product> findBySkuCodeIn(Collection<String> skuCodes);
+
+    Flux<Product> findAllBy(Pageable pageable);
+
+    Flux<Product> findBySkuCodeGreaterThan(String skuCode, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.products.repository;
+
+import com.products.dto.ProductFilterDto;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ReactiveProductRepositoryCustom {
+    Mono<Product> insertProduct(Product product);
+
+    Mono<Product> updateBySkuCode(String skuCode, Product product, Product expected);
+
+    Mono<Product> patchBySkuCode(String skuCode, Product product, Product expected);
+
+    Mono<Boolean> deleteOneBySkuCode(String skuCode);
+
+    Mono<Long> committedChangeSeq();
+
+    Flux<Product> findChangedAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq, int limit);
+
+    Flux<ProductTombstone> findTombstonesAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq,
+                                               int limit);
+
+    Mono<Boolean> skuCodeExists(String skuCode);
+
+    Flux<Product> findByFilter(ProductFilterDto filter, BigDecimal afterPrice, String afterSkuCode, int limit);
+}
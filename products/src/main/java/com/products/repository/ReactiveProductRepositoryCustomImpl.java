@@ -0,0 +1,85 @@
+package com.products.repository;
+
+import com.products.dto.ProductFilterDto;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+public class ReactiveProductRepositoryCustomImpl implements ReactiveProductRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final Duration changeSettle;
+
+    public ReactiveProductRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                               @Value("${products.changes.settle}") Duration changeSettle) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.changeSettle = changeSettle;
+    }
+
+    // each write stamps its own changeSeq, as in ProductRepositoryCustomImpl
+    @Override
+    public Mono<Product> insertProduct(Product product) {
+        return reactiveMongoTemplate.findAndModify(ProductQueries.newSkuCode(product.getSkuCode()),
+                ProductQueries.insertFields(product), ProductQueries.upsertReturnNew(), Product.class);
+    }
+
+    @Override
+    public Mono<Product> updateBySkuCode(String skuCode, Product product, Product expected) {
+        return reactiveMongoTemplate.findAndModify(ProductQueries.bySkuCodeAndRevision(skuCode, expected),
+                ProductQueries.upsertFields(product), ProductQueries.returnNew(), Product.class);
+    }
+
+    @Override
+    public Mono<Product> patchBySkuCode(String skuCode, Product product, Product expected) {
+        return reactiveMongoTemplate.findAndModify(ProductQueries.bySkuCodeAndRevision(skuCode, expected),
+                ProductQueries.patchFields(product), ProductQueries.returnNew(), Product.class);
+    }
+
+    @Override
+    public Mono<Boolean> deleteOneBySkuCode(String skuCode) {
+        // tombstone first, as in ProductRepositoryCustomImpl
+        return reactiveMongoTemplate.aggregate(ProductQueries.tombstoneIfLive(skuCode),
+                        reactiveMongoTemplate.getCollectionName(Product.class), Document.class)
+                .then(reactiveMongoTemplate.remove(ProductQueries.bySkuCode(skuCode), Product.class))
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    @Override
+    public Mono<Long> committedChangeSeq() {
+        return reactiveMongoTemplate.executeCommand(new Document("hello", 1))
+                .map(hello -> ProductQueries.committedChangeSeq(hello.getDate("localTime"), changeSettle));
+    }
+
+    @Override
+    public Flux<Product> findChangedAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq, int limit) {
+        return reactiveMongoTemplate.find(ProductQueries.changedAfter(afterChangeSeq, afterSkuCode, throughChangeSeq,
+                limit), Product.class);
+    }
+
+    @Override
+    public Flux<ProductTombstone> findTombstonesAfter(Long afterChangeSeq, String afterSkuCode, long throughChangeSeq,
+                                                      int limit) {
+        return reactiveMongoTemplate.aggregate(
+                ProductQueries.tombstonesAfter(afterChangeSeq, afterSkuCode, throughChangeSeq, limit),
+                ProductTombstone.class);
+    }
+
+    @Override
+    public Mono<Boolean> skuCodeExists(String skuCode) {
+        return reactiveMongoTemplate.findOne(ProductQueries.skuCodeOnly(ProductQueries.bySkuCode(skuCode)),
+                        Document.class, reactiveMongoTemplate.getCollectionName(Product.class))
+                .hasElement();
+    }
+
+    @Override
+    public Flux<Product> findByFilter(ProductFilterDto filter, BigDecimal afterPrice, String afterSkuCode, int limit) {
+        return reactiveMongoTemplate.find(ProductQueries.filter(filter, afterPrice, afterSkuCode, limit), Product.class);
+    }
+}
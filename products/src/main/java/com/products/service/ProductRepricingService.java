@@ -0,0 +1,10 @@
+package com.products.service;
+
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+
+public interface ProductRepricingService {
+    ProductRepricingJobDto startJob(ProductRepricingRequestDto request);
+    ProductRepricingJobDto getJob(String jobId);
+    ProductRepricingJobDto resumeJob(String jobId);
+}
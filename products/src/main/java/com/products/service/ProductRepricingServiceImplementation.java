@@ -0,0 +1,241 @@
+package com.products.service;
+
+import com.products.config.CacheConfig;
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingStatus;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductSearchIndex;
+import com.products.model.Product;
+import com.products.model.ProductRepricingJob;
+import com.products.repository.ProductRepository;
+import com.products.repository.ProductRepricingJobRepository;
+import com.products.utils.ProductRepricing;
+import com.products.utils.ProductRequestValidation;
+import com.products.utils.ProductTypeConversion;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+@Service
+@Log4j2
+public class ProductRepricingServiceImplementation implements ProductRepricingService {
+
+    private static final int REPRICING_BATCH_SIZE = 1000;
+    private static final int REPRICING_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final ProductRepricingJobRepository repricingJobRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final Cache productsCache;
+    private final Cache productJsonCache;
+    private final ExecutorService executor;
+    private final Set<String> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ProductRepricingServiceImplementation(ProductRepository productRepository,
+                                                 ProductRepricingJobRepository repricingJobRepository,
+                                                 ProductSearchIndex productSearchIndex,
+                                                 CacheManager cacheManager) {
+        this(productRepository, repricingJobRepository, productSearchIndex, cacheManager,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "product-repricing")));
+    }
+
+    ProductRepricingServiceImplementation(ProductRepository productRepository,
+                                          ProductRepricingJobRepository repricingJobRepository,
+                                          ProductSearchIndex productSearchIndex,
+                                          CacheManager cacheManager,
+                                          ExecutorService executor) {
+        this.productRepository = productRepository;
+        this.repricingJobRepository = repricingJobRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.productJsonCache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+        this.executor = executor;
+    }
+
+    // a job still RUNNING here was cut off by the last shutdown; its checkpoint lets it carry on where it stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (ProductRepricingJob job : repricingJobRepository.findByStatus(ProductRepricingStatus.RUNNING)) {
+            log.info("Resuming interrupted repricing job {} after SKU: {}", job.getId(), job.getLastSkuCode());
+            executor.execute(() -> run(job.getId()));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ProductRepricingJobDto startJob(ProductRepricingRequestDto request) {
+        log.info("Starting repricing job for {}", request);
+        ProductRequestValidation.validateRepricing(request);
+        Instant now = Instant.now();
+        ProductRepricingJob job = new ProductRepricingJob();
+        job.setStatus(ProductRepricingStatus.RUNNING);
+        job.setRequest(request);
+        job.setMatched(productRepository.countForRepricing(request));
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        ProductRepricingJob savedJob = repricingJobRepository.save(job);
+        log.info("Repricing job {} queued for {} products", savedJob.getId(), savedJob.getMatched());
+        executor.execute(() -> run(savedJob.getId()));
+        return ProductTypeConversion.convertToDto(savedJob);
+    }
+
+    @Override
+    public ProductRepricingJobDto getJob(String jobId) {
+        log.info("Fetching repricing job {}", jobId);
+        return ProductTypeConversion.convertToDto(findJob(jobId));
+    }
+
+    @Override
+    public ProductRepricingJobDto resumeJob(String jobId) {
+        log.info("Resuming repricing job {}", jobId);
+        ProductRepricingJob job = findJob(jobId);
+        if (job.getStatus() == ProductRepricingStatus.COMPLETED || runningJobIds.contains(jobId)) {
+            log.info("Repricing job {} is {}, nothing to resume", jobId,
+                    runningJobIds.contains(jobId) ? "running" : "completed");
+            return ProductTypeConversion.convertToDto(job);
+        }
+        job.setStatus(ProductRepricingStatus.RUNNING);
+        job.setError(null);
+        job.setUpdatedAt(Instant.now());
+        ProductRepricingJob savedJob = repricingJobRepository.save(job);
+        executor.execute(() -> run(jobId));
+        return ProductTypeConversion.convertToDto(savedJob);
+    }
+
+    void run(String jobId) {
+        ProductRepricingJob job = repricingJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ProductRepricingStatus.RUNNING || !runningJobIds.add(jobId)) {
+            return;
+        }
+        log.info("Repricing job {} running after SKU: {}", jobId, job.getLastSkuCode());
+        try (Stream<Product> products = productRepository.streamForRepricing(job.getRequest(), job.getLastSkuCode(), jobId)) {
+            Iterator<Product> iterator = products.iterator();
+            List<Product> batch = new ArrayList<>(REPRICING_BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == REPRICING_BATCH_SIZE) {
+                    repriceBatch(job, batch);
+                    batch.clear();
+                    if (Thread.currentThread().isInterrupted()) {
+                        log.warn("Repricing job {} interrupted after SKU: {}", jobId, job.getLastSkuCode());
+                        return;
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                repriceBatch(job, batch);
+            }
+            finish(job, ProductRepricingStatus.COMPLETED, null);
+            log.info("Repricing job {} finished: {} repriced, {} failed", jobId, job.getRepriced(), job.getFailed());
+        } catch (RuntimeException ex) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Repricing job {} interrupted after SKU: {}", jobId, job.getLastSkuCode());
+                return;
+            }
+            log.error("Repricing job {} failed after SKU: {}", jobId, job.getLastSkuCode(), ex);
+            finish(job, ProductRepricingStatus.FAILED, ex.getMessage());
+        } finally {
+            runningJobIds.remove(jobId);
+        }
+    }
+
+    private void repriceBatch(ProductRepricingJob job, List<Product> batch) {
+        List<Product> pending = applyRule(batch, job.getRequest().getRule());
+        long failed = batch.size() - pending.size();
+        long modified = 0;
+        List<String> skuCodes = pending.stream().map(Product::getSkuCode).toList();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            long written = productRepository.repriceAll(pending, job.getId()).getModifiedCount();
+            modified += written;
+            if (written == pending.size()) {
+                break;
+            }
+            // the version guard skipped products edited since they were read; reprice their current state before the
+            // checkpoint moves past them, leaving out any that were deleted or no longer match the request
+            List<Product> skipped = productRepository.findForRepricing(job.getRequest(),
+                    pending.stream().map(Product::getSkuCode).toList(), job.getId());
+            if (attempt == REPRICING_ATTEMPTS) {
+                log.warn("Repricing job {} gave up on {} products still being edited", job.getId(), skipped.size());
+                failed += skipped.size();
+                break;
+            }
+            pending = applyRule(skipped, job.getRequest().getRule());
+            failed += skipped.size() - pending.size();
+        }
+        if (!skuCodes.isEmpty()) {
+            refresh(skuCodes);
+        }
+
+        job.setProcessed(job.getProcessed() + batch.size());
+        job.setRepriced(job.getRepriced() + modified);
+        job.setFailed(job.getFailed() + failed);
+        job.setLastSkuCode(batch.get(batch.size() - 1).getSkuCode());
+        job.setUpdatedAt(Instant.now());
+        repricingJobRepository.save(job);
+        log.debug("Repricing job {} checkpointed at SKU: {}, {} of {} processed", job.getId(), job.getLastSkuCode(),
+                job.getProcessed(), job.getMatched());
+    }
+
+    private List<Product> applyRule(List<Product> products, ProductRepricingRuleDto rule) {
+        List<BigDecimal> prices = products.parallelStream()
+                .map(product -> ProductRepricing.apply(product.getPrice(), rule))
+                .toList();
+
+        List<Product> repriced = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            if (prices.get(i) != null) {
+                products.get(i).setPrice(prices.get(i));
+                repriced.add(products.get(i));
+            }
+        }
+        return repriced;
+    }
+
+    private void refresh(List<String> skuCodes) {
+        // re-read the batch so the search index also reflects products that were edited while it was repriced
+        for (Product product : productRepository.findBySkuCodeIn(skuCodes)) {
+            productSearchIndex.index(product);
+        }
+        for (String skuCode : skuCodes) {
+            productsCache.evict(skuCode);
+            productJsonCache.evict(skuCode);
+        }
+    }
+
+    private void finish(ProductRepricingJob job, ProductRepricingStatus status, String error) {
+        job.setStatus(status);
+        job.setError(error);
+        job.setUpdatedAt(Instant.now());
+        repricingJobRepository.save(job);
+    }
+
+    private ProductRepricingJob findJob(String jobId) {
+        return repricingJobRepository.findById(jobId).orElseThrow(() -> {
+            log.error("Repricing job {} not found", jobId);
+            return new ProductNotFoundException("Repricing job not found");
+        });
+    }
+}
@@ -1,14 +1,33 @@
 package com.products.service;
 
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangesDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductService {
     List<ProductDto> getAllProducts();
+    ProductPageDto getProductsPage(String cursor, int size);
+    ProductPageDto filterProducts(ProductFilterDto filter);
+    List<ProductDto> searchProducts(String query, int limit);
+    ProductFacetsDto getFacets();
+    List<ProductRelatedDto> getRelatedProducts(String skuCode, int limit);
+    Stream<ProductDto> streamAllProducts();
+    ProductChangesDto getChanges(String since, int size);
     ProductDto getBySkuName(String skuName);
+    ProductBatchResponseDto getBySkuCodes(List<String> skuCodes);
     ProductDto createProduct(ProductDto productDto);
-    ProductDto updateProduct(String skuCode, ProductDto productDto);
+    ProductBulkResultDto bulkUpsertProducts(Iterator<ProductDto> productDtos);
+    ProductDto updateProduct(String skuCode, ProductDto productDto, String ifMatch);
+    ProductDto patchProduct(String skuCode, ProductDto productDto, String ifMatch);
     void deleteProduct(String skuCode);
     boolean productExists(String skuCode);
 }
@@ -1,22 +1,68 @@
 package com.products.service;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkItemResultDto;
+import com.products.dto.ProductBulkItemStatus;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangesDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import com.products.exceptions.PreconditionFailedException;
 import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
 import com.products.model.Product;
 import com.products.repository.ProductRepository;
+import com.products.utils.ProductChangeToken;
+import com.products.utils.ProductCursor;
+import com.products.utils.ProductETags;
+import com.products.utils.ProductRequestValidation;
 import com.products.utils.ProductTypeConversion;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 @Log4j2
 public class ProductServiceImplementation implements ProductService{
 
+    private static final int BULK_BATCH_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final Validator validator;
+    private final SkuBloomFilter skuBloomFilter;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetCounters productFacetCounters;
+    private final ProductCooccurrenceIndex productCooccurrenceIndex;
 
     @Override
     public List<ProductDto> getAllProducts() {
@@ -25,6 +71,79 @@ public class ProductServiceImplementation implements ProductService{
     }
 
     @Override
+    public ProductPageDto getProductsPage(String cursor, int size) {
+        log.info("Fetching products page after cursor: {}, size: {}", cursor, size);
+        ProductRequestValidation.validatePageSize(size);
+        Pageable pageable = PageRequest.of(0, size + 1, Sort.by("skuCode"));
+        List<Product> products = cursor == null
+                ? productRepository.findAllBy(pageable)
+                : productRepository.findBySkuCodeGreaterThan(ProductCursor.decode(cursor), pageable);
+
+        ProductPageDto page = ProductCursor.toPage(products, size, "skuCode");
+        log.debug("Fetched {} products, next cursor: {}", page.getProducts().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    public ProductPageDto filterProducts(ProductFilterDto filter) {
+        log.info("Filtering products with {}", filter);
+        ProductRequestValidation.validateFilter(filter);
+        ProductCursor.PriceKey after = ProductCursor.decodeKeyset(filter.getCursor(),
+                ProductCursor.isKeyed(filter.getSort()));
+        List<Product> products = productRepository.findByFilter(filter, after.getPrice(), after.getSkuCode(),
+                filter.getSize() + 1);
+
+        ProductPageDto page = ProductCursor.toPage(products, filter.getSize(), filter.getSort());
+        log.debug("Filtered {} products, next cursor: {}", page.getProducts().size(), page.getNextCursor());
+        return page;
+    }
+
+    @Override
+    public List<ProductDto> searchProducts(String query, int limit) {
+        log.info("Searching products for: {}, limit: {}", query, limit);
+        ProductRequestValidation.validateSearchLimit(limit);
+        List<ProductDto> results = productSearchIndex.search(query, limit);
+        log.debug("Found {} products for: {}", results.size(), query);
+        return results;
+    }
+
+    @Override
+    public ProductFacetsDto getFacets() {
+        log.info("Fetching product facets");
+        return productFacetCounters.facets();
+    }
+
+    @Override
+    public List<ProductRelatedDto> getRelatedProducts(String skuCode, int limit) {
+        log.info("Fetching products bought together with SKU: {}, limit: {}", skuCode, limit);
+        ProductRequestValidation.validateRelatedLimit(limit);
+        return productCooccurrenceIndex.related(skuCode, limit);
+    }
+
+    @Override
+    public Stream<ProductDto> streamAllProducts() {
+        log.info("Streaming all products");
+        return productRepository.streamAllBy().map(ProductTypeConversion::convertToDto);
+    }
+
+    @Override
+    public ProductChangesDto getChanges(String since, int size) {
+        log.info("Fetching product changes since: {}, size: {}", since, size);
+        ProductRequestValidation.validatePageSize(size);
+        ProductChangeToken.ChangeKey after = ProductChangeToken.decode(since);
+        // both reads stop at the same committed watermark, so a page never skips a write still in flight
+        long committed = productRepository.committedChangeSeq();
+        ProductChangeToken.validateNotExpired(after, committed);
+        ProductChangesDto changes = ProductChangeToken.toChanges(
+                productRepository.findChangedAfter(after.getChangeSeq(), after.getSkuCode(), committed, size + 1),
+                productRepository.findTombstonesAfter(after.getChangeSeq(), after.getSkuCode(), committed, size + 1),
+                since, size);
+        log.debug("Fetched {} product changes, next token: {}", changes.getChanges().size(), changes.getNextToken());
+        return changes;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#skuName", sync = true)
     public ProductDto getBySkuName(String skuName) {
         log.info("Fetching product with SKU: {}", skuName);
         Product productBySkuCode = productRepository.findBySkuCode(skuName).orElseThrow(() -> {
@@ -35,52 +154,197 @@ public class ProductServiceImplementation implements ProductService{
         return ProductTypeConversion.convertToDto(productBySkuCode);
     }
 
+    @Override
+    public ProductBatchResponseDto getBySkuCodes(List<String> skuCodes) {
+        log.info("Fetching products for {} SKUs", skuCodes == null ? 0 : skuCodes.size());
+        ProductRequestValidation.validateBatchGet(skuCodes);
+        Set<String> requestedSkuCodes = new LinkedHashSet<>(skuCodes);
+        ProductBatchResponseDto response = ProductTypeConversion.convertToBatchResponse(requestedSkuCodes,
+                productRepository.findBySkuCodeIn(requestedSkuCodes));
+        log.info("Found {} products, {} SKUs missing", response.getFound().size(), response.getMissing().size());
+        return response;
+    }
+
     @Override
     public ProductDto createProduct(ProductDto productDto) {
         log.info("Creating new product: {}, SKU: {}", productDto.getProductName(), productDto.getSkuCode());
         Product product = ProductTypeConversion.convert(productDto);
         log.debug("Converting DTO to entity: {}", product);
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = productRepository.insertProduct(product);
+        productSearchIndex.index(savedProduct);
+        productFacetCounters.put(savedProduct);
         log.info("Product saved successfully with ID: {}", savedProduct.getId());
         return ProductTypeConversion.convertToDto(savedProduct);
     }
 
     @Override
-    public ProductDto updateProduct(String skuCode, ProductDto productDto) {
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE}, allEntries = true)
+    public ProductBulkResultDto bulkUpsertProducts(Iterator<ProductDto> productDtos) {
+        log.info("Bulk upserting products");
+        List<ProductBulkItemResultDto> results = new ArrayList<>();
+        Set<String> seenSkuCodes = new HashSet<>();
+        List<ProductDto> batch = new ArrayList<>(BULK_BATCH_SIZE);
+        while (productDtos.hasNext()) {
+            batch.add(productDtos.next());
+            if (batch.size() == BULK_BATCH_SIZE) {
+                results.addAll(upsertBatch(batch, results.size(), seenSkuCodes));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.addAll(upsertBatch(batch, results.size(), seenSkuCodes));
+        }
+
+        int created = countByStatus(results, ProductBulkItemStatus.CREATED);
+        int updated = countByStatus(results, ProductBulkItemStatus.UPDATED);
+        int failed = results.size() - created - updated;
+        log.info("Bulk upsert finished: {} created, {} updated, {} failed", created, updated, failed);
+        return new ProductBulkResultDto(created, updated, failed, results);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE}, key = "#skuCode")
+    public ProductDto updateProduct(String skuCode, ProductDto productDto, String ifMatch) {
         log.info("Updating product with SKU: {}", skuCode);
-        Product existingProduct = productRepository.findBySkuCode(skuCode).orElseThrow(()-> {
-            log.error("Product with SKU: {} not found for update", skuCode);
-            return new ProductNotFoundException("Product not found");
-        });
-        existingProduct.setProductName(productDto.getProductName());
-        existingProduct.setCategory(productDto.getCategory());
-        existingProduct.setPrice(productDto.getPrice());
-        existingProduct.setVendor(productDto.getVendor());
         log.debug("Updated product details: name={}, category={}, price={}, vendor={}",
                 productDto.getProductName(), productDto.getCategory(),
                 productDto.getPrice(), productDto.getVendor());
-        Product updatedProduct = productRepository.save(existingProduct);
-        log.info("Product with SKU: {} updated successfully", skuCode);
-        return ProductTypeConversion.convertToDto(updatedProduct);
+        Product expected = matchedRevision(skuCode, ifMatch);
+        Product updatedProduct = productRepository.updateBySkuCode(skuCode, ProductTypeConversion.convert(productDto),
+                expected);
+        return updated(skuCode, updatedProduct, expected);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE}, key = "#skuCode")
+    public ProductDto patchProduct(String skuCode, ProductDto productDto, String ifMatch) {
+        log.info("Patching product with SKU: {}", skuCode);
+        ProductRequestValidation.validatePatch(productDto);
+        Product expected = matchedRevision(skuCode, ifMatch);
+        Product patchedProduct = productRepository.patchBySkuCode(skuCode, ProductTypeConversion.convert(productDto),
+                expected);
+        return updated(skuCode, patchedProduct, expected);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE}, key = "#skuCode")
     public void deleteProduct(String skuCode) {
         log.info("Deleting product with SKU: {}", skuCode);
-        Product product = productRepository.findBySkuCode(skuCode).orElseThrow(()-> {
+        if (!productRepository.deleteOneBySkuCode(skuCode)) {
             log.error("Product with SKU: {} not found for deletion", skuCode);
-            return new ProductNotFoundException("Product not found");
-        });
-        log.debug("Found product to delete: {}", product.getProductName());
-        productRepository.delete(product);
+            throw new ProductNotFoundException("Product not found");
+        }
+        productSearchIndex.remove(skuCode);
+        productFacetCounters.remove(skuCode);
         log.info("Product with SKU: {} deleted successfully", skuCode);
     }
 
     @Override
     public boolean productExists(String skuCode) {
         log.debug("Checking if product with SKU: {} exists", skuCode);
-        boolean exists = productRepository.findBySkuCode(skuCode).isPresent();
+        if (!skuBloomFilter.mightContain(skuCode)) {
+            log.debug("Product with SKU: {} rejected by bloom filter", skuCode);
+            return false;
+        }
+        boolean exists = productRepository.skuCodeExists(skuCode);
         log.debug("Product with SKU: {} exists: {}", skuCode, exists);
         return exists;
     }
+
+    private Product matchedRevision(String skuCode, String ifMatch) {
+        if (ProductETags.acceptsAny(ifMatch)) {
+            return null;
+        }
+        // If-Match is compared with the full tag of what is stored now, not with the cached copy
+        Product current = productRepository.findBySkuCode(skuCode).orElseThrow(() -> {
+            log.error("Product with SKU: {} not found for update", skuCode);
+            return new ProductNotFoundException("Product not found");
+        });
+        if (!ProductETags.matches(ifMatch, ProductTypeConversion.convertToDto(current))) {
+            log.warn("Product with SKU: {} does not match {}", skuCode, ifMatch);
+            throw new PreconditionFailedException("Product has been modified");
+        }
+        return current;
+    }
+
+    private ProductDto updated(String skuCode, Product product, Product expected) {
+        if (product == null) {
+            // the write matched nothing; only a failed precondition needs the extra lookup to tell it from a missing SKU
+            if (expected != null && productRepository.skuCodeExists(skuCode)) {
+                log.warn("Product with SKU: {} changed after its If-Match check", skuCode);
+                throw new PreconditionFailedException("Product has been modified");
+            }
+            log.error("Product with SKU: {} not found for update", skuCode);
+            throw new ProductNotFoundException("Product not found");
+        }
+        productSearchIndex.index(product);
+        productFacetCounters.put(product);
+        log.info("Product with SKU: {} updated successfully", skuCode);
+        return ProductTypeConversion.convertToDto(product);
+    }
+
+    private List<ProductBulkItemResultDto> upsertBatch(List<ProductDto> batch, int offset, Set<String> seenSkuCodes) {
+        List<Product> products = batch.stream().map(ProductTypeConversion::convert).toList();
+        List<String> violations = products.parallelStream().map(this::validationMessage).toList();
+
+        ProductBulkItemResultDto[] results = new ProductBulkItemResultDto[products.size()];
+        List<Product> validProducts = new ArrayList<>();
+        List<Integer> validPositions = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            String skuCode = products.get(i).getSkuCode();
+            if (violations.get(i) != null) {
+                results[i] = new ProductBulkItemResultDto(offset + i, skuCode, ProductBulkItemStatus.INVALID, violations.get(i));
+            } else if (!seenSkuCodes.add(skuCode)) {
+                results[i] = new ProductBulkItemResultDto(offset + i, skuCode, ProductBulkItemStatus.INVALID,
+                        "duplicate sku-code in request");
+            } else {
+                validProducts.add(products.get(i));
+                validPositions.add(i);
+            }
+        }
+        if (validProducts.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        BulkWriteResult writeResult;
+        Map<Integer, String> writeErrors = Map.of();
+        try {
+            writeResult = productRepository.upsertAllBySkuCode(validProducts);
+        } catch (BulkOperationException ex) {
+            log.error("Bulk upsert batch at offset {} had {} write errors", offset, ex.getErrors().size());
+            writeResult = ex.getResult();
+            writeErrors = ex.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+        Set<Integer> inserted = writeResult.getUpserts().stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+
+        for (int j = 0; j < validProducts.size(); j++) {
+            int i = validPositions.get(j);
+            String skuCode = validProducts.get(j).getSkuCode();
+            if (writeErrors.containsKey(j)) {
+                results[i] = new ProductBulkItemResultDto(offset + i, skuCode, ProductBulkItemStatus.FAILED, writeErrors.get(j));
+            } else {
+                ProductBulkItemStatus status = inserted.contains(j) ? ProductBulkItemStatus.CREATED : ProductBulkItemStatus.UPDATED;
+                skuBloomFilter.put(skuCode);
+                productSearchIndex.index(validProducts.get(j));
+                productFacetCounters.put(validProducts.get(j));
+                results[i] = new ProductBulkItemResultDto(offset + i, skuCode, status, null);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validationMessage(Product product) {
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private static int countByStatus(List<ProductBulkItemResultDto> results, ProductBulkItemStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
 }
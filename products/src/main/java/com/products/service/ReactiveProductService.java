@@ -0,0 +1,32 @@
+package com.products.service;
+
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveProductService {
+    Flux<ProductDto> getAllProducts();
+    Mono<ProductPageDto> getProductsPage(String cursor, int size);
+    Mono<ProductPageDto> filterProducts(ProductFilterDto filter);
+    Mono<List<ProductDto>> searchProducts(String query, int limit);
+    Mono<ProductFacetsDto> getFacets();
+    Mono<List<ProductRelatedDto>> getRelatedProducts(String skuCode, int limit);
+    Mono<ProductChangesDto> getChanges(String since, int size);
+    Mono<ProductDto> getBySkuName(String skuName);
+    Mono<ProductBatchResponseDto> getBySkuCodes(List<String> skuCodes);
+    Mono<ProductDto> createProduct(ProductDto productDto);
+    Mono<ProductBulkResultDto> bulkUpsertProducts(Flux<ProductDto> productDtos);
+    Mono<ProductDto> updateProduct(String skuCode, ProductDto productDto, String ifMatch);
+    Mono<ProductDto> patchProduct(String skuCode, ProductDto productDto, String ifMatch);
+    Mono<Void> deleteProduct(String skuCode);
+    Mono<Boolean> productExists(String skuCode);
+}
@@ -0,0 +1,242 @@
+package com.products.service;
+
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import com.products.exceptions.PreconditionFailedException;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
+import com.products.model.Product;
+import com.products.repository.ReactiveProductRepository;
+import com.products.utils.ProductChangeToken;
+import com.products.utils.ProductCursor;
+import com.products.utils.ProductETags;
+import com.products.utils.ProductRequestValidation;
+import com.products.utils.ProductTypeConversion;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+@Log4j2
+public class ReactiveProductServiceImplementation implements ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ProductService productService;
+    private final SkuBloomFilter skuBloomFilter;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetCounters productFacetCounters;
+    private final ProductCooccurrenceIndex productCooccurrenceIndex;
+
+    @Override
+    public Flux<ProductDto> getAllProducts() {
+        log.info("Fetching all products");
+        return reactiveProductRepository.findAll().map(ProductTypeConversion::convertToDto);
+    }
+
+    @Override
+    public Mono<ProductPageDto> getProductsPage(String cursor, int size) {
+        return Mono.defer(() -> {
+            log.info("Fetching products page after cursor: {}, size: {}", cursor, size);
+            ProductRequestValidation.validatePageSize(size);
+            Pageable pageable = PageRequest.of(0, size + 1, Sort.by("skuCode"));
+            Flux<Product> products = cursor == null
+                    ? reactiveProductRepository.findAllBy(pageable)
+                    : reactiveProductRepository.findBySkuCodeGreaterThan(ProductCursor.decode(cursor), pageable);
+            return products.collectList().map(page -> ProductCursor.toPage(page, size, "skuCode"));
+        });
+    }
+
+    @Override
+    public Mono<ProductPageDto> filterProducts(ProductFilterDto filter) {
+        return Mono.defer(() -> {
+            log.info("Filtering products with {}", filter);
+            ProductRequestValidation.validateFilter(filter);
+            ProductCursor.PriceKey after = ProductCursor.decodeKeyset(filter.getCursor(),
+                    ProductCursor.isKeyed(filter.getSort()));
+            return reactiveProductRepository
+                    .findByFilter(filter, after.getPrice(), after.getSkuCode(), filter.getSize() + 1)
+                    .collectList()
+                    .map(page -> ProductCursor.toPage(page, filter.getSize(), filter.getSort()));
+        });
+    }
+
+    @Override
+    public Mono<List<ProductDto>> searchProducts(String query, int limit) {
+        return Mono.fromCallable(() -> {
+            log.info("Searching products for: {}, limit: {}", query, limit);
+            ProductRequestValidation.validateSearchLimit(limit);
+            return productSearchIndex.search(query, limit);
+        });
+    }
+
+    @Override
+    public Mono<ProductFacetsDto> getFacets() {
+        return Mono.fromSupplier(() -> {
+            log.info("Fetching product facets");
+            return productFacetCounters.facets();
+        });
+    }
+
+    @Override
+    public Mono<List<ProductRelatedDto>> getRelatedProducts(String skuCode, int limit) {
+        return Mono.fromCallable(() -> {
+            log.info("Fetching products bought together with SKU: {}, limit: {}", skuCode, limit);
+            ProductRequestValidation.validateRelatedLimit(limit);
+            return productCooccurrenceIndex.related(skuCode, limit);
+        });
+    }
+
+    @Override
+    public Mono<ProductChangesDto> getChanges(String since, int size) {
+        return Mono.defer(() -> {
+            log.info("Fetching product changes since: {}, size: {}", since, size);
+            ProductRequestValidation.validatePageSize(size);
+            ProductChangeToken.ChangeKey after = ProductChangeToken.decode(since);
+            return reactiveProductRepository.committedChangeSeq().flatMap(committed -> {
+                ProductChangeToken.validateNotExpired(after, committed);
+                return Mono.zip(
+                        reactiveProductRepository.findChangedAfter(after.getChangeSeq(), after.getSkuCode(), committed,
+                                size + 1).collectList(),
+                        reactiveProductRepository.findTombstonesAfter(after.getChangeSeq(), after.getSkuCode(),
+                                committed, size + 1).collectList(),
+                        (products, tombstones) -> ProductChangeToken.toChanges(products, tombstones, since, size));
+            });
+        });
+    }
+
+    @Override
+    public Mono<ProductDto> getBySkuName(String skuName) {
+        log.info("Fetching product with SKU: {}", skuName);
+        return findExisting(skuName).map(ProductTypeConversion::convertToDto);
+    }
+
+    @Override
+    public Mono<ProductBatchResponseDto> getBySkuCodes(List<String> skuCodes) {
+        return Mono.defer(() -> {
+            log.info("Fetching products for {} SKUs", skuCodes == null ? 0 : skuCodes.size());
+            ProductRequestValidation.validateBatchGet(skuCodes);
+            Set<String> requestedSkuCodes = new LinkedHashSet<>(skuCodes);
+            return reactiveProductRepository.findBySkuCodeIn(requestedSkuCodes)
+                    .collectList()
+                    .map(products -> ProductTypeConversion.convertToBatchResponse(requestedSkuCodes, products));
+        });
+    }
+
+    @Override
+    public Mono<ProductDto> createProduct(ProductDto productDto) {
+        log.info("Creating new product: {}, SKU: {}", productDto.getProductName(), productDto.getSkuCode());
+        Product product = ProductTypeConversion.convert(productDto);
+        return reactiveProductRepository.insertProduct(product)
+                .doOnNext(productSearchIndex::index)
+                .doOnNext(productFacetCounters::put)
+                .map(ProductTypeConversion::convertToDto);
+    }
+
+    @Override
+    public Mono<ProductBulkResultDto> bulkUpsertProducts(Flux<ProductDto> productDtos) {
+        // the bulk path is write-heavy and already streams in batches, so it reuses the blocking implementation off the event loop
+        return Mono.fromCallable(() -> productService.bulkUpsertProducts(productDtos.toIterable().iterator()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<ProductDto> updateProduct(String skuCode, ProductDto productDto, String ifMatch) {
+        log.info("Updating product with SKU: {}", skuCode);
+        return updated(skuCode, ifMatch, expected -> reactiveProductRepository.updateBySkuCode(skuCode,
+                ProductTypeConversion.convert(productDto), expected));
+    }
+
+    @Override
+    public Mono<ProductDto> patchProduct(String skuCode, ProductDto productDto, String ifMatch) {
+        return Mono.defer(() -> {
+            log.info("Patching product with SKU: {}", skuCode);
+            ProductRequestValidation.validatePatch(productDto);
+            return updated(skuCode, ifMatch, expected -> reactiveProductRepository.patchBySkuCode(skuCode,
+                    ProductTypeConversion.convert(productDto), expected));
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(String skuCode) {
+        log.info("Deleting product with SKU: {}", skuCode);
+        return reactiveProductRepository.deleteOneBySkuCode(skuCode)
+                .flatMap(deleted -> {
+                    if (!deleted) {
+                        log.error("Product with SKU: {} not found for deletion", skuCode);
+                        return Mono.error(new ProductNotFoundException("Product not found"));
+                    }
+                    productSearchIndex.remove(skuCode);
+                    productFacetCounters.remove(skuCode);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Boolean> productExists(String skuCode) {
+        return Mono.defer(() -> {
+            log.debug("Checking if product with SKU: {} exists", skuCode);
+            if (!skuBloomFilter.mightContain(skuCode)) {
+                return Mono.just(false);
+            }
+            return reactiveProductRepository.skuCodeExists(skuCode);
+        });
+    }
+
+    private Mono<ProductDto> updated(String skuCode, String ifMatch, Function<Product, Mono<Product>> write) {
+        if (ProductETags.acceptsAny(ifMatch)) {
+            return updated(skuCode, write.apply(null), false);
+        }
+        // If-Match is compared with the full tag of what is stored now, as in ProductServiceImplementation
+        return findExisting(skuCode).flatMap(current -> {
+            if (!ProductETags.matches(ifMatch, ProductTypeConversion.convertToDto(current))) {
+                log.warn("Product with SKU: {} does not match {}", skuCode, ifMatch);
+                return Mono.error(new PreconditionFailedException("Product has been modified"));
+            }
+            return updated(skuCode, write.apply(current), true);
+        });
+    }
+
+    private Mono<ProductDto> updated(String skuCode, Mono<Product> product, boolean conditional) {
+        return product
+                .switchIfEmpty(Mono.defer(() -> !conditional
+                        ? Mono.just(false)
+                        : reactiveProductRepository.skuCodeExists(skuCode))
+                        .flatMap(exists -> Mono.<Product>error(exists
+                                ? new PreconditionFailedException("Product has been modified")
+                                : new ProductNotFoundException("Product not found"))))
+                .doOnNext(productSearchIndex::index)
+                .doOnNext(productFacetCounters::put)
+                .map(ProductTypeConversion::convertToDto);
+    }
+
+    private Mono<Product> findExisting(String skuCode) {
+        return reactiveProductRepository.findBySkuCode(skuCode)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Product with SKU: {} not found", skuCode);
+                    return new ProductNotFoundException("Product not found");
+                }));
+    }
+}
@@ -0,0 +1,21 @@
+package com.products.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ProductCooccurrenceSnapshot {
+    private Instant createdAt;
+    private String topic;
+    // next offset to read per partition, taken together with the counters
+    private Map<Integer, Long> offsets;
+    private List<String> skuCodes;
+    // per SKU id: neighbour ids and their counts, in the same order
+    private int[][] neighbours;
+    private int[][] counts;
+}
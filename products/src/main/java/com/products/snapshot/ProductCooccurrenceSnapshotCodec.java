@@ -0,0 +1,101 @@
+package com.products.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// header (magic, format, createdAt, topic), the partition offsets, the interned SKU codes, then per SKU id its
+// Space-Saving counters as (neighbour id, count) pairs; written to a side file and moved into place like the catalog
+public class ProductCooccurrenceSnapshotCodec {
+    static final int MAGIC = 0x50434F43;
+    static final short FORMAT_VERSION = 1;
+
+    public static void write(Path path, ProductCooccurrenceSnapshot snapshot) throws IOException {
+        Path partial = path.resolveSibling(path.getFileName() + ".partial");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(snapshot.getCreatedAt().toEpochMilli());
+            writeString(out, snapshot.getTopic());
+            out.writeInt(snapshot.getOffsets().size());
+            for (Map.Entry<Integer, Long> offset : snapshot.getOffsets().entrySet()) {
+                out.writeInt(offset.getKey());
+                out.writeLong(offset.getValue());
+            }
+            out.writeInt(snapshot.getSkuCodes().size());
+            for (String skuCode : snapshot.getSkuCodes()) {
+                writeString(out, skuCode);
+            }
+            for (int sku = 0; sku < snapshot.getSkuCodes().size(); sku++) {
+                int[] neighbours = snapshot.getNeighbours()[sku];
+                out.writeInt(neighbours.length);
+                for (int i = 0; i < neighbours.length; i++) {
+                    out.writeInt(neighbours[i]);
+                    out.writeInt(snapshot.getCounts()[sku][i]);
+                }
+            }
+        }
+        Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static ProductCooccurrenceSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+                throw new IOException("Unsupported co-occurrence snapshot format: " + path);
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            String topic = readString(buffer);
+            int partitions = buffer.getInt();
+            Map<Integer, Long> offsets = new HashMap<>();
+            for (int i = 0; i < partitions; i++) {
+                offsets.put(buffer.getInt(), buffer.getLong());
+            }
+            int count = buffer.getInt();
+            List<String> skuCodes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                skuCodes.add(readString(buffer));
+            }
+            int[][] neighbours = new int[count][];
+            int[][] counts = new int[count][];
+            for (int sku = 0; sku < count; sku++) {
+                int size = buffer.getInt();
+                neighbours[sku] = new int[size];
+                counts[sku] = new int[size];
+                for (int i = 0; i < size; i++) {
+                    neighbours[sku][i] = buffer.getInt();
+                    counts[sku][i] = buffer.getInt();
+                }
+            }
+            return new ProductCooccurrenceSnapshot(createdAt, topic, offsets, skuCodes, neighbours, counts);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Value too long for co-occurrence snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.products.snapshot;
+
+import com.products.dto.ProductDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProductSnapshot {
+    private Instant createdAt;
+    private String changeToken;
+    private List<ProductDto> products;
+}
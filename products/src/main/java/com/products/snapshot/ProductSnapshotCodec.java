@@ -0,0 +1,123 @@
+package com.products.snapshot;
+
+import com.products.dto.ProductDto;
+import com.products.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// header (magic, format, createdAt, count, change token) then one record per product: length-prefixed UTF-8
+// strings and the price as an unscaled long plus scale, so loading is one sequential pass over a mapped file
+public class ProductSnapshotCodec {
+    static final int MAGIC = 0x50534E50;
+    static final short FORMAT_VERSION = 1;
+    private static final int COUNT_OFFSET = Integer.BYTES + Short.BYTES + Long.BYTES;
+    private static final short NULL_LENGTH = -1;
+    private static final byte NULL_SCALE = Byte.MIN_VALUE;
+
+    public static long write(Path path, String changeToken, Iterator<Product> products) throws IOException {
+        Path partial = path.resolveSibling(path.getFileName() + ".partial");
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(Instant.now().toEpochMilli());
+            out.writeInt(0);
+            writeString(out, changeToken);
+            while (products.hasNext()) {
+                Product product = products.next();
+                writeString(out, product.getSkuCode());
+                writeString(out, product.getProductName());
+                writeString(out, product.getCategory());
+                writePrice(out, product.getPrice());
+                writeString(out, product.getVendor());
+                out.writeLong(product.getVersion() == null ? 0 : product.getVersion());
+                count++;
+            }
+        }
+        // the count is only known at the end, so patch it into the header before publishing the file
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, (int) count), COUNT_OFFSET);
+        }
+        Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    public static ProductSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+                throw new IOException("Unsupported product snapshot format: " + path);
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            String changeToken = readString(buffer);
+            List<ProductDto> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ProductDto product = new ProductDto(readString(buffer), readString(buffer), readString(buffer),
+                        readPrice(buffer), readString(buffer));
+                product.setVersion(buffer.getLong());
+                products.add(product);
+            }
+            return new ProductSnapshot(createdAt, changeToken, products);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Value too long for product snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writePrice(DataOutputStream out, BigDecimal price) throws IOException {
+        if (price == null) {
+            out.writeLong(0);
+            out.writeByte(NULL_SCALE);
+            return;
+        }
+        BigDecimal scaled = price.scale() < 0 ? price.setScale(0) : price;
+        if (scaled.scale() > Byte.MAX_VALUE) {
+            throw new IOException("Price scale too large for product snapshot: " + price);
+        }
+        out.writeLong(scaled.unscaledValue().longValueExact());
+        out.writeByte(scaled.scale());
+    }
+
+    private static BigDecimal readPrice(ByteBuffer buffer) {
+        long unscaled = buffer.getLong();
+        byte scale = buffer.get();
+        return scale == NULL_SCALE ? null : new BigDecimal(BigInteger.valueOf(unscaled), scale);
+    }
+}
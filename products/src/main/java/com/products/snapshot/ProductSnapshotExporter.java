@@ -0,0 +1,54 @@
+package com.products.snapshot;
+
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+import com.products.utils.ProductChangeToken;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "products.snapshot.enabled", havingValue = "true")
+@Log4j2
+public class ProductSnapshotExporter {
+
+    private final ProductRepository productRepository;
+    private final Path path;
+    private final int maxProducts;
+
+    public ProductSnapshotExporter(ProductRepository productRepository,
+                                   @Value("${products.snapshot.path}") Path path,
+                                   @Value("${products.snapshot.max-products}") int maxProducts) {
+        this.productRepository = productRepository;
+        this.path = path;
+        this.maxProducts = maxProducts;
+    }
+
+    @Scheduled(initialDelayString = "${products.snapshot.export-interval}",
+            fixedDelayString = "${products.snapshot.export-interval}")
+    public void export() {
+        long startedAt = System.nanoTime();
+        // the committed watermark, taken before the scan: every change at or below it was acknowledged before the
+        // scan started, so the scan reads it or something newer, and anything above it is replayed by the loader
+        String changeToken = ProductChangeToken.encode(productRepository.committedChangeSeq(), "");
+        // the cache only holds so many products, so the snapshot keeps the most popular ones
+        try (Stream<Product> products = productRepository.streamAllByOrderByPopularityDescSkuCodeDesc(
+                Limit.of(maxProducts))) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            long count = ProductSnapshotCodec.write(path, changeToken, products.iterator());
+            log.info("Exported {} products to snapshot {} in {} ms", count, path,
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not export product snapshot to " + path, ex);
+        }
+    }
+}
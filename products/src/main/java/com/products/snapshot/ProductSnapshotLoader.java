@@ -0,0 +1,101 @@
+package com.products.snapshot;
+
+import com.products.config.CacheConfig;
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.exceptions.BadRequestException;
+import com.products.service.ProductService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(name = "products.snapshot.enabled", havingValue = "true")
+@Log4j2
+public class ProductSnapshotLoader {
+
+    private static final int DELTA_BATCH_SIZE = 1000;
+
+    private final ProductService productService;
+    private final Cache productsCache;
+    private final Path path;
+    private final int maxProducts;
+
+    public ProductSnapshotLoader(ProductService productService,
+                                 CacheManager cacheManager,
+                                 @Value("${products.snapshot.path}") Path path,
+                                 @Value("${products.snapshot.max-products}") int maxProducts) {
+        this.productService = productService;
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.path = path;
+        this.maxProducts = maxProducts;
+    }
+
+    // runs before the web server starts so the first requests already hit a warm cache
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(path)) {
+            log.info("No product snapshot at {}, starting with a cold cache", path);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        ProductSnapshot snapshot;
+        try {
+            snapshot = ProductSnapshotCodec.read(path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read product snapshot {}, starting with a cold cache: {}", path, ex.getMessage());
+            return;
+        }
+        // snapshots are written hottest first, so an older or larger one is cut where the cache would start evicting
+        int loaded = 0;
+        for (ProductDto product : snapshot.getProducts()) {
+            if (loaded == maxProducts) {
+                break;
+            }
+            productsCache.put(product.getSkuCode(), product);
+            loaded++;
+        }
+        long deltas;
+        try {
+            deltas = applyChangesSince(snapshot.getChangeToken());
+        } catch (BadRequestException ex) {
+            // the snapshot is older than the change feed keeps deletes, so it cannot be brought up to date
+            log.warn("Product snapshot {} is too old to catch up, starting with a cold cache: {}", path,
+                    ex.getMessage());
+            productsCache.clear();
+            return;
+        }
+        log.info("Warmed product cache from snapshot taken at {}: {} products, {} changes since, in {} ms",
+                snapshot.getCreatedAt(), loaded, deltas,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private long applyChangesSince(String changeToken) {
+        long applied = 0;
+        ProductChangesDto changes;
+        do {
+            changes = productService.getChanges(changeToken, DELTA_BATCH_SIZE);
+            for (ProductChangeDto change : changes.getChanges()) {
+                if (change.getType() == ProductChangeType.DELETED) {
+                    productsCache.evict(change.getSkuCode());
+                } else if (productsCache.get(change.getSkuCode()) != null) {
+                    // only refresh what was loaded; other SKUs are cached on their first read
+                    productsCache.put(change.getSkuCode(), change.getProduct());
+                }
+            }
+            applied += changes.getChanges().size();
+            changeToken = changes.getNextToken();
+        } while (changes.isHasMore());
+        return applied;
+    }
+}
@@ -0,0 +1,86 @@
+package com.products.utils;
+
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.exceptions.BadRequestException;
+import com.products.model.Product;
+import com.products.model.ProductTombstone;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductChangeToken {
+    private static final char SEPARATOR = '|';
+    // seqs below this were handed out by the counter that preceded clock stamps, so they do not date a token
+    private static final long CLOCK_STAMPED_SEQS = 1_000_000_000_000L;
+
+    public static String encode(long changeSeq, String skuCode) {
+        return ProductCursor.encode(changeSeq + String.valueOf(SEPARATOR) + skuCode);
+    }
+
+    public static ChangeKey decode(String token) {
+        if (token == null) {
+            return new ChangeKey(null, null);
+        }
+        String decoded = ProductCursor.decode(token);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new BadRequestException("Invalid change token");
+        }
+        try {
+            return new ChangeKey(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid change token");
+        }
+    }
+
+    public static void validateNotExpired(ChangeKey after, long committedChangeSeq) {
+        // tombstones are only kept for ProductTombstone.RETENTION, so a token from before then would miss deletes
+        Long changeSeq = after.getChangeSeq();
+        if (changeSeq != null && changeSeq >= CLOCK_STAMPED_SEQS
+                && changeSeq < committedChangeSeq - ProductTombstone.RETENTION_PERIOD.toMillis()) {
+            throw new BadRequestException("Change token has expired, read the changes again without since");
+        }
+    }
+
+    public static ProductChangesDto toChanges(List<Product> products, List<ProductTombstone> tombstones,
+                                              String since, int size) {
+        // both inputs are sorted by (changeSeq, skuCode) and hold up to size + 1 rows, so merging them is enough
+        List<ProductChangeDto> changes = new ArrayList<>(size);
+        int p = 0;
+        int t = 0;
+        String nextToken = since;
+        while (changes.size() < size && (p < products.size() || t < tombstones.size())) {
+            boolean takeProduct = t == tombstones.size()
+                    || p < products.size() && compare(products.get(p), tombstones.get(t)) < 0;
+            if (takeProduct) {
+                Product product = products.get(p++);
+                changes.add(new ProductChangeDto(product.getSkuCode(), ProductChangeType.UPSERTED,
+                        ProductTypeConversion.convertToDto(product), product.getChangeSeq()));
+                nextToken = encode(product.getChangeSeq(), product.getSkuCode());
+            } else {
+                ProductTombstone tombstone = tombstones.get(t++);
+                changes.add(new ProductChangeDto(tombstone.getSkuCode(), ProductChangeType.DELETED, null,
+                        tombstone.getChangeSeq()));
+                nextToken = encode(tombstone.getChangeSeq(), tombstone.getSkuCode());
+            }
+        }
+        boolean hasMore = p < products.size() || t < tombstones.size();
+        return new ProductChangesDto(changes, nextToken, hasMore);
+    }
+
+    private static int compare(Product product, ProductTombstone tombstone) {
+        int bySeq = Long.compare(product.getChangeSeq(), tombstone.getChangeSeq());
+        return bySeq != 0 ? bySeq : product.getSkuCode().compareTo(tombstone.getSkuCode());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ChangeKey {
+        private Long changeSeq;
+        private String skuCode;
+    }
+}
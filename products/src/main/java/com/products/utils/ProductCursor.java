@@ -0,0 +1,82 @@
+package com.products.utils;
+
+import com.products.dto.ProductDto;
+import com.products.dto.ProductPageDto;
+import com.products.exceptions.BadRequestException;
+import com.products.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+public class ProductCursor {
+    private static final char SEPARATOR = '|';
+
+    public static String encode(String skuCode) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(skuCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    public static String encode(BigDecimal price, String skuCode) {
+        return encode(price.toPlainString() + SEPARATOR + skuCode);
+    }
+
+    public static PriceKey decodePriceKey(String cursor) {
+        String decoded = decode(cursor);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        try {
+            return new PriceKey(new BigDecimal(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    // price and popularity pages resume from a (value, skuCode) key, skuCode pages from the SKU alone
+    public static boolean isKeyed(String sort) {
+        return "price".equals(sort) || "popularity".equals(sort);
+    }
+
+    public static PriceKey decodeKeyset(String cursor, boolean keyed) {
+        if (cursor == null) {
+            return new PriceKey(null, null);
+        }
+        return keyed ? decodePriceKey(cursor) : new PriceKey(null, decode(cursor));
+    }
+
+    public static ProductPageDto toPage(List<Product> products, int size, String sort) {
+        // callers fetch one extra row so we know whether another page exists without a count query
+        boolean hasMore = products.size() > size;
+        List<Product> page = hasMore ? products.subList(0, size) : products;
+        String nextCursor = null;
+        if (hasMore) {
+            Product last = page.get(size - 1);
+            nextCursor = switch (sort) {
+                case "price" -> encode(last.getPrice(), last.getSkuCode());
+                case "popularity" -> encode(BigDecimal.valueOf(last.getPopularity()), last.getSkuCode());
+                default -> encode(last.getSkuCode());
+            };
+        }
+        List<ProductDto> productDtos = page.stream().map(ProductTypeConversion::convertToDto).toList();
+        return new ProductPageDto(productDtos, nextCursor);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PriceKey {
+        private BigDecimal price;
+        private String skuCode;
+    }
+}
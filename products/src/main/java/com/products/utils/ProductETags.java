@@ -0,0 +1,50 @@
+package com.products.utils;
+
+import com.products.dto.ProductDto;
+import com.products.dto.ProductPageDto;
+
+public class ProductETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // the version changes on every save; the content hash also covers writes that bypass versioning and re-created SKUs
+    public static String of(ProductDto product) {
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        return "\"" + version + "-" + Integer.toHexString(product.hashCode()) + "\"";
+    }
+
+    public static String of(ProductPageDto page) {
+        long hash = FNV_OFFSET_BASIS;
+        for (ProductDto product : page.getProducts()) {
+            hash = (hash ^ product.hashCode()) * FNV_PRIME;
+            hash = (hash ^ (product.getVersion() == null ? 0 : product.getVersion())) * FNV_PRIME;
+        }
+        hash = (hash ^ (page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode())) * FNV_PRIME;
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    // a missing header or * accepts whatever is stored, so the write needs no precondition
+    public static boolean acceptsAny(String ifMatch) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // strong comparison against the tag the current representation would be served with, hash included
+    public static boolean matches(String ifMatch, ProductDto current) {
+        String eTag = of(current);
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
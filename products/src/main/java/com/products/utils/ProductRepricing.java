@@ -0,0 +1,22 @@
+package com.products.utils;
+
+import com.products.dto.ProductRepricingRuleDto;
+
+import java.math.BigDecimal;
+
+public class ProductRepricing {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // returns null when the rule cannot produce a valid price, the product then keeps its current one
+    public static BigDecimal apply(BigDecimal price, ProductRepricingRuleDto rule) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal repriced = switch (rule.getType()) {
+            case PERCENTAGE -> price.add(price.multiply(rule.getAmount()).divide(HUNDRED));
+            case ABSOLUTE -> price.add(rule.getAmount());
+        };
+        repriced = repriced.setScale(rule.getScale(), rule.getRoundingMode());
+        return repriced.signum() < 0 ? null : repriced;
+    }
+}
@@ -0,0 +1,101 @@
+package com.products.utils;
+
+import com.products.dto.ProductDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingRuleType;
+import com.products.exceptions.BadRequestException;
+import lombok.extern.log4j.Log4j2;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+@Log4j2
+public class ProductRequestValidation {
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_GET_SIZE = 1000;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_RELATED_LIMIT = 50;
+    public static final int MAX_PRICE_SCALE = 4;
+    private static final Set<String> SORT_FIELDS = Set.of("skuCode", "price", "popularity");
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("skuCode", "productName", "category", "price", "vendor");
+
+    public static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.error("Invalid page size requested: {}", size);
+            throw new BadRequestException("page size should be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public static void validateBatchGet(List<String> skuCodes) {
+        if (skuCodes == null || skuCodes.isEmpty() || skuCodes.size() > MAX_BATCH_GET_SIZE) {
+            log.error("Invalid batch lookup size: {}", skuCodes == null ? 0 : skuCodes.size());
+            throw new BadRequestException("number of sku-codes should be between 1 and " + MAX_BATCH_GET_SIZE);
+        }
+    }
+
+    public static void validateSearchLimit(int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            log.error("Invalid search limit requested: {}", limit);
+            throw new BadRequestException("search limit should be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+    }
+
+    public static void validateRelatedLimit(int limit) {
+        if (limit < 1 || limit > MAX_RELATED_LIMIT) {
+            log.error("Invalid related products limit requested: {}", limit);
+            throw new BadRequestException("related products limit should be between 1 and " + MAX_RELATED_LIMIT);
+        }
+    }
+
+    public static void validatePatch(ProductDto productDto) {
+        if (productDto.getProductName() == null && productDto.getCategory() == null
+                && productDto.getPrice() == null && productDto.getVendor() == null) {
+            log.error("Empty patch for product with SKU: {}", productDto.getSkuCode());
+            throw new BadRequestException("at least one of productName, category, price or vendor is required");
+        }
+    }
+
+    public static void validateRepricing(ProductRepricingRequestDto request) {
+        ProductRepricingRuleDto rule = request.getRule();
+        if (rule == null || rule.getType() == null || rule.getAmount() == null) {
+            log.error("Incomplete repricing rule: {}", rule);
+            throw new BadRequestException("rule type (PERCENTAGE or ABSOLUTE) and amount are required");
+        }
+        if (rule.getType() == ProductRepricingRuleType.PERCENTAGE && rule.getAmount().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            log.error("Invalid repricing percentage: {}", rule.getAmount());
+            throw new BadRequestException("percentage should be greater than -100");
+        }
+        if (rule.getScale() < 0 || rule.getScale() > MAX_PRICE_SCALE || rule.getRoundingMode() == null) {
+            log.error("Invalid repricing rounding: scale {}, mode {}", rule.getScale(), rule.getRoundingMode());
+            throw new BadRequestException("rounding scale should be between 0 and " + MAX_PRICE_SCALE + " with a rounding mode");
+        }
+        validatePriceRange(request.getMinPrice(), request.getMaxPrice());
+    }
+
+    public static void validateFilter(ProductFilterDto filter) {
+        validatePageSize(filter.getSize());
+        if (!SORT_FIELDS.contains(filter.getSort())) {
+            log.error("Invalid sort field requested: {}", filter.getSort());
+            throw new BadRequestException("sort should be skuCode, price or popularity");
+        }
+        if (!"asc".equalsIgnoreCase(filter.getDirection()) && !"desc".equalsIgnoreCase(filter.getDirection())) {
+            log.error("Invalid sort direction requested: {}", filter.getDirection());
+            throw new BadRequestException("direction should be asc or desc");
+        }
+        if (filter.getFields() != null && !PROJECTABLE_FIELDS.containsAll(filter.getFields())) {
+            log.error("Invalid projection requested: {}", filter.getFields());
+            throw new BadRequestException("fields should be among skuCode, productName, category, price, vendor");
+        }
+        validatePriceRange(filter.getMinPrice(), filter.getMaxPrice());
+    }
+
+    private static void validatePriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            log.error("Invalid price range requested: {} - {}", minPrice, maxPrice);
+            throw new BadRequestException("minPrice should not be greater than maxPrice");
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.products.utils;
 
+import com.products.dto.ProductBatchResponseDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductRepricingJobDto;
 import com.products.model.Product;
+import com.products.model.ProductRepricingJob;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class ProductTypeConversion {
     public static ProductDto convertToDto(Product product) {
@@ -11,9 +21,32 @@ public class ProductTypeConversion {
         productDto.setCategory(product.getCategory());
         productDto.setPrice(product.getPrice());
         productDto.setVendor(product.getVendor());
+        productDto.setVersion(product.getVersion());
         return productDto;
     }
 
+    public static ProductBatchResponseDto convertToBatchResponse(Collection<String> requestedSkuCodes, List<Product> products) {
+        Map<String, Product> productsBySkuCode = products.stream()
+                .collect(Collectors.toMap(Product::getSkuCode, Function.identity()));
+        List<ProductDto> found = new ArrayList<>(productsBySkuCode.size());
+        List<String> missing = new ArrayList<>();
+        for (String skuCode : requestedSkuCodes) {
+            Product product = productsBySkuCode.get(skuCode);
+            if (product != null) {
+                found.add(convertToDto(product));
+            } else {
+                missing.add(skuCode);
+            }
+        }
+        return new ProductBatchResponseDto(found, missing);
+    }
+
+    public static ProductRepricingJobDto convertToDto(ProductRepricingJob job) {
+        return new ProductRepricingJobDto(job.getId(), job.getStatus(), job.getRequest(), job.getMatched(),
+                job.getProcessed(), job.getRepriced(), job.getFailed(), job.getLastSkuCode(), job.getError(),
+                job.getCreatedAt(), job.getUpdatedAt());
+    }
+
     public static Product convert(ProductDto productDto) {
         Product product = new Product();
         product.setSkuCode(productDto.getSkuCode());
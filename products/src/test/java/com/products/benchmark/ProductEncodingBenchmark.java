@@ -0,0 +1,100 @@
+package com.products.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductPageDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON with the CBOR and Smile encodings the product endpoints negotiate through {@code Accept}, on a
+ * 100 product page: payload size (printed before the run), encode time on the products side and decode time on the
+ * orders side.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.products.benchmark.ProductEncodingBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private ProductPageDto page;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        page = page();
+        encodedPage = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ProductPageDto decodePage() throws IOException {
+        return mapper.readValue(encodedPage, ProductPageDto.class);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+    }
+
+    private static ProductPageDto page() {
+        List<ProductDto> products = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            products.add(new ProductDto(String.format("SKU-%06d", i), "Stainless Steel Water Bottle 750ml #" + i,
+                    "Kitchen & Dining", new BigDecimal("24.99").add(BigDecimal.valueOf(i)), "Acme Outdoor Supplies"));
+        }
+        return new ProductPageDto(products, "U0tVLTAwMDA5OQ");
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String format : List.of("json", "cbor", "smile")) {
+            System.out.printf("%-5s page of %d products: %d bytes%n", format, PAGE_SIZE,
+                    mapper(format).writeValueAsBytes(page()).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(ProductEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.products.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.cache.EncodedProduct;
+import com.products.dto.ProductDto;
+import com.products.model.Product;
+import com.products.utils.ProductETags;
+import com.products.utils.ProductTypeConversion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the work a hot {@code GET /api/products/{skuCode}} does per request to produce its body and ETag.
+ * <p>
+ * {@code convertAndEncode} is a product read from Mongo on every request, {@code encodeCachedDto} is a hit in the
+ * products cache that still runs Jackson, and {@code writeCachedBytes} is a hit in the encoded JSON cache. Each
+ * writes the body to a reused buffer standing in for the response stream. Run it with the GC profiler to see the
+ * allocation per request next to the throughput:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.products.benchmark.ProductJsonBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream response = new ByteArrayOutputStream(512);
+    private Product product;
+    private ProductDto cachedDto;
+    private EncodedProduct cachedBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        product = new Product("SKU-000123", "Stainless Steel Water Bottle 750ml", "Kitchen & Dining",
+                new BigDecimal("24.99"), "Acme Outdoor Supplies");
+        product.setVersion(7L);
+        cachedDto = ProductTypeConversion.convertToDto(product);
+        cachedBytes = new EncodedProduct(objectMapper.writeValueAsBytes(cachedDto), ProductETags.of(cachedDto));
+    }
+
+    @Benchmark
+    public void convertAndEncode(Blackhole blackhole) throws IOException {
+        response.reset();
+        ProductDto productDto = ProductTypeConversion.convertToDto(product);
+        objectMapper.writeValue(response, productDto);
+        blackhole.consume(ProductETags.of(productDto));
+        blackhole.consume(response.size());
+    }
+
+    @Benchmark
+    public void encodeCachedDto(Blackhole blackhole) throws IOException {
+        response.reset();
+        objectMapper.writeValue(response, cachedDto);
+        blackhole.consume(ProductETags.of(cachedDto));
+        blackhole.consume(response.size());
+    }
+
+    @Benchmark
+    public void writeCachedBytes(Blackhole blackhole) {
+        response.reset();
+        response.writeBytes(cachedBytes.getJson());
+        blackhole.consume(cachedBytes.getETag());
+        blackhole.consume(response.size());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ProductJsonBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.products.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for comparing the servlet and reactive execution modes of a running products service.
+ * <p>
+ * Keeps {@code connections} requests in flight against {@code path} for {@code seconds} and reports
+ * throughput, latency percentiles and the live threads and heap the service needed per connection,
+ * scraped from its prometheus endpoint. Run it once against the default profile and once against the
+ * {@code reactive} profile with the same arguments:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.products.benchmark.ProductStackBenchmark \
+ *     -Dexec.args="http://localhost:8090 /api/products/SKU-1 2000 60"
+ * </pre>
+ */
+public class ProductStackBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8090";
+        String path = args.length > 1 ? args[1] : "/api/products/page?size=20";
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+
+        double threadsBefore = metric(client, baseUrl, "jvm_threads_live_threads", null);
+        double heapBefore = metric(client, baseUrl, "jvm_memory_used_bytes", "area=\"heap\"");
+
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                workers.add(executor.submit(() -> run(client, request, deadline, errors)));
+            }
+            Thread.sleep(Duration.ofSeconds(seconds).toMillis() / 2);
+            double threadsUnderLoad = metric(client, baseUrl, "jvm_threads_live_threads", null);
+            double heapUnderLoad = metric(client, baseUrl, "jvm_memory_used_bytes", "area=\"heap\"");
+
+            long[] latencies = workers.stream().map(ProductStackBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+            System.out.printf("requests        %d (%d errors) over %ds with %d connections%n",
+                    latencies.length, errors.get(), seconds, connections);
+            System.out.printf("throughput      %.0f req/s%n", (double) latencies.length / seconds);
+            System.out.printf("latency p50/p99 %.2f / %.2f ms%n", percentile(latencies, 0.50), percentile(latencies, 0.99));
+            System.out.printf("live threads    %.0f idle, %.0f under load%n", threadsBefore, threadsUnderLoad);
+            System.out.printf("heap/connection %.1f KiB%n", (heapUnderLoad - heapBefore) / 1024 / connections);
+        }
+    }
+
+    private static long[] run(HttpClient client, HttpRequest request, long deadline, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (IOException ex) {
+                errors.incrementAndGet();
+                continue;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // sums every sample of a metric from the prometheus scrape, optionally restricted to one label
+    private static double metric(HttpClient client, String baseUrl, String name, String label) throws Exception {
+        HttpRequest scrape = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus")).GET().build();
+        String body = client.send(scrape, HttpResponse.BodyHandlers.ofString()).body();
+        double total = 0;
+        for (String line : body.split("\n")) {
+            if (line.startsWith(name + "{") && (label == null || line.contains(label))) {
+                total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,114 @@
+package com.products.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductDto;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.service.ProductService;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class ProductJsonCacheTest {
+
+    private ProductService productService;
+    private Cache jsonCache;
+    private ProductJsonCache productJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.PRODUCT_JSON_CACHE);
+        jsonCache = cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE);
+        productJsonCache = new ProductJsonCache(productService, new ObjectMapper(), cacheManager);
+    }
+
+    /**
+     * Test {@link ProductJsonCache#getBySkuCode(String)}.
+     * <ul>
+     *   <li>Given the product is evicted while it is being loaded.</li>
+     *   <li>Then the loaded bytes are returned but not left in the cache.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductJsonCache#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); given evict during load; then loaded bytes are not cached")
+    void testGetBySkuCode_givenEvictDuringLoad_thenLoadedBytesAreNotCached() throws Exception {
+        // Arrange
+        Thread[] evictor = new Thread[1];
+        when(productService.getBySkuName("SKU-1")).thenAnswer(invocation -> {
+            evictor[0] = new Thread(() -> jsonCache.evict("SKU-1"));
+            evictor[0].start();
+            Thread.sleep(100);
+            return new ProductDto("SKU-1", "Stale Name", "Category", new BigDecimal("2.3"), "Vendor");
+        });
+
+        // Act
+        EncodedProduct actualProduct = productJsonCache.getBySkuCode("SKU-1");
+        evictor[0].join();
+
+        // Assert
+        assertEquals("SKU-1", new ObjectMapper().readTree(actualProduct.getJson()).get("skuCode").asText());
+        assertNull(jsonCache.get("SKU-1"));
+    }
+
+    /**
+     * Test {@link ProductJsonCache#getBySkuCode(String)}.
+     * <ul>
+     *   <li>Given the product is cached.</li>
+     *   <li>Then {@link ProductService#getBySkuName(String)} is called once.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductJsonCache#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); given cached product; then loads once")
+    void testGetBySkuCode_givenCachedProduct_thenLoadsOnce() {
+        // Arrange
+        when(productService.getBySkuName("SKU-1"))
+                .thenReturn(new ProductDto("SKU-1", "Product Name", "Category", new BigDecimal("2.3"), "Vendor"));
+
+        // Act
+        EncodedProduct first = productJsonCache.getBySkuCode("SKU-1");
+        EncodedProduct second = productJsonCache.getBySkuCode("SKU-1");
+
+        // Assert
+        assertSame(first, second);
+        verify(productService, times(1)).getBySkuName("SKU-1");
+    }
+
+    /**
+     * Test {@link ProductJsonCache#getBySkuCode(String)}.
+     * <ul>
+     *   <li>Given {@link ProductService#getBySkuName(String)} throws {@link ProductNotFoundException}.</li>
+     *   <li>Then the same exception is thrown, not a cache wrapper.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductJsonCache#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); given missing product; then throw ProductNotFoundException")
+    void testGetBySkuCode_givenMissingProduct_thenThrowProductNotFoundException() {
+        // Arrange
+        when(productService.getBySkuName("SKU-1")).thenThrow(new ProductNotFoundException("Product not found"));
+
+        // Act and Assert
+        assertThrows(ProductNotFoundException.class, () -> productJsonCache.getBySkuCode("SKU-1"));
+        assertNull(jsonCache.get("SKU-1"));
+    }
+}
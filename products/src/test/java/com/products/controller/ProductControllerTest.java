@@ -1,35 +1,74 @@
 package com.products.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.products.cache.ProductJsonCache;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductBatchRequestDto;
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkItemResultDto;
+import com.products.dto.ProductBulkItemStatus;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import com.products.exceptions.PreconditionFailedException;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
 import com.products.model.Product;
 import com.products.repository.ProductRepository;
 import com.products.service.ProductService;
 import com.products.service.ProductServiceImplementation;
+import com.products.utils.ProductETags;
+
+import jakarta.validation.Validator;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -37,7 +76,9 @@ import org.springframework.test.web.servlet.result.ContentResultMatchers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-@ContextConfiguration(classes = {ProductController.class, AppErrorHandler.class})
+@ContextConfiguration(classes = {ProductController.class, ProductJsonCache.class, CacheConfig.class, AppErrorHandler.class,
+        JacksonAutoConfiguration.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
 @ExtendWith(SpringExtension.class)
 @DisabledInAotMode
 class ProductControllerTest {
@@ -47,9 +88,17 @@ class ProductControllerTest {
     @Autowired
     private ProductController productController;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @MockBean
     private ProductService productService;
 
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE).clear();
+    }
+
     /**
      * Test {@link ProductController#getAllProducts()}.
      * <p>
@@ -72,6 +121,199 @@ class ProductControllerTest {
                 .andExpect(MockMvcResultMatchers.content().string("[]"));
     }
 
+    /**
+     * Test {@link ProductController#streamAllProducts()}.
+     * <p>
+     * Method under test: {@link ProductController#streamAllProducts()}
+     */
+    @Test
+    @DisplayName("Test streamAllProducts(); then content is newline delimited JSON")
+    void testStreamAllProducts_thenContentIsNewlineDelimitedJson() throws Exception {
+        // Arrange
+        ProductDto first = new ProductDto("SKU-1", "First", "Category", new BigDecimal("1.5"), "Vendor");
+        ProductDto second = new ProductDto("SKU-2", "Second", "Category", new BigDecimal("2.5"), "Vendor");
+        when(productService.streamAllProducts()).thenReturn(Stream.of(first, second));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products")
+                .accept(MediaType.APPLICATION_NDJSON);
+
+        // Act
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build();
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"skuCode\":\"SKU-1\",\"productName\":\"First\",\"category\":\"Category\",\"price\":1.5,\"vendor\":\"Vendor\"}\n"
+                                + "{\"skuCode\":\"SKU-2\",\"productName\":\"Second\",\"category\":\"Category\",\"price\":2.5,\"vendor\":\"Vendor\"}\n"));
+    }
+
+    /**
+     * Test {@link ProductController#getProductsPage(String, int)}.
+     * <p>
+     * Method under test: {@link ProductController#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int)")
+    void testGetProductsPage() throws Exception {
+        // Arrange
+        when(productService.getProductsPage(eq("U0tVLTE"), eq(1)))
+                .thenReturn(new ProductPageDto(List.of(new ProductDto()), "U0tVLTI"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/page")
+                .param("cursor", "U0tVLTE")
+                .param("size", "1");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"products\":[{\"skuCode\":null,\"productName\":null,\"category\":null,\"price\":null,\"vendor\":null}],"
+                                + "\"nextCursor\":\"U0tVLTI\"}"));
+    }
+
+    /**
+     * Test {@link ProductController#getChanges(String, int)}.
+     * <p>
+     * Method under test: {@link ProductController#getChanges(String, int)}
+     */
+    @Test
+    @DisplayName("Test getChanges(String, int)")
+    void testGetChanges() throws Exception {
+        // Arrange
+        when(productService.getChanges(eq("NHxTS1UtMQ"), eq(500))).thenReturn(new ProductChangesDto(
+                List.of(new ProductChangeDto("SKU-2", ProductChangeType.DELETED, null, 6L)), "NnxTS1UtMg", false));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/changes")
+                .param("since", "NHxTS1UtMQ");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"changes\":[{\"skuCode\":\"SKU-2\",\"type\":\"DELETED\",\"product\":null,\"changeSeq\":6}],"
+                                + "\"nextToken\":\"NnxTS1UtMg\",\"hasMore\":false}"));
+    }
+
+    /**
+     * Test {@link ProductController#getRelatedProducts(String, int)}.
+     * <p>
+     * Method under test: {@link ProductController#getRelatedProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test getRelatedProducts(String, int)")
+    void testGetRelatedProducts() throws Exception {
+        // Arrange
+        when(productService.getRelatedProducts("SKU-1", 2)).thenReturn(
+                List.of(new ProductRelatedDto("SKU-2", 5), new ProductRelatedDto("SKU-3", 2)));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/{skuCode}/related", "SKU-1")
+                .param("limit", "2");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "[{\"skuCode\":\"SKU-2\",\"boughtTogether\":5},{\"skuCode\":\"SKU-3\",\"boughtTogether\":2}]"));
+    }
+
+    /**
+     * Test {@link ProductController#getFacets()}.
+     * <p>
+     * Method under test: {@link ProductController#getFacets()}
+     */
+    @Test
+    @DisplayName("Test getFacets()")
+    void testGetFacets() throws Exception {
+        // Arrange
+        LinkedHashMap<String, Integer> categories = new LinkedHashMap<>();
+        categories.put("Computers", 2);
+        categories.put("Accessories", 1);
+        when(productService.getFacets()).thenReturn(new ProductFacetsDto(categories, Map.of("Acme", 3)));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/facets");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"categories\":{\"Computers\":2,\"Accessories\":1},\"vendors\":{\"Acme\":3}}"));
+    }
+
+    /**
+     * Test {@link ProductController#filterProducts(ProductFilterDto)}.
+     * <p>
+     * Method under test: {@link ProductController#filterProducts(ProductFilterDto)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ProductFilterDto)")
+    void testFilterProducts() throws Exception {
+        // Arrange
+        ProductFilterDto filter = new ProductFilterDto("Category", "Vendor", new BigDecimal("1.5"), new BigDecimal("9.5"),
+                "price", "desc", null, 20, List.of("skuCode", "price"));
+        when(productService.filterProducts(eq(filter)))
+                .thenReturn(new ProductPageDto(List.of(new ProductDto("SKU-1", null, null, new BigDecimal("2.5"), null)), null));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/filter")
+                .param("category", "Category")
+                .param("vendor", "Vendor")
+                .param("minPrice", "1.5")
+                .param("maxPrice", "9.5")
+                .param("sort", "price")
+                .param("direction", "desc")
+                .param("size", "20")
+                .param("fields", "skuCode,price");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"products\":[{\"skuCode\":\"SKU-1\",\"productName\":null,\"category\":null,\"price\":2.5,\"vendor\":null}],"
+                                + "\"nextCursor\":null}"));
+    }
+
+    /**
+     * Test {@link ProductController#searchProducts(String, int)}.
+     * <p>
+     * Method under test: {@link ProductController#searchProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test searchProducts(String, int)")
+    void testSearchProducts() throws Exception {
+        // Arrange
+        when(productService.searchProducts(eq("lap"), eq(20))).thenReturn(List.of(new ProductDto()));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/search")
+                .param("q", "lap");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "[{\"skuCode\":null,\"productName\":null,\"category\":null,\"price\":null,\"vendor\":null}]"));
+    }
+
     /**
      * Test {@link ProductController#getBySkuCode(String)}.
      * <ul>
@@ -121,6 +363,154 @@ class ProductControllerTest {
                         .string("{\"skuCode\":null,\"productName\":null,\"category\":null,\"price\":null,\"vendor\":null}"));
     }
 
+    /**
+     * Test {@link ProductController#getBySkuCodeBinary(String)}.
+     * <ul>
+     *   <li>When the request accepts {@code application/cbor}.</li>
+     *   <li>Then the product is CBOR encoded with the same fields and ETag as the JSON response.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductController#getBySkuCodeBinary(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCodeBinary(String); when accepts CBOR; then return CBOR encoded product")
+    void testGetBySkuCodeBinary_whenAcceptsCbor_thenReturnCborEncodedProduct() throws Exception {
+        // Arrange
+        ProductDto productDto = new ProductDto("SKU-1", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productService.getBySkuName("SKU-1")).thenReturn(productDto);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/{skuCode}", "SKU-1")
+                .accept(MediaType.APPLICATION_CBOR);
+
+        // Act
+        MvcResult result = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, ProductETags.of(productDto)))
+                .andReturn();
+
+        // Assert
+        verify(productService).getBySkuName(eq("SKU-1"));
+        assertEquals(productDto, new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), ProductDto.class));
+    }
+
+    /**
+     * Test {@link ProductController#getBySkuCode(String)}.
+     * <ul>
+     *   <li>When called twice for the same SKU.</li>
+     *   <li>Then the second response is written from the cached bytes without calling the service.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductController#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); when called twice; then second response comes from cached bytes")
+    void testGetBySkuCode_whenCalledTwice_thenSecondResponseComesFromCachedBytes() throws Exception {
+        // Arrange
+        ProductDto product = new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productService.getBySkuName(eq("Sku Code"))).thenReturn(product);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", "Sku Code"));
+
+        // Act and Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", "Sku Code"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, ProductETags.of(product)))
+                .andExpect(MockMvcResultMatchers.content().string("{\"skuCode\":\"Sku Code\",\"productName\":\"Product Name\","
+                        + "\"category\":\"Category\",\"price\":2.3,\"vendor\":\"Vendor\"}"));
+        verify(productService, times(1)).getBySkuName("Sku Code");
+    }
+
+    /**
+     * Test {@link ProductController#getBySkuCode(String)}.
+     * <ul>
+     *   <li>When If-None-Match is the current ETag.</li>
+     *   <li>Then status 304 without a body.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductController#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); when If-None-Match is current ETag; then status 304")
+    void testGetBySkuCode_whenIfNoneMatchIsCurrentETag_thenStatus304() throws Exception {
+        // Arrange
+        ProductDto product = new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        product.setVersion(3L);
+        when(productService.getBySkuName(eq("Sku Code"))).thenReturn(product);
+        String eTag = ProductETags.of(product);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build();
+
+        // Act and Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", "Sku Code"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", "Sku Code")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    /**
+     * Test {@link ProductController#getBySkuCode(String)}.
+     * <ul>
+     *   <li>When the product changed since the client's ETag.</li>
+     *   <li>Then status 200 with the new ETag.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductController#getBySkuCode(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(String); when product changed since ETag; then status 200")
+    void testGetBySkuCode_whenProductChangedSinceETag_thenStatus200() throws Exception {
+        // Arrange
+        ProductDto product = new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        product.setVersion(3L);
+        String staleETag = ProductETags.of(product);
+        product.setVersion(4L);
+        when(productService.getBySkuName(eq("Sku Code"))).thenReturn(product);
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", "Sku Code")
+                        .header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, ProductETags.of(product)));
+    }
+
+    /**
+     * Test {@link ProductController#getBySkuCodes(ProductBatchRequestDto)}.
+     * <p>
+     * Method under test: {@link ProductController#getBySkuCodes(ProductBatchRequestDto)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCodes(ProductBatchRequestDto)")
+    void testGetBySkuCodes() throws Exception {
+        when(productService.getBySkuCodes(eq(List.of("SKU-1", "SKU-2"))))
+                .thenReturn(new ProductBatchResponseDto(List.of(new ProductDto()), List.of("SKU-2")));
+        String content = (new ObjectMapper()).writeValueAsString(new ProductBatchRequestDto(List.of("SKU-1", "SKU-2")));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content);
+
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string("{\"found\":[{\"skuCode\":null,\"productName\":null,"
+                        + "\"category\":null,\"price\":null,\"vendor\":null}],\"missing\":[\"SKU-2\"]}"));
+    }
+
     /**
      * Test {@link ProductController#createProduct(ProductDto)}.
      * <p>
@@ -153,14 +543,68 @@ class ProductControllerTest {
     }
 
     /**
-     * Test {@link ProductController#updateProduct(String, ProductDto)}.
+     * Test {@link ProductController#bulkUpsertProducts(List)}.
      * <p>
-     * Method under test: {@link ProductController#updateProduct(String, ProductDto)}
+     * Method under test: {@link ProductController#bulkUpsertProducts(List)}
      */
     @Test
-    @DisplayName("Test updateProduct(String, ProductDto)")
+    @DisplayName("Test bulkUpsertProducts(List)")
+    void testBulkUpsertProducts() throws Exception {
+        when(productService.bulkUpsertProducts(Mockito.<Iterator<ProductDto>>any())).thenReturn(new ProductBulkResultDto(
+                1, 0, 0, List.of(new ProductBulkItemResultDto(0, "Sku Code", ProductBulkItemStatus.CREATED, null))));
+
+        String content = (new ObjectMapper()).writeValueAsString(List.of(
+                new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor")));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content);
+
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/json"))
+                .andExpect(MockMvcResultMatchers.content().string("{\"created\":1,\"updated\":0,\"failed\":0,\"items\":"
+                        + "[{\"index\":0,\"skuCode\":\"Sku Code\",\"status\":\"CREATED\",\"message\":null}]}"));
+    }
+
+    /**
+     * Test {@link ProductController#bulkUpsertProductsStream(java.io.InputStream)}.
+     * <p>
+     * Method under test: {@link ProductController#bulkUpsertProductsStream(java.io.InputStream)}
+     */
+    @Test
+    @DisplayName("Test bulkUpsertProductsStream(InputStream); then reads every NDJSON line")
+    void testBulkUpsertProductsStream_thenReadsEveryNdjsonLine() throws Exception {
+        List<String> skuCodes = new ArrayList<>();
+        when(productService.bulkUpsertProducts(Mockito.<Iterator<ProductDto>>any())).thenAnswer(invocation -> {
+            Iterator<ProductDto> productDtos = invocation.getArgument(0);
+            productDtos.forEachRemaining(productDto -> skuCodes.add(productDto.getSkuCode()));
+            return new ProductBulkResultDto(2, 0, 0, List.of());
+        });
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"skuCode\":\"SKU-1\"}\n{\"skuCode\":\"SKU-2\"}\n");
+
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("{\"created\":2,\"updated\":0,\"failed\":0,\"items\":[]}"));
+        assertEquals(List.of("SKU-1", "SKU-2"), skuCodes);
+    }
+
+    /**
+     * Test {@link ProductController#updateProduct(String, ProductDto, String)}.
+     * <p>
+     * Method under test: {@link ProductController#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String)")
     void testUpdateProduct() throws Exception {
-        when(productService.updateProduct(Mockito.<String>any(), Mockito.<ProductDto>any())).thenReturn(new ProductDto());
+        when(productService.updateProduct(Mockito.<String>any(), Mockito.<ProductDto>any(), Mockito.<String>any())).thenReturn(new ProductDto());
 
         ProductDto productDto = new ProductDto();
         productDto.setCategory("Category");
@@ -183,36 +627,85 @@ class ProductControllerTest {
                         .string("{\"skuCode\":null,\"productName\":null,\"category\":null,\"price\":null,\"vendor\":null}"));
     }
 
+    /**
+     * Test {@link ProductController#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given {@link ProductService} throws {@link PreconditionFailedException}.</li>
+     *   <li>Then status 412.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductController#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); given PreconditionFailedException; then status 412")
+    void testUpdateProduct_givenPreconditionFailedException_thenStatus412() throws Exception {
+        // Arrange
+        when(productService.updateProduct(eq("Sku Code"), isA(ProductDto.class), eq("\"1-abc\"")))
+                .thenThrow(new PreconditionFailedException("Product has been modified"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.put("/api/products/{skuCode}", "Sku Code")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1-abc\"")
+                .content("{\"skuCode\":\"Sku Code\"}");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorCode").value(412));
+    }
+
     /**
      * Test {@link ProductController#deleteProduct(String)}.
      * <ul>
-     *   <li>Given {@link Product#Product()} Category is {@code Category}.</li>
-     *   <li>Then calls {@link ProductRepository#findBySkuCode(String)}.</li>
+     *   <li>Given {@link ProductRepository#deleteOneBySkuCode(String)} return {@code true}.</li>
+     *   <li>Then calls {@link ProductRepository#deleteOneBySkuCode(String)} only.</li>
      * </ul>
      * <p>
      * Method under test: {@link ProductController#deleteProduct(String)}
      */
     @Test
-    @DisplayName("Test deleteProduct(String); given Product() Category is 'Category'; then calls findBySkuCode(String)")
-    void testDeleteProduct_givenProductCategoryIsCategory_thenCallsFindBySkuCode() {
-
-
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
+    @DisplayName("Test deleteProduct(String); given deleteOneBySkuCode return true; then calls deleteOneBySkuCode(String) only")
+    void testDeleteProduct_givenDeleteOneBySkuCodeReturnTrue_thenCallsDeleteOneBySkuCodeOnly() {
         ProductRepository productRepository = mock(ProductRepository.class);
-        doNothing().when(productRepository).delete(Mockito.<Product>any());
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        when(productRepository.deleteOneBySkuCode(Mockito.<String>any())).thenReturn(true);
 
-        (new ProductController(new ProductServiceImplementation(productRepository))).deleteProduct("Sku Code");
+        (new ProductController(new ProductServiceImplementation(productRepository, mock(Validator.class),
+                mock(SkuBloomFilter.class), mock(ProductSearchIndex.class), mock(ProductFacetCounters.class),
+                mock(ProductCooccurrenceIndex.class)),
+                mock(ProductJsonCache.class), new ObjectMapper()))
+                .deleteProduct("Sku Code");
 
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
-        verify(productRepository).delete(isA(Product.class));
+        verify(productRepository).deleteOneBySkuCode(eq("Sku Code"));
+        verify(productRepository, never()).findBySkuCode(Mockito.<String>any());
+    }
+
+    /**
+     * Test {@link ProductController#patchProduct(String, ProductDto, String)}.
+     * <p>
+     * Method under test: {@link ProductController#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String)")
+    void testPatchProduct() throws Exception {
+        // Arrange
+        ProductDto patched = new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("9.5"), "Vendor");
+        patched.setVersion(2L);
+        when(productService.patchProduct(eq("Sku Code"), isA(ProductDto.class), Mockito.<String>isNull()))
+                .thenReturn(patched);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.patch("/api/products/{skuCode}", "Sku Code")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\":9.5}");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, ProductETags.of(patched)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.price").value(9.5));
     }
 
     /**
@@ -0,0 +1,154 @@
+package com.products.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingRuleType;
+import com.products.dto.ProductRepricingStatus;
+import com.products.exceptions.BadRequestException;
+import com.products.service.ProductRepricingService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ContextConfiguration(classes = {ProductRepricingController.class, AppErrorHandler.class})
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class ProductRepricingControllerTest {
+    @Autowired
+    private AppErrorHandler appErrorHandler;
+
+    @Autowired
+    private ProductRepricingController productRepricingController;
+
+    @MockBean
+    private ProductRepricingService productRepricingService;
+
+    /**
+     * Test {@link ProductRepricingController#startJob(ProductRepricingRequestDto)}.
+     * <p>
+     * Method under test: {@link ProductRepricingController#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); then status 202 with the queued job")
+    void testStartJob_thenStatus202WithQueuedJob() throws Exception {
+        // Arrange
+        ProductRepricingRequestDto request = request(new BigDecimal("10"));
+        when(productRepricingService.startJob(request)).thenReturn(new ProductRepricingJobDto("job-1",
+                ProductRepricingStatus.RUNNING, request, 42, 0, 0, 0, null, null, null, null));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/products/repricing-jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productRepricingController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("job-1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("RUNNING"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.matched").value(42))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.request.rule.type").value("PERCENTAGE"));
+    }
+
+    /**
+     * Test {@link ProductRepricingController#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given {@link ProductRepricingService} rejects the rule.</li>
+     *   <li>Then status is 400.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingController#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given invalid rule; then status 400")
+    void testStartJob_givenInvalidRule_thenStatus400() throws Exception {
+        // Arrange
+        ProductRepricingRequestDto request = request(new BigDecimal("-100"));
+        when(productRepricingService.startJob(request))
+                .thenThrow(new BadRequestException("percentage should be greater than -100"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post("/api/products/repricing-jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request));
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productRepricingController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errorMessage").value("percentage should be greater than -100"));
+    }
+
+    /**
+     * Test {@link ProductRepricingController#getJob(String)}.
+     * <p>
+     * Method under test: {@link ProductRepricingController#getJob(String)}
+     */
+    @Test
+    @DisplayName("Test getJob(String); then return the job progress")
+    void testGetJob_thenReturnJobProgress() throws Exception {
+        // Arrange
+        when(productRepricingService.getJob("job-1")).thenReturn(new ProductRepricingJobDto("job-1",
+                ProductRepricingStatus.RUNNING, request(new BigDecimal("10")), 42, 20, 19, 1, "SKU-20", null, null, null));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/api/products/repricing-jobs/{jobId}",
+                "job-1");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productRepricingController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.processed").value(20))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.repriced").value(19))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastSkuCode").value("SKU-20"));
+    }
+
+    /**
+     * Test {@link ProductRepricingController#resumeJob(String)}.
+     * <p>
+     * Method under test: {@link ProductRepricingController#resumeJob(String)}
+     */
+    @Test
+    @DisplayName("Test resumeJob(String); then status 202")
+    void testResumeJob_thenStatus202() throws Exception {
+        // Arrange
+        when(productRepricingService.resumeJob("job-1")).thenReturn(new ProductRepricingJobDto("job-1",
+                ProductRepricingStatus.RUNNING, request(new BigDecimal("10")), 42, 20, 20, 0, "SKU-20", null, null, null));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.post(
+                "/api/products/repricing-jobs/{jobId}/resume", "job-1");
+
+        // Act and Assert
+        MockMvcBuilders.standaloneSetup(productRepricingController)
+                .setControllerAdvice(appErrorHandler)
+                .build()
+                .perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("RUNNING"));
+    }
+
+    private static ProductRepricingRequestDto request(BigDecimal percentage) {
+        return new ProductRepricingRequestDto("Category", null, null, null,
+                new ProductRepricingRuleDto(ProductRepricingRuleType.PERCENTAGE, percentage, 2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,606 @@
+package com.products.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.products.config.BinaryCodecConfig;
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingRuleType;
+import com.products.dto.ProductRepricingStatus;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.PreconditionFailedException;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.service.ProductRepricingService;
+import com.products.service.ReactiveProductService;
+import com.products.utils.ProductETags;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ContextConfiguration(classes = {ProductRouter.class, ProductHandler.class, ProductRepricingHandler.class})
+@ActiveProfiles("reactive")
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class ProductRouterTest {
+    @Autowired
+    private RouterFunction<ServerResponse> productRoutes;
+
+    @Autowired
+    private RouterFunction<ServerResponse> productRepricingRoutes;
+
+    @MockBean
+    private ReactiveProductService reactiveProductService;
+
+    @MockBean
+    private ProductRepricingService productRepricingService;
+
+    /**
+     * Test {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(ServerRequest)")
+    void testGetBySkuCode() {
+        // Arrange
+        when(reactiveProductService.getBySkuName("Sku Code")).thenReturn(Mono.just(productDto("Sku Code")));
+
+        // Act and Assert
+        client().get().uri("/api/products/{skuCode}", "Sku Code")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .json("{\"skuCode\":\"Sku Code\",\"productName\":\"Product Name\",\"category\":\"Category\",\"price\":2.3,\"vendor\":\"Vendor\"}", true);
+    }
+
+    /**
+     * Test {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductService} signals {@link ProductNotFoundException}.</li>
+     *   <li>Then status is 404 with the error details.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(ServerRequest); given ProductNotFoundException; then status 404")
+    void testGetBySkuCode_givenProductNotFoundException_thenStatus404() {
+        // Arrange
+        when(reactiveProductService.getBySkuName("Sku Code"))
+                .thenReturn(Mono.error(new ProductNotFoundException("Product not found")));
+
+        // Act and Assert
+        client().get().uri("/api/products/{skuCode}", "Sku Code")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(404)
+                .jsonPath("$.errorMessage").isEqualTo("Product not found");
+    }
+
+    /**
+     * Test {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When If-None-Match is the current ETag.</li>
+     *   <li>Then status 304.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(ServerRequest); when If-None-Match is current ETag; then status 304")
+    void testGetBySkuCode_whenIfNoneMatchIsCurrentETag_thenStatus304() {
+        // Arrange
+        ProductDto product = productDto("Sku Code");
+        product.setVersion(7L);
+        when(reactiveProductService.getBySkuName("Sku Code")).thenReturn(Mono.just(product));
+
+        // Act and Assert
+        client().get().uri("/api/products/{skuCode}", "Sku Code")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ProductETags.of(product));
+        client().get().uri("/api/products/{skuCode}", "Sku Code")
+                .header(HttpHeaders.IF_NONE_MATCH, ProductETags.of(product))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    /**
+     * Test {@link ProductHandler#updateProduct(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductService} signals {@link PreconditionFailedException}.</li>
+     *   <li>Then status 412.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#updateProduct(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(ServerRequest); given PreconditionFailedException; then status 412")
+    void testUpdateProduct_givenPreconditionFailedException_thenStatus412() {
+        // Arrange
+        when(reactiveProductService.updateProduct(eq("A"), isA(ProductDto.class), eq("\"1-abc\"")))
+                .thenReturn(Mono.error(new PreconditionFailedException("Product has been modified")));
+
+        // Act and Assert
+        client().put().uri("/api/products/{skuCode}", "A")
+                .header(HttpHeaders.IF_MATCH, "\"1-abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto("A"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(412);
+    }
+
+    /**
+     * Test {@link ProductHandler#patchProduct(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#patchProduct(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(ServerRequest)")
+    void testPatchProduct() {
+        // Arrange
+        ProductDto patched = productDto("A");
+        patched.setVersion(2L);
+        when(reactiveProductService.patchProduct(eq("A"), isA(ProductDto.class), eq(null)))
+                .thenReturn(Mono.just(patched));
+
+        // Act and Assert
+        client().patch().uri("/api/products/{skuCode}", "A")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"vendor\":\"Vendor\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ProductETags.of(patched))
+                .expectBody()
+                .jsonPath("$.skuCode").isEqualTo("A");
+    }
+
+    /**
+     * Test {@link ProductHandler#getChanges(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#getChanges(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getChanges(ServerRequest)")
+    void testGetChanges() {
+        // Arrange
+        when(reactiveProductService.getChanges(eq(null), eq(500))).thenReturn(Mono.just(new ProductChangesDto(
+                List.of(new ProductChangeDto("A", ProductChangeType.UPSERTED, productDto("A"), 1L)), "MXxB", false)));
+
+        // Act and Assert
+        client().get().uri("/api/products/changes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.changes[0].type").isEqualTo("UPSERTED")
+                .jsonPath("$.changes[0].product.skuCode").isEqualTo("A")
+                .jsonPath("$.nextToken").isEqualTo("MXxB");
+    }
+
+    /**
+     * Test {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When the request accepts {@code application/x-jackson-smile}.</li>
+     *   <li>Then the product is Smile encoded.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getBySkuCode(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCode(ServerRequest); when accepts Smile; then return Smile encoded product")
+    void testGetBySkuCode_whenAcceptsSmile_thenReturnSmileEncodedProduct() throws Exception {
+        // Arrange
+        when(reactiveProductService.getBySkuName("Sku Code")).thenReturn(Mono.just(productDto("Sku Code")));
+
+        // Act
+        byte[] actualBody = binaryClient().get().uri("/api/products/{skuCode}", "Sku Code")
+                .accept(MediaType.valueOf(BinaryCodecConfig.APPLICATION_SMILE_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BinaryCodecConfig.APPLICATION_SMILE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertEquals(productDto("Sku Code"), new SmileMapper().readValue(actualBody, ProductDto.class));
+    }
+
+    /**
+     * Test {@link ProductHandler#getBySkuCodes(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When the request accepts {@code application/cbor}.</li>
+     *   <li>Then the batch response is CBOR encoded.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getBySkuCodes(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCodes(ServerRequest); when accepts CBOR; then return CBOR encoded batch")
+    void testGetBySkuCodes_whenAcceptsCbor_thenReturnCborEncodedBatch() throws Exception {
+        // Arrange
+        ProductBatchResponseDto response = new ProductBatchResponseDto(List.of(productDto("A")), List.of("B"));
+        when(reactiveProductService.getBySkuCodes(List.of("A", "B"))).thenReturn(Mono.just(response));
+
+        // Act
+        byte[] actualBody = binaryClient().post().uri("/api/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue("{\"skuCodes\":[\"A\",\"B\"]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertEquals(response, new CBORMapper().readValue(actualBody, ProductBatchResponseDto.class));
+    }
+
+    /**
+     * Test {@link ProductHandler#getRelatedProducts(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#getRelatedProducts(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getRelatedProducts(ServerRequest)")
+    void testGetRelatedProducts() {
+        // Arrange
+        when(reactiveProductService.getRelatedProducts("SKU-1", 10))
+                .thenReturn(Mono.just(List.of(new ProductRelatedDto("SKU-2", 5))));
+
+        // Act and Assert
+        client().get().uri("/api/products/{skuCode}/related", "SKU-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].skuCode").isEqualTo("SKU-2")
+                .jsonPath("$[0].boughtTogether").isEqualTo(5);
+    }
+
+    /**
+     * Test {@link ProductHandler#getFacets(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#getFacets(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getFacets(ServerRequest)")
+    void testGetFacets() {
+        // Arrange
+        when(reactiveProductService.getFacets()).thenReturn(Mono.just(
+                new ProductFacetsDto(Map.of("Computers", 2), Map.of("Acme", 2))));
+
+        // Act and Assert
+        client().get().uri("/api/products/facets")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.categories.Computers").isEqualTo(2)
+                .jsonPath("$.vendors.Acme").isEqualTo(2);
+    }
+
+    /**
+     * Test {@link ProductHandler#getProductsPage(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When size is not a number.</li>
+     *   <li>Then status is 400.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getProductsPage(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(ServerRequest); when size is not a number; then status 400")
+    void testGetProductsPage_whenSizeIsNotANumber_thenStatus400() {
+        // Act and Assert
+        client().get().uri("/api/products/page?size=ten")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(400);
+    }
+
+    /**
+     * Test {@link ProductHandler#getProductsPage(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductService} signals {@link BadRequestException}.</li>
+     *   <li>Then status is 400.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getProductsPage(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(ServerRequest); given BadRequestException; then status 400")
+    void testGetProductsPage_givenBadRequestException_thenStatus400() {
+        // Arrange
+        when(reactiveProductService.getProductsPage(null, 5000))
+                .thenReturn(Mono.error(new BadRequestException("size must be between 1 and 1000")));
+
+        // Act and Assert
+        client().get().uri("/api/products/page?size=5000")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorMessage").isEqualTo("size must be between 1 and 1000");
+    }
+
+    /**
+     * Test {@link ProductHandler#filterProducts(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Then query parameters are bound to {@link ProductFilterDto}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#filterProducts(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ServerRequest); then query parameters are bound to ProductFilterDto")
+    void testFilterProducts_thenQueryParametersAreBoundToProductFilterDto() {
+        // Arrange
+        when(reactiveProductService.filterProducts(isA(ProductFilterDto.class)))
+                .thenReturn(Mono.just(new ProductPageDto(List.of(productDto("A")), null)));
+
+        // Act and Assert
+        client().get().uri("/api/products/filter?category=Books&minPrice=5&sort=price&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products[0].skuCode").isEqualTo("A");
+        ArgumentCaptor<ProductFilterDto> filter = ArgumentCaptor.forClass(ProductFilterDto.class);
+        verify(reactiveProductService).filterProducts(filter.capture());
+        ProductFilterDto bound = filter.getValue();
+        assertEquals("Books", bound.getCategory());
+        assertEquals(new BigDecimal("5"), bound.getMinPrice());
+        assertEquals("price", bound.getSort());
+        assertEquals(10, bound.getSize());
+    }
+
+    /**
+     * Test {@link ProductHandler#streamAllProducts(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When Accept is {@code application/x-ndjson}.</li>
+     *   <li>Then products are streamed one per line.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#streamAllProducts(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test streamAllProducts(ServerRequest); when Accept is NDJSON; then products are streamed")
+    void testStreamAllProducts_whenAcceptIsNdjson_thenProductsAreStreamed() {
+        // Arrange
+        when(reactiveProductService.getAllProducts()).thenReturn(Flux.just(productDto("A"), productDto("B")));
+
+        // Act and Assert
+        Flux<ProductDto> products = client().get().uri("/api/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDto.class)
+                .getResponseBody();
+        StepVerifier.create(products.map(ProductDto::getSkuCode))
+                .expectNext("A", "B")
+                .verifyComplete();
+    }
+
+    /**
+     * Test {@link ProductHandler#getAllProducts(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Then products are returned as a JSON array.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#getAllProducts(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getAllProducts(ServerRequest); then products are returned as a JSON array")
+    void testGetAllProducts_thenProductsAreReturnedAsJsonArray() {
+        // Arrange
+        when(reactiveProductService.getAllProducts()).thenReturn(Flux.just(productDto("A"), productDto("B")));
+
+        // Act and Assert
+        client().get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].skuCode").isEqualTo("B");
+    }
+
+    /**
+     * Test {@link ProductHandler#bulkUpsertProducts(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>When the body is NDJSON.</li>
+     *   <li>Then every line is handed to {@link ReactiveProductService}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductHandler#bulkUpsertProducts(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test bulkUpsertProducts(ServerRequest); when body is NDJSON; then every line is upserted")
+    void testBulkUpsertProducts_whenBodyIsNdjson_thenEveryLineIsUpserted() {
+        // Arrange
+        when(reactiveProductService.bulkUpsertProducts(isA(Flux.class))).thenAnswer(invocation -> {
+            Flux<ProductDto> productDtos = invocation.getArgument(0);
+            return productDtos.count().map(count -> new ProductBulkResultDto(count.intValue(), 0, 0, List.of()));
+        });
+
+        // Act and Assert
+        client().post().uri("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"skuCode\":\"A\"}\n{\"skuCode\":\"B\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(2);
+    }
+
+    /**
+     * Test {@link ProductHandler#createProduct(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#createProduct(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test createProduct(ServerRequest)")
+    void testCreateProduct() {
+        // Arrange
+        when(reactiveProductService.createProduct(isA(ProductDto.class))).thenReturn(Mono.just(productDto("A")));
+
+        // Act and Assert
+        client().post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto("A"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.skuCode").isEqualTo("A");
+    }
+
+    /**
+     * Test {@link ProductHandler#deleteProduct(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#deleteProduct(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test deleteProduct(ServerRequest)")
+    void testDeleteProduct() {
+        // Arrange
+        when(reactiveProductService.deleteProduct("A")).thenReturn(Mono.empty());
+
+        // Act and Assert
+        client().delete().uri("/api/products/{skuCode}", "A")
+                .exchange()
+                .expectStatus().isOk();
+        verify(reactiveProductService).deleteProduct(eq("A"));
+    }
+
+    /**
+     * Test {@link ProductHandler#productExists(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductHandler#productExists(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test productExists(ServerRequest)")
+    void testProductExists() {
+        // Arrange
+        when(reactiveProductService.productExists("A")).thenReturn(Mono.just(true));
+
+        // Act and Assert
+        client().get().uri("/api/products/{skuCode}/exists", "A")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class).isEqualTo(true);
+    }
+
+    /**
+     * Test {@link ProductRepricingHandler#startJob(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <p>
+     * Method under test: {@link ProductRepricingHandler#startJob(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test startJob(ServerRequest); then status 202 with the queued job")
+    void testStartJob_thenStatus202WithQueuedJob() {
+        // Arrange
+        ProductRepricingRequestDto request = new ProductRepricingRequestDto("Category", null, null, null,
+                new ProductRepricingRuleDto(ProductRepricingRuleType.PERCENTAGE, new BigDecimal("10"), 2, RoundingMode.HALF_UP));
+        when(productRepricingService.startJob(request)).thenReturn(new ProductRepricingJobDto("job-1",
+                ProductRepricingStatus.RUNNING, request, 42, 0, 0, 0, null, null, null, null));
+
+        // Act and Assert
+        repricingClient().post().uri("/api/products/repricing-jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("job-1")
+                .jsonPath("$.status").isEqualTo("RUNNING")
+                .jsonPath("$.matched").isEqualTo(42);
+    }
+
+    /**
+     * Test {@link ProductRepricingHandler#getJob(org.springframework.web.reactive.function.server.ServerRequest)}.
+     * <ul>
+     *   <li>Given {@link ProductRepricingService} throws {@link ProductNotFoundException}.</li>
+     *   <li>Then status is 404 with the error details.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingHandler#getJob(org.springframework.web.reactive.function.server.ServerRequest)}
+     */
+    @Test
+    @DisplayName("Test getJob(ServerRequest); given ProductNotFoundException; then status 404")
+    void testGetJob_givenProductNotFoundException_thenStatus404() {
+        // Arrange
+        when(productRepricingService.getJob("job-1")).thenThrow(new ProductNotFoundException("Repricing job not found"));
+
+        // Act and Assert
+        repricingClient().get().uri("/api/products/repricing-jobs/{jobId}", "job-1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorMessage").isEqualTo("Repricing job not found");
+    }
+
+    private WebTestClient client() {
+        return WebTestClient.bindToRouterFunction(productRoutes).build();
+    }
+
+    private WebTestClient repricingClient() {
+        return WebTestClient.bindToRouterFunction(productRepricingRoutes).build();
+    }
+
+    private WebTestClient binaryClient() {
+        CodecCustomizer codecs = new BinaryCodecConfig().binaryCodecCustomizer(new Jackson2ObjectMapperBuilder());
+        return WebTestClient.bindToRouterFunction(productRoutes)
+                .handlerStrategies(HandlerStrategies.builder().codecs(codecs::customize).build())
+                .build();
+    }
+
+    private static ProductDto productDto(String skuCode) {
+        return new ProductDto(skuCode, "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+    }
+}
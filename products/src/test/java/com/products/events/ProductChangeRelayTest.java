@@ -0,0 +1,119 @@
+package com.products.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.model.ProductRelayOffset;
+import com.products.repository.ProductRelayOffsetRepository;
+import com.products.service.ProductService;
+import com.products.utils.ProductChangeToken;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ContextConfiguration(classes = {ProductChangeRelay.class})
+@TestPropertySource(properties = {
+        "products.events.enabled=true",
+        "products.events.topic=product-changed",
+        "products.events.batch-size=10"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class ProductChangeRelayTest {
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductRelayOffsetRepository offsetRepository;
+
+    @MockBean
+    private KafkaTemplate<String, ProductChangeDto> kafkaTemplate;
+
+    @Autowired
+    private ProductChangeRelay productChangeRelay;
+
+    /**
+     * Test {@link ProductChangeRelay#relay()}.
+     * <ul>
+     *   <li>Given an upsert and a delete below the committed watermark.</li>
+     *   <li>Then publish both keyed by SKU, the delete as a null value, and save the offset after them.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductChangeRelay#relay()}
+     */
+    @Test
+    @DisplayName("Test relay(); given committed changes; then publish them and save offset")
+    void testRelay_givenCommittedChanges_thenPublishThemAndSaveOffset() {
+        // Arrange
+        when(offsetRepository.findById("product-changed")).thenReturn(Optional.empty());
+        ProductChangeDto upserted = new ProductChangeDto("A", ProductChangeType.UPSERTED, new ProductDto(), 1L);
+        ProductChangeDto deleted = new ProductChangeDto("B", ProductChangeType.DELETED, null, 2L);
+        when(productService.getChanges(isNull(), eq(10)))
+                .thenReturn(new ProductChangesDto(List.of(upserted, deleted), "token", false));
+        when(kafkaTemplate.send(Mockito.<String>any(), Mockito.<String>any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        productChangeRelay.relay();
+
+        // Assert
+        verify(kafkaTemplate).send("product-changed", "A", upserted);
+        verify(kafkaTemplate).send("product-changed", "B", null);
+        ArgumentCaptor<ProductRelayOffset> offset = ArgumentCaptor.forClass(ProductRelayOffset.class);
+        verify(offsetRepository).save(offset.capture());
+        assertEquals("product-changed", offset.getValue().getTopic());
+        assertEquals(ProductChangeToken.encode(2L, "B"), offset.getValue().getChangeToken());
+    }
+
+    /**
+     * Test {@link ProductChangeRelay#relay()}.
+     * <ul>
+     *   <li>Given Kafka rejects a send.</li>
+     *   <li>Then the offset is not moved, so the next run publishes the batch again.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductChangeRelay#relay()}
+     */
+    @Test
+    @DisplayName("Test relay(); given a failed send; then the offset is not saved")
+    void testRelay_givenFailedSend_thenOffsetIsNotSaved() {
+        // Arrange
+        String since = ProductChangeToken.encode(1L, "A");
+        when(offsetRepository.findById("product-changed"))
+                .thenReturn(Optional.of(new ProductRelayOffset("product-changed", since, null)));
+        when(productService.getChanges(eq(since), eq(10))).thenReturn(new ProductChangesDto(
+                List.of(new ProductChangeDto("B", ProductChangeType.UPSERTED, new ProductDto(), 2L)), "token", false));
+        when(kafkaTemplate.send(Mockito.<String>any(), Mockito.<String>any(), Mockito.any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        // Act and Assert
+        assertThrows(CompletionException.class, () -> productChangeRelay.relay());
+        verify(offsetRepository, never()).save(Mockito.any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.products.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.common.OrderDto;
+import com.products.index.ProductCooccurrenceIndex;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+
+class ProductCooccurrenceListenerTest {
+
+    private static final long MINUTE = 60_000;
+
+    @TempDir
+    Path directory;
+
+    private ProductCooccurrenceIndex productCooccurrenceIndex;
+    private ProductCooccurrenceListener productCooccurrenceListener;
+
+    @BeforeEach
+    void setUp() {
+        productCooccurrenceIndex = mock(ProductCooccurrenceIndex.class);
+        productCooccurrenceListener = listener(productCooccurrenceIndex);
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceListener#onOrderCreated(OrderDto, long, int, long)}.
+     * <ul>
+     *   <li>Given one customer's orders placed within the basket window.</li>
+     *   <li>Then pair each new SKU with the most recent ones in the basket.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceListener#onOrderCreated(OrderDto, long, int, long)}
+     */
+    @Test
+    @DisplayName("Test onOrderCreated(OrderDto, long, int, long); given orders within the window; then pair them")
+    void testOnOrderCreated_givenOrdersWithinWindow_thenPairThem() {
+        // Act
+        productCooccurrenceListener.onOrderCreated(order("SKU-1", "ann@example.org"), 0, 0, 0);
+        productCooccurrenceListener.onOrderCreated(order("SKU-2", "ann@example.org"), MINUTE, 0, 1);
+        productCooccurrenceListener.onOrderCreated(order("SKU-2", "ann@example.org"), 2 * MINUTE, 0, 2);
+        productCooccurrenceListener.onOrderCreated(order("SKU-3", "ann@example.org"), 3 * MINUTE, 0, 3);
+        productCooccurrenceListener.onOrderCreated(order("SKU-4", "ann@example.org"), 4 * MINUTE, 0, 4);
+
+        // Assert
+        verify(productCooccurrenceIndex).addPairs("SKU-1", List.of(), 0, 0);
+        verify(productCooccurrenceIndex).addPairs("SKU-2", List.of("SKU-1"), 0, 1);
+        verify(productCooccurrenceIndex).addPairs("SKU-2", List.of(), 0, 2);
+        verify(productCooccurrenceIndex).addPairs("SKU-3", List.of("SKU-1", "SKU-2"), 0, 3);
+        verify(productCooccurrenceIndex).addPairs("SKU-4", List.of("SKU-2", "SKU-3"), 0, 4);
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceListener#onOrderCreated(OrderDto, long, int, long)}.
+     * <ul>
+     *   <li>Given orders from different customers, or from one customer further apart than the window.</li>
+     *   <li>Then do not pair them.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceListener#onOrderCreated(OrderDto, long, int, long)}
+     */
+    @Test
+    @DisplayName("Test onOrderCreated(OrderDto, long, int, long); given other customer or expired window; then do not pair")
+    void testOnOrderCreated_givenOtherCustomerOrExpiredWindow_thenDoNotPair() {
+        // Act
+        productCooccurrenceListener.onOrderCreated(order("SKU-1", "ann@example.org"), 0, 0, 0);
+        productCooccurrenceListener.onOrderCreated(order("SKU-2", "bob@example.org"), MINUTE, 0, 1);
+        productCooccurrenceListener.onOrderCreated(order("SKU-3", "ann@example.org"), 31 * MINUTE, 0, 2);
+        productCooccurrenceListener.onOrderCreated(order("SKU-4", null), 32 * MINUTE, 0, 3);
+
+        // Assert
+        verify(productCooccurrenceIndex, never())
+                .addPairs(any(), argThat((Collection<String> boughtWith) -> !boughtWith.isEmpty()), anyInt(), anyLong());
+        verify(productCooccurrenceIndex).addPairs(null, List.of(), 0, 3);
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceListener#onPartitionsAssigned(Map, ConsumerSeekAware.ConsumerSeekCallback)}.
+     * <ul>
+     *   <li>Given one partition counted up to an offset and one never counted.</li>
+     *   <li>Then resume the first at that offset and rewind only the second.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceListener#onPartitionsAssigned(Map, ConsumerSeekAware.ConsumerSeekCallback)}
+     */
+    @Test
+    @DisplayName("Test onPartitionsAssigned(Map, ConsumerSeekCallback); given counted partition; then resume it there")
+    void testOnPartitionsAssigned_givenCountedPartition_thenResumeItThere() {
+        // Arrange
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+        TopicPartition counted = new TopicPartition("order-created", 0);
+        TopicPartition fresh = new TopicPartition("order-created", 1);
+        when(productCooccurrenceIndex.position(0)).thenReturn(17L);
+        when(productCooccurrenceIndex.position(1)).thenReturn(-1L);
+
+        // Act
+        productCooccurrenceListener.onPartitionsAssigned(Map.of(counted, 42L, fresh, 42L), callback);
+
+        // Assert
+        verify(callback).seek("order-created", 0, 17L);
+        verify(callback).seekToBeginning(List.of(fresh));
+        verify(callback, never()).seekToBeginning(List.of(counted));
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceListener#export()} and {@link ProductCooccurrenceListener#load()}.
+     * <ul>
+     *   <li>Given counters and offsets exported by one instance.</li>
+     *   <li>Then a new instance loads the same counters and resumes after the last counted offset.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceListener#load()}
+     */
+    @Test
+    @DisplayName("Test load(); given exported snapshot; then restore counters and offsets")
+    void testLoad_givenExportedSnapshot_thenRestoreCountersAndOffsets() {
+        // Arrange
+        ProductCooccurrenceIndex exported = new ProductCooccurrenceIndex(50);
+        ProductCooccurrenceListener exporter = listener(exported);
+        exporter.onOrderCreated(order("SKU-1", "ann@example.org"), 0, 0, 5);
+        exporter.onOrderCreated(order("SKU-2", "ann@example.org"), MINUTE, 0, 6);
+        exporter.onOrderCreated(order("SKU-3", "ann@example.org"), 2 * MINUTE, 2, 9);
+        exporter.export();
+        ProductCooccurrenceIndex restored = new ProductCooccurrenceIndex(50);
+
+        // Act
+        listener(restored).load();
+
+        // Assert
+        assertEquals(exported.related("SKU-2", 10), restored.related("SKU-2", 10));
+        assertEquals(exported.related("SKU-3", 10), restored.related("SKU-3", 10));
+        assertEquals(7L, restored.position(0));
+        assertEquals(10L, restored.position(2));
+        assertEquals(-1L, restored.position(1));
+    }
+
+    private ProductCooccurrenceListener listener(ProductCooccurrenceIndex index) {
+        return new ProductCooccurrenceListener(index, "order-created", directory.resolve("related.snapshot"),
+                Duration.ofMinutes(30), 2, 100);
+    }
+
+    private static OrderDto order(String skuCode, String customerEmail) {
+        return new OrderDto(skuCode, 1, "Customer", customerEmail, "555-0100", "Address");
+    }
+}
@@ -0,0 +1,140 @@
+package com.products.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.common.OrderDto;
+import com.products.repository.ProductRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ProductPopularityTrackerTest {
+
+    private ProductRepository productRepository;
+    private ProductPopularityTracker productPopularityTracker;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        // one half-life after the epoch every unit weighs 2
+        Clock clock = Clock.fixed(ProductPopularityTracker.EPOCH.plus(Duration.ofDays(7)), ZoneOffset.UTC);
+        productPopularityTracker = new ProductPopularityTracker(productRepository, clock, Duration.ofDays(7));
+    }
+
+    /**
+     * Test {@link ProductPopularityTracker#flush()}.
+     * <ul>
+     *   <li>Given several orders for the same SKU in one window.</li>
+     *   <li>Then write one weighted increment per SKU.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductPopularityTracker#flush()}
+     */
+    @Test
+    @DisplayName("Test flush(); given several orders per SKU; then write one weighted increment per SKU")
+    void testFlush_givenSeveralOrdersPerSku_thenWriteOneWeightedIncrementPerSku() {
+        // Arrange
+        productPopularityTracker.onOrderCreated(order("SKU-1", 2));
+        productPopularityTracker.onOrderCreated(order("SKU-1", 3));
+        productPopularityTracker.onOrderCreated(order("SKU-2", 1));
+
+        // Act
+        productPopularityTracker.flush();
+        productPopularityTracker.flush();
+
+        // Assert
+        assertEquals(Map.of("SKU-1", 10.0, "SKU-2", 2.0), flushed(1).get(0));
+    }
+
+    /**
+     * Test {@link ProductPopularityTracker#onOrderCreated(OrderDto)}.
+     * <ul>
+     *   <li>Given order events without a SKU or a positive quantity.</li>
+     *   <li>Then ignore them.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductPopularityTracker#onOrderCreated(OrderDto)}
+     */
+    @Test
+    @DisplayName("Test onOrderCreated(OrderDto); given missing SKU or quantity; then ignore the event")
+    void testOnOrderCreated_givenMissingSkuOrQuantity_thenIgnoreEvent() {
+        // Act
+        productPopularityTracker.onOrderCreated(order(null, 1));
+        productPopularityTracker.onOrderCreated(order("SKU-1", null));
+        productPopularityTracker.onOrderCreated(order("SKU-1", 0));
+        productPopularityTracker.flush();
+
+        // Assert
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test {@link ProductPopularityTracker#flush()}.
+     * <ul>
+     *   <li>Given the bulk write fails.</li>
+     *   <li>Then carry the window's counts over to the next flush.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductPopularityTracker#flush()}
+     */
+    @Test
+    @DisplayName("Test flush(); given bulk write fails; then carry counts over to the next flush")
+    void testFlush_givenBulkWriteFails_thenCarryCountsOverToNextFlush() {
+        // Arrange
+        when(productRepository.incrementPopularity(any()))
+                .thenThrow(new IllegalStateException("Mongo is down"))
+                .thenReturn(null);
+        productPopularityTracker.record("SKU-1", 2);
+
+        // Act
+        productPopularityTracker.flush();
+        productPopularityTracker.record("SKU-1", 1);
+        productPopularityTracker.flush();
+
+        // Assert
+        assertEquals(Map.of("SKU-1", 6.0), flushed(2).get(1));
+    }
+
+    /**
+     * Test {@link ProductPopularityTracker#weight(java.time.Instant)}.
+     * <ul>
+     *   <li>When a later window is weighted.</li>
+     *   <li>Then its units count double per half-life, so older scores decay relative to it.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductPopularityTracker#weight(java.time.Instant)}
+     */
+    @Test
+    @DisplayName("Test weight(Instant); then double per half-life")
+    void testWeight_thenDoublePerHalfLife() {
+        // Act and Assert
+        assertEquals(1.0, productPopularityTracker.weight(ProductPopularityTracker.EPOCH));
+        assertEquals(4.0, productPopularityTracker.weight(ProductPopularityTracker.EPOCH.plus(Duration.ofDays(14))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Double>> flushed(int times) {
+        ArgumentCaptor<Map<String, Double>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(productRepository, times(times)).incrementPopularity(increments.capture());
+        return increments.getAllValues().stream().<Map<String, Double>>map(HashMap::new).toList();
+    }
+
+    private static OrderDto order(String skuCode, Integer quantity) {
+        return new OrderDto(skuCode, quantity, "Customer", "customer@example.org", "555-0100", "Address");
+    }
+}
@@ -0,0 +1,83 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    /**
+     * Test {@link BloomFilter#mightContain(String)}.
+     * <ul>
+     *   <li>Given every inserted SKU.</li>
+     *   <li>Then return {@code true}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link BloomFilter#mightContain(String)}
+     */
+    @Test
+    @DisplayName("Test mightContain(String); given inserted SKUs; then return 'true'")
+    void testMightContain_givenInsertedSkus_thenReturnTrue() {
+        // Arrange
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("SKU-" + i);
+        }
+
+        // Act and Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloomFilter.mightContain("SKU-" + i));
+        }
+    }
+
+    /**
+     * Test {@link BloomFilter#mightContain(String)}.
+     * <ul>
+     *   <li>Given SKUs that were never inserted.</li>
+     *   <li>Then the false-positive rate stays close to the configured rate.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link BloomFilter#mightContain(String)}
+     */
+    @Test
+    @DisplayName("Test mightContain(String); given unknown SKUs; then false-positive rate stays within bound")
+    void testMightContain_givenUnknownSkus_thenFalsePositiveRateWithinBound() {
+        // Arrange
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("SKU-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain("MISSING-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Test {@link BloomFilter#mightContain(String)}.
+     * <ul>
+     *   <li>Given an empty filter.</li>
+     *   <li>Then return {@code false}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link BloomFilter#mightContain(String)}
+     */
+    @Test
+    @DisplayName("Test mightContain(String); given empty filter; then return 'false'")
+    void testMightContain_givenEmptyFilter_thenReturnFalse() {
+        // Arrange
+        BloomFilter bloomFilter = new BloomFilter(1_000, 0.01);
+
+        // Act and Assert
+        assertFalse(bloomFilter.mightContain("SKU-1"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+    /**
+     * Test {@link PrefixTrie#termsWithPrefix(String, int)}.
+     * <ul>
+     *   <li>Given terms sharing a prefix.</li>
+     *   <li>Then return them in lexical order up to the limit.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link PrefixTrie#termsWithPrefix(String, int)}
+     */
+    @Test
+    @DisplayName("Test termsWithPrefix(String, int); given shared prefix; then return lexical order up to limit")
+    void testTermsWithPrefix_givenSharedPrefix_thenReturnLexicalOrderUpToLimit() {
+        // Arrange
+        PrefixTrie prefixTrie = new PrefixTrie();
+        prefixTrie.add("laptop");
+        prefixTrie.add("lamp");
+        prefixTrie.add("la");
+        prefixTrie.add("mouse");
+
+        // Act and Assert
+        assertEquals(List.of("la", "lamp", "laptop"), prefixTrie.termsWithPrefix("la", 10));
+        assertEquals(List.of("la", "lamp"), prefixTrie.termsWithPrefix("la", 2));
+        assertTrue(prefixTrie.termsWithPrefix("x", 10).isEmpty());
+    }
+
+    /**
+     * Test {@link PrefixTrie#remove(String)}.
+     * <ul>
+     *   <li>Given a removed term that prefixes another term.</li>
+     *   <li>Then keep the longer term.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link PrefixTrie#remove(String)}
+     */
+    @Test
+    @DisplayName("Test remove(String); given removed term prefixes another; then keep longer term")
+    void testRemove_givenRemovedTermPrefixesAnother_thenKeepLongerTerm() {
+        // Arrange
+        PrefixTrie prefixTrie = new PrefixTrie();
+        prefixTrie.add("lap");
+        prefixTrie.add("laptop");
+
+        // Act
+        prefixTrie.remove("lap");
+        prefixTrie.remove("lapdog");
+        prefixTrie.remove("laptop");
+        prefixTrie.add("lamp");
+
+        // Assert
+        assertEquals(List.of("lamp"), prefixTrie.termsWithPrefix("la", 10));
+    }
+}
@@ -0,0 +1,74 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.products.dto.ProductRelatedDto;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductCooccurrenceIndexTest {
+
+    private ProductCooccurrenceIndex productCooccurrenceIndex;
+
+    @BeforeEach
+    void setUp() {
+        productCooccurrenceIndex = new ProductCooccurrenceIndex(3);
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceIndex#related(String, int)}.
+     * <ul>
+     *   <li>Given baskets sharing SKUs.</li>
+     *   <li>Then count each pair both ways, most often bought together first.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceIndex#related(String, int)}
+     */
+    @Test
+    @DisplayName("Test related(String, int); given baskets; then count pairs both ways, most frequent first")
+    void testRelated_givenBaskets_thenCountPairsBothWaysMostFrequentFirst() {
+        // Arrange
+        productCooccurrenceIndex.addPairs("SKU-2", List.of("SKU-1"));
+        productCooccurrenceIndex.addPairs("SKU-3", List.of("SKU-1", "SKU-2"));
+        productCooccurrenceIndex.addPairs("SKU-2", List.of("SKU-1", "SKU-2"));
+
+        // Act and Assert
+        assertEquals(List.of(new ProductRelatedDto("SKU-2", 2), new ProductRelatedDto("SKU-3", 1)),
+                productCooccurrenceIndex.related("SKU-1", 10));
+        assertEquals(List.of(new ProductRelatedDto("SKU-1", 2)), productCooccurrenceIndex.related("SKU-2", 1));
+        assertTrue(productCooccurrenceIndex.related("SKU-9", 10).isEmpty());
+    }
+
+    /**
+     * Test {@link ProductCooccurrenceIndex#addPairs(String, java.util.Collection)}.
+     * <ul>
+     *   <li>Given more neighbours than a SKU keeps counters for.</li>
+     *   <li>Then the newcomer replaces the least frequent neighbour and keeps the frequent ones.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductCooccurrenceIndex#addPairs(String, java.util.Collection)}
+     */
+    @Test
+    @DisplayName("Test addPairs(String, Collection); given more neighbours than counters; then replace the least frequent")
+    void testAddPairs_givenMoreNeighboursThanCounters_thenReplaceLeastFrequent() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            productCooccurrenceIndex.addPairs("SKU-A", List.of("SKU-1"));
+        }
+        productCooccurrenceIndex.addPairs("SKU-B", List.of("SKU-1"));
+        productCooccurrenceIndex.addPairs("SKU-B", List.of("SKU-1"));
+        productCooccurrenceIndex.addPairs("SKU-C", List.of("SKU-1"));
+
+        // Act
+        productCooccurrenceIndex.addPairs("SKU-D", List.of("SKU-1"));
+
+        // Assert
+        assertEquals(List.of(new ProductRelatedDto("SKU-A", 5), new ProductRelatedDto("SKU-B", 2),
+                new ProductRelatedDto("SKU-D", 2)), productCooccurrenceIndex.related("SKU-1", 10));
+    }
+}
@@ -0,0 +1,175 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.products.dto.ProductFacetsDto;
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductFacetCountersTest {
+
+    private ProductRepository productRepository;
+    private ProductFacetCounters productFacetCounters;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productFacetCounters = new ProductFacetCounters(productRepository);
+        productFacetCounters.put(new Product("SKU-1", "Gaming Laptop", "Computers", new BigDecimal("1999"), "Acme"));
+        productFacetCounters.put(new Product("SKU-2", "Office Laptop", "Computers", new BigDecimal("799"), "Globex"));
+        productFacetCounters.put(new Product("SKU-3", "Laptop Sleeve", "Accessories", new BigDecimal("29"), "Acme"));
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#facets()}.
+     * <ul>
+     *   <li>Given products in several categories and vendors.</li>
+     *   <li>Then count them ordered by count, then name.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#facets()}
+     */
+    @Test
+    @DisplayName("Test facets(); given several products; then count them ordered by count")
+    void testFacets_givenSeveralProducts_thenCountThemOrderedByCount() {
+        // Act
+        ProductFacetsDto actualFacets = productFacetCounters.facets();
+
+        // Assert
+        assertEquals(List.of("Computers", "Accessories"), List.copyOf(actualFacets.getCategories().keySet()));
+        assertEquals(Map.of("Computers", 2, "Accessories", 1), actualFacets.getCategories());
+        assertEquals(List.of("Acme", "Globex"), List.copyOf(actualFacets.getVendors().keySet()));
+        assertEquals(Map.of("Acme", 2, "Globex", 1), actualFacets.getVendors());
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#put(Product)}.
+     * <ul>
+     *   <li>Given an existing product moved to another category and vendor.</li>
+     *   <li>Then move its counts and drop facets that reach zero.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#put(Product)}
+     */
+    @Test
+    @DisplayName("Test put(Product); given existing product with new facets; then move its counts")
+    void testPut_givenExistingProductWithNewFacets_thenMoveItsCounts() {
+        // Act
+        productFacetCounters.put(new Product("SKU-2", "Office Laptop", "Laptops", new BigDecimal("799"), "Acme"));
+
+        // Assert
+        ProductFacetsDto actualFacets = productFacetCounters.facets();
+        assertEquals(Map.of("Computers", 1, "Accessories", 1, "Laptops", 1), actualFacets.getCategories());
+        assertEquals(Map.of("Acme", 3), actualFacets.getVendors());
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#remove(String)}.
+     * <ul>
+     *   <li>Given an existing and an unknown SKU.</li>
+     *   <li>Then decrement only the existing product's facets.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#remove(String)}
+     */
+    @Test
+    @DisplayName("Test remove(String); given existing and unknown SKU; then decrement only existing facets")
+    void testRemove_givenExistingAndUnknownSku_thenDecrementOnlyExistingFacets() {
+        // Act
+        productFacetCounters.remove("SKU-3");
+        productFacetCounters.remove("SKU-3");
+        productFacetCounters.remove("SKU-9");
+
+        // Assert
+        ProductFacetsDto actualFacets = productFacetCounters.facets();
+        assertEquals(Map.of("Computers", 2), actualFacets.getCategories());
+        assertEquals(Map.of("Acme", 1, "Globex", 1), actualFacets.getVendors());
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#facets()}.
+     * <ul>
+     *   <li>When called twice without a write in between.</li>
+     *   <li>Then return the same view until the next write.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#facets()}
+     */
+    @Test
+    @DisplayName("Test facets(); when called twice; then return the same view until the next write")
+    void testFacets_whenCalledTwice_thenReturnSameViewUntilNextWrite() {
+        // Act
+        ProductFacetsDto first = productFacetCounters.facets();
+        ProductFacetsDto second = productFacetCounters.facets();
+        productFacetCounters.remove("SKU-1");
+        ProductFacetsDto third = productFacetCounters.facets();
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(second, third);
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#rebuild()}.
+     * <ul>
+     *   <li>Given the repository streams a product already counted and a new one.</li>
+     *   <li>Then count each SKU once.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#rebuild()}
+     */
+    @Test
+    @DisplayName("Test rebuild(); given streamed products; then count each SKU once")
+    void testRebuild_givenStreamedProducts_thenCountEachSkuOnce() {
+        // Arrange
+        when(productRepository.streamAllFacets()).thenReturn(Stream.of(
+                new Product("SKU-1", null, "Computers", null, "Acme"),
+                new Product("SKU-4", null, "Accessories", null, "Initech")));
+
+        // Act
+        productFacetCounters.rebuild();
+
+        // Assert
+        ProductFacetsDto actualFacets = productFacetCounters.facets();
+        assertEquals(Map.of("Computers", 2, "Accessories", 2), actualFacets.getCategories());
+        assertEquals(Map.of("Acme", 2, "Globex", 1, "Initech", 1), actualFacets.getVendors());
+    }
+
+    /**
+     * Test {@link ProductFacetCounters#removeMissing()}.
+     * <ul>
+     *   <li>Given a counted SKU no longer in the catalog, and one the scan missed that exists again.</li>
+     *   <li>Then stop counting only the one that is really gone.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductFacetCounters#removeMissing()}
+     */
+    @Test
+    @DisplayName("Test removeMissing(); given SKUs missing from the scan; then stop counting those really gone")
+    void testRemoveMissing_givenSkusMissingFromScan_thenStopCountingThoseReallyGone() {
+        // Arrange
+        when(productRepository.streamAllSkuCodes()).thenReturn(Stream.of("SKU-1"));
+        when(productRepository.skuCodeExists("SKU-2")).thenReturn(true);
+
+        // Act
+        productFacetCounters.removeMissing();
+
+        // Assert
+        ProductFacetsDto actualFacets = productFacetCounters.facets();
+        assertEquals(Map.of("Computers", 2), actualFacets.getCategories());
+        assertEquals(Map.of("Acme", 1, "Globex", 1), actualFacets.getVendors());
+    }
+}
@@ -0,0 +1,169 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.products.dto.ProductDto;
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.index(new Product("SKU-1", "Gaming Laptop Pro", "Computers", new BigDecimal("1999"), "Acme"));
+        productSearchIndex.index(new Product("SKU-2", "Office Laptop", "Computers", new BigDecimal("799"), "Globex"));
+        productSearchIndex.index(new Product("SKU-3", "Laptop Sleeve", "Accessories", new BigDecimal("29"), "Acme"));
+        productSearchIndex.index(new Product("SKU-4", "Gaming Mouse", "Accessories", new BigDecimal("49"), "Initech"));
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#search(String, int)}.
+     * <ul>
+     *   <li>Given a complete word followed by a partial word.</li>
+     *   <li>Then return only products matching both, ranked by score.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSearchIndex#search(String, int)}
+     */
+    @Test
+    @DisplayName("Test search(String, int); given word and prefix; then return products matching both")
+    void testSearch_givenWordAndPrefix_thenReturnProductsMatchingBoth() {
+        // Act
+        List<ProductDto> actualResults = productSearchIndex.search("Gaming la", 10);
+
+        // Assert
+        assertEquals(List.of("SKU-1"), skuCodes(actualResults));
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#search(String, int)}.
+     * <ul>
+     *   <li>Given a term found in the name of some products and the category of others.</li>
+     *   <li>Then rank name matches above category matches and honour the limit.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSearchIndex#search(String, int)}
+     */
+    @Test
+    @DisplayName("Test search(String, int); given prefix over several fields; then rank by field weight")
+    void testSearch_givenPrefixOverSeveralFields_thenRankByFieldWeight() {
+        // Arrange
+        productSearchIndex.index(new Product("SKU-5", "Acme Anvil", "Tools", new BigDecimal("99"), "Wile"));
+
+        // Act
+        List<ProductDto> actualResults = productSearchIndex.search("acm", 2);
+
+        // Assert
+        assertEquals(List.of("SKU-5", "SKU-1"), skuCodes(actualResults));
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#search(String, int)}.
+     * <ul>
+     *   <li>Given a query ending with whitespace.</li>
+     *   <li>Then match the last word exactly instead of as a prefix.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSearchIndex#search(String, int)}
+     */
+    @Test
+    @DisplayName("Test search(String, int); given trailing whitespace; then match last word exactly")
+    void testSearch_givenTrailingWhitespace_thenMatchLastWordExactly() {
+        // Act and Assert
+        assertTrue(productSearchIndex.search("lap ", 10).isEmpty());
+        assertEquals(3, productSearchIndex.search("laptop ", 10).size());
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#index(Product)} and {@link ProductSearchIndex#remove(String)}.
+     * <ul>
+     *   <li>Given a product that is re-indexed and another that is removed.</li>
+     *   <li>Then search reflects only the latest state.</li>
+     * </ul>
+     * <p>
+     * Methods under test:
+     * <ul>
+     *   <li>{@link ProductSearchIndex#index(Product)}
+     *   <li>{@link ProductSearchIndex#remove(String)}
+     * </ul>
+     */
+    @Test
+    @DisplayName("Test index(Product) and remove(String); then search reflects latest state")
+    void testIndexAndRemove_thenSearchReflectsLatestState() {
+        // Act
+        productSearchIndex.index(new Product("SKU-2", "Office Chair", "Furniture", new BigDecimal("199"), "Globex"));
+        productSearchIndex.remove("SKU-3");
+
+        // Assert
+        assertEquals(List.of("SKU-1"), skuCodes(productSearchIndex.search("laptop", 10)));
+        assertEquals(List.of("SKU-2"), skuCodes(productSearchIndex.search("chair", 10)));
+        assertTrue(productSearchIndex.search("sleeve", 10).isEmpty());
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#rebuild()}.
+     * <p>
+     * Method under test: {@link ProductSearchIndex#rebuild()}
+     */
+    @Test
+    @DisplayName("Test rebuild()")
+    void testRebuild() {
+        // Arrange
+        ProductSearchIndex rebuiltIndex = new ProductSearchIndex(productRepository);
+        when(productRepository.streamAllBy()).thenReturn(Stream.of(
+                new Product("SKU-9", "Mechanical Keyboard", "Accessories", new BigDecimal("89"), "Acme")));
+
+        // Act
+        rebuiltIndex.rebuild();
+
+        // Assert
+        assertEquals(List.of("SKU-9"), skuCodes(rebuiltIndex.search("key", 10)));
+        assertEquals(1, rebuiltIndex.size());
+    }
+
+    /**
+     * Test {@link ProductSearchIndex#removeMissing()}.
+     * <ul>
+     *   <li>Given an indexed SKU no longer in the catalog, and one the scan missed that exists again.</li>
+     *   <li>Then remove only the one that is really gone.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSearchIndex#removeMissing()}
+     */
+    @Test
+    @DisplayName("Test removeMissing(); given SKUs missing from the scan; then remove only those really gone")
+    void testRemoveMissing_givenSkusMissingFromScan_thenRemoveOnlyThoseReallyGone() {
+        // Arrange
+        when(productRepository.streamAllSkuCodes()).thenReturn(Stream.of("SKU-1", "SKU-2"));
+        when(productRepository.skuCodeExists("SKU-4")).thenReturn(true);
+
+        // Act
+        productSearchIndex.removeMissing();
+
+        // Assert
+        assertEquals(3, productSearchIndex.size());
+        assertTrue(productSearchIndex.search("sleeve", 10).isEmpty());
+        assertEquals(List.of("SKU-4"), skuCodes(productSearchIndex.search("mouse", 10)));
+    }
+
+    private static List<String> skuCodes(List<ProductDto> products) {
+        return products.stream().map(ProductDto::getSkuCode).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.products.index;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.products.repository.ProductRepository;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SkuBloomFilterTest {
+
+    private ProductRepository productRepository;
+    private SkuBloomFilter skuBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        skuBloomFilter = new SkuBloomFilter(productRepository, 1000, 0.01);
+        skuBloomFilter.setChangeStreamRunning(true);
+    }
+
+    /**
+     * Test {@link SkuBloomFilter#rebuild()}.
+     * <ul>
+     *   <li>Given a SKU is put while the rebuild is still scanning.</li>
+     *   <li>Then the rebuilt filter contains it as well as the scanned SKUs.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link SkuBloomFilter#rebuild()}
+     */
+    @Test
+    @DisplayName("Test rebuild(); given put during the scan; then rebuilt filter contains it")
+    void testRebuild_givenPutDuringScan_thenRebuiltFilterContainsIt() {
+        // Arrange
+        when(productRepository.count()).thenReturn(2L);
+        when(productRepository.streamAllSkuCodes()).thenReturn(Stream.of("SKU-1", "SKU-2").peek(skuCode -> {
+            if (skuCode.equals("SKU-2")) {
+                skuBloomFilter.put("SKU-NEW");
+            }
+        }));
+
+        // Act
+        skuBloomFilter.rebuild();
+
+        // Assert
+        assertTrue(skuBloomFilter.mightContain("SKU-1"));
+        assertTrue(skuBloomFilter.mightContain("SKU-2"));
+        assertTrue(skuBloomFilter.mightContain("SKU-NEW"));
+        assertFalse(skuBloomFilter.mightContain("SKU-MISSING"));
+    }
+
+    /**
+     * Test {@link SkuBloomFilter#mightContain(String)}.
+     * <ul>
+     *   <li>Given the filter was never built.</li>
+     *   <li>Then answer maybe for every SKU.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link SkuBloomFilter#mightContain(String)}
+     */
+    @Test
+    @DisplayName("Test mightContain(String); given filter never built; then answer maybe")
+    void testMightContain_givenFilterNeverBuilt_thenAnswerMaybe() {
+        // Act
+        skuBloomFilter.put("SKU-1");
+
+        // Assert
+        assertTrue(skuBloomFilter.mightContain("SKU-MISSING"));
+    }
+
+    /**
+     * Test {@link SkuBloomFilter#mightContain(String)}.
+     * <ul>
+     *   <li>Given a built filter but no change stream bringing in SKUs created on other replicas.</li>
+     *   <li>Then answer maybe for every SKU, so the caller checks the database.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link SkuBloomFilter#mightContain(String)}
+     */
+    @Test
+    @DisplayName("Test mightContain(String); given change stream not running; then answer maybe")
+    void testMightContain_givenChangeStreamNotRunning_thenAnswerMaybe() {
+        // Arrange
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.streamAllSkuCodes()).thenReturn(Stream.of("SKU-1"));
+        skuBloomFilter.rebuild();
+
+        // Act
+        skuBloomFilter.setChangeStreamRunning(false);
+
+        // Assert
+        assertTrue(skuBloomFilter.mightContain("SKU-MISSING"));
+    }
+}
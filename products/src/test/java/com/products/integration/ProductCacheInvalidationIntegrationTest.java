@@ -0,0 +1,156 @@
+package com.products.integration;
+
+import com.products.config.CacheConfig;
+import com.products.listener.ProductChangeStreamListener;
+import com.products.model.Product;
+import com.products.repository.CacheResumeTokenRepository;
+import com.products.repository.ProductRepository;
+import com.products.service.ProductService;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@SpringBootTest(properties = {
+        "products.cache.change-stream.enabled=true",
+        "products.cache.change-stream.replica-id=test-replica"
+})
+@Testcontainers
+public class ProductCacheInvalidationIntegrationTest {
+
+    // MongoDBContainer starts a single-node replica set, which change streams require
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheResumeTokenRepository resumeTokenRepository;
+
+    @Autowired
+    private ProductChangeStreamListener changeStreamListener;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache productsCache;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setup() {
+        productRepository.deleteAll();
+        productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        productsCache.clear();
+        cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE).clear();
+        productRepository.save(new Product("TEST-SKU-123", "Test Product", "Test Category",
+                new BigDecimal("29.99"), "Test Vendor"));
+    }
+
+    @Test
+    void shouldEvictCachedProductUpdatedByAnotherReplica() throws Exception {
+        // Arrange
+        productService.getBySkuName("TEST-SKU-123");
+        assertNotNull(productsCache.get("TEST-SKU-123"));
+
+        // Act - write directly to Mongo, bypassing this replica's service
+        mongoTemplate.updateFirst(Query.query(where("skuCode").is("TEST-SKU-123")),
+                Update.update("productName", "Renamed Product"), Product.class);
+
+        // Assert
+        awaitTrue(() -> productsCache.get("TEST-SKU-123") == null);
+        assertEquals("Renamed Product", productService.getBySkuName("TEST-SKU-123").getProductName());
+    }
+
+    @Test
+    void shouldEvictCachedProductDeletedByAnotherReplica() throws Exception {
+        // Arrange
+        productService.getBySkuName("TEST-SKU-123");
+        assertNotNull(productsCache.get("TEST-SKU-123"));
+
+        // Act
+        mongoTemplate.remove(Query.query(where("skuCode").is("TEST-SKU-123")), Product.class);
+
+        // Assert
+        awaitTrue(() -> productsCache.get("TEST-SKU-123") == null);
+    }
+
+    @Test
+    void shouldAddSkuCreatedByAnotherReplicaToBloomFilter() throws Exception {
+        // Act - insert straight into the collection, so no save event reaches this replica
+        mongoTemplate.getCollection("products").insertOne(new Document("skuCode", "OTHER-REPLICA-SKU")
+                .append("productName", "Other Product").append("category", "Test Category")
+                .append("price", new Decimal128(new BigDecimal("9.99"))).append("vendor", "Test Vendor")
+                .append("version", 0L));
+
+        // Assert
+        awaitTrue(() -> productService.productExists("OTHER-REPLICA-SKU"));
+        awaitTrue(() -> !productService.searchProducts("other product", 10).isEmpty());
+        awaitTrue(() -> Integer.valueOf(2).equals(productService.getFacets().getCategories().get("Test Category")));
+    }
+
+    @Test
+    void shouldDropProductDeletedByAnotherReplicaFromSearch() throws Exception {
+        // Arrange
+        awaitTrue(() -> !productService.searchProducts("test product", 10).isEmpty());
+
+        // Act
+        mongoTemplate.remove(Query.query(where("skuCode").is("TEST-SKU-123")), Product.class);
+
+        // Assert
+        awaitTrue(() -> productService.searchProducts("test product", 10).isEmpty());
+        awaitTrue(() -> !productService.getFacets().getCategories().containsKey("Test Category"));
+    }
+
+    @Test
+    void shouldPersistResumeTokenForReplica() throws Exception {
+        // Act
+        mongoTemplate.updateFirst(Query.query(where("skuCode").is("TEST-SKU-123")),
+                Update.update("vendor", "Another Vendor"), Product.class);
+
+        // Assert
+        awaitTrue(() -> {
+            changeStreamListener.flushResumeToken();
+            return resumeTokenRepository.findById("test-replica").isPresent();
+        });
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
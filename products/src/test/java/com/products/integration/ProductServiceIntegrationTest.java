@@ -1,15 +1,32 @@
 package com.products.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductChangeDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingRuleType;
+import com.products.dto.ProductRepricingStatus;
 import com.products.model.Product;
+import com.products.model.ProductRepricingJob;
+import com.products.model.ProductTombstone;
 import com.products.repository.ProductRepository;
+import com.products.repository.ProductRepricingJobRepository;
+import com.products.service.ProductRepricingService;
+import com.products.service.ProductService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -20,7 +37,10 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,14 +63,33 @@ public class ProductServiceIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepricingService productRepricingService;
+
+    @Autowired
+    private ProductRepricingJobRepository productRepricingJobRepository;
+
     @DynamicPropertySource
     static void setProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        // a single container is both writer and reader, so the change feed can follow it without a lag
+        registry.add("products.changes.settle", () -> "0s");
     }
 
     @BeforeEach
     void setup() {
         productRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.PRODUCT_JSON_CACHE).clear();
     }
 
     @AfterEach
@@ -98,6 +137,35 @@ public class ProductServiceIntegrationTest {
         assertEquals(productDto.getSkuCode(), products.get(0).getSkuCode());
     }
 
+    @Test
+    void shouldBulkUpsertProducts() throws Exception {
+        // Arrange
+        productRepository.save(createTestProduct());
+        ProductDto updatedProductDto = createTestProductDto();
+        updatedProductDto.setPrice(new BigDecimal("19.99"));
+        ProductDto newProductDto = createTestProductDto();
+        newProductDto.setSkuCode("TEST-SKU-456");
+        ProductDto invalidProductDto = createTestProductDto();
+        invalidProductDto.setSkuCode("TEST-SKU-789");
+        invalidProductDto.setProductName("");
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(updatedProductDto, newProductDto, invalidProductDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].status", is("UPDATED")))
+                .andExpect(jsonPath("$.items[1].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[2].status", is("INVALID")));
+
+        assertEquals(2, productRepository.count());
+        Product updatedProduct = productRepository.findBySkuCode("TEST-SKU-123").orElseThrow();
+        assertEquals(0, updatedProduct.getPrice().compareTo(new BigDecimal("19.99")));
+    }
+
     @Test
     void shouldGetAllProducts() throws Exception {
         // Arrange
@@ -115,6 +183,121 @@ public class ProductServiceIntegrationTest {
                 .andExpect(jsonPath("$[1].skuCode", is("TEST-SKU-456")));
     }
 
+    @Test
+    void shouldGetProductsPageByCursor() throws Exception {
+        // Arrange
+        productRepository.save(createTestProduct());
+        Product product2 = createTestProduct();
+        product2.setSkuCode("TEST-SKU-456");
+        productRepository.save(product2);
+
+        // Act & Assert
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/products/page").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].skuCode", is("TEST-SKU-123")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/page").param("size", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].skuCode", is("TEST-SKU-456")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void shouldFilterProductsByCategoryAndPriceRangeSortedByPrice() throws Exception {
+        // Arrange
+        productRepository.save(new Product("SKU-A", "Cheap", "Books", new BigDecimal("5.00"), "Vendor"));
+        productRepository.save(new Product("SKU-B", "Mid", "Books", new BigDecimal("15.00"), "Vendor"));
+        productRepository.save(new Product("SKU-C", "Dear", "Books", new BigDecimal("15.00"), "Vendor"));
+        productRepository.save(new Product("SKU-D", "Other", "Games", new BigDecimal("15.00"), "Vendor"));
+        productRepository.save(new Product("SKU-E", "Luxury", "Books", new BigDecimal("150.00"), "Vendor"));
+
+        // Act & Assert
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/products/filter")
+                        .param("category", "Books")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "100")
+                        .param("sort", "price")
+                        .param("direction", "desc")
+                        .param("size", "1")
+                        .param("fields", "productName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].skuCode", is("SKU-C")))
+                .andExpect(jsonPath("$.products[0].productName", is("Dear")))
+                .andExpect(jsonPath("$.products[0].category", nullValue()))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/filter")
+                        .param("category", "Books")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "100")
+                        .param("sort", "price")
+                        .param("direction", "desc")
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].skuCode", is("SKU-B")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void shouldSearchCreatedProductsByPrefix() throws Exception {
+        // Arrange
+        ProductDto laptop = new ProductDto("SKU-LAPTOP", "Gaming Laptop", "Computers", new BigDecimal("999.00"), "Acme");
+        ProductDto mouse = new ProductDto("SKU-MOUSE", "Gaming Mouse", "Accessories", new BigDecimal("49.00"), "Acme");
+        for (ProductDto productDto : List.of(laptop, mouse)) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(productDto)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/search").param("q", "gaming lap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].skuCode", is("SKU-LAPTOP")));
+
+        productService.deleteProduct("SKU-LAPTOP");
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/search").param("q", "gam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].skuCode", is("SKU-MOUSE")));
+    }
+
+    @Test
+    void shouldCountFacetsOfCreatedUpdatedAndDeletedProducts() throws Exception {
+        // Arrange
+        ProductDto tablet = new ProductDto("SKU-FACET-1", "Tablet", "Facet Tablets", new BigDecimal("299.00"), "Facet Vendor");
+        ProductDto phone = new ProductDto("SKU-FACET-2", "Phone", "Facet Tablets", new BigDecimal("499.00"), "Facet Vendor");
+        for (ProductDto productDto : List.of(tablet, phone)) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(productDto)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Act
+        phone.setCategory("Facet Phones");
+        productService.updateProduct("SKU-FACET-2", phone, null);
+        productService.deleteProduct("SKU-FACET-1");
+
+        // Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories['Facet Phones']", is(1)))
+                .andExpect(jsonPath("$.categories['Facet Tablets']").doesNotExist())
+                .andExpect(jsonPath("$.vendors['Facet Vendor']", is(1)));
+    }
+
     @Test
     void shouldGetProductBySkuCode() throws Exception {
         // Arrange
@@ -131,6 +314,21 @@ public class ProductServiceIntegrationTest {
                 .andExpect(jsonPath("$.vendor", is(testProduct.getVendor())));
     }
 
+    @Test
+    void shouldGetProductsBySkuCodes() throws Exception {
+        // Arrange
+        productRepository.save(createTestProduct());
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCodes\":[\"TEST-SKU-123\",\"NON-EXISTENT-SKU\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(1)))
+                .andExpect(jsonPath("$.found[0].skuCode", is("TEST-SKU-123")))
+                .andExpect(jsonPath("$.missing", contains("NON-EXISTENT-SKU")));
+    }
+
     @Test
     void shouldUpdateProduct() throws Exception {
         // Arrange
@@ -155,6 +353,210 @@ public class ProductServiceIntegrationTest {
         assertEquals(0, updatedProduct.getPrice().compareTo(new BigDecimal("39.99")));
     }
 
+    @Test
+    void shouldPatchOnlyProvidedFields() throws Exception {
+        // Arrange
+        Product testProduct = createTestProduct();
+        productRepository.save(testProduct);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/products/{skuCode}", testProduct.getSkuCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\":12.50}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.productName", is(testProduct.getProductName())))
+                .andExpect(jsonPath("$.price", is(12.5)));
+
+        Product patchedProduct = productRepository.findBySkuCode(testProduct.getSkuCode()).orElseThrow();
+        assertEquals(testProduct.getVendor(), patchedProduct.getVendor());
+        assertEquals(0, patchedProduct.getPrice().compareTo(new BigDecimal("12.50")));
+    }
+
+    @Test
+    void shouldAnswerConditionalRequestsWithETags() throws Exception {
+        // Arrange
+        Product testProduct = createTestProduct();
+        productRepository.save(testProduct);
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", testProduct.getSkuCode()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ProductDto updatedProductDto = createTestProductDto();
+        updatedProductDto.setProductName("Updated Product Name");
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", testProduct.getSkuCode())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String updatedETag = mockMvc.perform(MockMvcRequestBuilders.put("/api/products/{skuCode}", testProduct.getSkuCode())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedProductDto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updatedETag);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/products/{skuCode}", testProduct.getSkuCode())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestProductDto())))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/products/{skuCode}", testProduct.getSkuCode())
+                .header(HttpHeaders.IF_MATCH, updatedETag.substring(0, updatedETag.indexOf('-')) + "-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTestProductDto())))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/{skuCode}", testProduct.getSkuCode())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag))
+                .andExpect(jsonPath("$.productName", is("Updated Product Name")));
+        assertEquals(1L, productRepository.findBySkuCode(testProduct.getSkuCode()).orElseThrow().getVersion());
+    }
+
+
+    @Test
+    void shouldReturnOnlyChangesAfterToken() throws Exception {
+        // Arrange
+        productService.createProduct(createTestProductDto());
+        String since = productService.getChanges(null, 1000).getNextToken();
+
+        ProductDto otherProductDto = createTestProductDto();
+        otherProductDto.setSkuCode("TEST-SKU-456");
+        ProductDto patch = new ProductDto();
+        patch.setPrice(new BigDecimal("19.99"));
+        productService.patchProduct("TEST-SKU-123", patch, null);
+        productService.deleteProduct("TEST-SKU-123");
+        productService.createProduct(otherProductDto);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].skuCode", is("TEST-SKU-123")))
+                .andExpect(jsonPath("$.changes[0].type", is("DELETED")))
+                .andExpect(jsonPath("$.changes[1].skuCode", is("TEST-SKU-456")))
+                .andExpect(jsonPath("$.changes[1].type", is("UPSERTED")))
+                .andExpect(jsonPath("$.changes[1].product.productName", is("Test Product")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void shouldHoldBackChangesNewerThanTheCommittedWatermark() {
+        // Arrange: a write stamped ahead of the database clock is still inside the settle window
+        productService.createProduct(createTestProductDto());
+        String since = productService.getChanges(null, 1000).getNextToken();
+        ProductDto otherProductDto = createTestProductDto();
+        otherProductDto.setSkuCode("TEST-SKU-456");
+        productService.createProduct(otherProductDto);
+        Query other = Query.query(Criteria.where("skuCode").is("TEST-SKU-456"));
+        long stamped = mongoTemplate.findOne(other, Product.class).getChangeSeq();
+        mongoTemplate.updateFirst(other, new Update().set("changeSeq", stamped + 60_000), Product.class);
+
+        // Act & Assert
+        assertTrue(productService.getChanges(since, 1000).getChanges().isEmpty());
+        mongoTemplate.updateFirst(other, new Update().set("changeSeq", stamped), Product.class);
+        assertEquals(List.of("TEST-SKU-456"), productService.getChanges(since, 1000).getChanges().stream()
+                .map(ProductChangeDto::getSkuCode).toList());
+    }
+
+    @Test
+    void shouldSkipTombstoneOfADeleteThatNeverRemovedTheProduct() {
+        // Arrange: the tombstone landed but the remove after it did not
+        productService.createProduct(createTestProductDto());
+        String since = productService.getChanges(null, 1000).getNextToken();
+        long stamped = productRepository.findBySkuCode("TEST-SKU-123").orElseThrow().getChangeSeq();
+        mongoTemplate.save(new ProductTombstone("TEST-SKU-123", stamped + 1, Instant.now()));
+
+        // Act & Assert
+        assertTrue(productService.getChanges(since, 1000).getChanges().isEmpty());
+        assertTrue(productService.productExists("TEST-SKU-123"));
+    }
+
+    @Test
+    void shouldNotPublishADeleteOfAnUnknownSku() throws Exception {
+        // Act
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/products/TEST-SKU-404"))
+                .andExpect(status().isNotFound());
+
+        // Assert
+        assertEquals(0, mongoTemplate.count(new Query(), ProductTombstone.class));
+        assertTrue(productService.getChanges(null, 1000).getChanges().isEmpty());
+    }
+
+    @Test
+    void shouldPageProductsByPopularity() throws Exception {
+        // Arrange
+        for (String skuCode : List.of("TEST-SKU-1", "TEST-SKU-2", "TEST-SKU-3")) {
+            ProductDto productDto = createTestProductDto();
+            productDto.setSkuCode(skuCode);
+            productService.createProduct(productDto);
+        }
+        productRepository.incrementPopularity(Map.of("TEST-SKU-1", 1.5, "TEST-SKU-3", 4.25));
+
+        // Act & Assert
+        String cursor = objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.get("/api/products/filter")
+                        .param("sort", "popularity")
+                        .param("direction", "desc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[*].skuCode", contains("TEST-SKU-3", "TEST-SKU-1")))
+                .andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/filter")
+                        .param("sort", "popularity")
+                        .param("direction", "desc")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[*].skuCode", contains("TEST-SKU-2")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void shouldRepriceMatchingProductsOnceEvenWhenResumed() throws Exception {
+        // Arrange
+        productService.createProduct(createTestProductDto());
+        ProductDto otherCategoryDto = createTestProductDto();
+        otherCategoryDto.setSkuCode("TEST-SKU-456");
+        otherCategoryDto.setCategory("Other Category");
+        productService.createProduct(otherCategoryDto);
+        ProductRepricingRequestDto request = new ProductRepricingRequestDto("Test Category", null, null, null,
+                new ProductRepricingRuleDto(ProductRepricingRuleType.PERCENTAGE, new BigDecimal("10"), 2, RoundingMode.HALF_UP));
+
+        // Act
+        String jobId = objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.post("/api/products/repricing-jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.matched", is(1)))
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+        awaitRepricing(jobId);
+
+        // a run cut off before its first checkpoint starts over, products it already wrote must be skipped
+        ProductRepricingJob job = productRepricingJobRepository.findById(jobId).orElseThrow();
+        job.setStatus(ProductRepricingStatus.FAILED);
+        job.setLastSkuCode(null);
+        productRepricingJobRepository.save(job);
+        productRepricingService.resumeJob(jobId);
+        awaitRepricing(jobId);
+
+        // Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/repricing-jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.repriced", is(1)));
+        assertEquals(0, productRepository.findBySkuCode("TEST-SKU-123").orElseThrow().getPrice()
+                .compareTo(new BigDecimal("32.99")));
+        assertEquals(0, productRepository.findBySkuCode("TEST-SKU-456").orElseThrow().getPrice()
+                .compareTo(new BigDecimal("29.99")));
+    }
 
     @Test
     void shouldCheckIfProductExists() throws Exception {
@@ -186,4 +588,14 @@ public class ProductServiceIntegrationTest {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/products/NON-EXISTENT-SKU"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    private void awaitRepricing(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (productRepricingService.getJob(jobId).getStatus() != ProductRepricingStatus.RUNNING) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("repricing job " + jobId + " did not finish");
+    }
+}
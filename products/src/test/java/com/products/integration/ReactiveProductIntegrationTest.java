@@ -0,0 +1,91 @@
+package com.products.integration;
+
+import com.products.dto.ProductDto;
+import com.products.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@Testcontainers
+@AutoConfigureWebTestClient
+public class ReactiveProductIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:5.0.9");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeTheProductApiReactively() {
+        ProductDto productDto = new ProductDto("SKU-REACTIVE", "Reactive Laptop", "Electronics",
+                new BigDecimal("999.99"), "Dell");
+
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(productDto)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/api/products/SKU-REACTIVE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productName").isEqualTo("Reactive Laptop")
+                .jsonPath("$.price").isEqualTo(999.99);
+
+        webTestClient.get().uri("/api/products/page?size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products[0].skuCode").isEqualTo("SKU-REACTIVE");
+
+        webTestClient.get().uri("/api/products/search?q=reac")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].skuCode").isEqualTo("SKU-REACTIVE");
+
+        webTestClient.get().uri("/api/products/SKU-REACTIVE/exists")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class).isEqualTo(true);
+
+        webTestClient.delete().uri("/api/products/SKU-REACTIVE")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/products/SKU-REACTIVE")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(404);
+    }
+}
@@ -0,0 +1,33 @@
+package com.products.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductQueriesTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    /**
+     * Test {@link ProductQueries#committedChangeSeq(Date, Duration)}.
+     * <ul>
+     *   <li>Given the server clock and the settle lag.</li>
+     *   <li>Then stop the settle lag behind the server clock, so a write stamped since is not read yet.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductQueries#committedChangeSeq(Date, Duration)}
+     */
+    @Test
+    @DisplayName("Test committedChangeSeq(Date, Duration); given a settle lag; then stop that far behind the server clock")
+    void testCommittedChangeSeq_givenSettleLag_thenStopThatFarBehindServerClock() {
+        // Act and Assert
+        assertEquals(NOW.minusSeconds(5).toEpochMilli(),
+                ProductQueries.committedChangeSeq(Date.from(NOW), Duration.ofSeconds(5)));
+        assertEquals(NOW.toEpochMilli(), ProductQueries.committedChangeSeq(Date.from(NOW), Duration.ZERO));
+    }
+}
@@ -0,0 +1,354 @@
+package com.products.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.products.config.CacheConfig;
+import com.products.dto.ProductDto;
+import com.products.dto.ProductRepricingJobDto;
+import com.products.dto.ProductRepricingRequestDto;
+import com.products.dto.ProductRepricingRuleDto;
+import com.products.dto.ProductRepricingRuleType;
+import com.products.dto.ProductRepricingStatus;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductSearchIndex;
+import com.products.model.Product;
+import com.products.model.ProductRepricingJob;
+import com.products.repository.ProductRepository;
+import com.products.repository.ProductRepricingJobRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ProductRepricingServiceImplementationTest {
+
+    private ProductRepository productRepository;
+    private ProductRepricingJobRepository repricingJobRepository;
+    private ExecutorService executor;
+    private CacheManager cacheManager;
+    private ProductRepricingServiceImplementation productRepricingService;
+    private ProductRepricingJob storedJob;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        repricingJobRepository = mock(ProductRepricingJobRepository.class);
+        executor = mock(ExecutorService.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_JSON_CACHE);
+        productRepricingService = new ProductRepricingServiceImplementation(productRepository, repricingJobRepository,
+                mock(ProductSearchIndex.class), cacheManager, executor);
+
+        // jobs run inline and the repository hands back the one stored job, as Mongo would by id
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        when(repricingJobRepository.save(any())).thenAnswer(invocation -> {
+            storedJob = invocation.getArgument(0);
+            if (storedJob.getId() == null) {
+                storedJob.setId("job-1");
+            }
+            return storedJob;
+        });
+        when(repricingJobRepository.findById("job-1")).thenAnswer(invocation -> Optional.ofNullable(storedJob));
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given a percentage rule rounding half up to cents.</li>
+     *   <li>Then reprice every matching product in bulk and complete the job.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given percentage rule; then reprice and complete")
+    void testStartJob_givenPercentageRule_thenRepriceAndComplete() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "10");
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put("SKU-1", new ProductDto());
+        when(productRepository.countForRepricing(request)).thenReturn(2L);
+        when(productRepository.streamForRepricing(request, null, "job-1"))
+                .thenReturn(Stream.of(product("SKU-1", "10.00"), product("SKU-2", "19.99")));
+        when(productRepository.repriceAll(anyList(), eq("job-1"))).thenReturn(modified(2));
+
+        // Act
+        ProductRepricingJobDto actualJob = productRepricingService.startJob(request);
+
+        // Assert
+        assertEquals("job-1", actualJob.getId());
+        assertEquals(2L, actualJob.getMatched());
+        ArgumentCaptor<List<Product>> repriced = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).repriceAll(repriced.capture(), eq("job-1"));
+        assertEquals(List.of(new BigDecimal("11.00"), new BigDecimal("21.99")),
+                repriced.getValue().stream().map(Product::getPrice).toList());
+        assertEquals(ProductRepricingStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(2L, storedJob.getProcessed());
+        assertEquals(2L, storedJob.getRepriced());
+        assertEquals(0L, storedJob.getFailed());
+        assertEquals("SKU-2", storedJob.getLastSkuCode());
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get("SKU-1"));
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given an absolute rule that would take one price below zero and a concurrent edit on another.</li>
+     *   <li>Then count the negative one as failed and reprice the edited one from its current price.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given negative result and concurrent edit; then retry the edited product")
+    void testStartJob_givenNegativeResultAndConcurrentEdit_thenRetryTheEditedProduct() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.ABSOLUTE, "-15");
+        when(productRepository.streamForRepricing(request, null, "job-1"))
+                .thenReturn(Stream.of(product("SKU-1", "10.00"), product("SKU-2", "20.00"), product("SKU-3", "30.00")));
+        when(productRepository.repriceAll(anyList(), eq("job-1"))).thenReturn(modified(1));
+        when(productRepository.findForRepricing(request, List.of("SKU-2", "SKU-3"), "job-1"))
+                .thenReturn(List.of(product("SKU-3", "40.00")));
+
+        // Act
+        productRepricingService.startJob(request);
+
+        // Assert
+        ArgumentCaptor<List<Product>> repriced = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, times(2)).repriceAll(repriced.capture(), eq("job-1"));
+        assertEquals(List.of("SKU-2", "SKU-3"), repriced.getAllValues().get(0).stream().map(Product::getSkuCode).toList());
+        assertEquals(new BigDecimal("5.00"), repriced.getAllValues().get(0).get(0).getPrice());
+        assertEquals(List.of("SKU-3"), repriced.getAllValues().get(1).stream().map(Product::getSkuCode).toList());
+        assertEquals(new BigDecimal("25.00"), repriced.getAllValues().get(1).get(0).getPrice());
+        assertEquals(ProductRepricingStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(3L, storedJob.getProcessed());
+        assertEquals(2L, storedJob.getRepriced());
+        assertEquals(1L, storedJob.getFailed());
+        assertEquals("SKU-3", storedJob.getLastSkuCode());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given a product that is edited again before every repricing attempt.</li>
+     *   <li>Then give up after the last attempt and count it as failed.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given product edited on every attempt; then count it failed")
+    void testStartJob_givenProductEditedOnEveryAttempt_thenCountItFailed() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "10");
+        when(productRepository.streamForRepricing(request, null, "job-1"))
+                .thenReturn(Stream.of(product("SKU-1", "10.00")));
+        when(productRepository.repriceAll(anyList(), eq("job-1"))).thenReturn(modified(0));
+        when(productRepository.findForRepricing(request, List.of("SKU-1"), "job-1"))
+                .thenAnswer(invocation -> List.of(product("SKU-1", "10.00")));
+
+        // Act
+        productRepricingService.startJob(request);
+
+        // Assert
+        verify(productRepository, times(3)).repriceAll(anyList(), eq("job-1"));
+        assertEquals(ProductRepricingStatus.COMPLETED, storedJob.getStatus());
+        assertEquals(0L, storedJob.getRepriced());
+        assertEquals(1L, storedJob.getFailed());
+        assertEquals("SKU-1", storedJob.getLastSkuCode());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given a percentage of -100.</li>
+     *   <li>Then throw {@link BadRequestException} without creating a job.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given percentage of -100; then throw BadRequestException")
+    void testStartJob_givenPercentageOfMinus100_thenThrowBadRequestException() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "-100");
+
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> productRepricingService.startJob(request));
+        verify(repricingJobRepository, never()).save(any());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}.
+     * <ul>
+     *   <li>Given the bulk write fails.</li>
+     *   <li>Then mark the job failed with the error, keeping the last checkpoint.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#startJob(ProductRepricingRequestDto)}
+     */
+    @Test
+    @DisplayName("Test startJob(ProductRepricingRequestDto); given bulk write fails; then mark the job failed")
+    void testStartJob_givenBulkWriteFails_thenMarkJobFailed() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "10");
+        when(productRepository.streamForRepricing(request, null, "job-1"))
+                .thenReturn(Stream.of(product("SKU-1", "10.00")));
+        when(productRepository.repriceAll(anyList(), eq("job-1"))).thenThrow(new IllegalStateException("Mongo is down"));
+
+        // Act
+        productRepricingService.startJob(request);
+
+        // Assert
+        assertEquals(ProductRepricingStatus.FAILED, storedJob.getStatus());
+        assertEquals("Mongo is down", storedJob.getError());
+        assertNull(storedJob.getLastSkuCode());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#resumeJob(String)}.
+     * <ul>
+     *   <li>Given a failed job with a checkpoint.</li>
+     *   <li>Then continue streaming after the checkpoint and complete the job.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#resumeJob(String)}
+     */
+    @Test
+    @DisplayName("Test resumeJob(String); given failed job with checkpoint; then continue after checkpoint")
+    void testResumeJob_givenFailedJobWithCheckpoint_thenContinueAfterCheckpoint() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "10");
+        storedJob = job(ProductRepricingStatus.FAILED, request);
+        when(productRepository.streamForRepricing(request, "SKU-1", "job-1"))
+                .thenReturn(Stream.of(product("SKU-2", "20.00")));
+        when(productRepository.repriceAll(anyList(), eq("job-1"))).thenReturn(modified(1));
+
+        // Act
+        productRepricingService.resumeJob("job-1");
+
+        // Assert
+        assertEquals(ProductRepricingStatus.COMPLETED, storedJob.getStatus());
+        assertNull(storedJob.getError());
+        assertEquals(2L, storedJob.getProcessed());
+        assertEquals(2L, storedJob.getRepriced());
+        assertEquals("SKU-2", storedJob.getLastSkuCode());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#resumeJob(String)}.
+     * <ul>
+     *   <li>Given a completed job.</li>
+     *   <li>Then return it without running it again.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#resumeJob(String)}
+     */
+    @Test
+    @DisplayName("Test resumeJob(String); given completed job; then do not run it again")
+    void testResumeJob_givenCompletedJob_thenDoNotRunItAgain() {
+        // Arrange
+        storedJob = job(ProductRepricingStatus.COMPLETED, request(ProductRepricingRuleType.PERCENTAGE, "10"));
+
+        // Act
+        ProductRepricingJobDto actualJob = productRepricingService.resumeJob("job-1");
+
+        // Assert
+        assertEquals(ProductRepricingStatus.COMPLETED, actualJob.getStatus());
+        verify(executor, never()).execute(any());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#resumeInterruptedJobs()}.
+     * <ul>
+     *   <li>Given a job left running by the last shutdown.</li>
+     *   <li>Then run it from its checkpoint.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#resumeInterruptedJobs()}
+     */
+    @Test
+    @DisplayName("Test resumeInterruptedJobs(); given job left running; then run it from its checkpoint")
+    void testResumeInterruptedJobs_givenJobLeftRunning_thenRunItFromCheckpoint() {
+        // Arrange
+        ProductRepricingRequestDto request = request(ProductRepricingRuleType.PERCENTAGE, "10");
+        storedJob = job(ProductRepricingStatus.RUNNING, request);
+        when(repricingJobRepository.findByStatus(ProductRepricingStatus.RUNNING)).thenReturn(List.of(storedJob));
+        when(productRepository.streamForRepricing(request, "SKU-1", "job-1")).thenReturn(Stream.empty());
+
+        // Act
+        productRepricingService.resumeInterruptedJobs();
+
+        // Assert
+        verify(productRepository).streamForRepricing(request, "SKU-1", "job-1");
+        assertEquals(ProductRepricingStatus.COMPLETED, storedJob.getStatus());
+    }
+
+    /**
+     * Test {@link ProductRepricingServiceImplementation#getJob(String)}.
+     * <ul>
+     *   <li>Given an unknown job id.</li>
+     *   <li>Then throw {@link ProductNotFoundException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductRepricingServiceImplementation#getJob(String)}
+     */
+    @Test
+    @DisplayName("Test getJob(String); given unknown job; then throw ProductNotFoundException")
+    void testGetJob_givenUnknownJob_thenThrowProductNotFoundException() {
+        // Act and Assert
+        assertThrows(ProductNotFoundException.class, () -> productRepricingService.getJob("job-1"));
+    }
+
+    private static ProductRepricingRequestDto request(ProductRepricingRuleType type, String amount) {
+        return new ProductRepricingRequestDto("Category", null, null, null,
+                new ProductRepricingRuleDto(type, new BigDecimal(amount), 2, RoundingMode.HALF_UP));
+    }
+
+    private static ProductRepricingJob job(ProductRepricingStatus status, ProductRepricingRequestDto request) {
+        ProductRepricingJob job = new ProductRepricingJob();
+        job.setId("job-1");
+        job.setStatus(status);
+        job.setRequest(request);
+        job.setMatched(2);
+        job.setProcessed(1);
+        job.setRepriced(1);
+        job.setLastSkuCode("SKU-1");
+        job.setError(status == ProductRepricingStatus.FAILED ? "Mongo is down" : null);
+        return job;
+    }
+
+    private static Product product(String skuCode, String price) {
+        Product product = new Product(skuCode, "Product Name", "Category", new BigDecimal(price), "Vendor");
+        product.setVersion(1L);
+        return product;
+    }
+
+    private static BulkWriteResult modified(int count) {
+        return BulkWriteResult.acknowledged(0, count, 0, count, List.of(), List.of());
+    }
+}
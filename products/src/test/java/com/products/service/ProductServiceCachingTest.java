@@ -0,0 +1,152 @@
+package com.products.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.products.config.CacheConfig;
+import com.products.dto.ProductDto;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
+import com.products.model.Product;
+import com.products.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ContextConfiguration(classes = {ProductServiceImplementation.class, CacheConfig.class})
+@ImportAutoConfiguration({CacheAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "spring.cache.cache-names=products,product-json",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class ProductServiceCachingTest {
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private SkuBloomFilter skuBloomFilter;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockBean
+    private ProductFacetCounters productFacetCounters;
+
+    @MockBean
+    private ProductCooccurrenceIndex productCooccurrenceIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).clear();
+    }
+
+    private Product createProduct() {
+        return new Product("SKU-1", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getBySkuName(String)}.
+     * <ul>
+     *   <li>When called twice for the same SKU.</li>
+     *   <li>Then calls {@link ProductRepository#findBySkuCode(String)} once.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getBySkuName(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuName(String); when called twice; then calls findBySkuCode(String) once")
+    void testGetBySkuName_whenCalledTwice_thenCallsFindBySkuCodeOnce() {
+        // Arrange
+        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(Optional.of(createProduct()));
+
+        // Act
+        productService.getBySkuName("SKU-1");
+        ProductDto actualProduct = productService.getBySkuName("SKU-1");
+
+        // Assert
+        verify(productRepository, times(1)).findBySkuCode(eq("SKU-1"));
+        assertEquals("Product Name", actualProduct.getProductName());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given cached product.</li>
+     *   <li>Then next lookup reads from {@link ProductRepository#findBySkuCode(String)}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); given cached product; then evicts cache entry")
+    void testUpdateProduct_givenCachedProduct_thenEvictsCacheEntry() {
+        // Arrange
+        Product product = createProduct();
+        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(Optional.of(product));
+        when(productRepository.updateBySkuCode(Mockito.<String>any(), Mockito.<Product>any(), Mockito.any()))
+                .thenReturn(product);
+        productService.getBySkuName("SKU-1");
+
+        // Act
+        productService.updateProduct("SKU-1",
+                new ProductDto("SKU-1", "Updated Name", "Category", new BigDecimal("2.3"), "Vendor"), null);
+        productService.getBySkuName("SKU-1");
+
+        // Assert
+        verify(productRepository, times(2)).findBySkuCode(eq("SKU-1"));
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#deleteProduct(String)}.
+     * <ul>
+     *   <li>Given cached product.</li>
+     *   <li>Then cache entry is removed.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#deleteProduct(String)}
+     */
+    @Test
+    @DisplayName("Test deleteProduct(String); given cached product; then evicts cache entry")
+    void testDeleteProduct_givenCachedProduct_thenEvictsCacheEntry() {
+        // Arrange
+        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(Optional.of(createProduct()));
+        when(productRepository.deleteOneBySkuCode("SKU-1")).thenReturn(true);
+        productService.getBySkuName("SKU-1");
+
+        // Act
+        productService.deleteProduct("SKU-1");
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get("SKU-1"));
+    }
+}
@@ -2,46 +2,104 @@ package com.products.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.products.dto.ProductBatchResponseDto;
+import com.products.dto.ProductBulkItemStatus;
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
 import com.products.dto.ProductDto;
+import com.products.dto.ProductFacetsDto;
+import com.products.dto.ProductFilterDto;
+import com.products.dto.ProductPageDto;
+import com.products.dto.ProductRelatedDto;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.PreconditionFailedException;
 import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
 import com.products.model.Product;
+import com.products.model.ProductTombstone;
 import com.products.repository.ProductRepository;
+import com.products.utils.ProductChangeToken;
+import com.products.utils.ProductCursor;
+import com.products.utils.ProductETags;
+import com.products.utils.ProductTypeConversion;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-@ContextConfiguration(classes = {ProductServiceImplementation.class})
+@ContextConfiguration(classes = {ProductServiceImplementation.class, ValidationAutoConfiguration.class})
 @ExtendWith(SpringExtension.class)
 @DisabledInAotMode
 class ProductServiceImplementationTest {
     @MockBean
     private ProductRepository productRepository;
 
+    @MockBean
+    private SkuBloomFilter skuBloomFilter;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockBean
+    private ProductFacetCounters productFacetCounters;
+
+    @MockBean
+    private ProductCooccurrenceIndex productCooccurrenceIndex;
+
     @Autowired
     private ProductServiceImplementation productServiceImplementation;
 
@@ -178,6 +236,430 @@ class ProductServiceImplementationTest {
         verify(productRepository).findAll();
     }
 
+    /**
+     * Test {@link ProductServiceImplementation#getProductsPage(String, int)}.
+     * <ul>
+     *   <li>Given one more product than the page size.</li>
+     *   <li>Then return next cursor of the last product on the page.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int); given more products than size; then return next cursor")
+    void testGetProductsPage_givenMoreProductsThanSize_thenReturnNextCursor() {
+        // Arrange
+        Product product = new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor");
+        Product product2 = new Product("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productRepository.findAllBy(Mockito.<Pageable>any())).thenReturn(List.of(product, product2));
+
+        // Act
+        ProductPageDto actualPage = productServiceImplementation.getProductsPage(null, 1);
+
+        // Assert
+        verify(productRepository).findAllBy(eq(PageRequest.of(0, 2, Sort.by("skuCode"))));
+        assertEquals(1, actualPage.getProducts().size());
+        assertEquals("SKU-1", actualPage.getProducts().get(0).getSkuCode());
+        assertEquals("SKU-1", ProductCursor.decode(actualPage.getNextCursor()));
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getProductsPage(String, int)}.
+     * <ul>
+     *   <li>Given cursor of {@code SKU-1}.</li>
+     *   <li>Then return last page without next cursor.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int); given cursor; then return last page")
+    void testGetProductsPage_givenCursor_thenReturnLastPage() {
+        // Arrange
+        Product product = new Product("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productRepository.findBySkuCodeGreaterThan(Mockito.<String>any(), Mockito.<Pageable>any()))
+                .thenReturn(List.of(product));
+
+        // Act
+        ProductPageDto actualPage = productServiceImplementation.getProductsPage(ProductCursor.encode("SKU-1"), 10);
+
+        // Assert
+        verify(productRepository).findBySkuCodeGreaterThan(eq("SKU-1"), eq(PageRequest.of(0, 11, Sort.by("skuCode"))));
+        assertEquals(1, actualPage.getProducts().size());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getProductsPage(String, int)}.
+     * <ul>
+     *   <li>When size is zero.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int); when size is zero; then throw BadRequestException")
+    void testGetProductsPage_whenSizeIsZero_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.getProductsPage(null, 0));
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getChanges(String, int)}.
+     * <ul>
+     *   <li>Given products and tombstones changed after the token.</li>
+     *   <li>Then return them merged in change order with the token of the last one.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getChanges(String, int)}
+     */
+    @Test
+    @DisplayName("Test getChanges(String, int); given products and tombstones; then merge them in change order")
+    void testGetChanges_givenProductsAndTombstones_thenMergeThemInChangeOrder() {
+        // Arrange
+        Product product = new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor");
+        product.setChangeSeq(5L);
+        Product product2 = new Product("SKU-3", "Third", "Category", new BigDecimal("2.3"), "Vendor");
+        product2.setChangeSeq(8L);
+        ProductTombstone tombstone = new ProductTombstone("SKU-2", 6L, Instant.EPOCH);
+        when(productRepository.committedChangeSeq()).thenReturn(9L);
+        when(productRepository.findChangedAfter(Mockito.<Long>any(), Mockito.<String>any(), Mockito.anyLong(),
+                Mockito.anyInt()))
+                .thenReturn(List.of(product, product2));
+        when(productRepository.findTombstonesAfter(Mockito.<Long>any(), Mockito.<String>any(), Mockito.anyLong(),
+                Mockito.anyInt()))
+                .thenReturn(List.of(tombstone));
+
+        // Act
+        ProductChangesDto actualChanges = productServiceImplementation.getChanges(ProductChangeToken.encode(4L, "SKU-9"), 2);
+
+        // Assert
+        verify(productRepository).findChangedAfter(eq(4L), eq("SKU-9"), eq(9L), eq(3));
+        verify(productRepository).findTombstonesAfter(eq(4L), eq("SKU-9"), eq(9L), eq(3));
+        assertEquals(2, actualChanges.getChanges().size());
+        assertEquals(ProductChangeType.UPSERTED, actualChanges.getChanges().get(0).getType());
+        assertEquals("First", actualChanges.getChanges().get(0).getProduct().getProductName());
+        assertEquals(ProductChangeType.DELETED, actualChanges.getChanges().get(1).getType());
+        assertEquals("SKU-2", actualChanges.getChanges().get(1).getSkuCode());
+        assertNull(actualChanges.getChanges().get(1).getProduct());
+        assertEquals(ProductChangeToken.encode(6L, "SKU-2"), actualChanges.getNextToken());
+        assertTrue(actualChanges.isHasMore());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getChanges(String, int)}.
+     * <ul>
+     *   <li>Given nothing changed after the token.</li>
+     *   <li>Then return the same token so the consumer can poll again.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getChanges(String, int)}
+     */
+    @Test
+    @DisplayName("Test getChanges(String, int); given no changes; then return the same token")
+    void testGetChanges_givenNoChanges_thenReturnSameToken() {
+        // Arrange
+        String since = ProductChangeToken.encode(4L, "SKU-9");
+        when(productRepository.findChangedAfter(Mockito.<Long>any(), Mockito.<String>any(), Mockito.anyLong(),
+                Mockito.anyInt()))
+                .thenReturn(List.of());
+        when(productRepository.findTombstonesAfter(Mockito.<Long>any(), Mockito.<String>any(), Mockito.anyLong(),
+                Mockito.anyInt()))
+                .thenReturn(List.of());
+
+        // Act
+        ProductChangesDto actualChanges = productServiceImplementation.getChanges(since, 100);
+
+        // Assert
+        assertTrue(actualChanges.getChanges().isEmpty());
+        assertEquals(since, actualChanges.getNextToken());
+        assertFalse(actualChanges.isHasMore());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getChanges(String, int)}.
+     * <ul>
+     *   <li>When token is not a change token.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getChanges(String, int)}
+     */
+    @Test
+    @DisplayName("Test getChanges(String, int); when token is not a change token; then throw BadRequestException")
+    void testGetChanges_whenTokenIsNotAChangeToken_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class,
+                () -> productServiceImplementation.getChanges(ProductCursor.encode("SKU-1"), 100));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getChanges(String, int)}.
+     * <ul>
+     *   <li>Given a token older than the tombstone retention.</li>
+     *   <li>Then throw {@link BadRequestException} instead of silently missing deletes.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getChanges(String, int)}
+     */
+    @Test
+    @DisplayName("Test getChanges(String, int); given a token older than the tombstone retention; then throw BadRequestException")
+    void testGetChanges_givenTokenOlderThanTombstoneRetention_thenThrowBadRequestException() {
+        // Arrange
+        long committed = Instant.parse("2026-03-01T00:00:00Z").toEpochMilli();
+        long expired = committed - ProductTombstone.RETENTION_PERIOD.toMillis() - 1;
+        when(productRepository.committedChangeSeq()).thenReturn(committed);
+
+        // Act and Assert
+        assertThrows(BadRequestException.class,
+                () -> productServiceImplementation.getChanges(ProductChangeToken.encode(expired, "SKU-1"), 100));
+        verify(productRepository, never()).findChangedAfter(Mockito.<Long>any(), Mockito.<String>any(),
+                Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}.
+     * <ul>
+     *   <li>Given sort by popularity and a popularity cursor.</li>
+     *   <li>Then query after the cursor key and return the next popularity cursor.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ProductFilterDto); given sort by popularity and cursor; then return next popularity cursor")
+    void testFilterProducts_givenSortByPopularityAndCursor_thenReturnNextPopularityCursor() {
+        // Arrange
+        Product product = new Product("SKU-2", "Second", "Category", new BigDecimal("3.5"), "Vendor");
+        product.setPopularity(12.75);
+        Product product2 = new Product("SKU-3", "Third", "Category", new BigDecimal("4.5"), "Vendor");
+        when(productRepository.findByFilter(Mockito.<ProductFilterDto>any(), Mockito.<BigDecimal>any(),
+                Mockito.<String>any(), Mockito.anyInt())).thenReturn(List.of(product, product2));
+        ProductFilterDto filter = new ProductFilterDto(null, null, null, null,
+                "popularity", "desc", ProductCursor.encode(new BigDecimal("40.5"), "SKU-1"), 1, null);
+
+        // Act
+        ProductPageDto actualPage = productServiceImplementation.filterProducts(filter);
+
+        // Assert
+        verify(productRepository).findByFilter(eq(filter), eq(new BigDecimal("40.5")), eq("SKU-1"), eq(2));
+        assertEquals("SKU-2", actualPage.getProducts().get(0).getSkuCode());
+        assertEquals(new ProductCursor.PriceKey(new BigDecimal("12.75"), "SKU-2"),
+                ProductCursor.decodePriceKey(actualPage.getNextCursor()));
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}.
+     * <ul>
+     *   <li>Given sort by price and a price cursor.</li>
+     *   <li>Then query after the cursor key and return the next price cursor.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ProductFilterDto); given sort by price and cursor; then return next price cursor")
+    void testFilterProducts_givenSortByPriceAndCursor_thenReturnNextPriceCursor() {
+        // Arrange
+        Product product = new Product("SKU-2", "Second", "Category", new BigDecimal("3.5"), "Vendor");
+        Product product2 = new Product("SKU-3", "Third", "Category", new BigDecimal("4.5"), "Vendor");
+        when(productRepository.findByFilter(Mockito.<ProductFilterDto>any(), Mockito.<BigDecimal>any(),
+                Mockito.<String>any(), Mockito.anyInt())).thenReturn(List.of(product, product2));
+        ProductFilterDto filter = new ProductFilterDto("Category", null, new BigDecimal("1"), new BigDecimal("10"),
+                "price", "asc", ProductCursor.encode(new BigDecimal("2.5"), "SKU-1"), 1, null);
+
+        // Act
+        ProductPageDto actualPage = productServiceImplementation.filterProducts(filter);
+
+        // Assert
+        verify(productRepository).findByFilter(eq(filter), eq(new BigDecimal("2.5")), eq("SKU-1"), eq(2));
+        assertEquals(1, actualPage.getProducts().size());
+        assertEquals("SKU-2", actualPage.getProducts().get(0).getSkuCode());
+        assertEquals(new ProductCursor.PriceKey(new BigDecimal("3.5"), "SKU-2"),
+                ProductCursor.decodePriceKey(actualPage.getNextCursor()));
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}.
+     * <ul>
+     *   <li>Given default sort by SKU code and a SKU cursor.</li>
+     *   <li>Then return last page without next cursor.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ProductFilterDto); given sort by skuCode and cursor; then return last page")
+    void testFilterProducts_givenSortBySkuCodeAndCursor_thenReturnLastPage() {
+        // Arrange
+        Product product = new Product("SKU-2", "Second", "Category", new BigDecimal("3.5"), "Vendor");
+        when(productRepository.findByFilter(Mockito.<ProductFilterDto>any(), Mockito.<BigDecimal>any(),
+                Mockito.<String>any(), Mockito.anyInt())).thenReturn(List.of(product));
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setVendor("Vendor");
+        filter.setCursor(ProductCursor.encode("SKU-1"));
+
+        // Act
+        ProductPageDto actualPage = productServiceImplementation.filterProducts(filter);
+
+        // Assert
+        verify(productRepository).findByFilter(eq(filter), isNull(), eq("SKU-1"), eq(101));
+        assertEquals(1, actualPage.getProducts().size());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}.
+     * <ul>
+     *   <li>When sort, direction, fields or price range are invalid.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#filterProducts(ProductFilterDto)}
+     */
+    @Test
+    @DisplayName("Test filterProducts(ProductFilterDto); when filter is invalid; then throw BadRequestException")
+    void testFilterProducts_whenFilterIsInvalid_thenThrowBadRequestException() {
+        // Arrange
+        ProductFilterDto invalidSort = new ProductFilterDto(null, null, null, null, "productName", "asc", null, 10, null);
+        ProductFilterDto invalidDirection = new ProductFilterDto(null, null, null, null, "price", "up", null, 10, null);
+        ProductFilterDto invalidFields = new ProductFilterDto(null, null, null, null, "price", "asc", null, 10, List.of("id"));
+        ProductFilterDto invalidRange = new ProductFilterDto(null, null, new BigDecimal("5"), new BigDecimal("1"),
+                "price", "asc", null, 10, null);
+        ProductFilterDto invalidCursor = new ProductFilterDto(null, null, null, null, "price", "asc",
+                ProductCursor.encode("SKU-1"), 10, null);
+
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.filterProducts(invalidSort));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.filterProducts(invalidDirection));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.filterProducts(invalidFields));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.filterProducts(invalidRange));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.filterProducts(invalidCursor));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#searchProducts(String, int)}.
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#searchProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test searchProducts(String, int)")
+    void testSearchProducts() {
+        // Arrange
+        ProductDto productDto = new ProductDto("SKU-1", "Gaming Laptop", "Computers", new BigDecimal("999"), "Vendor");
+        when(productSearchIndex.search(Mockito.<String>any(), Mockito.anyInt())).thenReturn(List.of(productDto));
+
+        // Act
+        List<ProductDto> actualResults = productServiceImplementation.searchProducts("gaming lap", 10);
+
+        // Assert
+        verify(productSearchIndex).search(eq("gaming lap"), eq(10));
+        assertEquals(List.of(productDto), actualResults);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#searchProducts(String, int)}.
+     * <ul>
+     *   <li>When limit is out of range.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#searchProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test searchProducts(String, int); when limit is out of range; then throw BadRequestException")
+    void testSearchProducts_whenLimitIsOutOfRange_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.searchProducts("laptop", 0));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.searchProducts("laptop", 101));
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getFacets()}.
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getFacets()}
+     */
+    @Test
+    @DisplayName("Test getFacets()")
+    void testGetFacets() {
+        // Arrange
+        ProductFacetsDto facets = new ProductFacetsDto(Map.of("Computers", 2), Map.of("Acme", 2));
+        when(productFacetCounters.facets()).thenReturn(facets);
+
+        // Act
+        ProductFacetsDto actualFacets = productServiceImplementation.getFacets();
+
+        // Assert
+        verifyNoInteractions(productRepository);
+        assertSame(facets, actualFacets);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getRelatedProducts(String, int)}.
+     * <ul>
+     *   <li>Then serve the co-occurrence index without touching Mongo.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getRelatedProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test getRelatedProducts(String, int); then serve the co-occurrence index")
+    void testGetRelatedProducts_thenServeCooccurrenceIndex() {
+        // Arrange
+        List<ProductRelatedDto> related = List.of(new ProductRelatedDto("SKU-2", 3));
+        when(productCooccurrenceIndex.related("SKU-1", 5)).thenReturn(related);
+
+        // Act
+        List<ProductRelatedDto> actualRelated = productServiceImplementation.getRelatedProducts("SKU-1", 5);
+
+        // Assert
+        verifyNoInteractions(productRepository);
+        assertSame(related, actualRelated);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#getRelatedProducts(String, int)}.
+     * <ul>
+     *   <li>Given a limit outside 1 to 50.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getRelatedProducts(String, int)}
+     */
+    @Test
+    @DisplayName("Test getRelatedProducts(String, int); given invalid limit; then throw BadRequestException")
+    void testGetRelatedProducts_givenInvalidLimit_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.getRelatedProducts("SKU-1", 0));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.getRelatedProducts("SKU-1", 51));
+        verifyNoInteractions(productCooccurrenceIndex);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#streamAllProducts()}.
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#streamAllProducts()}
+     */
+    @Test
+    @DisplayName("Test streamAllProducts()")
+    void testStreamAllProducts() {
+        // Arrange
+        Product product = new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productRepository.streamAllBy()).thenReturn(Stream.of(product));
+
+        // Act
+        List<ProductDto> actualProducts = productServiceImplementation.streamAllProducts().toList();
+
+        // Assert
+        verify(productRepository).streamAllBy();
+        assertEquals(1, actualProducts.size());
+        assertEquals("SKU-1", actualProducts.get(0).getSkuCode());
+    }
+
     /**
      * Test {@link ProductServiceImplementation#getBySkuName(String)}.
      * <p>
@@ -271,13 +753,15 @@ class ProductServiceImplementationTest {
         product.setProductName("Product Name");
         product.setSkuCode("Sku Code");
         product.setVendor("Vendor");
-        when(productRepository.save(Mockito.<Product>any())).thenReturn(product);
+        when(productRepository.insertProduct(Mockito.<Product>any())).thenReturn(product);
 
         // Act
         ProductDto actualCreateProductResult = productServiceImplementation.createProduct(new ProductDto());
 
         // Assert
-        verify(productRepository).save(isA(Product.class));
+        verify(productRepository).insertProduct(isA(Product.class));
+        verify(productSearchIndex).index(isA(Product.class));
+        verify(productFacetCounters).put(product);
         assertEquals("Category", actualCreateProductResult.getCategory());
         assertEquals("Product Name", actualCreateProductResult.getProductName());
         assertEquals("Sku Code", actualCreateProductResult.getSkuCode());
@@ -287,229 +771,469 @@ class ProductServiceImplementationTest {
     }
 
     /**
-     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto)}.
+     * Test {@link ProductServiceImplementation#getBySkuCodes(List)}.
+     * <ul>
+     *   <li>Given one stored and one unknown SKU.</li>
+     *   <li>Then return found and missing SKUs separately.</li>
+     * </ul>
      * <p>
-     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto)}
+     * Method under test: {@link ProductServiceImplementation#getBySkuCodes(List)}
      */
     @Test
-    @DisplayName("Test updateProduct(String, ProductDto)")
-    void testUpdateProduct() {
+    @DisplayName("Test getBySkuCodes(List); given stored and unknown SKU; then return found and missing")
+    void testGetBySkuCodes_givenStoredAndUnknownSku_thenReturnFoundAndMissing() {
         // Arrange
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
-        when(productRepository.save(Mockito.<Product>any())).thenThrow(new ProductNotFoundException("An error occurred"));
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        Product product = new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productRepository.findBySkuCodeIn(Mockito.<Collection<String>>any())).thenReturn(List.of(product));
+
+        // Act
+        ProductBatchResponseDto actualResponse = productServiceImplementation.getBySkuCodes(
+                List.of("SKU-2", "SKU-1", "SKU-2"));
+
+        // Assert
+        verify(productRepository).findBySkuCodeIn(eq(new LinkedHashSet<>(List.of("SKU-2", "SKU-1"))));
+        assertEquals(1, actualResponse.getFound().size());
+        assertEquals("SKU-1", actualResponse.getFound().get(0).getSkuCode());
+        assertEquals(List.of("SKU-2"), actualResponse.getMissing());
+    }
 
+    /**
+     * Test {@link ProductServiceImplementation#getBySkuCodes(List)}.
+     * <ul>
+     *   <li>When empty list.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#getBySkuCodes(List)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCodes(List); when empty list; then throw BadRequestException")
+    void testGetBySkuCodes_whenEmptyList_thenThrowBadRequestException() {
         // Act and Assert
-        assertThrows(ProductNotFoundException.class,
-                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto()));
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
-        verify(productRepository).save(isA(Product.class));
+        assertThrows(BadRequestException.class, () -> productServiceImplementation.getBySkuCodes(List.of()));
     }
 
     /**
-     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto)}.
+     * Test {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}.
      * <ul>
-     *   <li>Given {@link ProductRepository} {@link ProductRepository#findBySkuCode(String)} return empty.</li>
+     *   <li>Given one new and one existing SKU.</li>
+     *   <li>Then return one created and one updated item.</li>
      * </ul>
      * <p>
-     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto)}
+     * Method under test: {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}
      */
     @Test
-    @DisplayName("Test updateProduct(String, ProductDto); given ProductRepository findBySkuCode(String) return empty")
-    void testUpdateProduct_givenProductRepositoryFindBySkuCodeReturnEmpty() {
+    @DisplayName("Test bulkUpsertProducts(Iterator); given new and existing SKU; then return created and updated")
+    void testBulkUpsertProducts_givenNewAndExistingSku_thenReturnCreatedAndUpdated() {
         // Arrange
-        Optional<Product> emptyResult = Optional.empty();
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(emptyResult);
+        BulkWriteResult writeResult = BulkWriteResult.acknowledged(0, 1, 0, 1,
+                List.of(new BulkWriteUpsert(0, new BsonObjectId(ObjectId.get()))), List.of());
+        when(productRepository.upsertAllBySkuCode(Mockito.<List<Product>>any())).thenReturn(writeResult);
+        List<ProductDto> productDtos = List.of(
+                new ProductDto("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor"),
+                new ProductDto("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor"));
 
-        // Act and Assert
-        assertThrows(ProductNotFoundException.class,
-                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto()));
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
+        // Act
+        ProductBulkResultDto actualResult = productServiceImplementation.bulkUpsertProducts(productDtos.iterator());
+
+        // Assert
+        verify(productRepository).upsertAllBySkuCode(Mockito.<List<Product>>any());
+        verify(skuBloomFilter).put(eq("SKU-1"));
+        verify(skuBloomFilter).put(eq("SKU-2"));
+        assertEquals(1, actualResult.getCreated());
+        assertEquals(1, actualResult.getUpdated());
+        assertEquals(0, actualResult.getFailed());
+        assertEquals(ProductBulkItemStatus.CREATED, actualResult.getItems().get(0).getStatus());
+        assertEquals(ProductBulkItemStatus.UPDATED, actualResult.getItems().get(1).getStatus());
     }
 
     /**
-     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto)}.
+     * Test {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}.
      * <ul>
-     *   <li>Given {@link ProductRepository} {@link CrudRepository#save(Object)} return {@link Product#Product()}.</li>
-     *   <li>Then return {@code Category}.</li>
+     *   <li>Given invalid product and duplicate SKU.</li>
+     *   <li>Then return invalid items and only write the valid product.</li>
      * </ul>
      * <p>
-     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto)}
+     * Method under test: {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}
      */
     @Test
-    @DisplayName("Test updateProduct(String, ProductDto); given ProductRepository save(Object) return Product(); then return 'Category'")
-    void testUpdateProduct_givenProductRepositorySaveReturnProduct_thenReturnCategory() {
+    @DisplayName("Test bulkUpsertProducts(Iterator); given invalid and duplicate products; then return INVALID")
+    void testBulkUpsertProducts_givenInvalidAndDuplicateProducts_thenReturnInvalid() {
         // Arrange
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
+        BulkWriteResult writeResult = BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of());
+        when(productRepository.upsertAllBySkuCode(Mockito.<List<Product>>any())).thenReturn(writeResult);
+        List<ProductDto> productDtos = List.of(
+                new ProductDto("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor"),
+                new ProductDto("SKU-2", "", "Category", new BigDecimal("-1"), "Vendor"),
+                new ProductDto("SKU-1", "Duplicate", "Category", new BigDecimal("2.3"), "Vendor"));
 
-        Product product2 = new Product();
-        product2.setCategory("Category");
-        product2.setId(ObjectId.get());
-        product2.setPrice(new BigDecimal("2.3"));
-        product2.setProductName("Product Name");
-        product2.setSkuCode("Sku Code");
-        product2.setVendor("Vendor");
-        when(productRepository.save(Mockito.<Product>any())).thenReturn(product2);
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        // Act
+        ProductBulkResultDto actualResult = productServiceImplementation.bulkUpsertProducts(productDtos.iterator());
+
+        // Assert
+        verify(productRepository).upsertAllBySkuCode(eq(List.of(ProductTypeConversion.convert(productDtos.get(0)))));
+        assertEquals(1, actualResult.getUpdated());
+        assertEquals(2, actualResult.getFailed());
+        assertEquals(ProductBulkItemStatus.INVALID, actualResult.getItems().get(1).getStatus());
+        assertEquals("Product price should be within range., product name should not be empty",
+                actualResult.getItems().get(1).getMessage());
+        assertEquals(ProductBulkItemStatus.INVALID, actualResult.getItems().get(2).getStatus());
+        assertEquals(2, actualResult.getItems().get(2).getIndex());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}.
+     * <ul>
+     *   <li>Given {@link ProductRepository#upsertAllBySkuCode(List)} throws {@link BulkOperationException}.</li>
+     *   <li>Then return failed item with write error message.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#bulkUpsertProducts(Iterator)}
+     */
+    @Test
+    @DisplayName("Test bulkUpsertProducts(Iterator); given write error; then return FAILED")
+    void testBulkUpsertProducts_givenWriteError_thenReturnFailed() {
+        // Arrange
+        BulkWriteResult partialResult = BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of());
+        BulkWriteError writeError = new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1);
+        when(productRepository.upsertAllBySkuCode(Mockito.<List<Product>>any())).thenThrow(new BulkOperationException(
+                "Bulk write failed",
+                new MongoBulkWriteException(partialResult, List.of(writeError), null, new ServerAddress(), Set.of())));
+        List<ProductDto> productDtos = List.of(
+                new ProductDto("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor"),
+                new ProductDto("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor"));
 
         // Act
-        ProductDto actualUpdateProductResult = productServiceImplementation.updateProduct("Sku Code", new ProductDto());
+        ProductBulkResultDto actualResult = productServiceImplementation.bulkUpsertProducts(productDtos.iterator());
 
         // Assert
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
-        verify(productRepository).save(isA(Product.class));
+        assertEquals(1, actualResult.getUpdated());
+        assertEquals(1, actualResult.getFailed());
+        assertEquals(ProductBulkItemStatus.FAILED, actualResult.getItems().get(1).getStatus());
+        assertEquals("E11000 duplicate key error", actualResult.getItems().get(1).getMessage());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given {@link ProductRepository#updateBySkuCode(String, Product, Product)} return a {@link Product}.</li>
+     *   <li>Then return {@code Category} from a single write.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); given updateBySkuCode return Product; then return 'Category'")
+    void testUpdateProduct_givenUpdateBySkuCodeReturnProduct_thenReturnCategory() {
+        // Arrange
+        Product product = new Product("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        product.setVersion(4L);
+        when(productRepository.updateBySkuCode(eq("Sku Code"), isA(Product.class), isNull())).thenReturn(product);
+
+        // Act
+        ProductDto actualUpdateProductResult = productServiceImplementation.updateProduct("Sku Code",
+                new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor"), null);
+
+        // Assert
+        verify(productRepository, never()).findBySkuCode(Mockito.<String>any());
+        verify(productRepository, never()).save(Mockito.<Product>any());
+        verify(productSearchIndex).index(product);
+        verify(productFacetCounters).put(product);
         assertEquals("Category", actualUpdateProductResult.getCategory());
         assertEquals("Product Name", actualUpdateProductResult.getProductName());
         assertEquals("Sku Code", actualUpdateProductResult.getSkuCode());
         assertEquals("Vendor", actualUpdateProductResult.getVendor());
-        BigDecimal expectedPrice = new BigDecimal("2.3");
-        assertEquals(expectedPrice, actualUpdateProductResult.getPrice());
+        assertEquals(new BigDecimal("2.3"), actualUpdateProductResult.getPrice());
+        assertEquals(4L, actualUpdateProductResult.getVersion());
     }
 
     /**
-     * Test {@link ProductServiceImplementation#deleteProduct(String)}.
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given {@link ProductRepository#updateBySkuCode(String, Product, Product)} return {@code null}.</li>
+     *   <li>Then throw {@link ProductNotFoundException}.</li>
+     * </ul>
      * <p>
-     * Method under test: {@link ProductServiceImplementation#deleteProduct(String)}
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
      */
     @Test
-    @DisplayName("Test deleteProduct(String)")
-    void testDeleteProduct() {
+    @DisplayName("Test updateProduct(String, ProductDto, String); given updateBySkuCode return null; then throw ProductNotFoundException")
+    void testUpdateProduct_givenUpdateBySkuCodeReturnNull_thenThrowProductNotFoundException() {
         // Arrange
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
-        doThrow(new ProductNotFoundException("An error occurred")).when(productRepository).delete(Mockito.<Product>any());
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        when(productRepository.updateBySkuCode(eq("Sku Code"), isA(Product.class), isNull())).thenReturn(null);
 
         // Act and Assert
-        assertThrows(ProductNotFoundException.class, () -> productServiceImplementation.deleteProduct("Sku Code"));
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
-        verify(productRepository).delete(isA(Product.class));
+        assertThrows(ProductNotFoundException.class,
+                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto(), null));
+        verify(productRepository, never()).skuCodeExists(Mockito.<String>any());
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>When If-Match is the ETag of an older version.</li>
+     *   <li>Then {@link PreconditionFailedException} is thrown without writing.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); when If-Match is stale; then throw PreconditionFailedException")
+    void testUpdateProduct_whenIfMatchIsStale_thenThrowPreconditionFailedException() {
+        // Arrange
+        ProductDto stale = new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        stale.setVersion(1L);
+        Product current = new Product("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        current.setVersion(2L);
+        when(productRepository.findBySkuCode("Sku Code")).thenReturn(Optional.of(current));
+
+        // Act and Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto(), ProductETags.of(stale)));
+        verify(productRepository, never()).updateBySkuCode(Mockito.<String>any(), Mockito.<Product>any(), Mockito.any());
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>When If-Match carries the version of the stored product but the hash of other content.</li>
+     *   <li>Then {@link PreconditionFailedException} is thrown without writing.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); when If-Match hash differs; then throw PreconditionFailedException")
+    void testUpdateProduct_whenIfMatchHashDiffers_thenThrowPreconditionFailedException() {
+        // Arrange
+        Product current = new Product("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        current.setVersion(0L);
+        when(productRepository.findBySkuCode("Sku Code")).thenReturn(Optional.of(current));
+
+        // Act and Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto(), "\"0-abc\""));
+        verify(productRepository, never()).updateBySkuCode(Mockito.<String>any(), Mockito.<Product>any(), Mockito.any());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>When If-Match is the ETag of the stored product but the product changes before the write.</li>
+     *   <li>Then the write is conditioned on that product and {@link PreconditionFailedException} is thrown.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); when If-Match matches but write misses; then throw PreconditionFailedException")
+    void testUpdateProduct_whenIfMatchMatchesButWriteMisses_thenThrowPreconditionFailedException() {
+        // Arrange
+        Product current = new Product("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor");
+        current.setVersion(3L);
+        current.setChangeSeq(7L);
+        String eTag = ProductETags.of(ProductTypeConversion.convertToDto(current));
+        when(productRepository.findBySkuCode("Sku Code")).thenReturn(Optional.of(current));
+        when(productRepository.updateBySkuCode(eq("Sku Code"), isA(Product.class), same(current))).thenReturn(null);
+        when(productRepository.skuCodeExists("Sku Code")).thenReturn(true);
+
+        // Act and Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto(), "\"1-abc\", " + eTag));
+        verify(productRepository).updateBySkuCode(eq("Sku Code"), isA(Product.class), same(current));
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>When If-Match is {@code *}.</li>
+     *   <li>Then the write is not conditioned on the stored product.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); when If-Match is '*'; then write without version")
+    void testUpdateProduct_whenIfMatchIsAny_thenWriteWithoutVersion() {
+        // Arrange
+        when(productRepository.updateBySkuCode(eq("Sku Code"), isA(Product.class), isNull())).thenReturn(null);
+        when(productRepository.skuCodeExists("Sku Code")).thenReturn(false);
+
+        // Act and Assert
+        assertThrows(ProductNotFoundException.class,
+                () -> productServiceImplementation.updateProduct("Sku Code", new ProductDto(), "*"));
+        verify(productRepository).updateBySkuCode(eq("Sku Code"), isA(Product.class), isNull());
+        verify(productRepository, never()).findBySkuCode(Mockito.<String>any());
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#patchProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given only the price is provided.</li>
+     *   <li>Then only the price is handed to {@link ProductRepository#patchBySkuCode(String, Product, Product)}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String); given only price; then patch only price")
+    void testPatchProduct_givenOnlyPrice_thenPatchOnlyPrice() {
+        // Arrange
+        Product patched = new Product("Sku Code", "Product Name", "Category", new BigDecimal("9.5"), "Vendor");
+        when(productRepository.patchBySkuCode(eq("Sku Code"), isA(Product.class), isNull())).thenReturn(patched);
+        ProductDto changes = new ProductDto();
+        changes.setPrice(new BigDecimal("9.5"));
+
+        // Act
+        ProductDto actualResult = productServiceImplementation.patchProduct("Sku Code", changes, null);
+
+        // Assert
+        ArgumentCaptor<Product> fields = ArgumentCaptor.forClass(Product.class);
+        verify(productRepository).patchBySkuCode(eq("Sku Code"), fields.capture(), isNull());
+        assertEquals(new BigDecimal("9.5"), fields.getValue().getPrice());
+        assertNull(fields.getValue().getProductName());
+        assertNull(fields.getValue().getCategory());
+        assertNull(fields.getValue().getVendor());
+        assertEquals("Product Name", actualResult.getProductName());
+        verify(productSearchIndex).index(patched);
+        verify(productFacetCounters).put(patched);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#patchProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given no field is provided.</li>
+     *   <li>Then throw {@link BadRequestException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String); given no field; then throw BadRequestException")
+    void testPatchProduct_givenNoField_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class,
+                () -> productServiceImplementation.patchProduct("Sku Code", new ProductDto(), null));
+        verifyNoInteractions(productRepository);
     }
 
     /**
      * Test {@link ProductServiceImplementation#deleteProduct(String)}.
      * <ul>
-     *   <li>Given {@link ProductRepository} {@link CrudRepository#delete(Object)} does nothing.</li>
-     *   <li>Then calls {@link CrudRepository#delete(Object)}.</li>
+     *   <li>Given {@link ProductRepository#deleteOneBySkuCode(String)} return {@code true}.</li>
+     *   <li>Then the product is removed from the {@link ProductSearchIndex}.</li>
      * </ul>
      * <p>
      * Method under test: {@link ProductServiceImplementation#deleteProduct(String)}
      */
     @Test
-    @DisplayName("Test deleteProduct(String); given ProductRepository delete(Object) does nothing; then calls delete(Object)")
-    void testDeleteProduct_givenProductRepositoryDeleteDoesNothing_thenCallsDelete() {
+    @DisplayName("Test deleteProduct(String); given deleteOneBySkuCode return true; then remove from index")
+    void testDeleteProduct_givenDeleteOneBySkuCodeReturnTrue_thenRemoveFromIndex() {
         // Arrange
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
-        doNothing().when(productRepository).delete(Mockito.<Product>any());
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        when(productRepository.deleteOneBySkuCode("Sku Code")).thenReturn(true);
 
         // Act
         productServiceImplementation.deleteProduct("Sku Code");
 
         // Assert
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
-        verify(productRepository).delete(isA(Product.class));
+        verify(productRepository, never()).findBySkuCode(Mockito.<String>any());
+        verify(productSearchIndex).remove(eq("Sku Code"));
+        verify(productFacetCounters).remove(eq("Sku Code"));
     }
 
     /**
      * Test {@link ProductServiceImplementation#deleteProduct(String)}.
      * <ul>
-     *   <li>Given {@link ProductRepository} {@link ProductRepository#findBySkuCode(String)} return empty.</li>
+     *   <li>Given {@link ProductRepository#deleteOneBySkuCode(String)} return {@code false}.</li>
+     *   <li>Then throw {@link ProductNotFoundException}.</li>
      * </ul>
      * <p>
      * Method under test: {@link ProductServiceImplementation#deleteProduct(String)}
      */
     @Test
-    @DisplayName("Test deleteProduct(String); given ProductRepository findBySkuCode(String) return empty")
-    void testDeleteProduct_givenProductRepositoryFindBySkuCodeReturnEmpty() {
+    @DisplayName("Test deleteProduct(String); given deleteOneBySkuCode return false; then throw ProductNotFoundException")
+    void testDeleteProduct_givenDeleteOneBySkuCodeReturnFalse_thenThrowProductNotFoundException() {
         // Arrange
-        Optional<Product> emptyResult = Optional.empty();
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(emptyResult);
+        when(productRepository.deleteOneBySkuCode("Sku Code")).thenReturn(false);
 
         // Act and Assert
         assertThrows(ProductNotFoundException.class, () -> productServiceImplementation.deleteProduct("Sku Code"));
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
+        verifyNoInteractions(productSearchIndex);
     }
 
     /**
      * Test {@link ProductServiceImplementation#productExists(String)}.
      * <ul>
-     *   <li>Given {@link Product#Product()} Category is {@code Category}.</li>
+     *   <li>Given {@link ProductRepository} {@link ProductRepository#skuCodeExists(String)} return {@code true}.</li>
      *   <li>Then return {@code true}.</li>
      * </ul>
      * <p>
      * Method under test: {@link ProductServiceImplementation#productExists(String)}
      */
     @Test
-    @DisplayName("Test productExists(String); given Product() Category is 'Category'; then return 'true'")
-    void testProductExists_givenProductCategoryIsCategory_thenReturnTrue() {
+    @DisplayName("Test productExists(String); given ProductRepository skuCodeExists(String) return 'true'; then return 'true'")
+    void testProductExists_givenProductRepositorySkuCodeExistsReturnTrue_thenReturnTrue() {
         // Arrange
-        Product product = new Product();
-        product.setCategory("Category");
-        product.setId(ObjectId.get());
-        product.setPrice(new BigDecimal("2.3"));
-        product.setProductName("Product Name");
-        product.setSkuCode("Sku Code");
-        product.setVendor("Vendor");
-        Optional<Product> ofResult = Optional.of(product);
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(ofResult);
+        when(skuBloomFilter.mightContain(Mockito.<String>any())).thenReturn(true);
+        when(productRepository.skuCodeExists(Mockito.<String>any())).thenReturn(true);
 
         // Act
         boolean actualProductExistsResult = productServiceImplementation.productExists("Sku Code");
 
         // Assert
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
+        verify(productRepository).skuCodeExists(eq("Sku Code"));
+        verify(productRepository, never()).findBySkuCode(Mockito.<String>any());
         assertTrue(actualProductExistsResult);
     }
 
     /**
      * Test {@link ProductServiceImplementation#productExists(String)}.
      * <ul>
-     *   <li>Given {@link ProductRepository} {@link ProductRepository#findBySkuCode(String)} return empty.</li>
+     *   <li>Given {@link ProductRepository} {@link ProductRepository#skuCodeExists(String)} return {@code false}.</li>
      *   <li>Then return {@code false}.</li>
      * </ul>
      * <p>
      * Method under test: {@link ProductServiceImplementation#productExists(String)}
      */
     @Test
-    @DisplayName("Test productExists(String); given ProductRepository findBySkuCode(String) return empty; then return 'false'")
-    void testProductExists_givenProductRepositoryFindBySkuCodeReturnEmpty_thenReturnFalse() {
+    @DisplayName("Test productExists(String); given ProductRepository skuCodeExists(String) return 'false'; then return 'false'")
+    void testProductExists_givenProductRepositorySkuCodeExistsReturnFalse_thenReturnFalse() {
         // Arrange
-        Optional<Product> emptyResult = Optional.empty();
-        when(productRepository.findBySkuCode(Mockito.<String>any())).thenReturn(emptyResult);
+        when(skuBloomFilter.mightContain(Mockito.<String>any())).thenReturn(true);
+        when(productRepository.skuCodeExists(Mockito.<String>any())).thenReturn(false);
 
         // Act
         boolean actualProductExistsResult = productServiceImplementation.productExists("Sku Code");
 
         // Assert
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
+        verify(productRepository).skuCodeExists(eq("Sku Code"));
+        assertFalse(actualProductExistsResult);
+    }
+
+    /**
+     * Test {@link ProductServiceImplementation#productExists(String)}.
+     * <ul>
+     *   <li>Given {@link SkuBloomFilter#mightContain(String)} return {@code false}.</li>
+     *   <li>Then return {@code false} without querying the repository.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductServiceImplementation#productExists(String)}
+     */
+    @Test
+    @DisplayName("Test productExists(String); given SkuBloomFilter mightContain(String) return 'false'; then return 'false'")
+    void testProductExists_givenSkuBloomFilterMightContainReturnFalse_thenReturnFalse() {
+        // Arrange
+        when(skuBloomFilter.mightContain(Mockito.<String>any())).thenReturn(false);
+
+        // Act
+        boolean actualProductExistsResult = productServiceImplementation.productExists("Sku Code");
+
+        // Assert
+        verify(skuBloomFilter).mightContain(eq("Sku Code"));
+        verifyNoInteractions(productRepository);
         assertFalse(actualProductExistsResult);
     }
 
@@ -525,11 +1249,12 @@ class ProductServiceImplementationTest {
     @DisplayName("Test productExists(String); then throw ProductNotFoundException")
     void testProductExists_thenThrowProductNotFoundException() {
         // Arrange
-        when(productRepository.findBySkuCode(Mockito.<String>any()))
+        when(skuBloomFilter.mightContain(Mockito.<String>any())).thenReturn(true);
+        when(productRepository.skuCodeExists(Mockito.<String>any()))
                 .thenThrow(new ProductNotFoundException("An error occurred"));
 
         // Act and Assert
         assertThrows(ProductNotFoundException.class, () -> productServiceImplementation.productExists("Sku Code"));
-        verify(productRepository).findBySkuCode(eq("Sku Code"));
+        verify(productRepository).skuCodeExists(eq("Sku Code"));
     }
 }
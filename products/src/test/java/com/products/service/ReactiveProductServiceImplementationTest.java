@@ -0,0 +1,451 @@
+package com.products.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.products.dto.ProductBulkResultDto;
+import com.products.dto.ProductDto;
+import com.products.exceptions.BadRequestException;
+import com.products.exceptions.PreconditionFailedException;
+import com.products.exceptions.ProductNotFoundException;
+import com.products.index.ProductCooccurrenceIndex;
+import com.products.index.ProductFacetCounters;
+import com.products.index.ProductSearchIndex;
+import com.products.index.SkuBloomFilter;
+import com.products.model.Product;
+import com.products.repository.ReactiveProductRepository;
+import com.products.utils.ProductCursor;
+import com.products.utils.ProductETags;
+import com.products.utils.ProductTypeConversion;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ContextConfiguration(classes = {ReactiveProductServiceImplementation.class})
+@ActiveProfiles("reactive")
+@ExtendWith(SpringExtension.class)
+@DisabledInAotMode
+class ReactiveProductServiceImplementationTest {
+    @MockBean
+    private ReactiveProductRepository reactiveProductRepository;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private SkuBloomFilter skuBloomFilter;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockBean
+    private ProductFacetCounters productFacetCounters;
+
+    @MockBean
+    private ProductCooccurrenceIndex productCooccurrenceIndex;
+
+    @Autowired
+    private ReactiveProductServiceImplementation reactiveProductServiceImplementation;
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#getBySkuName(String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} findBySkuCode emits a {@link Product}.</li>
+     *   <li>Then emit the converted {@link ProductDto}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#getBySkuName(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuName(String); given findBySkuCode emits Product; then emit ProductDto")
+    void testGetBySkuName_givenFindBySkuCodeEmitsProduct_thenEmitProductDto() {
+        // Arrange
+        when(reactiveProductRepository.findBySkuCode(eq("Sku Code"))).thenReturn(Mono.just(product("Sku Code")));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.getBySkuName("Sku Code"))
+                .assertNext(productDto -> {
+                    assertEquals("Sku Code", productDto.getSkuCode());
+                    assertEquals("Product Name", productDto.getProductName());
+                    assertEquals(new BigDecimal("2.3"), productDto.getPrice());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#getBySkuName(String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} findBySkuCode is empty.</li>
+     *   <li>Then signal {@link ProductNotFoundException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#getBySkuName(String)}
+     */
+    @Test
+    @DisplayName("Test getBySkuName(String); given findBySkuCode is empty; then signal ProductNotFoundException")
+    void testGetBySkuName_givenFindBySkuCodeIsEmpty_thenSignalProductNotFoundException() {
+        // Arrange
+        when(reactiveProductRepository.findBySkuCode(eq("Sku Code"))).thenReturn(Mono.empty());
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.getBySkuName("Sku Code"))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#getProductsPage(String, int)}.
+     * <ul>
+     *   <li>Given one more product than the page size.</li>
+     *   <li>Then emit a full page with a next cursor.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int); given one more product than size; then emit page with next cursor")
+    void testGetProductsPage_givenOneMoreProductThanSize_thenEmitPageWithNextCursor() {
+        // Arrange
+        when(reactiveProductRepository.findBySkuCodeGreaterThan(eq("A"), eq(PageRequest.of(0, 3, Sort.by("skuCode")))))
+                .thenReturn(Flux.just(product("B"), product("C"), product("D")));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.getProductsPage(ProductCursor.encode("A"), 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getProducts().size());
+                    assertEquals("C", ProductCursor.decode(page.getNextCursor()));
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#getProductsPage(String, int)}.
+     * <ul>
+     *   <li>When size is zero.</li>
+     *   <li>Then signal {@link BadRequestException} without querying.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#getProductsPage(String, int)}
+     */
+    @Test
+    @DisplayName("Test getProductsPage(String, int); when size is zero; then signal BadRequestException")
+    void testGetProductsPage_whenSizeIsZero_thenSignalBadRequestException() {
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.getProductsPage(null, 0))
+                .expectError(BadRequestException.class)
+                .verify();
+        verifyNoInteractions(reactiveProductRepository);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#getBySkuCodes(List)}.
+     * <ul>
+     *   <li>Given one of two SKUs is stored.</li>
+     *   <li>Then emit it as found and the other as missing.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#getBySkuCodes(List)}
+     */
+    @Test
+    @DisplayName("Test getBySkuCodes(List); given one of two SKUs is stored; then emit found and missing")
+    void testGetBySkuCodes_givenOneOfTwoSkusIsStored_thenEmitFoundAndMissing() {
+        // Arrange
+        when(reactiveProductRepository.findBySkuCodeIn(eq(Set.of("A", "B")))).thenReturn(Flux.just(product("A")));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.getBySkuCodes(List.of("A", "B", "A")))
+                .assertNext(response -> {
+                    assertEquals(1, response.getFound().size());
+                    assertEquals(List.of("B"), response.getMissing());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#createProduct(ProductDto)}.
+     * <ul>
+     *   <li>Then the saved product is added to the {@link ProductSearchIndex}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#createProduct(ProductDto)}
+     */
+    @Test
+    @DisplayName("Test createProduct(ProductDto); then saved product is indexed")
+    void testCreateProduct_thenSavedProductIsIndexed() {
+        // Arrange
+        Product saved = product("Sku Code");
+        when(reactiveProductRepository.insertProduct(isA(Product.class))).thenReturn(Mono.just(saved));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.createProduct(
+                        new ProductDto("Sku Code", "Product Name", "Category", new BigDecimal("2.3"), "Vendor")))
+                .assertNext(productDto -> assertEquals("Sku Code", productDto.getSkuCode()))
+                .verifyComplete();
+        verify(reactiveProductRepository).insertProduct(argThat(product -> "Sku Code".equals(product.getSkuCode())));
+        verify(productSearchIndex).index(saved);
+        verify(productFacetCounters).put(saved);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#updateProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} updateBySkuCode is empty.</li>
+     *   <li>Then signal {@link ProductNotFoundException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#updateProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test updateProduct(String, ProductDto, String); given updateBySkuCode is empty; then signal ProductNotFoundException")
+    void testUpdateProduct_givenUpdateBySkuCodeIsEmpty_thenSignalProductNotFoundException() {
+        // Arrange
+        when(reactiveProductRepository.updateBySkuCode(eq("Sku Code"), isA(Product.class), isNull()))
+                .thenReturn(Mono.empty());
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.updateProduct("Sku Code", new ProductDto(), null))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        verify(reactiveProductRepository, never()).skuCodeExists(Mockito.<String>any());
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given the SKU exists but If-Match names an older version.</li>
+     *   <li>Then signal {@link PreconditionFailedException} without writing.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String); given stale If-Match; then signal PreconditionFailedException")
+    void testPatchProduct_givenStaleIfMatch_thenSignalPreconditionFailedException() {
+        // Arrange
+        ProductDto changes = new ProductDto();
+        changes.setVendor("Vendor");
+        Product current = product("Sku Code");
+        current.setVersion(2L);
+        when(reactiveProductRepository.findBySkuCode("Sku Code")).thenReturn(Mono.just(current));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.patchProduct("Sku Code", changes, "\"1-abc\""))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        verify(reactiveProductRepository, never()).patchBySkuCode(Mockito.<String>any(), Mockito.<Product>any(), Mockito.any());
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given If-Match is the ETag of the stored product.</li>
+     *   <li>Then the write is conditioned on that product.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String); given matching If-Match; then patch the stored revision")
+    void testPatchProduct_givenMatchingIfMatch_thenPatchTheStoredRevision() {
+        // Arrange
+        ProductDto changes = new ProductDto();
+        changes.setVendor("Vendor");
+        Product current = product("Sku Code");
+        current.setVersion(2L);
+        current.setChangeSeq(5L);
+        Product patched = product("Sku Code");
+        when(reactiveProductRepository.findBySkuCode("Sku Code")).thenReturn(Mono.just(current));
+        when(reactiveProductRepository.patchBySkuCode(eq("Sku Code"), isA(Product.class), same(current)))
+                .thenReturn(Mono.just(patched));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.patchProduct("Sku Code", changes,
+                        ProductETags.of(ProductTypeConversion.convertToDto(current))))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(productSearchIndex).index(patched);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} patchBySkuCode emits the patched {@link Product}.</li>
+     *   <li>Then emit it and index it.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#patchProduct(String, ProductDto, String)}
+     */
+    @Test
+    @DisplayName("Test patchProduct(String, ProductDto, String); given patchBySkuCode emits Product; then emit and index it")
+    void testPatchProduct_givenPatchBySkuCodeEmitsProduct_thenEmitAndIndexIt() {
+        // Arrange
+        Product patched = product("Sku Code");
+        ProductDto changes = new ProductDto();
+        changes.setProductName("Product Name");
+        when(reactiveProductRepository.patchBySkuCode(eq("Sku Code"), isA(Product.class), isNull()))
+                .thenReturn(Mono.just(patched));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.patchProduct("Sku Code", changes, null))
+                .assertNext(productDto -> assertEquals("Product Name", productDto.getProductName()))
+                .verifyComplete();
+        verify(productSearchIndex).index(patched);
+        verify(productFacetCounters).put(patched);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#deleteProduct(String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} deleteOneBySkuCode emits {@code true}.</li>
+     *   <li>Then the product is removed from the {@link ProductSearchIndex}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#deleteProduct(String)}
+     */
+    @Test
+    @DisplayName("Test deleteProduct(String); given deleteOneBySkuCode emits true; then remove from index")
+    void testDeleteProduct_givenDeleteOneBySkuCodeEmitsTrue_thenRemoveFromIndex() {
+        // Arrange
+        when(reactiveProductRepository.deleteOneBySkuCode("Sku Code")).thenReturn(Mono.just(true));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.deleteProduct("Sku Code")).verifyComplete();
+        verify(productSearchIndex).remove("Sku Code");
+        verify(productFacetCounters).remove("Sku Code");
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#deleteProduct(String)}.
+     * <ul>
+     *   <li>Given {@link ReactiveProductRepository} deleteOneBySkuCode emits {@code false}.</li>
+     *   <li>Then signal {@link ProductNotFoundException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#deleteProduct(String)}
+     */
+    @Test
+    @DisplayName("Test deleteProduct(String); given deleteOneBySkuCode emits false; then signal ProductNotFoundException")
+    void testDeleteProduct_givenDeleteOneBySkuCodeEmitsFalse_thenSignalProductNotFoundException() {
+        // Arrange
+        when(reactiveProductRepository.deleteOneBySkuCode("Sku Code")).thenReturn(Mono.just(false));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.deleteProduct("Sku Code"))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#productExists(String)}.
+     * <ul>
+     *   <li>Given {@link SkuBloomFilter#mightContain(String)} return {@code false}.</li>
+     *   <li>Then emit {@code false} without querying.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#productExists(String)}
+     */
+    @Test
+    @DisplayName("Test productExists(String); given SkuBloomFilter mightContain return false; then emit false")
+    void testProductExists_givenSkuBloomFilterMightContainReturnFalse_thenEmitFalse() {
+        // Arrange
+        when(skuBloomFilter.mightContain("Sku Code")).thenReturn(false);
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.productExists("Sku Code"))
+                .expectNext(false)
+                .verifyComplete();
+        verifyNoInteractions(reactiveProductRepository);
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#productExists(String)}.
+     * <ul>
+     *   <li>Given {@link SkuBloomFilter#mightContain(String)} return {@code true}.</li>
+     *   <li>Then emit the result of the covered existence query.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#productExists(String)}
+     */
+    @Test
+    @DisplayName("Test productExists(String); given SkuBloomFilter mightContain return true; then emit query result")
+    void testProductExists_givenSkuBloomFilterMightContainReturnTrue_thenEmitQueryResult() {
+        // Arrange
+        when(skuBloomFilter.mightContain("Sku Code")).thenReturn(true);
+        when(reactiveProductRepository.skuCodeExists("Sku Code")).thenReturn(Mono.just(true));
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.productExists("Sku Code"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    /**
+     * Test {@link ReactiveProductServiceImplementation#bulkUpsertProducts(Flux)}.
+     * <ul>
+     *   <li>Then every streamed product is handed to {@link ProductService#bulkUpsertProducts(Iterator)}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ReactiveProductServiceImplementation#bulkUpsertProducts(Flux)}
+     */
+    @Test
+    @DisplayName("Test bulkUpsertProducts(Flux); then streamed products are upserted by ProductService")
+    void testBulkUpsertProducts_thenStreamedProductsAreUpsertedByProductService() {
+        // Arrange
+        List<String> upserted = new ArrayList<>();
+        when(productService.bulkUpsertProducts(isA(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<ProductDto> productDtos = invocation.getArgument(0);
+            productDtos.forEachRemaining(productDto -> upserted.add(productDto.getSkuCode()));
+            return new ProductBulkResultDto(upserted.size(), 0, 0, List.of());
+        });
+
+        // Act and Assert
+        StepVerifier.create(reactiveProductServiceImplementation.bulkUpsertProducts(Flux.just(
+                        new ProductDto("A", "Product Name", "Category", BigDecimal.ONE, "Vendor"),
+                        new ProductDto("B", "Product Name", "Category", BigDecimal.ONE, "Vendor"))))
+                .assertNext(result -> assertEquals(2, result.getCreated()))
+                .verifyComplete();
+        assertEquals(List.of("A", "B"), upserted);
+    }
+
+    private static Product product(String skuCode) {
+        Product product = new Product();
+        product.setCategory("Category");
+        product.setId(ObjectId.get());
+        product.setPrice(new BigDecimal("2.3"));
+        product.setProductName("Product Name");
+        product.setSkuCode(skuCode);
+        product.setVendor("Vendor");
+        return product;
+    }
+}
@@ -0,0 +1,84 @@
+package com.products.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.products.dto.ProductDto;
+import com.products.model.Product;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProductSnapshotCodecTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Test {@link ProductSnapshotCodec#write(Path, String, java.util.Iterator)} and
+     * {@link ProductSnapshotCodec#read(Path)}.
+     * <ul>
+     *   <li>Given products with prices of different scales and a missing vendor.</li>
+     *   <li>Then reading the snapshot returns the same products, versions and change token.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotCodec#read(Path)}
+     */
+    @Test
+    @DisplayName("Test write then read; then products and change token round-trip")
+    void testRead_givenWrittenSnapshot_thenProductsAndChangeTokenRoundTrip() throws IOException {
+        // Arrange
+        Product product = new Product("SKU-1", "Café Crème", "Beverages", new BigDecimal("2.30"), "Vendor");
+        product.setVersion(3L);
+        Product product2 = new Product("SKU-2", "Second", "Category", new BigDecimal("1E+2"), null);
+        Path path = directory.resolve("products.snapshot");
+
+        // Act
+        long written = ProductSnapshotCodec.write(path, "token", List.of(product, product2).iterator());
+        ProductSnapshot snapshot = ProductSnapshotCodec.read(path);
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals("token", snapshot.getChangeToken());
+        assertEquals(2, snapshot.getProducts().size());
+        ProductDto first = snapshot.getProducts().get(0);
+        assertEquals("SKU-1", first.getSkuCode());
+        assertEquals("Café Crème", first.getProductName());
+        assertEquals("Beverages", first.getCategory());
+        assertEquals(new BigDecimal("2.30"), first.getPrice());
+        assertEquals("Vendor", first.getVendor());
+        assertEquals(3L, first.getVersion());
+        ProductDto second = snapshot.getProducts().get(1);
+        assertEquals(0, new BigDecimal("100").compareTo(second.getPrice()));
+        assertNull(second.getVendor());
+        assertEquals(0L, second.getVersion());
+        assertFalse(Files.exists(directory.resolve("products.snapshot.partial")));
+    }
+
+    /**
+     * Test {@link ProductSnapshotCodec#read(Path)}.
+     * <ul>
+     *   <li>Given a file that is not a product snapshot.</li>
+     *   <li>Then throw {@link IOException}.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotCodec#read(Path)}
+     */
+    @Test
+    @DisplayName("Test read(Path); given not a snapshot; then throw IOException")
+    void testRead_givenNotASnapshot_thenThrowIOException() throws IOException {
+        // Arrange
+        Path path = Files.write(directory.resolve("products.snapshot"), "{\"skuCode\":\"SKU-1\"}".getBytes());
+
+        // Act and Assert
+        assertThrows(IOException.class, () -> ProductSnapshotCodec.read(path));
+    }
+}
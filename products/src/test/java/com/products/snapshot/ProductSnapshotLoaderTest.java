@@ -0,0 +1,151 @@
+package com.products.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.products.config.CacheConfig;
+import com.products.dto.ProductChangeDto;
+import com.products.dto.ProductChangeType;
+import com.products.dto.ProductChangesDto;
+import com.products.dto.ProductDto;
+import com.products.exceptions.BadRequestException;
+import com.products.model.Product;
+import com.products.service.ProductService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class ProductSnapshotLoaderTest {
+    @TempDir
+    Path directory;
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+
+    /**
+     * Test {@link ProductSnapshotLoader#load()}.
+     * <ul>
+     *   <li>Given a snapshot and changes recorded after it.</li>
+     *   <li>Then the cache holds the snapshot with the changes applied on top.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotLoader#load()}
+     */
+    @Test
+    @DisplayName("Test load(); given snapshot and later changes; then cache holds snapshot with changes applied")
+    void testLoad_givenSnapshotAndLaterChanges_thenCacheHoldsSnapshotWithChangesApplied() throws IOException {
+        // Arrange
+        Path path = directory.resolve("products.snapshot");
+        ProductSnapshotCodec.write(path, "since", List.of(
+                new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor"),
+                new Product("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor"),
+                new Product("SKU-3", "Third", "Category", new BigDecimal("2.3"), "Vendor")).iterator());
+        ProductDto updated = new ProductDto("SKU-1", "Updated", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productService.getChanges(eq("since"), eq(1000))).thenReturn(new ProductChangesDto(
+                List.of(new ProductChangeDto("SKU-1", ProductChangeType.UPSERTED, updated, 7L)), "next", true));
+        when(productService.getChanges(eq("next"), eq(1000))).thenReturn(new ProductChangesDto(
+                List.of(new ProductChangeDto("SKU-2", ProductChangeType.DELETED, null, 8L)), "last", false));
+
+        // Act
+        new ProductSnapshotLoader(productService, cacheManager, path, 1000).load();
+
+        // Assert
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        assertEquals("Updated", cache.get("SKU-1", ProductDto.class).getProductName());
+        assertNull(cache.get("SKU-2"));
+        assertEquals("Third", cache.get("SKU-3", ProductDto.class).getProductName());
+    }
+
+    /**
+     * Test {@link ProductSnapshotLoader#load()}.
+     * <ul>
+     *   <li>Given a snapshot with more products than the cache holds, and a change to one that was cut.</li>
+     *   <li>Then load only the first, most popular, products and leave the cut one uncached.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotLoader#load()}
+     */
+    @Test
+    @DisplayName("Test load(); given more products than the cache holds; then load only the first ones")
+    void testLoad_givenMoreProductsThanCacheHolds_thenLoadOnlyFirstOnes() throws IOException {
+        // Arrange
+        Path path = directory.resolve("products.snapshot");
+        ProductSnapshotCodec.write(path, "since", List.of(
+                new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor"),
+                new Product("SKU-2", "Second", "Category", new BigDecimal("2.3"), "Vendor"),
+                new Product("SKU-3", "Third", "Category", new BigDecimal("2.3"), "Vendor")).iterator());
+        ProductDto updated = new ProductDto("SKU-3", "Updated", "Category", new BigDecimal("2.3"), "Vendor");
+        when(productService.getChanges(eq("since"), eq(1000))).thenReturn(new ProductChangesDto(
+                List.of(new ProductChangeDto("SKU-3", ProductChangeType.UPSERTED, updated, 7L)), "next", false));
+
+        // Act
+        new ProductSnapshotLoader(productService, cacheManager, path, 2).load();
+
+        // Assert
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        assertEquals("First", cache.get("SKU-1", ProductDto.class).getProductName());
+        assertEquals("Second", cache.get("SKU-2", ProductDto.class).getProductName());
+        assertNull(cache.get("SKU-3"));
+    }
+
+    /**
+     * Test {@link ProductSnapshotLoader#load()}.
+     * <ul>
+     *   <li>Given a snapshot older than the change feed keeps deletes.</li>
+     *   <li>Then start with a cold cache rather than serve products that may be gone.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotLoader#load()}
+     */
+    @Test
+    @DisplayName("Test load(); given an expired snapshot token; then start cold")
+    void testLoad_givenExpiredSnapshotToken_thenStartCold() throws IOException {
+        // Arrange
+        Path path = directory.resolve("products.snapshot");
+        ProductSnapshotCodec.write(path, "expired", List.of(
+                new Product("SKU-1", "First", "Category", new BigDecimal("2.3"), "Vendor")).iterator());
+        when(productService.getChanges(eq("expired"), eq(1000)))
+                .thenThrow(new BadRequestException("Change token has expired"));
+
+        // Act
+        new ProductSnapshotLoader(productService, cacheManager, path, 1000).load();
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get("SKU-1"));
+    }
+
+    /**
+     * Test {@link ProductSnapshotLoader#load()}.
+     * <ul>
+     *   <li>Given no snapshot file.</li>
+     *   <li>Then start with a cold cache without reading changes.</li>
+     * </ul>
+     * <p>
+     * Method under test: {@link ProductSnapshotLoader#load()}
+     */
+    @Test
+    @DisplayName("Test load(); given no snapshot; then start cold")
+    void testLoad_givenNoSnapshot_thenStartCold() {
+        // Act
+        new ProductSnapshotLoader(productService, cacheManager, directory.resolve("missing.snapshot"), 1000)
+                .load();
+
+        // Assert
+        verifyNoInteractions(productService);
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get("SKU-1"));
+    }
+}